@@ -0,0 +1,165 @@
+ /*
+  * @(#)BenchmarkCases.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.benchmark;
+
+import java.io.File;
+import java.util.logging.Level;
+
+import org.apache.commons.math3.complex.Complex;
+import org.interpss.IpssCorePlugin;
+import org.interpss.pssl.plugin.IpssAdapter;
+
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.aclf.AclfBus;
+import com.interpss.core.aclf.AclfNetwork;
+
+/**
+ * Benchmark case definition and loading functions. A case is identified by a short name,
+ * for example "IEEE118", or by a file path for internal large cases. Short name case files
+ * are located under the data dir, defined by the system property ipss.benchmark.dataDir,
+ * default the ipss.test.plugin.core testData dir.
+ *
+ * @author agent
+ *
+ */
+public class BenchmarkCases {
+	/**
+	 * system property for the benchmark data dir
+	 */
+	public static final String DataDirProperty = "ipss.benchmark.dataDir";
+
+	private static final String DefaultDataDir = "../ipss.test.plugin.core/testData";
+
+	private static boolean initialized = false;
+
+	/**
+	 * init InterPSS core plugin, once per JVM
+	 */
+	public static synchronized void init() {
+		if (!initialized) {
+			IpssCorePlugin.init();
+			IpssCorePlugin.setLoggerLevel(Level.WARNING);
+			initialized = true;
+		}
+	}
+
+	/**
+	 * get the IEEE common format case file of the case
+	 *
+	 * @param caseName case short name or file path
+	 * @return
+	 */
+	public static String aclfCaseFile(String caseName) {
+		switch (caseName) {
+		case "IEEE14" : return dataFile("adpter/ieee_format/ieee14.ieee");
+		case "IEEE118" : return dataFile("adpter/ieee_format/ieee118.ieee");
+		case "IEEE300" : return dataFile("adpter/ieee_format/ieee300.ieee");
+		case "UCTE2000" : return dataFile("adpter/ieee_format/UCTE_2000_WinterOffPeak.ieee");
+		default : return caseName;
+		}
+	}
+
+	/**
+	 * get the PSS/E v30 DStab case files (raw, seq, dyr) of the case
+	 *
+	 * @param caseName case short name
+	 * @return
+	 */
+	public static String[] dstabCaseFiles(String caseName) {
+		switch (caseName) {
+		case "IEEE9" : return new String[] {
+				dataFile("adpter/psse/v30/IEEE9Bus/ieee9.raw"),
+				dataFile("adpter/psse/v30/IEEE9Bus/ieee9.seq"),
+				dataFile("adpter/psse/v30/IEEE9Bus/ieee9_dyn_onlyGen.dyr") };
+		case "IEEE39" : return new String[] {
+				dataFile("adpter/psse/v30/IEEE39Bus/IEEE39bus_v30.raw"),
+				dataFile("adpter/psse/v30/IEEE39Bus/IEEE39bus_v30.seq"),
+				dataFile("adpter/psse/v30/IEEE39Bus/IEEE39bus.dyr") };
+		default : throw new IllegalArgumentException("Unknown DStab benchmark case, " + caseName);
+		}
+	}
+
+	/**
+	 * get the subnetwork interface branch ids of the DStab case, used for the multiNet benchmark
+	 *
+	 * @param caseName case short name
+	 * @return
+	 */
+	public static String[] dstabInterfaceBranches(String caseName) {
+		switch (caseName) {
+		case "IEEE9" : return new String[] {"Bus5->Bus7(0)", "Bus7->Bus8(0)"};
+		case "IEEE39" : return new String[] {"Bus3->Bus4(1)", "Bus9->Bus39(1)", "Bus15->Bus16(1)", "Bus16->Bus17(1)"};
+		default : throw new IllegalArgumentException("No subnetwork definition for the DStab benchmark case, " + caseName);
+		}
+	}
+
+	/**
+	 * load the case as an AclfNetwork object
+	 *
+	 * @param caseName case short name or IEEE common format file path
+	 * @return
+	 */
+	public static AclfNetwork loadAclfNet(String caseName) throws InterpssException {
+		init();
+		AclfNetwork net = IpssAdapter.importAclfNet(aclfCaseFile(caseName))
+				.setFormat(IpssAdapter.FileFormat.IEEECommonFormat)
+				.load()
+				.getImportedObj();
+		if (net == null)
+			throw new InterpssException("Error in loading benchmark case, " + caseName);
+		return net;
+	}
+
+	/**
+	 * save the bus voltages of the network
+	 *
+	 * @param net
+	 * @return
+	 */
+	public static Complex[] saveVoltage(AclfNetwork net) {
+		Complex[] v = new Complex[net.getNoBus()];
+		int i = 0;
+		for (AclfBus bus : net.getBusList())
+			v[i++] = bus.getVoltage();
+		return v;
+	}
+
+	/**
+	 * restore the bus voltages saved by saveVoltage()
+	 *
+	 * @param net
+	 * @param v
+	 */
+	public static void restoreVoltage(AclfNetwork net, Complex[] v) {
+		int i = 0;
+		for (AclfBus bus : net.getBusList())
+			bus.setVoltage(v[i++]);
+		net.setLfConverged(false);
+	}
+
+	private static String dataFile(String name) {
+		return new File(System.getProperty(DataDirProperty, DefaultDataDir), name).getPath();
+	}
+}
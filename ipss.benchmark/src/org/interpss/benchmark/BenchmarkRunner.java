@@ -0,0 +1,71 @@
+ /*
+  * @(#)BenchmarkRunner.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+
+package org.interpss.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run the InterPSS benchmarks and write the results in JMH JSON format, so that results
+ * of different builds can be compared.
+ *
+ *     BenchmarkRunner [resultFile] [includeRegex]
+ *
+ * Default result file is defined by the system property ipss.benchmark.resultFile, or
+ * ipss-benchmark.json. The GIQP OPF benchmark is run only if the case file is defined
+ * by the system property ipss.benchmark.opfCase.
+ *
+ * @author agent
+ *
+ */
+public class BenchmarkRunner {
+	public static final String ResultFileProperty = "ipss.benchmark.resultFile";
+	public static final String OpfCaseProperty = "ipss.benchmark.opfCase";
+
+	public static void main(String[] args) throws RunnerException {
+		String resultFile = args.length > 0? args[0] : System.getProperty(ResultFileProperty, "ipss-benchmark.json");
+		String include = args.length > 1? args[1] : BenchmarkRunner.class.getPackage().getName() + ".*";
+
+		ChainedOptionsBuilder opt = new OptionsBuilder()
+				.include(include)
+				.resultFormat(ResultFormatType.JSON)
+				.result(resultFile);
+		String dataDir = System.getProperty(BenchmarkCases.DataDirProperty);
+		if (dataDir != null)
+			opt.jvmArgsAppend("-D" + BenchmarkCases.DataDirProperty + "=" + dataDir);
+
+		String opfCase = System.getProperty(OpfCaseProperty);
+		if (opfCase != null)
+			opt.param("opfCase", opfCase);
+		else
+			opt.exclude(GIQPOpfBenchmark.class.getSimpleName());
+
+		new Runner(opt.build()).run();
+	}
+}
@@ -0,0 +1,98 @@
+ /*
+  * @(#)ContingencyBenchmark.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+
+package org.interpss.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.interpss.numeric.exp.IpssNumericException;
+import org.interpss.pssl.simu.DclfAlgorithmPool;
+import org.interpss.pssl.simu.IpssDclf;
+import org.interpss.pssl.simu.IpssDclf.DclfAlgorithmDSL;
+import org.interpss.pssl.util.ParallelContingencyAnalysisHelper;
+import org.interpss.pssl.util.TopKViolationCollector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.interpss.CoreObjectFactory;
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.aclf.AclfNetwork;
+import com.interpss.core.aclf.contingency.BranchOutageType;
+import com.interpss.core.dclf.common.ReferenceBusException;
+
+/**
+ * N-1 DCLF contingency analysis benchmark, one open outage contingency per active branch,
+ * all branches monitored, run by ParallelContingencyAnalysisHelper
+ *
+ * @author agent
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ContingencyBenchmark {
+	@Param({"IEEE118", "IEEE300", "UCTE2000"})
+	public String caseName;
+
+	@Param({"1", "4"})
+	public int threads;
+
+	private ParallelContingencyAnalysisHelper helper;
+
+	@Setup
+	public void setup() throws InterpssException, ReferenceBusException, IpssNumericException {
+		AclfNetwork net = BenchmarkCases.loadAclfNet(this.caseName);
+		DclfAlgorithmDSL algoDsl = IpssDclf.createDclfAlgorithm(net)
+				.runDclfAnalysis();
+
+		int cnt = 0;
+		for (AclfBranch branch : net.getBranchList())
+			if (branch.isActive())
+				CoreObjectFactory.createContingency("N-1_" + cnt++, branch.getId(), BranchOutageType.OPEN, net);
+
+		this.helper = new ParallelContingencyAnalysisHelper(
+				new DclfAlgorithmPool(algoDsl.algo(), this.threads));
+	}
+
+	@Benchmark
+	public TopKViolationCollector n1Analysis() throws InterpssException {
+		TopKViolationCollector collector = new TopKViolationCollector(10, 100.0);
+		this.helper.contAnalysis(collector);
+		return collector;
+	}
+}
@@ -0,0 +1,96 @@
+ /*
+  * @(#)DclfSenBenchmark.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+
+package org.interpss.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.interpss.numeric.exp.IpssNumericException;
+import org.interpss.pssl.simu.IpssDclf;
+import org.interpss.pssl.simu.IpssDclf.DclfAlgorithmDSL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.aclf.AclfNetwork;
+import com.interpss.core.dclf.common.ReferenceBusException;
+
+/**
+ * DCLF sensitivity benchmark, GSF (PTDF) matrix and LODF matrix calculation. The
+ * monitored and outage branch set is the first nBranches active branches of the network.
+ *
+ * @author agent
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class DclfSenBenchmark {
+	@Param({"IEEE118", "IEEE300", "UCTE2000"})
+	public String caseName;
+
+	@Param({"50"})
+	public int nBranches;
+
+	private DclfAlgorithmDSL algoDsl;
+	private List<AclfBranch> branchList;
+
+	@Setup
+	public void setup() throws InterpssException, ReferenceBusException, IpssNumericException {
+		AclfNetwork net = BenchmarkCases.loadAclfNet(this.caseName);
+		this.algoDsl = IpssDclf.createDclfAlgorithm(net)
+				.runDclfAnalysis();
+
+		this.branchList = new ArrayList<>();
+		for (AclfBranch branch : net.getBranchList())
+			if (branch.isActive() && this.branchList.size() < this.nBranches)
+				this.branchList.add(branch);
+	}
+
+	@Benchmark
+	public double[][] gsfMatrix() throws InterpssException {
+		return this.algoDsl.calPTDFMatrix(this.branchList);
+	}
+
+	@Benchmark
+	public double[][] lodfMatrix() throws InterpssException {
+		return this.algoDsl.calLineOutageDFactorMatrix(this.branchList, this.branchList);
+	}
+}
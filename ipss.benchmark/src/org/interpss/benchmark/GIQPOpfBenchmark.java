@@ -0,0 +1,99 @@
+ /*
+  * @(#)GIQPOpfBenchmark.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+
+package org.interpss.benchmark;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.ieee.odm.model.opf.OpfModelParser;
+import org.interpss.CorePluginFactory;
+import org.interpss.plugin.opf.OpfSolverFactory;
+import org.interpss.plugin.opf.solver.IOpfSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.interpss.SimuObjectFactory;
+import com.interpss.common.exp.InterpssException;
+import com.interpss.opf.OpfNetwork;
+import com.interpss.simu.SimuContext;
+import com.interpss.simu.SimuCtxType;
+
+/**
+ * GIQP OPF solver benchmark. There is no OPF case in the test data, the ODM OPF xml
+ * case file is given by the opfCase param, for example
+ *
+ *     -p opfCase=/data/opf/ieee118_opf.xml
+ *
+ * The benchmark is excluded by BenchmarkRunner if no case is given.
+ *
+ * @author agent
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GIQPOpfBenchmark {
+	@Param({""})
+	public String opfCase;
+
+	private OpfNetwork opfNet;
+
+	@Setup
+	public void setup() throws InterpssException, IOException {
+		if (this.opfCase.isEmpty())
+			throw new InterpssException("GIQP OPF benchmark case file not defined, use -p opfCase=<ODM OPF xml file>");
+		BenchmarkCases.init();
+
+		OpfModelParser parser = new OpfModelParser();
+		try (InputStream in = new FileInputStream(this.opfCase)) {
+			if (!parser.parse(in))
+				throw new InterpssException("Error in parsing OPF benchmark case, " + this.opfCase);
+		}
+		SimuContext simuCtx = SimuObjectFactory.createSimuNetwork(SimuCtxType.OPF_NET);
+		if (!CorePluginFactory.getOdm2OpfParserMapper().map2Model(parser, simuCtx))
+			throw new InterpssException("Error in mapping OPF benchmark case, " + this.opfCase);
+		this.opfNet = (OpfNetwork)simuCtx.getOpfNet();
+	}
+
+	@Benchmark
+	public boolean giqpSolve() {
+		return OpfSolverFactory.createGIQPSolver(this.opfNet, IOpfSolver.constraintHandleType.AllIn).solve();
+	}
+}
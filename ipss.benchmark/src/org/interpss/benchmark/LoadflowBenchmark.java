@@ -0,0 +1,91 @@
+ /*
+  * @(#)LoadflowBenchmark.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+
+package org.interpss.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.math3.complex.Complex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.interpss.CoreObjectFactory;
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.aclf.AclfNetwork;
+import com.interpss.core.algo.AclfMethod;
+import com.interpss.core.algo.LoadflowAlgorithm;
+
+/**
+ * Loadflow benchmark, NR and PQ method, from the initial bus voltages of the case
+ *
+ * @author agent
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class LoadflowBenchmark {
+	@Param({"IEEE118", "IEEE300", "UCTE2000"})
+	public String caseName;
+
+	@Param({"NR", "PQ"})
+	public String method;
+
+	private AclfNetwork net;
+	private Complex[] initVoltage;
+	private LoadflowAlgorithm algo;
+
+	@Setup(Level.Trial)
+	public void setupTrial() throws InterpssException {
+		this.net = BenchmarkCases.loadAclfNet(this.caseName);
+		this.initVoltage = BenchmarkCases.saveVoltage(this.net);
+		this.algo = CoreObjectFactory.createLoadflowAlgorithm(this.net);
+		this.algo.setLfMethod(AclfMethod.valueOf(this.method));
+	}
+
+	@Setup(Level.Invocation)
+	public void setupInvocation() {
+		// each loadflow starts from the same initial bus voltages
+		BenchmarkCases.restoreVoltage(this.net, this.initVoltage);
+	}
+
+	@Benchmark
+	public boolean loadflow() throws InterpssException {
+		return this.algo.loadflow();
+	}
+}
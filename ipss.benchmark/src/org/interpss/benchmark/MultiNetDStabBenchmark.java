@@ -0,0 +1,130 @@
+ /*
+  * @(#)MultiNetDStabBenchmark.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+
+package org.interpss.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.ieee.odm.adapter.IODMAdapter.NetType;
+import org.ieee.odm.adapter.psse.PSSEAdapter;
+import org.ieee.odm.adapter.psse.PSSEAdapter.PsseVersion;
+import org.ieee.odm.model.dstab.DStabModelParser;
+import org.interpss.IpssCorePlugin;
+import org.interpss.mapper.odm.ODMDStabParserMapper;
+import org.ipss.multiNet.algo.MultiNetDStabSimuHelper;
+import org.ipss.multiNet.algo.MultiNetDStabSolverImpl;
+import org.ipss.multiNet.algo.MultiNetDynamicEventProcessor;
+import org.ipss.multiNet.algo.SubNetworkProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.interpss.CoreObjectFactory;
+import com.interpss.DStabObjectFactory;
+import com.interpss.SimuObjectFactory;
+import com.interpss.common.exp.InterpssException;
+import com.interpss.dstab.BaseDStabNetwork;
+import com.interpss.dstab.algo.DynamicSimuAlgorithm;
+import com.interpss.dstab.algo.DynamicSimuMethod;
+import com.interpss.simu.SimuContext;
+import com.interpss.simu.SimuCtxType;
+
+/**
+ * MultiNet DStab stepping benchmark. The network is split into subnetworks at the
+ * interface branches defined in BenchmarkCases, the benchmark measures nSteps
+ * integration steps from the initialized state. Case parsing is done once per trial,
+ * the network is mapped, split and initialized before each invocation.
+ *
+ * @author agent
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(1)
+public class MultiNetDStabBenchmark {
+	@Param({"IEEE9", "IEEE39"})
+	public String caseName;
+
+	@Param({"200"})
+	public int nSteps;
+
+	private DStabModelParser parser;
+	private DynamicSimuAlgorithm dstabAlgo;
+
+	@Setup(Level.Trial)
+	public void setupTrial() throws InterpssException {
+		BenchmarkCases.init();
+		PSSEAdapter adapter = new PSSEAdapter(PsseVersion.PSSE_30);
+		if (!adapter.parseInputFile(NetType.DStabNet, BenchmarkCases.dstabCaseFiles(this.caseName)))
+			throw new InterpssException("Error in parsing DStab benchmark case, " + this.caseName);
+		this.parser = (DStabModelParser)adapter.getModel();
+	}
+
+	@Setup(Level.Invocation)
+	public void setupInvocation() throws InterpssException {
+		SimuContext simuCtx = SimuObjectFactory.createSimuNetwork(SimuCtxType.DSTABILITY_NET);
+		if (!new ODMDStabParserMapper(IpssCorePlugin.getMsgHub())
+					.map2Model(this.parser, simuCtx))
+			throw new InterpssException("Error in mapping DStab benchmark case, " + this.caseName);
+		BaseDStabNetwork<?,?> dsNet = simuCtx.getDStabilityNet();
+		if (!CoreObjectFactory.createLoadflowAlgorithm(dsNet).loadflow())
+			throw new InterpssException("Loadflow not converged, " + this.caseName);
+
+		SubNetworkProcessor proc = new SubNetworkProcessor(dsNet);
+		for (String branchId : BenchmarkCases.dstabInterfaceBranches(this.caseName))
+			proc.addSubNetInterfaceBranch(branchId);
+		proc.splitFullSystemIntoSubsystems(false);
+		MultiNetDStabSimuHelper mNetHelper = new MultiNetDStabSimuHelper(dsNet, proc);
+
+		this.dstabAlgo = DStabObjectFactory.createDynamicSimuAlgorithm(dsNet, IpssCorePlugin.getMsgHub());
+		this.dstabAlgo.setSimuMethod(DynamicSimuMethod.MODIFIED_EULER);
+		this.dstabAlgo.setSimuStepSec(0.005d);
+		this.dstabAlgo.setTotalSimuTimeSec(this.nSteps * 0.005d);
+		this.dstabAlgo.setSolver(new MultiNetDStabSolverImpl(this.dstabAlgo, mNetHelper));
+		this.dstabAlgo.setDynamicEventHandler(new MultiNetDynamicEventProcessor(mNetHelper));
+		if (!this.dstabAlgo.initialization())
+			throw new InterpssException("DStab initialization failed, " + this.caseName);
+	}
+
+	@Benchmark
+	public boolean dstabSteps() {
+		boolean ok = true;
+		for (int i = 0; i < this.nSteps; i++)
+			ok &= this.dstabAlgo.solveDEqnStep(true);
+		return ok;
+	}
+}
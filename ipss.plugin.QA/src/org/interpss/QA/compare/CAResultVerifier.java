@@ -4,7 +4,12 @@ import java.util.ArrayList;
 import java.util.Hashtable;
 import java.util.List;
 
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.ArrayRealVector;
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.apache.commons.math3.linear.SingularMatrixException;
 import org.eclipse.emf.ecore.change.util.ChangeRecorder;
+import org.interpss.algo.NetworkBridgeIndex;
 import org.interpss.numeric.exp.IpssNumericException;
 import org.interpss.numeric.util.Number2String;
 import org.interpss.pssl.common.PSSLException;
@@ -14,6 +19,7 @@ import org.interpss.pssl.util.ContingencyAnalysisHelper;
 
 import com.interpss.common.exp.InterpssException;
 import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.aclf.AclfBus;
 import com.interpss.core.aclf.AclfNetwork;
 import com.interpss.core.aclf.contingency.BranchOutageType;
 import com.interpss.core.aclf.contingency.MonitoringBranch;
@@ -53,6 +59,10 @@ public class CAResultVerifier {
 	
 	private boolean excludeIslandCA = false;
 	
+	// number of exact post contingency DCLF solves in the batch mode
+	private int nExactSolves = 0;
+	public int getNumOfExactSolves() { return this.nExactSolves; }
+	
 	/**
 	 * constructor
 	 * 
@@ -245,6 +255,176 @@ public class CAResultVerifier {
 		return identical;
 	}
 
+	/**
+	 * verify CA results of the contingencies in batch mode. The base case DCLF is solved once. 
+	 * CA results of each contingency are compared to the post contingency branch flows 
+	 * calculated by LODF, using the same factorized B' matrix. Contingencies with islanding,
+	 * ineffective contingencies and contingencies with close outage are verified by an exact 
+	 * post contingency DCLF solve, as in verify(). The network object status is restored 
+	 * after the exact solves.
+	 * 
+	 * @param contList contingencies to be verified
+	 * @return id list of the contingencies with CA results not matching DCLF results
+	 * @throws InterpssException
+	 * @throws ReferenceBusException
+	 * @throws PSSLException
+	 * @throws IpssNumericException 
+	 */
+	public List<String> verifyBatch(List<DepContingency> contList) throws InterpssException, ReferenceBusException, PSSLException, IpssNumericException {
+		this.msgList.clear();
+		this.hasIsland = false;
+		this.nExactSolves = 0;
+		List<String> mismatchList = new ArrayList<>();
+		
+		DclfAlgorithmDSL algoDsl = IpssDclf.createDclfAlgorithm(aclfNet, applyAdjustment)
+				.runDclfAnalysis();
+		ContingencyAnalysisHelper contHelper = new ContingencyAnalysisHelper(algoDsl, true);
+		contHelper.setViolationThreshold(violationThreshold);
+		contHelper.setBridgeIndex(new NetworkBridgeIndex(aclfNet));
+		
+		// cache the base case branch flow
+		Hashtable<String, Double> baseFlowTable = new Hashtable<String, Double>();
+		for (AclfBranch branch : aclfNet.getBranchList())
+			baseFlowTable.put(branch.getId(), branch.isActive()? algoDsl.algo().getBranchFlow(branch) : 0.0);
+		
+		/*
+		 * CA and LODF post contingency flow by the base case factorization
+		 */
+		List<DepContingency> exactList = new ArrayList<>();
+		for (DepContingency cont : contList) {
+			boolean ok = contHelper.contAnalysis(cont);
+			if (cont.getIslandBuses().size() > 0) {
+				this.msgList.add("\nContingency " + cont.getId()
+						+ " resulting island bus no " + cont.getIslandBuses().size() + "\n");
+				this.hasIsland = true;
+				if (this.excludeIslandCA)
+					continue;
+			}
+			
+			Hashtable<String, Double> lookupTable = ok && cont.isActive() && cont.getIslandBuses().size() == 0?
+					lodfPostFlow(algoDsl, cont, baseFlowTable) : null;
+			if (lookupTable == null)
+				exactList.add(cont);
+			else if (!compareResult(cont, baseFlowTable, lookupTable))
+				mismatchList.add(cont.getId());
+		}
+		
+		/*
+		 * exact post contingency DCLF for the flagged contingencies
+		 */
+		for (DepContingency cont : exactList) {
+			if (!compareResult(cont, baseFlowTable, exactPostFlow(cont)))
+				mismatchList.add(cont.getId());
+			this.nExactSolves++;
+		}
+
+		System.out.println("Batch CA verification, contingencies: " + contList.size() + ", exact DCLF solves: " 
+				+ this.nExactSolves + ", not matching: " + mismatchList.size());
+		return mismatchList;
+	}
+	
+	/*
+	 * compare CA results of the contingency, max shifted flow branch and violated branches
+	 */
+	private boolean compareResult(DepContingency cont, Hashtable<String, Double> baseFlowTable, 
+			Hashtable<String, Double> lookupTable) {
+		boolean identical = true;
+		if (cont.getMaxShiftFlowBranchId() != null) {
+			AclfBranch maxShiftedFlowBranch = aclfNet.getBranch(cont.getMaxShiftFlowBranchId());
+			if (maxShiftedFlowBranch != null && 
+					!compare(maxShiftedFlowBranch, baseFlowTable.get(maxShiftedFlowBranch.getId()), cont.getMaxShiftedFlow(), lookupTable))
+				identical = false;
+		}
+		for (MonitoringBranch mon : cont.getMonitoringBranches()) {
+			if (!compare(mon.getBranch(), baseFlowTable.get(mon.getBranch().getId()), mon.getShiftedFlow(), lookupTable))
+				identical = false;
+		}
+		if (!identical)
+			this.msgList.add("Contingency: " + cont.getId() + ", CA results do not match DCLF results\n");
+		return identical;
+	}
+	
+	/*
+	 * calculate post contingency flow of the compared branches by LODF. For multiple outages, 
+	 * the outage branch flows x are compensated for the interaction of the outages, 
+	 * -LODF[outage x outage] * x = base flow of the outage branches.  
+	 * 
+	 * @return null if the contingency could not be verified by LODF
+	 */
+	private Hashtable<String, Double> lodfPostFlow(DclfAlgorithmDSL algoDsl, DepContingency cont, 
+			Hashtable<String, Double> baseFlowTable) throws InterpssException {
+		List<AclfBranch> outList = new ArrayList<>();
+		for (OutageBranch br : cont.getOutageBranches()) {
+			if (br.getOutageType() != BranchOutageType.OPEN)
+				return null;
+			if (br.getBranch().isActive())
+				outList.add(br.getBranch());
+		}
+		if (outList.size() == 0 || outList.size() != cont.nEquivOutageBranches())
+			return null;
+		
+		List<AclfBranch> monList = new ArrayList<>();
+		if (cont.getMaxShiftFlowBranchId() != null && aclfNet.getBranch(cont.getMaxShiftFlowBranchId()) != null)
+			monList.add(aclfNet.getBranch(cont.getMaxShiftFlowBranchId()));
+		for (MonitoringBranch mon : cont.getMonitoringBranches())
+			monList.add(mon.getBranch());
+		
+		int n = outList.size();
+		double[] x = new double[n];
+		for (int j = 0; j < n; j++)
+			x[j] = baseFlowTable.get(outList.get(j).getId());
+		try {
+			double[][] lodfOut = algoDsl.calLineOutageDFactorMatrix(outList, outList);
+			x = new LUDecomposition(new Array2DRowRealMatrix(lodfOut, false)).getSolver()
+					.solve(new ArrayRealVector(x, false)).mapMultiply(-1.0).toArray();
+		} catch (SingularMatrixException e) {
+			return null;
+		}
+		
+		Hashtable<String, Double> lookupTable = new Hashtable<String, Double>();
+		double[][] lodf = algoDsl.calLineOutageDFactorMatrix(monList, outList);
+		for (int i = 0; i < monList.size(); i++) {
+			double flow = baseFlowTable.get(monList.get(i).getId());
+			for (int j = 0; j < n; j++)
+				flow += lodf[i][j] * x[j];
+			lookupTable.put(monList.get(i).getId(), flow);
+		}
+		return lookupTable;
+	}
+	
+	/*
+	 * calculate post contingency flow by DCLF with the outages applied, the network object 
+	 * bus and branch status is restored after the calculation
+	 */
+	private Hashtable<String, Double> exactPostFlow(DepContingency cont) throws InterpssException, ReferenceBusException, IpssNumericException {
+		boolean[] busStatus = new boolean[aclfNet.getBusList().size()];
+		boolean[] branchStatus = new boolean[aclfNet.getBranchList().size()];
+		for (int i = 0; i < busStatus.length; i++)
+			busStatus[i] = aclfNet.getBusList().get(i).isStatus();
+		for (int i = 0; i < branchStatus.length; i++)
+			branchStatus[i] = aclfNet.getBranchList().get(i).isStatus();
+		
+		Hashtable<String, Double> lookupTable = new Hashtable<String, Double>();
+		try {
+			for(OutageBranch br: cont.getOutageBranches())
+				br.getBranch().setStatus(br.getOutageType() == BranchOutageType.CLOSE);				
+			new AclfNetHelper(aclfNet).findPreContNetworkIslanding(new ArrayList<String>());
+			
+			DclfAlgorithmDSL algoPost = IpssDclf.createDclfAlgorithm(aclfNet, applyAdjustment)
+					.runDclfAnalysis();
+			for (AclfBranch branch : aclfNet.getBranchList())
+				lookupTable.put(branch.getId(), branch.isActive()? algoPost.algo().getBranchFlow(branch) : 0.0);
+		} finally {
+			int i = 0;
+			for (AclfBus bus : aclfNet.getBusList())
+				bus.setStatus(busStatus[i++]);
+			i = 0;
+			for (AclfBranch branch : aclfNet.getBranchList())
+				branch.setStatus(branchStatus[i++]);
+		}
+		return lookupTable;
+	}
+
 	private boolean compare(AclfBranch branch, double preFlow, double shiftedFlow, Hashtable<String, Double> lookupTable) {
 		// post flow by using sensitivity
 		double post_flow = preFlow + shiftedFlow;
@@ -1,21 +1,192 @@
 package org.interpss.ext;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
 import java.util.Hashtable;
+import java.util.Map;
+import java.util.Set;
 
 /**
- *  AclfBranch extension 
- * 
+ *  AclfBranch extension
+ *
+ *  If bound to an ExtColumnStore, attributes defined in the store schema are kept in the
+ *  store row of the branch, and get()/put() act as a compatibility view on the store.
+ *  Attributes not in the schema are kept in the hashtable. A store attribute is present
+ *  in the map view if its value is not null, that is typed columns are always present and
+ *  string columns once set. For a bound extension keySet(), entrySet() and values() return
+ *  read-only snapshots.
+ *
  * @author mzhou
  *
  */
 public class AclfBranchExtension extends Hashtable<String,String> {
 	private static final long serialVersionUID = 1L;
+
+	// column store and the row of the branch, store = null if not bound
+	protected transient ExtColumnStore store = null;
+	protected int row = -1;
+
+	/**
+	 * default constructor
+	 */
+	public AclfBranchExtension() {
+		super(4);
+	}
+
+	/**
+	 * constructor, a new row is allocated in the store for the branch
+	 *
+	 * @param store extension column store
+	 */
+	public AclfBranchExtension(ExtColumnStore store) {
+		super(4);
+		this.store = store;
+		this.row = store.newRow();
+	}
+
+	/**
+	 * get the column store, null if not bound
+	 *
+	 * @return
+	 */
+	public ExtColumnStore getStore() {
+		return this.store;
+	}
+
+	/**
+	 * get the row of the branch in the column store
+	 *
+	 * @return
+	 */
+	public int getRow() {
+		return this.row;
+	}
+
+	@Override
+	public synchronized String get(Object key) {
+		if (this.store != null && key instanceof String) {
+			ExtColumnStore.Column col = this.store.getColumn((String)key);
+			if (col != null)
+				return col.getAsString(this.row);
+		}
+		return super.get(key);
+	}
+
+	@Override
+	public synchronized String put(String key, String value) {
+		if (this.store != null) {
+			ExtColumnStore.Column col = this.store.getColumn(key);
+			if (col != null) {
+				String old = col.getAsString(this.row);
+				col.setAsString(this.row, value);
+				return old;
+			}
+		}
+		return super.put(key, value);
+	}
+
+	@Override
+	public synchronized boolean containsKey(Object key) {
+		if (this.store != null && key instanceof String) {
+			ExtColumnStore.Column col = this.store.getColumn((String)key);
+			if (col != null)
+				return col.getAsString(this.row) != null;
+		}
+		return super.containsKey(key);
+	}
+
+	@Override
+	public synchronized int size() {
+		int n = super.size();
+		if (this.store != null)
+			for (String name : this.store.getColumnNames())
+				if (this.store.getColumn(name).getAsString(this.row) != null)
+					n++;
+		return n;
+	}
+
+	@Override
+	public synchronized boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public Set<String> keySet() {
+		return this.store != null? Collections.unmodifiableSet(snapshot().keySet()) : super.keySet();
+	}
+
+	@Override
+	public Set<Map.Entry<String,String>> entrySet() {
+		return this.store != null? Collections.unmodifiableSet(snapshot().entrySet()) : super.entrySet();
+	}
+
+	@Override
+	public Collection<String> values() {
+		return this.store != null? Collections.unmodifiableCollection(snapshot().values()) : super.values();
+	}
+
+	@Override
+	public synchronized Enumeration<String> keys() {
+		return this.store != null? snapshot().keys() : super.keys();
+	}
+
+	@Override
+	public synchronized Enumeration<String> elements() {
+		return this.store != null? snapshot().elements() : super.elements();
+	}
+
+	/*
+	 * hashtable attributes plus the store attributes with a not null value
+	 */
+	private synchronized Hashtable<String,String> snapshot() {
+		Hashtable<String,String> table = new Hashtable<>(super.size() + this.store.getColumnNames().size());
+		for (Map.Entry<String,String> e : super.entrySet())
+			table.put(e.getKey(), e.getValue());
+		for (String name : this.store.getColumnNames()) {
+			String value = this.store.getColumn(name).getAsString(this.row);
+			if (value != null)
+				table.put(name, value);
+		}
+		return table;
+	}
+
+	/**
+	 * create a copy of the extension not bound to the store, with the store values
+	 * copied into the hashtable
+	 *
+	 * @return
+	 */
+	protected AclfBranchExtension detach() {
+		AclfBranchExtension copy = (AclfBranchExtension)super.clone();
+		copy.store = null;
+		copy.row = -1;
+		if (this.store != null)
+			for (String name : this.store.getColumnNames()) {
+				String value = this.store.getColumn(name).getAsString(this.row);
+				if (value != null)
+					copy.put(name, value);
+			}
+		return copy;
+	}
+
+	/*
+	 * the store is shared by all branches, the extension is serialized as a detached copy
+	 */
+	protected Object writeReplace() {
+		return this.store != null? detach() : this;
+	}
+
 	/**
 	 * to string function
 	 */
 	@Override
 	public String toString() {
-		String str = "AclfBranchExtension: " + super.toString();
+		String str = "AclfBranchExtension: " + (this.store != null? detach() : this).superToString();
 		return str;
 	}
+
+	private String superToString() {
+		return super.toString();
+	}
 }
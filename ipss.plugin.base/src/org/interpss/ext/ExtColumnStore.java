@@ -0,0 +1,243 @@
+package org.interpss.ext;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *  Typed columnar store for network object extension attributes. The store has a declared
+ *  schema of double, int, boolean and string columns. Each network object (for example
+ *  a branch) takes one row, the row number is kept by the extension object, see
+ *  AclfBranchExtension. Rows are allocated in the object loading order, which is the
+ *  branch sort number order when the store is populated by the ODM mapper.
+ *
+ *  String values are interned in a per-column dictionary, since extension strings,
+ *  for example substation names and equipment types, are highly repetitive.
+ *
+ * @author agent
+ *
+ */
+public class ExtColumnStore implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * default initial row capacity
+	 */
+	public static final int DefaultCapacity = 1024;
+
+	/**
+	 * column data type
+	 */
+	public static enum ColumnType { Double, Int, Boolean, String };
+
+	/**
+	 * column definition and data
+	 */
+	public static class Column implements Serializable {
+		private static final long serialVersionUID = 1L;
+
+		private final String name;
+		private final ColumnType type;
+		private double[] dValues = null;
+		private int[] iValues = null;        // int values, or the string dictionary index, -1 for null string
+		private boolean[] bValues = null;
+		private List<String> dict = null;
+		private Map<String, Integer> dictIndex = null;
+		// incremented whenever a value of the column is set
+		private int version = 0;
+
+		Column(String name, ColumnType type, int capacity) {
+			this.name = name;
+			this.type = type;
+			switch (type) {
+			case Double : this.dValues = new double[capacity]; break;
+			case Int : this.iValues = new int[capacity]; break;
+			case Boolean : this.bValues = new boolean[capacity]; break;
+			case String :
+				this.iValues = new int[capacity];
+				Arrays.fill(this.iValues, -1);
+				this.dict = new ArrayList<>();
+				this.dictIndex = new HashMap<>();
+				break;
+			}
+		}
+
+		public String getName() { return this.name; }
+		public ColumnType getType() { return this.type; }
+
+		/**
+		 * get the column version, which changes whenever a value of the column is set. A cache 
+		 * of the column values is valid as long as the version is unchanged.
+		 *
+		 * @return
+		 */
+		public int getVersion() { return this.version; }
+
+		public double getDouble(int row) { return this.dValues[row]; }
+		public void setDouble(int row, double x) { this.dValues[row] = x; this.version++; }
+		public int getInt(int row) { return this.iValues[row]; }
+		public void setInt(int row, int x) { this.iValues[row] = x; this.version++; }
+		public boolean getBoolean(int row) { return this.bValues[row]; }
+		public void setBoolean(int row, boolean b) { this.bValues[row] = b; this.version++; }
+
+		public String getString(int row) {
+			int i = this.iValues[row];
+			return i < 0? null : this.dict.get(i);
+		}
+		public void setString(int row, String s) {
+			this.version++;
+			if (s == null) {
+				this.iValues[row] = -1;
+				return;
+			}
+			Integer i = this.dictIndex.get(s);
+			if (i == null) {
+				i = this.dict.size();
+				this.dict.add(s);
+				this.dictIndex.put(s, i);
+			}
+			this.iValues[row] = i;
+		}
+
+		/**
+		 * get the column value as a string, used by the compatibility view
+		 *
+		 * @param row
+		 * @return
+		 */
+		public String getAsString(int row) {
+			switch (this.type) {
+			case Double : return String.valueOf(this.dValues[row]);
+			case Int : return String.valueOf(this.iValues[row]);
+			case Boolean : return String.valueOf(this.bValues[row]);
+			default : return getString(row);
+			}
+		}
+
+		/**
+		 * set the column value by a string, used by the compatibility view
+		 *
+		 * @param row
+		 * @param s
+		 */
+		public void setAsString(int row, String s) {
+			switch (this.type) {
+			case Double : setDouble(row, Double.parseDouble(s.trim())); break;
+			case Int : setInt(row, Integer.parseInt(s.trim())); break;
+			case Boolean : setBoolean(row, Boolean.parseBoolean(s.trim()) || s.trim().equalsIgnoreCase("yes")); break;
+			default : setString(row, s);
+			}
+		}
+
+		void grow(int capacity) {
+			if (this.dValues != null)
+				this.dValues = Arrays.copyOf(this.dValues, capacity);
+			if (this.bValues != null)
+				this.bValues = Arrays.copyOf(this.bValues, capacity);
+			if (this.iValues != null) {
+				int n = this.iValues.length;
+				this.iValues = Arrays.copyOf(this.iValues, capacity);
+				if (this.type == ColumnType.String)
+					Arrays.fill(this.iValues, n, capacity, -1);
+			}
+		}
+	}
+
+	private Map<String, Column> columnTable = new LinkedHashMap<>();
+	private int capacity;
+	private int nRows = 0;
+
+	/**
+	 * default constructor
+	 */
+	public ExtColumnStore() {
+		this(DefaultCapacity);
+	}
+
+	/**
+	 * constructor
+	 *
+	 * @param capacity initial row capacity, for example the number of branches
+	 */
+	public ExtColumnStore(int capacity) {
+		this.capacity = Math.max(16, capacity);
+	}
+
+	/**
+	 * declare a column. The schema should be declared before any row is allocated.
+	 *
+	 * @param name column name
+	 * @param type column type
+	 * @return this store
+	 */
+	public ExtColumnStore addColumn(String name, ColumnType type) {
+		if (!this.columnTable.containsKey(name))
+			this.columnTable.put(name, new Column(name, type, this.capacity));
+		return this;
+	}
+
+	/**
+	 * get a column, null if the column is not defined in the schema. For hot loops, get
+	 * the column once and access the values by row number.
+	 *
+	 * @param name
+	 * @return
+	 */
+	public Column getColumn(String name) {
+		return this.columnTable.get(name);
+	}
+
+	/**
+	 * check if the column is defined in the schema
+	 *
+	 * @param name
+	 * @return
+	 */
+	public boolean hasColumn(String name) {
+		return this.columnTable.containsKey(name);
+	}
+
+	/**
+	 * get the column names
+	 *
+	 * @return
+	 */
+	public List<String> getColumnNames() {
+		return new ArrayList<>(this.columnTable.keySet());
+	}
+
+	/**
+	 * allocate a new row, values are initialized to 0, false or null
+	 *
+	 * @return the row number
+	 */
+	public int newRow() {
+		if (this.nRows == this.capacity) {
+			this.capacity *= 2;
+			for (Column col : this.columnTable.values())
+				col.grow(this.capacity);
+		}
+		return this.nRows++;
+	}
+
+	/**
+	 * get the number of allocated rows
+	 *
+	 * @return
+	 */
+	public int getRowCount() {
+		return this.nRows;
+	}
+
+	/**
+	 * to string function
+	 */
+	@Override
+	public String toString() {
+		return "ExtColumnStore: rows " + this.nRows + ", columns " + this.columnTable.keySet();
+	}
+}
@@ -1,6 +1,8 @@
 package org.interpss.ext.pwd;
 
 import org.interpss.ext.AclfBranchExtension;
+import org.interpss.ext.ExtColumnStore;
+import org.interpss.ext.ExtColumnStore.ColumnType;
 
 /**
  *  AclfBranch extension for representing PowerWorld custom fields
@@ -15,12 +17,61 @@ public class AclfBranchPWDExtension extends AclfBranchExtension {
 	public static final String EquimentName = "EquimentName";
 	public static final String LineMonEle = "LineMonEle";
 	public static final String LSName = "LSName";
+	public static final String CaMonitoring = "CaMonitoring";
 	
 	private static final long serialVersionUID = 1L;
 	
 	private boolean caMonitoring = false;
-	public boolean isCaMonitoring() { return caMonitoring; }
-	public void setCaMonitoring(boolean caMonitoring) { this.caMonitoring = caMonitoring; }
+	public boolean isCaMonitoring() { 
+		return this.store != null? this.store.getColumn(CaMonitoring).getBoolean(this.row) : caMonitoring; }
+	public void setCaMonitoring(boolean caMonitoring) { 
+		if (this.store != null)
+			this.store.getColumn(CaMonitoring).setBoolean(this.row, caMonitoring);
+		else
+			this.caMonitoring = caMonitoring; }
+
+	/**
+	 * get the CA monitoring status version of the column store, which is shared by the branches 
+	 * of the network. The version changes whenever the CA monitoring status of a branch of the 
+	 * store is set, a cache of the status is valid as long as the store and the version are unchanged.
+	 * 
+	 * @return the version, or -1 if the extension is not bound to a store
+	 */
+	public int getCaMonitoringVersion() {
+		return this.store != null? this.store.getColumn(CaMonitoring).getVersion() : -1;
+	}
+
+	/**
+	 * default constructor
+	 */
+	public AclfBranchPWDExtension() {
+		super();
+	}
+
+	/**
+	 * constructor, the extension is bound to the column store
+	 * 
+	 * @param store column store created by createStore()
+	 */
+	public AclfBranchPWDExtension(ExtColumnStore store) {
+		super(store);
+	}
+
+	/**
+	 * create a column store with the PowerWorld branch extension schema
+	 * 
+	 * @param nBranches expected number of branches
+	 * @return
+	 */
+	public static ExtColumnStore createStore(int nBranches) {
+		return new ExtColumnStore(nBranches)
+				.addColumn(CustomString, ColumnType.String)
+				.addColumn(EquimentName, ColumnType.String)
+				.addColumn(AclfBusPWDExtension.SubStation, ColumnType.String)
+				.addColumn(LineMonEle, ColumnType.String)
+				.addColumn(LSName, ColumnType.String)
+				.addColumn(CaMonitoring, ColumnType.Boolean);
+	}
 
 	/**
 	 * Defined as "EquipmentType_SubstationName_EquipmentName. Take Transformer_Sub1_T12 for example, 
@@ -50,4 +101,13 @@ public class AclfBranchPWDExtension extends AclfBranchExtension {
 	public String getLSName() {
 		return this.get(LSName);
 	}
+
+	@Override
+	protected AclfBranchExtension detach() {
+		boolean b = isCaMonitoring();
+		AclfBranchPWDExtension copy = (AclfBranchPWDExtension)super.detach();
+		copy.remove(CaMonitoring);
+		copy.caMonitoring = b;
+		return copy;
+	}
 }
@@ -0,0 +1,487 @@
+ /*
+  * @(#)NetworkBridgeIndex.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.algo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.interpss.core.aclf.AclfBus;
+import com.interpss.core.aclf.BaseAclfNetwork;
+import com.interpss.core.net.Branch;
+import com.interpss.core.net.Bus;
+
+/**
+ * Bridge (cut branch) index of the network topology for contingency islanding detection. The index
+ * is built once for the base topology, using active buses and branches :
+ *
+ *   - bridges are found by an iterative (non-recursive) Tarjan search, parallel branches are
+ *     distinguished by the branch index and therefore never bridges
+ *   - buses are grouped into 2-edge-connected components, which are connected by the bridges into
+ *     a bridge tree rooted at the component containing the swing bus
+ *
+ * Outage of a single non-bridge branch never islands the network. Outage of a bridge islands the buses
+ * in the subtree below the bridge. For a multi-outage set, only the components with two or more outage
+ * non-bridge branches are searched locally. The network object is not modified by the index, island
+ * buses are those disconnected from the swing bus (or root bus) of their base connected area.
+ *
+ *   - The index needs to be rebuilt if the base topology (bus/branch status) changes.
+ *
+ * @author agent
+ *
+ */
+public class NetworkBridgeIndex {
+	private List<Bus> busList = new ArrayList<>();
+	private Map<String, Integer> busIndexTable = new HashMap<>();
+	private Map<String, Integer> branchIndexTable = new HashMap<>();
+
+	// branch terminal bus index
+	private int[] edgeFrom, edgeTo;
+	// bus adjacency in CSR format, adjBus/adjEdge[adjStart[i], adjStart[i+1])
+	private int[] adjStart, adjBus, adjEdge;
+
+	private boolean[] bridge;
+	// 2-edge-connected component number of buses
+	private int[] compNo;
+	private int nComp;
+	// component bus list in CSR format
+	private int[] compStart, compBus;
+
+	// bridge tree, parentEdge[c] = bridge connecting the component to its parent, -1 for root component
+	private int[] parentEdge;
+	// anchorBus[c] = bus in the component connected to the parent component, the root bus for root component
+	private int[] anchorBus;
+	// component Euler tour order, subtree of c = compByTin[tin[c], tout[c])
+	private int[] tin, tout, compByTin;
+
+	/**
+	 * constructor, build the index for the network base topology
+	 *
+	 * @param net
+	 */
+	public NetworkBridgeIndex(BaseAclfNetwork<?,?> net) {
+		for (Bus bus : net.getBusList()) {
+			if (bus.isActive()) {
+				this.busIndexTable.put(bus.getId(), this.busList.size());
+				this.busList.add(bus);
+			}
+		}
+
+		List<Branch> branchList = new ArrayList<>();
+		for (Branch branch : net.getBranchList()) {
+			if (branch.isActive() && !branch.isGroundBranch()) {
+				Integer f = this.busIndexTable.get(branch.getFromBus().getId()),
+						t = this.busIndexTable.get(branch.getToBus().getId());
+				if (f != null && t != null && f.intValue() != t.intValue()) {
+					this.branchIndexTable.put(branch.getId(), branchList.size());
+					branchList.add(branch);
+				}
+			}
+		}
+
+		buildAdjacency(branchList);
+		searchBridges();
+		buildComponents();
+		buildBridgeTree();
+	}
+
+	/**
+	 * check if the branch is a bridge of the base topology, outage of a bridge islands the network
+	 *
+	 * @param branch
+	 * @return
+	 */
+	public boolean isBridge(Branch branch) {
+		Integer e = this.branchIndexTable.get(branch.getId());
+		return e != null && this.bridge[e];
+	}
+
+	/**
+	 * get the 2-edge-connected component number of the bus, -1 if the bus is not in the index
+	 *
+	 * @param bus
+	 * @return
+	 */
+	public int getComponentNumber(Bus bus) {
+		Integer i = this.busIndexTable.get(bus.getId());
+		return i != null? this.compNo[i] : -1;
+	}
+
+	/**
+	 * get number of bridges of the base topology
+	 *
+	 * @return
+	 */
+	public int getNumOfBridges() {
+		int cnt = 0;
+		for (boolean b : this.bridge)
+			if (b) cnt++;
+		return cnt;
+	}
+
+	/**
+	 * check if outage of the branch set islands the network
+	 *
+	 * @param outageBranches outage branches
+	 * @return
+	 */
+	public boolean isIslanding(Collection<? extends Branch> outageBranches) {
+		int[] edges = edgeIndex(outageBranches);
+		for (int e : edges)
+			if (this.bridge[e])
+				return true;
+		if (edges.length < 2)
+			return false;
+		return !islandBusSet(edges).isEmpty();
+	}
+
+	/**
+	 * find island buses for outage of the branch set
+	 *
+	 * @param outageBranches outage branches
+	 * @return island bus list, empty if there is no islanding
+	 */
+	public List<Bus> findIslandBuses(Collection<? extends Branch> outageBranches) {
+		BitSet set = islandBusSet(edgeIndex(outageBranches));
+		List<Bus> list = new ArrayList<>(set.cardinality());
+		for (int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1))
+			list.add(this.busList.get(i));
+		return list;
+	}
+
+	/**
+	 * find island bus index set for the outage edges
+	 *
+	 * @param edges
+	 * @return
+	 */
+	private BitSet islandBusSet(int[] edges) {
+		BitSet islandSet = new BitSet(this.busList.size());
+		if (edges.length == 0)
+			return islandSet;
+
+		// components below a bridge outage are cut off
+		List<Integer> cutCompList = new ArrayList<>();
+		// outage non-bridge branches grouped by component
+		Map<Integer, List<Integer>> compOutageTable = new HashMap<>();
+		for (int e : edges) {
+			if (this.bridge[e])
+				cutCompList.add(childComp(e));
+			else
+				compOutageTable.computeIfAbsent(this.compNo[this.edgeFrom[e]], c -> new ArrayList<>()).add(e);
+		}
+
+		// removal of one branch never splits a 2-edge-connected component, components
+		// with more than one outage branch are searched locally from the anchor bus
+		BitSet outageSet = null;
+		for (Map.Entry<Integer, List<Integer>> entry : compOutageTable.entrySet()) {
+			if (entry.getValue().size() < 2)
+				continue;
+			if (outageSet == null) {
+				outageSet = new BitSet(this.edgeFrom.length);
+				for (int e : edges)
+					outageSet.set(e);
+			}
+			int c = entry.getKey();
+			BitSet reached = searchComponent(c, outageSet);
+			for (int k = this.compStart[c]; k < this.compStart[c+1]; k++) {
+				int i = this.compBus[k];
+				if (!reached.get(i))
+					islandSet.set(i);
+			}
+			// child components attached to an unreached bus are cut off
+			for (int k = this.tin[c] + 1; k < this.tout[c]; k++) {
+				int d = this.compByTin[k];
+				int pe = this.parentEdge[d];
+				if (this.compNo[this.edgeFrom[pe]] == c || this.compNo[this.edgeTo[pe]] == c) {
+					int attachBus = this.compNo[this.edgeFrom[pe]] == c? this.edgeFrom[pe] : this.edgeTo[pe];
+					if (!reached.get(attachBus))
+						cutCompList.add(d);
+				}
+			}
+		}
+
+		for (int c : cutCompList) {
+			for (int k = this.tin[c]; k < this.tout[c]; k++) {
+				int d = this.compByTin[k];
+				for (int j = this.compStart[d]; j < this.compStart[d+1]; j++)
+					islandSet.set(this.compBus[j]);
+			}
+		}
+		return islandSet;
+	}
+
+	/**
+	 * search buses in the component reachable from the anchor bus, without passing
+	 * the outage branches
+	 *
+	 * @param c component number
+	 * @param outageSet outage branch index set
+	 * @return reached bus index set
+	 */
+	private BitSet searchComponent(int c, BitSet outageSet) {
+		BitSet reached = new BitSet(this.busList.size());
+		int[] queue = new int[this.compStart[c+1] - this.compStart[c]];
+		int head = 0, tail = 0;
+		queue[tail++] = this.anchorBus[c];
+		reached.set(this.anchorBus[c]);
+		while (head < tail) {
+			int u = queue[head++];
+			for (int k = this.adjStart[u]; k < this.adjStart[u+1]; k++) {
+				int v = this.adjBus[k];
+				if (!reached.get(v) && this.compNo[v] == c && !outageSet.get(this.adjEdge[k])) {
+					reached.set(v);
+					queue[tail++] = v;
+				}
+			}
+		}
+		return reached;
+	}
+
+	/**
+	 * map outage branches to edge index, branches not in the base topology are ignored
+	 *
+	 * @param outageBranches
+	 * @return
+	 */
+	private int[] edgeIndex(Collection<? extends Branch> outageBranches) {
+		int[] edges = new int[outageBranches.size()];
+		int cnt = 0;
+		for (Branch branch : outageBranches) {
+			Integer e = this.branchIndexTable.get(branch.getId());
+			if (e != null)
+				edges[cnt++] = e;
+		}
+		return cnt == edges.length? edges : Arrays.copyOf(edges, cnt);
+	}
+
+	/**
+	 * the component on the child side of the bridge in the bridge tree
+	 *
+	 * @param e bridge index
+	 * @return
+	 */
+	private int childComp(int e) {
+		int cf = this.compNo[this.edgeFrom[e]];
+		return this.parentEdge[cf] == e? cf : this.compNo[this.edgeTo[e]];
+	}
+
+	private void buildAdjacency(List<Branch> branchList) {
+		int nBus = this.busList.size(), nBranch = branchList.size();
+		this.edgeFrom = new int[nBranch];
+		this.edgeTo = new int[nBranch];
+		this.adjStart = new int[nBus + 1];
+		for (int e = 0; e < nBranch; e++) {
+			Branch branch = branchList.get(e);
+			this.edgeFrom[e] = this.busIndexTable.get(branch.getFromBus().getId());
+			this.edgeTo[e] = this.busIndexTable.get(branch.getToBus().getId());
+			this.adjStart[this.edgeFrom[e] + 1]++;
+			this.adjStart[this.edgeTo[e] + 1]++;
+		}
+		for (int i = 0; i < nBus; i++)
+			this.adjStart[i+1] += this.adjStart[i];
+
+		this.adjBus = new int[2 * nBranch];
+		this.adjEdge = new int[2 * nBranch];
+		int[] pos = Arrays.copyOf(this.adjStart, nBus);
+		for (int e = 0; e < nBranch; e++) {
+			int f = this.edgeFrom[e], t = this.edgeTo[e];
+			this.adjBus[pos[f]] = t;
+			this.adjEdge[pos[f]++] = e;
+			this.adjBus[pos[t]] = f;
+			this.adjEdge[pos[t]++] = e;
+		}
+	}
+
+	/**
+	 * iterative Tarjan bridge search using an explicit stack. Swing buses are used as
+	 * the search roots first, so that they become the bridge tree roots.
+	 */
+	private void searchBridges() {
+		int nBus = this.busList.size();
+		this.bridge = new boolean[this.edgeFrom.length];
+		int[] disc = new int[nBus], low = new int[nBus], inEdge = new int[nBus], iter = new int[nBus];
+		int[] stack = new int[nBus];
+		Arrays.fill(disc, -1);
+		int time = 0;
+
+		for (int s : rootOrder()) {
+			if (disc[s] >= 0)
+				continue;
+			int sp = 0;
+			stack[sp++] = s;
+			disc[s] = low[s] = time++;
+			inEdge[s] = -1;
+			iter[s] = this.adjStart[s];
+			while (sp > 0) {
+				int u = stack[sp-1];
+				if (iter[u] < this.adjStart[u+1]) {
+					int k = iter[u]++;
+					int e = this.adjEdge[k], v = this.adjBus[k];
+					if (e == inEdge[u])
+						continue;
+					if (disc[v] < 0) {
+						disc[v] = low[v] = time++;
+						inEdge[v] = e;
+						iter[v] = this.adjStart[v];
+						stack[sp++] = v;
+					}
+					else if (disc[v] < low[u])
+						low[u] = disc[v];
+				}
+				else {
+					sp--;
+					if (sp > 0) {
+						int p = stack[sp-1];
+						if (low[u] < low[p])
+							low[p] = low[u];
+						if (low[u] > disc[p])
+							this.bridge[inEdge[u]] = true;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * label 2-edge-connected components, connected through non-bridge branches
+	 */
+	private void buildComponents() {
+		int nBus = this.busList.size();
+		this.compNo = new int[nBus];
+		Arrays.fill(this.compNo, -1);
+		int[] queue = new int[nBus];
+		this.nComp = 0;
+		for (int s : rootOrder()) {
+			if (this.compNo[s] >= 0)
+				continue;
+			int head = 0, tail = 0;
+			queue[tail++] = s;
+			this.compNo[s] = this.nComp;
+			while (head < tail) {
+				int u = queue[head++];
+				for (int k = this.adjStart[u]; k < this.adjStart[u+1]; k++) {
+					int v = this.adjBus[k];
+					if (this.compNo[v] < 0 && !this.bridge[this.adjEdge[k]]) {
+						this.compNo[v] = this.nComp;
+						queue[tail++] = v;
+					}
+				}
+			}
+			this.nComp++;
+		}
+
+		this.compStart = new int[this.nComp + 1];
+		for (int i = 0; i < nBus; i++)
+			this.compStart[this.compNo[i] + 1]++;
+		for (int c = 0; c < this.nComp; c++)
+			this.compStart[c+1] += this.compStart[c];
+		this.compBus = new int[nBus];
+		int[] pos = Arrays.copyOf(this.compStart, this.nComp);
+		for (int i = 0; i < nBus; i++)
+			this.compBus[pos[this.compNo[i]]++] = i;
+	}
+
+	/**
+	 * build the bridge tree of the components with Euler tour order, using an explicit stack
+	 */
+	private void buildBridgeTree() {
+		this.parentEdge = new int[this.nComp];
+		this.anchorBus = new int[this.nComp];
+		this.tin = new int[this.nComp];
+		this.tout = new int[this.nComp];
+		this.compByTin = new int[this.nComp];
+		Arrays.fill(this.tin, -1);
+
+		int[] stack = new int[this.nComp], iter = new int[this.nComp];
+		int time = 0;
+		for (int s : rootOrder()) {
+			int root = this.compNo[s];
+			if (this.tin[root] >= 0)
+				continue;
+			this.parentEdge[root] = -1;
+			this.anchorBus[root] = s;
+			int sp = 0;
+			stack[sp++] = root;
+			this.compByTin[time] = root;
+			this.tin[root] = time++;
+			iter[root] = this.compStart[root];
+			while (sp > 0) {
+				int c = stack[sp-1];
+				boolean pushed = false;
+				// iter[c] walks through the component bus list, the bridges of a bus are
+				// re-scanned after returning from a child component, visited ones are skipped
+				while (iter[c] < this.compStart[c+1] && !pushed) {
+					int u = this.compBus[iter[c]];
+					for (int k = this.adjStart[u]; k < this.adjStart[u+1]; k++) {
+						int e = this.adjEdge[k], d = this.compNo[this.adjBus[k]];
+						if (this.bridge[e] && this.tin[d] < 0) {
+							this.parentEdge[d] = e;
+							this.anchorBus[d] = this.adjBus[k];
+							this.compByTin[time] = d;
+							this.tin[d] = time++;
+							iter[d] = this.compStart[d];
+							stack[sp++] = d;
+							pushed = true;
+							break;
+						}
+					}
+					if (!pushed)
+						iter[c]++;
+				}
+				if (!pushed) {
+					this.tout[c] = time;
+					sp--;
+				}
+			}
+		}
+	}
+
+	/**
+	 * bus index order for starting searches, swing buses first
+	 *
+	 * @return
+	 */
+	private int[] rootOrder() {
+		int nBus = this.busList.size();
+		int[] order = new int[nBus];
+		int cnt = 0;
+		for (int i = 0; i < nBus; i++) {
+			Bus bus = this.busList.get(i);
+			if (bus instanceof AclfBus && ((AclfBus)bus).isSwing())
+				order[cnt++] = i;
+		}
+		for (int i = 0; i < nBus; i++) {
+			Bus bus = this.busList.get(i);
+			if (!(bus instanceof AclfBus && ((AclfBus)bus).isSwing()))
+				order[cnt++] = i;
+		}
+		return order;
+	}
+}
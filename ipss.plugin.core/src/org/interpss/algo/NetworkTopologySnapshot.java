@@ -0,0 +1,405 @@
+ /*
+  * @(#)NetworkTopologySnapshot.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+
+package org.interpss.algo;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.aclf.AclfBranchCode;
+import com.interpss.core.aclf.AclfBus;
+import com.interpss.core.aclf.BaseAclfNetwork;
+import com.interpss.core.net.Branch;
+import com.interpss.core.net.Bus;
+
+/**
+ * Immutable adjacency snapshot of the network active topology for topology queries. Active buses
+ * and active branches are indexed, and the bus adjacency is stored in CSR (compressed sparse row)
+ * format with primitive bus/branch indices, in the order of Bus.getBranchList().
+ *
+ *   - The queries are BFS over the snapshot with per-call visited bitsets. The network object,
+ *     including the branch/bus flags, is not used or modified, so that the snapshot can be
+ *     shared by multiple threads, for example, parallel contingency analysis workers.
+ *   - Contingency branch outages are passed to the queries as outage branch collections,
+ *     instead of changing the branch status of the network.
+ *   - The snapshot needs to be rebuilt if the base topology (bus/branch status) changes.
+ *
+ * @author agent
+ *
+ */
+public class NetworkTopologySnapshot {
+	private List<Bus> busList = new ArrayList<>();
+	private List<Branch> branchList = new ArrayList<>();
+	private Map<String, Integer> busIndexTable = new HashMap<>();
+	private Map<String, Integer> branchIndexTable = new HashMap<>();
+
+	// branch terminal bus index
+	private int[] edgeFrom, edgeTo;
+	// branch type
+	private boolean[] breaker, ground;
+	// bus adjacency in CSR format, adjBus/adjEdge[adjStart[i], adjStart[i+1])
+	private int[] adjStart, adjBus, adjEdge;
+
+	// bus zone/area number
+	private long[] zoneNo, areaNo;
+	private boolean[] swing;
+
+	/**
+	 * constructor, build the snapshot for the network active topology
+	 *
+	 * @param net
+	 */
+	public NetworkTopologySnapshot(BaseAclfNetwork<?,?> net) {
+		for (Bus bus : net.getBusList()) {
+			if (bus.isActive()) {
+				this.busIndexTable.put(bus.getId(), this.busList.size());
+				this.busList.add(bus);
+			}
+		}
+
+		for (Branch branch : net.getBranchList()) {
+			if (branch.isActive() && branch.getFromBus() != null && branch.getToBus() != null &&
+					this.busIndexTable.containsKey(branch.getFromBus().getId()) &&
+					this.busIndexTable.containsKey(branch.getToBus().getId())) {
+				this.branchIndexTable.put(branch.getId(), this.branchList.size());
+				this.branchList.add(branch);
+			}
+		}
+
+		buildAdjacency();
+	}
+
+	/**
+	 * get number of buses in the snapshot
+	 *
+	 * @return
+	 */
+	public int getNoBus() {
+		return this.busList.size();
+	}
+
+	/**
+	 * get number of branches in the snapshot
+	 *
+	 * @return
+	 */
+	public int getNoBranch() {
+		return this.branchList.size();
+	}
+
+	/**
+	 * Starting from the Breaker branch, find all breakers in the substation, plus the connecting
+	 * Line/Xfr/PsXfr. The starting branch could be inactive, for example, for branch closure outage.
+	 *
+	 * @param startBranch starting Breaker branch
+	 * @return branch id list, the starting branch first
+	 */
+	public List<String> findBranchInSubStation(Branch startBranch) {
+		List<String> branchIdList = new ArrayList<>();
+		branchIdList.add(startBranch.getId());
+
+		BitSet visitedEdge = new BitSet(this.branchList.size());
+		BitSet visitedBus = new BitSet(this.busList.size());
+		Integer start = this.branchIndexTable.get(startBranch.getId());
+		if (start != null)
+			visitedEdge.set(start);
+
+		// search both sides of the starting branch, the search continues through the Breakers
+		int[] queue = new int[this.busList.size()];
+		int head = 0, tail = 0;
+		for (Bus bus : new Bus[] {startBranch.getFromBus(), startBranch.getToBus()}) {
+			Integer i = this.busIndexTable.get(bus.getId());
+			if (i != null && !visitedBus.get(i)) {
+				visitedBus.set(i);
+				queue[tail++] = i;
+			}
+		}
+
+		while (head < tail) {
+			int i = queue[head++];
+			for (int k = this.adjStart[i]; k < this.adjStart[i+1]; k++) {
+				int e = this.adjEdge[k];
+				if (!visitedEdge.get(e) && !this.ground[e]) {
+					visitedEdge.set(e);
+					branchIdList.add(this.branchList.get(e).getId());
+					int j = this.adjBus[k];
+					if (this.breaker[e] && !visitedBus.get(j)) {
+						visitedBus.set(j);
+						queue[tail++] = j;
+					}
+				}
+			}
+		}
+		return branchIdList;
+	}
+
+	/**
+	 * Starting from the bus, find all the connecting branches within range steps
+	 *
+	 * @param busId starting bus id
+	 * @param range the number of buses away from the starting bus
+	 * @return branch id list, in the order of the search
+	 */
+	public List<String> findBranchAroundBusWithinRange(String busId, double range) {
+		List<String> branchIdList = new ArrayList<>();
+		Integer start = this.busIndexTable.get(busId);
+		if (start == null)
+			return branchIdList;
+
+		BitSet visitedEdge = new BitSet(this.branchList.size());
+		levelSearch(new int[] {start}, range, visitedEdge, (e, j) -> {
+			branchIdList.add(this.branchList.get(e).getId());
+			return true;
+		});
+		return branchIdList;
+	}
+
+	/**
+	 * check if all the buses within dis steps from the branch are in the same zone (or area)
+	 * as the branch from bus
+	 *
+	 * @param branch starting branch
+	 * @param dis the number of buses away from the branch
+	 * @param byZone true for checking by zone, false by area
+	 * @param outageBranches outage branches excluded from the search, could be null
+	 * @return false if a bus in a different zone (area) is reached
+	 */
+	public boolean isRegionBoundaryBeyond(Branch branch, int dis, boolean byZone, Collection<? extends Branch> outageBranches) {
+		Integer f = this.busIndexTable.get(branch.getFromBus().getId()),
+				t = this.busIndexTable.get(branch.getToBus().getId());
+		if (f == null || t == null)
+			return true;
+
+		long[] regionNo = byZone? this.zoneNo : this.areaNo;
+		long num = regionNo[f];
+		BitSet visitedEdge = outageEdgeSet(outageBranches);
+		Integer e0 = this.branchIndexTable.get(branch.getId());
+		if (e0 != null)
+			visitedEdge.set(e0);
+
+		return levelSearch(new int[] {f, t}, dis, visitedEdge, (e, j) -> regionNo[j] == num);
+	}
+
+	/**
+	 * check network connectivity within a zone or an area. The buses in the zone/area connected 
+	 * to the swing bus, or to a bus outside the zone/area, through the zone/area buses are considered 
+	 * as connected, and the rest of the zone/area buses are islanded.
+	 *
+	 * @param num zone/area number
+	 * @param byZone true for search within a zone, false within an area
+	 * @param outageBranches outage branches excluded from the search, could be null
+	 * @return islanded bus id list, empty if all the zone/area buses are connected
+	 */
+	public List<String> findIslandBusInRegion(long num, boolean byZone, Collection<? extends Branch> outageBranches) {
+		long[] regionNo = byZone? this.zoneNo : this.areaNo;
+		BitSet outageEdge = outageEdgeSet(outageBranches);
+
+		// the swing buses and buses connecting other zones/areas are the search starting points
+		int nBus = this.busList.size();
+		BitSet visitedBus = new BitSet(nBus);
+		int[] queue = new int[nBus];
+		int head = 0, tail = 0;
+		for (int i = 0; i < nBus; i++) {
+			if (regionNo[i] != num)
+				continue;
+			boolean ref = this.swing[i];
+			for (int k = this.adjStart[i]; !ref && k < this.adjStart[i+1]; k++)
+				ref = !outageEdge.get(this.adjEdge[k]) && regionNo[this.adjBus[k]] != num;
+			if (ref) {
+				visitedBus.set(i);
+				queue[tail++] = i;
+			}
+		}
+
+		// walk through the zone/area buses
+		while (head < tail) {
+			int i = queue[head++];
+			for (int k = this.adjStart[i]; k < this.adjStart[i+1]; k++) {
+				int j = this.adjBus[k];
+				if (!outageEdge.get(this.adjEdge[k]) && regionNo[j] == num && !visitedBus.get(j)) {
+					visitedBus.set(j);
+					queue[tail++] = j;
+				}
+			}
+		}
+
+		List<String> islandBusIdList = new ArrayList<>();
+		for (int i = 0; i < nBus; i++)
+			if (regionNo[i] == num && !visitedBus.get(i))
+				islandBusIdList.add(this.busList.get(i).getId());
+		return islandBusIdList;
+	}
+
+	/**
+	 * find the buses not connected to a swing bus in the network
+	 *
+	 * @param outageBranches outage branches excluded from the search, could be null
+	 * @return islanded bus id list, empty if all the buses are connected
+	 */
+	public List<String> findIslandBus(Collection<? extends Branch> outageBranches) {
+		BitSet outageEdge = outageEdgeSet(outageBranches);
+
+		int nBus = this.busList.size();
+		BitSet visitedBus = new BitSet(nBus);
+		int[] queue = new int[nBus];
+		int head = 0, tail = 0;
+		for (int i = 0; i < nBus; i++) {
+			if (this.swing[i]) {
+				visitedBus.set(i);
+				queue[tail++] = i;
+			}
+		}
+
+		while (head < tail) {
+			int i = queue[head++];
+			for (int k = this.adjStart[i]; k < this.adjStart[i+1]; k++) {
+				int j = this.adjBus[k];
+				if (!outageEdge.get(this.adjEdge[k]) && !visitedBus.get(j)) {
+					visitedBus.set(j);
+					queue[tail++] = j;
+				}
+			}
+		}
+
+		List<String> islandBusIdList = new ArrayList<>();
+		for (int i = 0; i < nBus; i++)
+			if (!visitedBus.get(i))
+				islandBusIdList.add(this.busList.get(i).getId());
+		return islandBusIdList;
+	}
+
+	/**
+	 * visitor of the level search, called for each branch visited
+	 */
+	@FunctionalInterface
+	private interface EdgeVisitor {
+		/**
+		 * @param e branch index
+		 * @param j opposite bus index
+		 * @return false to stop the search
+		 */
+		boolean visit(int e, int j);
+	}
+
+	/**
+	 * level by level search starting from the buses, for the number of levels. Each unvisited active
+	 * branch of the buses at a level is visited, and its opposite bus is added to the next level.
+	 *
+	 * @return false if the search is stopped by the visitor
+	 */
+	private boolean levelSearch(int[] startBuses, double levels, BitSet visitedEdge, EdgeVisitor visitor) {
+		BitSet visitedBus = new BitSet(this.busList.size());
+		int[] queue = new int[this.busList.size()];
+		int head = 0, tail = 0;
+		for (int i : startBuses) {
+			if (!visitedBus.get(i)) {
+				visitedBus.set(i);
+				queue[tail++] = i;
+			}
+		}
+
+		for (int level = 0; level < levels && head < tail; level++) {
+			int levelEnd = tail;
+			while (head < levelEnd) {
+				int i = queue[head++];
+				for (int k = this.adjStart[i]; k < this.adjStart[i+1]; k++) {
+					int e = this.adjEdge[k];
+					if (!visitedEdge.get(e)) {
+						visitedEdge.set(e);
+						int j = this.adjBus[k];
+						if (!visitor.visit(e, j))
+							return false;
+						if (!visitedBus.get(j)) {
+							visitedBus.set(j);
+							queue[tail++] = j;
+						}
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	private BitSet outageEdgeSet(Collection<? extends Branch> outageBranches) {
+		BitSet set = new BitSet(this.branchList.size());
+		for (Branch branch : outageBranches != null? outageBranches : Collections.<Branch>emptyList()) {
+			Integer e = this.branchIndexTable.get(branch.getId());
+			if (e != null)
+				set.set(e);
+		}
+		return set;
+	}
+
+	private void buildAdjacency() {
+		int nBus = this.busList.size(), nBranch = this.branchList.size();
+		this.edgeFrom = new int[nBranch];
+		this.edgeTo = new int[nBranch];
+		this.breaker = new boolean[nBranch];
+		this.ground = new boolean[nBranch];
+		for (int e = 0; e < nBranch; e++) {
+			Branch branch = this.branchList.get(e);
+			this.edgeFrom[e] = this.busIndexTable.get(branch.getFromBus().getId());
+			this.edgeTo[e] = this.busIndexTable.get(branch.getToBus().getId());
+			this.breaker[e] = branch instanceof AclfBranch && ((AclfBranch)branch).getBranchCode() == AclfBranchCode.BREAKER;
+			this.ground[e] = branch.isGroundBranch();
+		}
+
+		this.zoneNo = new long[nBus];
+		this.areaNo = new long[nBus];
+		this.swing = new boolean[nBus];
+		this.adjStart = new int[nBus + 1];
+		for (int i = 0; i < nBus; i++) {
+			Bus bus = this.busList.get(i);
+			this.zoneNo[i] = bus.getZone() != null? bus.getZone().getNumber() : 0;
+			this.areaNo[i] = bus.getArea() != null? bus.getArea().getNumber() : 0;
+			this.swing[i] = bus instanceof AclfBus && ((AclfBus)bus).isSwing();
+			int cnt = 0;
+			for (Branch branch : bus.getBranchList())
+				if (this.branchIndexTable.containsKey(branch.getId()))
+					cnt++;
+			this.adjStart[i+1] = this.adjStart[i] + cnt;
+		}
+
+		// the adjacency is in the order of Bus.getBranchList()
+		this.adjBus = new int[this.adjStart[nBus]];
+		this.adjEdge = new int[this.adjStart[nBus]];
+		for (int i = 0; i < nBus; i++) {
+			int pos = this.adjStart[i];
+			for (Branch branch : this.busList.get(i).getBranchList()) {
+				Integer e = this.branchIndexTable.get(branch.getId());
+				if (e != null) {
+					this.adjEdge[pos] = e;
+					this.adjBus[pos++] = this.edgeFrom[e] == i? this.edgeTo[e] : this.edgeFrom[e];
+				}
+			}
+		}
+	}
+}
@@ -26,14 +26,14 @@ package org.interpss.algo;
 import static com.interpss.common.util.IpssLogger.ipssLogger;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import com.interpss.common.exp.InterpssException;
 import com.interpss.common.util.StringUtil;
 import com.interpss.core.aclf.AclfBranch;
 import com.interpss.core.aclf.AclfBranchCode;
-import com.interpss.core.aclf.AclfBus;
-import com.interpss.core.aclf.AclfNetwork;
 import com.interpss.core.aclf.BaseAclfNetwork;
 import com.interpss.core.aclf.contingency.OutageBranch;
 import com.interpss.core.aclf.contingency.dep.DepContingency;
@@ -42,33 +42,50 @@ import com.interpss.core.net.Branch;
 import com.interpss.core.net.Bus;
 
 /**
- * Class for Network topology processing functions
+ * Class for Network topology processing functions. The topology queries are performed on an
+ * immutable CSR adjacency snapshot of the network active topology, see NetworkTopologySnapshot. 
+ * The branch/bus flags of the network are not used, and the snapshot could be shared by 
+ * TopologyProcesor objects used in different threads.
  * 
  * @author mzhou
  *
  */
 public class TopologyProcesor {
 	private BaseAclfNetwork<?,?> aclfNet = null;
-	private List<Bus> groupBusList = null;	
-	private Bus refBus = null;	
+	private NetworkTopologySnapshot snapshot = null;
 	private List<String> islandedBusList = null;
 	
+	// buses of the substations found by findBranchInSubStation(), used to find branches between substations
+	private Set<String> substationBusIdSet = new HashSet<>();
+	
 	/**
-	 * constructor
+	 * constructor, the topology snapshot of the network is built
 	 * 
 	 * @param net
 	 */
 	public TopologyProcesor(BaseAclfNetwork<?,?> net) {
+		this(net, new NetworkTopologySnapshot(net));
+	}
+	
+	/**
+	 * constructor using a topology snapshot, which could be shared by multiple TopologyProcesor objects
+	 * 
+	 * @param net
+	 * @param snapshot topology snapshot of the network
+	 */
+	public TopologyProcesor(BaseAclfNetwork<?,?> net, NetworkTopologySnapshot snapshot) {
 		this.aclfNet = net;
-		// in the findBranchSubStation(), branch.visited status is used for branch search
-		for (Branch branch : net.getBranchList())
-			if (branch.isActive())
-				branch.setBooleanFlag(false);
-		// the status is used to find branches between substations
-		for (Bus bus : net.getBusList())
-			bus.setBooleanFlag(false);
+		this.snapshot = snapshot;
 	}
 	
+	/**
+	 * get the topology snapshot of the network
+	 * 
+	 * @return
+	 */
+	public NetworkTopologySnapshot getTopologySnapshot() {
+		return this.snapshot;
+	}
 	
 	/**
 	 * Starting from the Breaker branch identified by branchId, find all breakers in 
@@ -79,10 +96,7 @@ public class TopologyProcesor {
 	 * @exception
 	 */
 	public List<String> findBranchInSubStation(String branchId) throws InterpssException {
-		List<String> branchIdList = new ArrayList<String>();
-		
 		AclfBranch branch = this.aclfNet.getBranch(branchId);
-		branch.setBooleanFlag(true);
 		
 		if (branch.getBranchCode() != AclfBranchCode.BREAKER)
 			throw new InterpssException("The starting branch to findBranchInSubstation should be Breaker, "
@@ -93,25 +107,18 @@ public class TopologyProcesor {
 					+ branchId + "[" + branch.getBranchCode() + "]");
         */
 		
-		// first the branchId is added to the list
-		branchIdList.add(branchId);
-	
-		// recursively search the from bus side
-		searchBranchInSubstation(branch, branch.getFromAclfBus(), branchIdList);
+		// search both sides of the branch, the branchId is the first in the list
+		List<String> branchIdList = this.snapshot.findBranchInSubStation(branch);
 		
-		// recursively search the to bus side
-		searchBranchInSubstation(branch, branch.getToAclfBus(), branchIdList);
-		
-		// reset branch.visited status to its original value (false)
+		// record the substation buses for finding branches between substations
 		for (String id : branchIdList) {
 			Branch bra = this.aclfNet.getBranch(id);
-			bra.setBooleanFlag(false);
-			bra.getFromBus().setBooleanFlag(true);
+			this.substationBusIdSet.add(bra.getFromBus().getId());
 			for (Bus bus : bra.getFromBus().getBusSecList())
-				bus.setBooleanFlag(true);
-			bra.getToBus().setBooleanFlag(true);
+				this.substationBusIdSet.add(bus.getId());
+			this.substationBusIdSet.add(bra.getToBus().getId());
 			for (Bus bus : bra.getToBus().getBusSecList())
-				bus.setBooleanFlag(true);
+				this.substationBusIdSet.add(bus.getId());
 		}		
 		return branchIdList;
 	}
@@ -122,48 +129,21 @@ public class TopologyProcesor {
 	 * @param branchList
 	 */
 	public void addBranchBetweenSubstation(List<String> branchList, List<String> islandBusList) {
-		for (String busId : islandBusList)
-			this.aclfNet.getBus(busId).setBooleanFlag(true);		
+		this.substationBusIdSet.addAll(islandBusList);
 		
 		for (Branch branch : aclfNet.getBranchList()) {
 			if (branch.isActive())
-				if (branch.getFromBus().isBooleanFlag() && branch.getToBus().isBooleanFlag()) {
+				if (this.substationBusIdSet.contains(branch.getFromBus().getId()) && 
+						this.substationBusIdSet.contains(branch.getToBus().getId())) {
 					if (!StringUtil.contain(branchList, branch.getId())) {
 						branchList.add(branch.getId());
 					}
 				}
 		}
 		
-		for (Bus bus : this.aclfNet.getBusList())
-			bus.setBooleanFlag(false);		
+		this.substationBusIdSet.clear();
 	}	
 	
-	/**
-	 * Starting from the refBranch (not including), search the refBus side for branches in the substation. 
-	 * Add found branches to the branchIdList
-	 * 
-	 * @param refBranch
-	 * @param refBus
-	 * @param branchIdList
-	 * @throws InterpssException 
-	 */
-	private void searchBranchInSubstation(AclfBranch refBranch, Bus refBus, List<String> branchIdList) throws InterpssException {
-		for (Branch bra : refBus.getBranchList()) {
-			if (!bra.getId().equals(refBranch.getId()) &&   // do not include the refBranch
-					bra.isActive() &&                       // branch has to be active
-					!bra.isBooleanFlag() &&                     // make sure the branch has not been visisted to prevent loop situation 
-					!bra.isGroundBranch()) {                // do not include ground branches
-				AclfBranch branch = (AclfBranch)bra;
-				branchIdList.add(branch.getId());
-				branch.setBooleanFlag(true);
-				if (branch.getBranchCode() == AclfBranchCode.BREAKER)
-					// if the branch is a Breaker, continue the search
-					searchBranchInSubstation(branch, branch.getOppositeBus(refBus), branchIdList);
-			}
-		}
-	}
-	
-	
 	/*
 	 *  ====================================================
 	 *  ====================================================	
@@ -215,12 +195,30 @@ public class TopologyProcesor {
 		}		
 	}
 	
+	/**
+	 * find islanding buses for the contingency using the bridge index of the base topology.
+	 * Branch status of the network is not changed in the search.
+	 * 
+	 * @param contingency
+	 * @param index bridge index of the base topology
+	 */
+	public void findIslandBus(DepContingency contingency, NetworkBridgeIndex index) {
+		List<Branch> outageList = new ArrayList<>();
+		for (OutageBranch branch : contingency.getOutageBranches()) {
+			if (branch.getBranch().isActive())
+				outageList.add(branch.getBranch());
+		}
+
+		contingency.getIslandBuses().clear();
+		for (Bus bus : index.findIslandBuses(outageList))
+			contingency.addIslandBus(aclfNet.getBus(bus.getId()));
+	}
+	
 	private int distance = 7;
 
-	private boolean byzone = false;
-	private boolean byArea = false;	
 	/**
-	 * find islanding buses for the contingency by a regional searching algorithm
+	 * find islanding buses for the contingency by a regional searching algorithm. Branch status of
+	 * the network is not changed in the search.
 	 * 
 	 * @param contingency
 	 * @return
@@ -229,13 +227,10 @@ public class TopologyProcesor {
 	@Deprecated
 	public void findIslandBusByRegionalSearch(DepContingency contingency) throws InterpssException {		
 		
+		List<Branch> outageList = new ArrayList<>();
 		for (OutageBranch branch : contingency.getOutageBranches()) {
-			if (branch.getBranch().isActive()) {
-				branch.getBranch().setIntFlag(1);
-				branch.setStatus(false);
-			}
-			else
-				branch.getBranch().setIntFlag(0);
+			if (branch.getBranch().isActive())
+				outageList.add(branch.getBranch());
 		}		
 		
 		// Make a judgment of whether to check connectivity by zone or by area
@@ -248,12 +243,10 @@ public class TopologyProcesor {
 		boolean byArea = false;
 		for (OutageBranch b : contingency.getOutageBranches()) {	
 			AclfBranch bra = b.getBranch();
-			Long fZoneNum = bra.getFromBus().getZone().getNumber();
-			Long tZoneNum = bra.getToBus().getZone().getNumber();
-			Long fAreaNum = bra.getFromBus().getArea().getNumber();
-			Long tAreaNum = bra.getToBus().getArea().getNumber();
-			/*System.out.print("outagebranches:"+ bra.getId()+": fBus Zone number: "+fZoneNum+";tBus Zone Number: "+tZoneNum);
-			System.out.println();*/
+			long fZoneNum = bra.getFromBus().getZone().getNumber();
+			long tZoneNum = bra.getToBus().getZone().getNumber();
+			long fAreaNum = bra.getFromBus().getArea().getNumber();
+			long tAreaNum = bra.getToBus().getArea().getNumber();
 			
 			if(fZoneNum != tZoneNum){
 				byZone = false;
@@ -263,7 +256,7 @@ public class TopologyProcesor {
 			if(fAreaNum != tAreaNum)
 				byArea = false;
 			
-			if(!this.distanceToNeighbourLargerThanDis(bra, distance, byZone, byArea)){
+			if(!this.snapshot.isRegionBoundaryBeyond(bra, distance, byZone, outageList)){
 				if(byZone){
 					byZone = false;
 					byArea = true;
@@ -285,39 +278,17 @@ public class TopologyProcesor {
 			byArea = false;
 		}		
 		
-		/*byArea = true;
-		byZone = false;*/		
-		//List<Long> searchList = new ArrayList<Long>(); 
-		Long searchRegionNum = (long) 0;
-		if (byZone ){
-			searchRegionNum = zoneNoList.get(0);
-			//System.out.println("byzone");
-		}
-		else if (byArea){			
-			searchRegionNum = areaNoList.get(0);
-			//System.out.println("byarea");
-		}
-
-			//System.out.println("byNetwork");
-				
-		TopologyProcesor proc = new TopologyProcesor(aclfNet);
-		List<String> list = new ArrayList<String>();
-		if (byZone || byArea){
-			if(!proc.checkConnectivity(searchRegionNum,byZone, byArea))
-			    list = proc.getslandedBuses();
-		}else
-			list = new AclfNetHelper(aclfNet).checkRefBus(); 
-		
+		List<String> list;
+		if (byZone)
+			list = this.snapshot.findIslandBusInRegion(zoneNoList.get(0), true, outageList);
+		else if (byArea)
+			list = this.snapshot.findIslandBusInRegion(areaNoList.get(0), false, outageList);
+		else
+			list = this.snapshot.findIslandBus(outageList); 
 				
 		if (list.size() > 0) {
 			ipssLogger.info("There are island buses: " + list.toString() + " for contingency " + contingency.getId());			
 		}
-			
-		
-		for (OutageBranch branch : contingency.getOutageBranches()) {
-			if (branch.getBranch().getIntFlag() == 1)
-				branch.getBranch().setStatus(true);
-		}			
 
 		contingency.getIslandBuses().clear();
 		if (list.size() > 0) {
@@ -328,54 +299,6 @@ public class TopologyProcesor {
 		}		
 	}
 	
-	private boolean distanceToNeighbourLargerThanDis(AclfBranch bra, int dis, boolean byZone, boolean byArea	) throws InterpssException{
-		long zoneNum = 0;
-		long areaNum = 0;
-		if(byZone)
-		    zoneNum = bra.getFromBus().getZone().getNumber();
-		else
-			areaNum = bra.getFromBus().getArea().getNumber();
-		for (Branch branch : this.aclfNet.getBranchList())
-			if (branch.isActive())
-				branch.setBooleanFlag(false);		
-		bra.setBooleanFlag(true);
-		int i = 0;
-		List<Bus> busList = new ArrayList<Bus>();
-		List<Bus> temBusList = new ArrayList<Bus>();
-		busList.add(bra.getFromBus());
-		busList.add(bra.getToBus());
-		temBusList = busList;
-		
-		while(i<dis ){
-			busList = temBusList;
-			temBusList = new ArrayList<Bus>();
-			for(Bus b: busList){
-				for (Branch bran: b.getBranchList()){
-					if(bran.isActive()&& !bran.isBooleanFlag()){							
-						bran.setBooleanFlag(true);
-						Bus oppBus = bran.getOppositeBus(b);
-						if(byZone){
-							if(oppBus.getZone().getNumber()!=zoneNum){								
-								return false;
-							}else
-							    temBusList.add(oppBus);
-						}else{
-							if(oppBus.getArea().getNumber()!=areaNum){								
-								return false;
-							}else
-							    temBusList.add(oppBus);
-						}						
-					}					
-				}
-			}
-			busList = new ArrayList<Bus>();
-			i++;
-		}	
-		
-		return true;
-	}
-	
-	
 	/**
 	 * check network connectivity from within a zone or a area	 * 
 	 * @param num zone/area number
@@ -385,101 +308,11 @@ public class TopologyProcesor {
 	 */
 		
 	public boolean checkConnectivity( Long num, boolean byZone, boolean byArea) throws InterpssException{
-		this.groupBusList = new ArrayList<Bus>();		
-		this.byArea = byArea;
-		this.byzone = byZone;
-		if (byZone){			
-			for (Bus bus : aclfNet.getBusList()){
-				if(bus.isActive() && bus.getZone().getNumber() == num)
-					this.groupBusList.add(bus);
-			}			
-		}else{			
-			for (Bus bus : aclfNet.getBusList()){
-				if(bus.isActive() && bus.getArea().getNumber() == num)
-					this.groupBusList.add(bus);
-			}				
-		}		
-		// need to find the proper starting point within that zone or area
-		findRefBus(num);
-		//System.out.println("Ref bus is " + this.refBus.getId());
-		
-		return checkConnectivity(num);
+		// the zone/area buses not connected to the swing bus or other zones/areas are islanded
+		this.islandedBusList = this.snapshot.findIslandBusInRegion(num, byZone, null);
+		return this.islandedBusList.isEmpty();
 	}
 	
-	/**
-	 * find that reference bus within a zone/area as the starting porint for the search 
-	 * 
-	 * @param num zone/area number	 
-	 * @throws InterpssException 
-	 */
-	private boolean findRefBus( Long num) throws InterpssException{	
-		// If the swing bus is in the zone/area, use it as the ref bus
-		for (Bus b: this.groupBusList){
-			AclfBus bus = (AclfBus) b;				
-			if(bus.isSwing()){
-				this.refBus = b;
-				b.setIntFlag(0);
-				return true;				
-			}
-		}
-		
-		for(Bus b: this.groupBusList){
-			// Othersie, find the bus that connecting other zones/areas as the ref bus
-			for(Branch bra: b.getBranchList()){
-				if(bra.isActive()){
-					Bus oppBus = bra.getOppositeBus(b);
-					if(this.byzone){
-						if (oppBus.getZone().getNumber()!=num){
-							this.refBus = b;
-							b.setIntFlag(0);
-							return true;								
-						}							
-					}else{
-						if (oppBus.getArea().getNumber() != num){
-							this.refBus = b;	
-							b.setIntFlag(0);
-							return true;							
-						}
-					}
-				}					
-			}
-		}
-		return false;
-	}
-	/**
-	 * recursively check network connectivity from within a zone or a area 
-	 * @param num zone/area number	 
-	 * @throws InterpssException 
-	 */
-	private boolean checkConnectivity(Long num) throws InterpssException {
-		
-		initForWalk();
-		
-		List<Bus> islandedBusList = visitBuses();
-
-		if (islandedBusList.isEmpty())
-			return true;
-		else {
-			// recersively check the connectivity while the size of the group of buses being searched is
-			// reduced
-			this.groupBusList = islandedBusList;
-			while (findRefBus(num) == true){				
-				islandedBusList = visitBuses();				
-				this.groupBusList = islandedBusList;				
-				//System.out.println("Number of islanded buses is "+ islandedBusList.size());				
-			}
-				
-		}
-		
-		this.islandedBusList = new ArrayList<String>();
-		for (int i = 0; i < this.groupBusList.size(); i++) {
-			Bus b = this.groupBusList.get(i);
-			this.islandedBusList.add(b.getId());
-		}
-		return false;
-
-	}	
-	
 	/**
 	 * return the islanded bus ids
 	 *  
@@ -489,75 +322,6 @@ public class TopologyProcesor {
 		return this.islandedBusList;
 	}
 	
-
-	/**
-	 * initialize the network for walk through
-	 * 
-	 * @param 
-	 * @return 	 
-	 */
-	private void initForWalk(){
-		// walk through bus and its connected branches to mark swing bus and all connected buses
-				//    bus.intFlag = 1    unmarked
-				//    bus.intFlag = 0    marked
-				//    bus.intFlag = -1   marked and the opposite buses of all active connected branches are marked
-		for (Bus bus : this.groupBusList){
-			bus.setIntFlag(bus.getId().equals(this.refBus.getId())? 0 : 1);
-		}			
-	}
-	
-	/**
-	 * visit all the buses within the searching group and find out the islanded buses
-	 * 
-	 * @param 
-	 * @return 	List<Bus> a Bus list contains all the islanded buses for this search
-	 * @throws InterpssException 
-	 */
-	private List<Bus> visitBuses() throws InterpssException {
-
-		this.busBranchWalkThrough();
-
-		List<Bus> islandedBusList = new ArrayList<Bus>();
-		for (Bus b : this.groupBusList) {
-			if (b.isActive() && b.getIntFlag() == 1) {
-				islandedBusList.add(b);
-			}
-		}
-		return islandedBusList;
-	}
-	
-	private void busBranchWalkThrough() throws InterpssException {		
-		// then walk through the bus list until it is done
-		boolean done = false;
-		while (!done) {
-			done = true;
-			for (Bus bus : this.groupBusList) {
-				// visit the bus and connected branches 
-				// return false if the walk is not done
-				if (!this.visitBus(bus))
-					done = false;
-			}			
-		}			
-	}
-	private boolean visitBus(Bus elem) throws InterpssException { 
-		boolean done = true;
-		AclfBus aclfBus = (AclfBus)elem;
-		if (aclfBus.getIntFlag() == 0) {  // if the bus is marked, mark the opposite buses
-			for (Branch branch : aclfBus.getBranchList()) {
-				if (branch.isActive()) {  // only count active branch
-					Bus bus = branch.getOppositeBus(aclfBus);
-					if (bus.getIntFlag() == 1) {
-						bus.setIntFlag(0);  // mark the bus
-						done = false;						
-					}
-				}
-			}
-			// after the opposite buses are marked, set the bus status as processed
-			aclfBus.setIntFlag(-1);			
-		}
-		return done;
-	}	
-	
 	/**
 	 * @throws InterpssException 
 	 * Starting from the bus, find all the connecting branches within range steps
@@ -568,33 +332,6 @@ public class TopologyProcesor {
 	 * @exception
 	 */
 	public List<String> findBranchAroundBusWithinRange(String busId, double range) throws InterpssException{
-		Bus bus = this.aclfNet.getBus(busId);
-		
-		for (Branch branch : this.aclfNet.getBranchList())
-			if (branch.isActive())
-				branch.setBooleanFlag(false);
-		List<String> branchList = new ArrayList<String>();
-		int i = 0;
-		List<Bus> busList = new ArrayList<Bus>();
-		List<Bus> temBusList = new ArrayList<Bus>();
-		busList.add(bus);
-		temBusList = busList;
-		while(i<range){
-			busList = temBusList;
-			temBusList = new ArrayList<Bus>();
-			for(Bus b: busList){
-				for (Branch bra: b.getBranchList()){
-					if(bra.isActive()&& !bra.isBooleanFlag()){
-						branchList.add(bra.getId());
-						bra.setBooleanFlag(true);
-						Bus oppBus = bra.getOppositeBus(b);
-						temBusList.add(oppBus);
-					}					
-				}
-			}
-			busList = new ArrayList<Bus>();
-			i++;
-		}		
-		return branchList;
+		return this.snapshot.findBranchAroundBusWithinRange(busId, range);
 	}
 }
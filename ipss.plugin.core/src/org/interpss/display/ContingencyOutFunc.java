@@ -24,9 +24,19 @@
 
 package org.interpss.display;
 
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 
 import com.interpss.simu.multicase.StudyCase;
 import com.interpss.simu.multicase.aclf.AclfStudyCase;
@@ -142,49 +152,102 @@ public class ContingencyOutFunc {
 	 * @return
 	 */
 	public static StringBuffer branchMvaRatingViolation(ContingencyAnalysis mcase) {
-		StringBuffer buf = new StringBuffer();
-
-		List<Record> elemList = new ArrayList<Record>();
-		
-		// calculate violation
-		Enumeration<String> keys = mcase.getBranchResultSummary().keys();
-		while (keys.hasMoreElements()) {
-			String key = keys.nextElement();
-			AclfBranchResultRec r = mcase.getBranchResultSummary().get(key);
-			if (r.getRating().getThermalMvaRating() > 0.0 && r.getMvaLoadingPercent() > 100.0) {
-				elemList.add(new Record(key, r));
-			}	
+		StringWriter out = new StringWriter();
+		try {
+			branchMvaRatingViolation(mcase, out, 100.0, 0);
+		} catch (IOException e) {
+			// not possible for StringWriter
+			throw new UncheckedIOException(e);
 		}
-		
-		// sort violation
-		boolean done = false;
-		while (!done) {
-			done = true;
-			for (int i = 0; i < elemList.size()-1; i++) {
-				if (elemList.get(i).resultRec.getMvaLoadingPercent() < elemList.get(i+1).resultRec.getMvaLoadingPercent()) {
-					Record temp = elemList.get(i);
-					elemList.set(i, elemList.get(i+1));
-					elemList.set(i+1, temp);
-					done = false;
-				}
-			}
+		return out.getBuffer();
+	}
+
+	/**
+	 * output branch violation analysis results to a file
+	 * 
+	 * @param mcase
+	 * @param filename output file name
+	 * @param threshold branch MVA loading threshold in percent, for example 100.0
+	 * @param topN max number of violations in the report, <= 0 for all violations
+	 * @throws IOException
+	 */
+	public static void branchMvaRatingViolation(ContingencyAnalysis mcase, String filename, 
+				double threshold, int topN) throws IOException {
+		try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(filename)))) {
+			branchMvaRatingViolation(mcase, out, threshold, topN);
 		}
+	}
+
+	/**
+	 * output branch violation analysis results to the writer. Branches with MVA loading above
+	 * the threshold are reported in the descending order of the loading. The writer is not closed.
+	 * 
+	 * @param mcase
+	 * @param out output writer
+	 * @param threshold branch MVA loading threshold in percent, for example 100.0
+	 * @param topN max number of violations in the report, <= 0 for all violations
+	 * @throws IOException
+	 */
+	public static void branchMvaRatingViolation(ContingencyAnalysis mcase, Writer out, 
+				double threshold, int topN) throws IOException {
+		// calculate and sort violation
+		List<Record> elemList = sortedViolationList(mcase, threshold, topN);
 
 		// display violation
-		buf.append("\n");
-		buf.append("                    Branch MVA Rating Violation Report\n");
-		buf.append("\n");
+		out.write("\n");
+		out.write("                    Branch MVA Rating Violation Report\n");
+		out.write("\n");
 
-		buf.append("       Branch Id     MvaFlow   MvaRating   Violation    Description\n");
-		buf.append("  ===========================================================================\n");
+		out.write("       Branch Id     MvaFlow   MvaRating   Violation    Description\n");
+		out.write("  ===========================================================================\n");
 		for (Record rec : elemList) {
 			String str = String.format("%3.0f%s", rec.resultRec.getMvaLoadingPercent()-100.0, "%");
-			buf.append(String.format("  %16s  %8.1f  %8.1f       %s      %s%n", 
+			out.write(String.format("  %16s  %8.1f  %8.1f       %s      %s%n", 
 						rec.key, rec.resultRec.getMvaFlow(), rec.resultRec.getRating().getThermalMvaRating(), 
 						str, rec.resultRec.getDesc()));
 		}
+		out.flush();
+	}
+	
+	/*
+	 * find branch violations with MVA loading above the threshold, sorted in the descending order 
+	 * of the loading. If topN > 0, only the topN largest violations are kept, using a min-heap of size topN.
+	 */
+	private static List<Record> sortedViolationList(ContingencyAnalysis mcase, double threshold, int topN) {
+		Comparator<Record> order = Comparator.comparingDouble(Record::getLoading).reversed()
+				.thenComparing(rec -> rec.key);
 		
-		return buf;
+		List<Record> elemList;
+		if (topN > 0) {
+			// the head of the heap is the smallest violation kept
+			PriorityQueue<Record> heap = new PriorityQueue<>(topN+1, order.reversed());
+			for (Map.Entry<String, AclfBranchResultRec> e : mcase.getBranchResultSummary().entrySet()) {
+				if (isViolation(e.getValue(), threshold)) {
+					Record rec = new Record(e.getKey(), e.getValue());
+					if (heap.size() < topN)
+						heap.add(rec);
+					else if (order.compare(rec, heap.peek()) < 0) {
+						heap.poll();
+						heap.add(rec);
+					}
+				}
+			}
+			elemList = new ArrayList<>(heap);
+		}
+		else {
+			elemList = new ArrayList<>();
+			for (Map.Entry<String, AclfBranchResultRec> e : mcase.getBranchResultSummary().entrySet()) {
+				if (isViolation(e.getValue(), threshold))
+					elemList.add(new Record(e.getKey(), e.getValue()));
+			}
+		}
+		
+		elemList.sort(order);
+		return elemList;
+	}
+	
+	private static boolean isViolation(AclfBranchResultRec r, double threshold) {
+		return r.getRating().getThermalMvaRating() > 0.0 && r.getMvaLoadingPercent() > threshold;
 	}
 	
 	private static class Record {
@@ -195,5 +258,9 @@ public class ContingencyOutFunc {
 			this.key = key;
 			this.resultRec = value;
 		}
+		
+		public double getLoading() {
+			return this.resultRec.getMvaLoadingPercent();
+		}
 	}	
 }
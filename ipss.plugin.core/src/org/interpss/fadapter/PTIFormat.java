@@ -24,12 +24,25 @@
 
 package org.interpss.fadapter;
 
+import static com.interpss.common.util.IpssLogger.ipssLogger;
+
+import java.io.File;
+
 import org.ieee.odm.ODMFileFormatEnum;
 import org.interpss.fadapter.impl.IpssFileAdapterBase;
+import org.interpss.fadapter.impl.PsseRawDirectReader;
 
+import com.interpss.common.exp.InterpssException;
 import com.interpss.common.msg.IPSSMsgHub;
+import com.interpss.core.aclf.AclfNetwork;
+import com.interpss.simu.SimuContext;
+import com.interpss.simu.SimuCtxType;
 
 public class PTIFormat extends IpssFileAdapterBase {
+	private boolean psseV26 = false;
+	private boolean directReader = false;
+	private boolean odmFallback = false;
+	
 	public PTIFormat(IPSSMsgHub msgHub) {
 		super(msgHub, ODMFileFormatEnum.PsseV30);
 	}
@@ -37,5 +50,62 @@ public class PTIFormat extends IpssFileAdapterBase {
 	public PTIFormat(IpssFileAdapter.Version v, IPSSMsgHub msgHub) {
 		super(msgHub, v == IpssFileAdapter.Version.PSSE_26? 
 				ODMFileFormatEnum.PsseV26 : ODMFileFormatEnum.PsseV30);
+		this.psseV26 = v == IpssFileAdapter.Version.PSSE_26;
+	}
+	
+	/**
+	 * set to load the PSS/E RAW (v29+) file using the direct reader, which maps the RAW records 
+	 * to the AclfNetwork object in a single pass, without creating the ODM model. If the file 
+	 * contains data not supported by the direct reader, an InterpssException is thrown, unless
+	 * the ODM fallback is turned on.
+	 * 
+	 * @param b
+	 */
+	public void setDirectReader(boolean b) {
+		this.directReader = b;
+	}
+	
+	/**
+	 * @return true if the direct reader is used
+	 */
+	public boolean isDirectReader() {
+		return this.directReader;
+	}
+	
+	/**
+	 * set to load the file through the ODM transformation, when the direct reader reports a data 
+	 * error or data not supported by the reader. Runtime exceptions of the direct reader are not 
+	 * caught. 
+	 * 
+	 * @param b
+	 */
+	public void setOdmFallback(boolean b) {
+		this.odmFallback = b;
+	}
+	
+	@Override
+	public void setVersionSelected(String versionSelected) {
+		super.setVersionSelected(versionSelected);
+		this.psseV26 = versionSelected.equals("PSS/E-26");
+	}
+	
+	@Override
+	public void load(final SimuContext simuCtx, final String filepath, boolean debug, String outfile) throws InterpssException {
+		if (this.directReader && !this.psseV26) {
+			try {
+				AclfNetwork aclfNet = new PsseRawDirectReader().load(filepath);
+				this.parser = null;
+				simuCtx.setNetType(SimuCtxType.ACLF_NETWORK);
+				simuCtx.setAclfNet(aclfNet);
+	  	  		simuCtx.setName(filepath.substring(filepath.lastIndexOf(File.separatorChar)+1));
+	  	  		simuCtx.setDesc("This project is created by input file " + filepath);
+				return;
+			} catch (InterpssException e) {
+				if (!this.odmFallback)
+					throw e;
+				ipssLogger.warning("PSS/E RAW direct reader, " + e.toString() + ", the file is loaded through ODM");
+			}
+		}
+		super.load(simuCtx, filepath, debug, outfile);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,781 @@
+ /*
+  * @(#)AclfNetBinarySnapshot.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.fadapter.impl;
+
+import static com.interpss.common.util.IpssLogger.ipssLogger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.math3.complex.Complex;
+import org.interpss.numeric.datatype.LimitType;
+import org.interpss.numeric.datatype.Unit.UnitType;
+
+import com.interpss.CoreObjectFactory;
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.aclf.AclfBranchCode;
+import com.interpss.core.aclf.AclfBus;
+import com.interpss.core.aclf.AclfGen;
+import com.interpss.core.aclf.AclfGenCode;
+import com.interpss.core.aclf.AclfLoad;
+import com.interpss.core.aclf.AclfLoadCode;
+import com.interpss.core.aclf.AclfNetwork;
+import com.interpss.core.aclf.adj.AdjControlType;
+import com.interpss.core.aclf.adj.PSXfrPControl;
+import com.interpss.core.aclf.adj.PVBusLimit;
+import com.interpss.core.aclf.adj.QBank;
+import com.interpss.core.aclf.adj.RemoteQBus;
+import com.interpss.core.aclf.adj.RemoteQControlType;
+import com.interpss.core.aclf.adj.SwitchedShunt;
+import com.interpss.core.aclf.adj.TapControl;
+import com.interpss.core.aclf.adj.VarCompensationMode;
+import com.interpss.core.aclf.adj.XfrTapControlType;
+import com.interpss.core.aclf.contingency.BaseContingency;
+import com.interpss.core.aclf.contingency.BranchOutageType;
+import com.interpss.core.aclf.contingency.BusbarOutageContingency;
+import com.interpss.core.aclf.contingency.Contingency;
+import com.interpss.core.aclf.contingency.MultiOutageContingency;
+import com.interpss.core.aclf.contingency.OutageBranch;
+import com.interpss.core.aclf.contingency.Xfr3WOutageContingency;
+import com.interpss.core.net.Area;
+import com.interpss.core.net.Branch;
+import com.interpss.core.net.Bus;
+import com.interpss.core.net.OriginalDataFormat;
+import com.interpss.core.net.Zone;
+
+/**
+ * Versioned compact binary snapshot of an AclfNetwork object, used as a cache to skip the
+ * ODM import pipeline when the same source files are loaded again. The snapshot is keyed by the
+ * content hash of all the source files and the import options (file format and version), a 
+ * snapshot with a different format version or hash is ignored.
+ *
+ * The snapshot is taken after the import (post-processing included), and is restored as is.
+ * The following info is kept :
+ *
+ *   - network : id, name, desc, baseKva, original data format, area/zone
+ *   - bus : basic info, gen/load code and values, shunt Y, contributing gens and loads,
+ *           PV bus limit, remote Q bus (voltage control), switched shunt
+ *   - branch : basic info, Z, shunt Y, turn ratio, PS angle, ratings, xfr/PS xfr controls
+ *   - bus/branch extension objects, by Java serialization
+ *   - contingency list, single and multiple branch outages
+ *
+ * Network containing special branches (3W xfr, HVDC ...), busbar or 3W xfr outage contingencies,
+ * or non-serializable extension objects is not snapshotted.
+ *
+ * @author agent
+ *
+ */
+public class AclfNetBinarySnapshot {
+	/**
+	 * snapshot file magic number, "IPSN"
+	 */
+	public static final int Magic = 0x4950534E;
+	/**
+	 * snapshot format version, increase the version when the layout is changed
+	 */
+	public static final int Version = 1;
+	/**
+	 * snapshot file extension
+	 */
+	public static final String FileExt = ".ipsnap";
+
+	private static final int ContSingleOutage = 0;
+	private static final int ContMultiOutage = 1;
+
+	/**
+	 * calculate the hash key of the source file. The tag is used to define the import
+	 * options, for example, the file format and version, which affect the imported network.
+	 *
+	 * @param filename source file name
+	 * @param tag import option tag
+	 * @return SHA-256 hex string
+	 * @throws IOException
+	 */
+	public static String contentHash(String filename, String tag) throws IOException {
+		return contentHash(new String[] {filename}, tag);
+	}
+
+	/**
+	 * calculate the hash key of the source files, for example, the raw, seq and dyr files of a 
+	 * PSS/E case. The content of all the files is hashed, in the order of the array, and the null 
+	 * entries are skipped. The tag is used to define the import options.
+	 *
+	 * @param filenames source file names
+	 * @param tag import option tag
+	 * @return SHA-256 hex string
+	 * @throws IOException
+	 */
+	public static String contentHash(String[] filenames, String tag) throws IOException {
+		MessageDigest md;
+		try {
+			md = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e.toString());
+		}
+		md.update(("v" + Version + "|" + tag + "|").getBytes("UTF-8"));
+		byte[] buf = new byte[64 * 1024];
+		for (int i = 0; i < filenames.length; i++) {
+			if (filenames[i] == null)
+				continue;
+			// the file position is part of the key
+			md.update(("|file" + i + "|").getBytes("UTF-8"));
+			try (InputStream in = new FileInputStream(filenames[i])) {
+				for (int n = in.read(buf); n > 0; n = in.read(buf))
+					md.update(buf, 0, n);
+			}
+		}
+		StringBuilder sb = new StringBuilder();
+		for (byte b : md.digest())
+			sb.append(String.format("%02x", b));
+		return sb.toString();
+	}
+
+	/**
+	 * get the snapshot file of the hash key in the snapshot dir
+	 *
+	 * @param dir snapshot dir
+	 * @param hash hash key
+	 * @return
+	 */
+	public static File snapshotFile(String dir, String hash) {
+		return new File(dir, hash + FileExt);
+	}
+
+	/**
+	 * check if the network could be snapshotted
+	 *
+	 * @param net
+	 * @return
+	 */
+	public static boolean isSupported(AclfNetwork net) {
+		if (net.getSpecialBranchList().size() > 0) {
+			ipssLogger.info("Snapshot not supported, network contains special branch");
+			return false;
+		}
+		for (Bus b : net.getBusList())
+			if (b.getExtensionObject() != null && !(b.getExtensionObject() instanceof Serializable)) {
+				ipssLogger.info("Snapshot not supported, bus extension not serializable: " + b.getId());
+				return false;
+			}
+		for (Branch b : net.getBranchList())
+			if (b.getExtensionObject() != null && !(b.getExtensionObject() instanceof Serializable)) {
+				ipssLogger.info("Snapshot not supported, branch extension not serializable: " + b.getId());
+				return false;
+			}
+		for (BaseContingency cont : net.getContingencyList()) {
+			if (cont instanceof BusbarOutageContingency || cont instanceof Xfr3WOutageContingency ||
+					!(cont instanceof Contingency || cont instanceof MultiOutageContingency)) {
+				ipssLogger.info("Snapshot not supported, contingency type: " + cont.getId());
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * write the network into the snapshot file. The snapshot is first written into a temp file
+	 * and then moved to the snapshot file, so that a concurrent reader never sees a partial snapshot.
+	 *
+	 * @param net the network object
+	 * @param hash hash key of the source file
+	 * @param file snapshot file
+	 * @return false if the network could not be snapshotted
+	 * @throws IOException
+	 */
+	public static boolean write(AclfNetwork net, String hash, File file) throws IOException {
+		if (!isSupported(net))
+			return false;
+
+		File dir = file.getAbsoluteFile().getParentFile();
+		if (!dir.exists())
+			dir.mkdirs();
+		File tmp = File.createTempFile(file.getName(), ".tmp", dir);
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp), 64 * 1024))) {
+				out.writeInt(Magic);
+				out.writeInt(Version);
+				out.writeUTF(hash);
+				new Writer(out).writeNet(net);
+			}
+			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			tmp.delete();
+		}
+		return true;
+	}
+
+	/**
+	 * read the network from the snapshot file
+	 *
+	 * @param file snapshot file
+	 * @param hash hash key of the source file
+	 * @return the network object, null if the snapshot does not exist, or is of a different version or hash key
+	 * @throws IOException
+	 * @throws InterpssException
+	 */
+	public static AclfNetwork read(File file, String hash) throws IOException, InterpssException {
+		if (!file.exists())
+			return null;
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 64 * 1024))) {
+			if (in.readInt() != Magic || in.readInt() != Version || !in.readUTF().equals(hash)) {
+				ipssLogger.info("Snapshot version or hash key mismatch, " + file.getPath());
+				return null;
+			}
+			return new Reader(in).readNet();
+		}
+	}
+
+	/*
+	 * snapshot writer
+	 */
+	private static class Writer {
+		private DataOutputStream out;
+
+		Writer(DataOutputStream out) {
+			this.out = out;
+		}
+
+		void writeNet(AclfNetwork net) throws IOException {
+			writeStr(net.getId());
+			writeStr(net.getName());
+			writeStr(net.getDesc());
+			out.writeDouble(net.getBaseKva());
+			writeStr(net.getOriginalDataFormat() == null? null : net.getOriginalDataFormat().name());
+
+			out.writeInt(net.getBusList().size());
+			for (Bus b : net.getBusList())
+				writeBus((AclfBus)b);
+			// bus controls refer to other buses, they are written after all buses
+			for (Bus b : net.getBusList())
+				writeBusControl((AclfBus)b);
+
+			out.writeInt(net.getBranchList().size());
+			for (Branch b : net.getBranchList())
+				writeBranch((AclfBranch)b);
+
+			out.writeInt(net.getContingencyList().size());
+			for (BaseContingency cont : net.getContingencyList())
+				writeContingency(cont);
+		}
+
+		void writeBus(AclfBus bus) throws IOException {
+			writeStr(bus.getId());
+			out.writeLong(bus.getNumber());
+			writeStr(bus.getName());
+			writeStr(bus.getDesc());
+			out.writeBoolean(bus.isActive());
+			out.writeDouble(bus.getBaseVoltage());
+			writeArea(bus.getArea());
+			writeZone(bus.getZone());
+			writeLimit(bus.getVLimit());
+
+			out.writeUTF(bus.getGenCode().name());
+			out.writeUTF(bus.getLoadCode().name());
+			out.writeDouble(bus.getGenP());
+			out.writeDouble(bus.getGenQ());
+			out.writeDouble(bus.getLoadP());
+			out.writeDouble(bus.getLoadQ());
+			writeComplex(bus.getShuntY());
+			out.writeDouble(bus.getDesiredVoltMag());
+			out.writeDouble(bus.getDesiredVoltAng());
+			writeLimit(bus.getPGenLimit());
+			writeLimit(bus.getQGenLimit());
+			out.writeDouble(bus.getVoltageMag());
+			out.writeDouble(bus.getVoltageAng());
+
+			out.writeInt(bus.getContributeGenList().size());
+			for (AclfGen gen : bus.getContributeGenList()) {
+				writeStr(gen.getId());
+				out.writeBoolean(gen.isActive());
+				writeComplex(gen.getGen());
+				out.writeDouble(gen.getDesiredVoltMag());
+				out.writeDouble(gen.getMvaBase());
+				writeComplex(gen.getSourceZ());
+				writeComplex(gen.getXfrZ());
+				out.writeDouble(gen.getXfrTap());
+				writeLimit(gen.getPGenLimit());
+				writeLimit(gen.getQGenLimit());
+				writeStr(gen.getRemoteVControlBusId());
+				out.writeDouble(gen.getMvarControlPFactor());
+				out.writeDouble(gen.getMwControlPFactor());
+			}
+
+			out.writeInt(bus.getContributeLoadList().size());
+			for (AclfLoad load : bus.getContributeLoadList()) {
+				writeStr(load.getId());
+				out.writeBoolean(load.isActive());
+				writeStr(load.getCode() == null? null : load.getCode().name());
+				writeComplex(load.getLoadCP());
+				writeComplex(load.getLoadCI());
+				writeComplex(load.getLoadCZ());
+			}
+
+			writeExtension(bus.getExtensionObject());
+		}
+
+		void writeBusControl(AclfBus bus) throws IOException {
+			PVBusLimit pvLimit = bus.isPVBusLimit()? bus.getPVBusLimit() : null;
+			out.writeBoolean(pvLimit != null);
+			if (pvLimit != null) {
+				out.writeBoolean(pvLimit.isStatus());
+				out.writeDouble(pvLimit.getVSpecified());
+				writeLimit(pvLimit.getQLimit());
+			}
+
+			RemoteQBus reQBus = bus.isRemoteQBus()? bus.getRemoteQBus() : null;
+			String remoteId = reQBus != null && reQBus.getRemoteBus() != null? reQBus.getRemoteBus().getId() : null;
+			writeStr(remoteId);
+			if (remoteId != null)
+				out.writeDouble(reQBus.getAccFactor());
+
+			SwitchedShunt ss = bus.getSwitchedShunt();
+			out.writeBoolean(ss != null);
+			if (ss != null) {
+				out.writeDouble(ss.getBInit());
+				out.writeUTF(ss.getControlMode().name());
+				out.writeDouble(ss.getVSpecified());
+				writeLimit(ss.getDesiredVoltageRange());
+				writeLimit(ss.getQLimit());
+				writeStr(ss.getRemoteBus() == null? null : ss.getRemoteBus().getId());
+				out.writeInt(ss.getVarBankArray().size());
+				for (QBank qb : ss.getVarBankArray()) {
+					out.writeInt(qb.getSteps());
+					out.writeDouble(qb.getUnitQMvar());
+				}
+			}
+		}
+
+		void writeBranch(AclfBranch branch) throws IOException {
+			writeStr(branch.getId());
+			writeStr(branch.getName());
+			writeStr(branch.getFromBus().getId());
+			writeStr(branch.getToBus().getId());
+			writeStr(branch.getCircuitNumber());
+			out.writeBoolean(branch.isActive());
+			out.writeUTF(branch.getBranchCode().name());
+			writeComplex(branch.getZ());
+			writeComplex(branch.getHShuntY());
+			writeComplex(branch.getFromShuntY());
+			writeComplex(branch.getToShuntY());
+			out.writeDouble(branch.getFromTurnRatio());
+			out.writeDouble(branch.getToTurnRatio());
+			out.writeDouble(branch.getFromPSXfrAngle());
+			out.writeDouble(branch.getToPSXfrAngle());
+			out.writeDouble(branch.getRatingMva1());
+			out.writeDouble(branch.getRatingMva2());
+			out.writeDouble(branch.getRatingMva3());
+
+			TapControl tap = branch.getTapControl();
+			out.writeBoolean(tap != null);
+			if (tap != null) {
+				boolean busVoltage = tap.getControlType() == XfrTapControlType.BUS_VOLTAGE;
+				out.writeBoolean(busVoltage);
+				out.writeUTF(tap.getFlowControlType().name());
+				writeStr(busVoltage? tap.getVcBus().getId() : null);
+				out.writeDouble(busVoltage? tap.getVSpecified() : tap.getMvarSpecified());
+				writeLimit(tap.getControlRange());
+				writeLimit(tap.getTurnRatioLimit());
+				out.writeBoolean(tap.isStatus());
+				out.writeBoolean(tap.isControlOnFromSide());
+				out.writeBoolean(tap.isMeteredOnFromSide());
+				out.writeInt(tap.getTapSteps());
+				out.writeDouble(tap.getTapStepSize());
+			}
+
+			PSXfrPControl psxfr = branch.getPSXfrPControl();
+			out.writeBoolean(psxfr != null);
+			if (psxfr != null) {
+				out.writeUTF(psxfr.getFlowControlType().name());
+				out.writeBoolean(psxfr.isStatus());
+				out.writeDouble(psxfr.getPSpecified());
+				writeLimit(psxfr.getControlRange());
+				writeLimit(psxfr.getAngLimit());
+				out.writeBoolean(psxfr.isControlOnFromSide());
+				out.writeBoolean(psxfr.isMeteredOnFromSide());
+				out.writeBoolean(psxfr.isFlowFrom2To());
+			}
+
+			writeExtension(branch.getExtensionObject());
+		}
+
+		void writeContingency(BaseContingency cont) throws IOException {
+			List<OutageBranch> list = new ArrayList<>();
+			if (cont instanceof Contingency) {
+				out.writeInt(ContSingleOutage);
+				list.add(((Contingency)cont).getOutageBranch());
+			}
+			else {
+				out.writeInt(ContMultiOutage);
+				list.addAll(((MultiOutageContingency)cont).getOutageBranches());
+			}
+			writeStr(cont.getId());
+			out.writeInt(list.size());
+			for (OutageBranch outBranch : list) {
+				writeStr(outBranch.getBranch().getId());
+				out.writeUTF(outBranch.getOutageType().name());
+			}
+		}
+
+		void writeArea(Area area) throws IOException {
+			out.writeBoolean(area != null);
+			if (area != null) {
+				out.writeLong(area.getNumber());
+				writeStr(area.getName());
+			}
+		}
+
+		void writeZone(Zone zone) throws IOException {
+			out.writeBoolean(zone != null);
+			if (zone != null) {
+				out.writeLong(zone.getNumber());
+				writeStr(zone.getName());
+			}
+		}
+
+		void writeExtension(Object ext) throws IOException {
+			if (ext == null) {
+				out.writeInt(-1);
+				return;
+			}
+			ByteArrayOutputStream bout = new ByteArrayOutputStream();
+			try (ObjectOutputStream oout = new ObjectOutputStream(bout)) {
+				oout.writeObject(ext);
+			}
+			out.writeInt(bout.size());
+			bout.writeTo(out);
+		}
+
+		void writeStr(String s) throws IOException {
+			out.writeBoolean(s != null);
+			if (s != null)
+				out.writeUTF(s);
+		}
+
+		void writeComplex(Complex x) throws IOException {
+			out.writeBoolean(x != null);
+			if (x != null) {
+				out.writeDouble(x.getReal());
+				out.writeDouble(x.getImaginary());
+			}
+		}
+
+		void writeLimit(LimitType limit) throws IOException {
+			out.writeBoolean(limit != null);
+			if (limit != null) {
+				out.writeDouble(limit.getMax());
+				out.writeDouble(limit.getMin());
+			}
+		}
+	}
+
+	/*
+	 * snapshot reader, the read sequence should match the write sequence
+	 */
+	private static class Reader {
+		private DataInputStream in;
+		private AclfNetwork net;
+
+		Reader(DataInputStream in) {
+			this.in = in;
+		}
+
+		AclfNetwork readNet() throws IOException, InterpssException {
+			this.net = CoreObjectFactory.createAclfNetwork();
+			net.setId(readStr());
+			net.setName(readStr());
+			net.setDesc(readStr());
+			net.setBaseKva(in.readDouble());
+			String format = readStr();
+			if (format != null)
+				net.setOriginalDataFormat(OriginalDataFormat.valueOf(format));
+
+			int nBus = in.readInt();
+			List<AclfBus> busList = new ArrayList<>(nBus);
+			for (int i = 0; i < nBus; i++)
+				busList.add(readBus());
+			for (AclfBus bus : busList)
+				readBusControl(bus);
+
+			int nBranch = in.readInt();
+			for (int i = 0; i < nBranch; i++)
+				readBranch();
+
+			int nCont = in.readInt();
+			for (int i = 0; i < nCont; i++)
+				readContingency();
+
+			return net;
+		}
+
+		AclfBus readBus() throws IOException, InterpssException {
+			AclfBus bus = CoreObjectFactory.createAclfBus(readStr(), net);
+			bus.setNumber(in.readLong());
+			bus.setName(readStr());
+			bus.setDesc(readStr());
+			bus.setStatus(in.readBoolean());
+			bus.setBaseVoltage(in.readDouble());
+			if (in.readBoolean()) {
+				Area area = CoreObjectFactory.createArea(in.readLong(), net);
+				area.setName(readStr());
+				bus.setArea(area);
+			}
+			if (in.readBoolean()) {
+				Zone zone = CoreObjectFactory.createZone(in.readLong(), net);
+				zone.setName(readStr());
+				bus.setZone(zone);
+			}
+			LimitType vLimit = readLimit();
+			if (vLimit != null)
+				bus.setVLimit(vLimit);
+
+			bus.setGenCode(AclfGenCode.valueOf(in.readUTF()));
+			bus.setLoadCode(AclfLoadCode.valueOf(in.readUTF()));
+			bus.setGenP(in.readDouble());
+			bus.setGenQ(in.readDouble());
+			bus.setLoadPQ(new Complex(in.readDouble(), in.readDouble()));
+			Complex y = readComplex();
+			if (y != null)
+				bus.setShuntY(y);
+			bus.setDesiredVoltMag(in.readDouble());
+			bus.setDesiredVoltAng(in.readDouble());
+			LimitType pLimit = readLimit(), qLimit = readLimit();
+			if (pLimit != null)
+				bus.setPGenLimit(pLimit);
+			if (qLimit != null)
+				bus.setQGenLimit(qLimit);
+			// the bus voltage is set after the desired voltage, which might override the voltage
+			bus.setVoltage(in.readDouble(), in.readDouble());
+
+			int nGen = in.readInt();
+			for (int i = 0; i < nGen; i++) {
+				AclfGen gen = CoreObjectFactory.createAclfGen(readStr());
+				gen.setStatus(in.readBoolean());
+				gen.setGen(readComplex());
+				gen.setDesiredVoltMag(in.readDouble());
+				gen.setMvaBase(in.readDouble());
+				gen.setSourceZ(readComplex());
+				gen.setXfrZ(readComplex());
+				gen.setXfrTap(in.readDouble());
+				gen.setPGenLimit(readLimit());
+				gen.setQGenLimit(readLimit());
+				String remoteId = readStr();
+				if (remoteId != null)
+					gen.setRemoteVControlBusId(remoteId);
+				gen.setMvarControlPFactor(in.readDouble());
+				gen.setMwControlPFactor(in.readDouble());
+				bus.getContributeGenList().add(gen);
+			}
+
+			int nLoad = in.readInt();
+			for (int i = 0; i < nLoad; i++) {
+				AclfLoad load = CoreObjectFactory.createAclfLoad(readStr());
+				load.setStatus(in.readBoolean());
+				String code = readStr();
+				if (code != null)
+					load.setCode(AclfLoadCode.valueOf(code));
+				load.setLoadCP(readComplex());
+				load.setLoadCI(readComplex());
+				load.setLoadCZ(readComplex());
+				bus.getContributeLoadList().add(load);
+			}
+
+			bus.setExtensionObject(readExtension());
+			return bus;
+		}
+
+		void readBusControl(AclfBus bus) throws IOException, InterpssException {
+			if (in.readBoolean()) {
+				PVBusLimit pvLimit = CoreObjectFactory.createPVBusLimit(bus);
+				pvLimit.setStatus(in.readBoolean());
+				pvLimit.setVSpecified(in.readDouble());
+				LimitType qLimit = readLimit();
+				if (qLimit != null)
+					pvLimit.setQLimit(qLimit, UnitType.PU);
+			}
+
+			String remoteId = readStr();
+			if (remoteId != null) {
+				RemoteQBus reQBus = CoreObjectFactory.createRemoteQBus(bus, RemoteQControlType.BUS_VOLTAGE, remoteId);
+				reQBus.setAccFactor(in.readDouble());
+			}
+
+			if (in.readBoolean()) {
+				SwitchedShunt ss = CoreObjectFactory.createSwitchedShunt(bus);
+				ss.setBInit(in.readDouble());
+				ss.setControlMode(VarCompensationMode.valueOf(in.readUTF()));
+				ss.setVSpecified(in.readDouble());
+				LimitType vRange = readLimit(), qLimit = readLimit();
+				if (vRange != null)
+					ss.setDesiredVoltageRange(vRange);
+				if (qLimit != null)
+					ss.setQLimit(qLimit);
+				String ssRemoteId = readStr();
+				if (ssRemoteId != null)
+					ss.setRemoteBus(net.getBus(ssRemoteId));
+				int nBank = in.readInt();
+				for (int i = 0; i < nBank; i++) {
+					QBank qb = CoreObjectFactory.createQBank(ss);
+					qb.setSteps(in.readInt());
+					qb.setUnitQMvar(in.readDouble());
+				}
+			}
+		}
+
+		void readBranch() throws IOException, InterpssException {
+			AclfBranch branch = CoreObjectFactory.createAclfBranch();
+			branch.setId(readStr());
+			branch.setName(readStr());
+			String fromId = readStr(), toId = readStr();
+			net.addBranch(branch, fromId, toId, readStr());
+			branch.setStatus(in.readBoolean());
+			branch.setBranchCode(AclfBranchCode.valueOf(in.readUTF()));
+			branch.setZ(readComplex());
+			Complex y = readComplex();
+			if (y != null)
+				branch.setHShuntY(y);
+			y = readComplex();
+			if (y != null)
+				branch.setFromShuntY(y);
+			y = readComplex();
+			if (y != null)
+				branch.setToShuntY(y);
+			branch.setFromTurnRatio(in.readDouble());
+			branch.setToTurnRatio(in.readDouble());
+			branch.setFromPSXfrAngle(in.readDouble());
+			branch.setToPSXfrAngle(in.readDouble());
+			branch.setRatingMva1(in.readDouble());
+			branch.setRatingMva2(in.readDouble());
+			branch.setRatingMva3(in.readDouble());
+
+			if (in.readBoolean()) {
+				boolean busVoltage = in.readBoolean();
+				AdjControlType type = AdjControlType.valueOf(in.readUTF());
+				String vcBusId = readStr();
+				TapControl tap;
+				if (busVoltage) {
+					tap = CoreObjectFactory.createTapVControlBusVoltage(branch, type, net, vcBusId);
+					tap.setVSpecified(in.readDouble());
+					tap.setVcBusOnFromSide(branch.isFromBus(net.getBus(vcBusId)));
+				}
+				else {
+					tap = CoreObjectFactory.createTapVControlMvarFlow(branch, type);
+					tap.setMvarSpecified(in.readDouble());
+				}
+				LimitType range = readLimit(), ratioLimit = readLimit();
+				if (range != null)
+					tap.setControlRange(range);
+				if (ratioLimit != null)
+					tap.setTurnRatioLimit(ratioLimit);
+				tap.setStatus(in.readBoolean());
+				tap.setControlOnFromSide(in.readBoolean());
+				tap.setMeteredOnFromSide(in.readBoolean());
+				tap.setTapSteps(in.readInt());
+				tap.setTapStepSize(in.readDouble());
+			}
+
+			if (in.readBoolean()) {
+				PSXfrPControl psxfr = CoreObjectFactory.createPSXfrPControl(branch, AdjControlType.valueOf(in.readUTF()));
+				psxfr.setStatus(in.readBoolean());
+				psxfr.setPSpecified(in.readDouble());
+				LimitType range = readLimit(), angLimit = readLimit();
+				if (range != null)
+					psxfr.setControlRange(range);
+				if (angLimit != null)
+					psxfr.setAngLimit(angLimit);
+				psxfr.setControlOnFromSide(in.readBoolean());
+				psxfr.setMeteredOnFromSide(in.readBoolean());
+				psxfr.setFlowFrom2To(in.readBoolean());
+			}
+
+			branch.setExtensionObject(readExtension());
+		}
+
+		void readContingency() throws IOException, InterpssException {
+			int type = in.readInt();
+			String id = readStr();
+			int n = in.readInt();
+			String[] branchIds = new String[n];
+			BranchOutageType[] outageTypes = new BranchOutageType[n];
+			for (int i = 0; i < n; i++) {
+				branchIds[i] = readStr();
+				outageTypes[i] = BranchOutageType.valueOf(in.readUTF());
+			}
+
+			if (type == ContSingleOutage)
+				CoreObjectFactory.createContingency(id, branchIds[0], outageTypes[0], net);
+			else {
+				MultiOutageContingency cont = CoreObjectFactory.createMultiOutageContingency(id, branchIds, outageTypes[0], net);
+				// outage type might be different for each outage branch
+				for (int i = 1; i < n; i++)
+					cont.getOutageBranches().get(i).setOutageType(outageTypes[i]);
+			}
+		}
+
+		Object readExtension() throws IOException {
+			int len = in.readInt();
+			if (len < 0)
+				return null;
+			byte[] buf = new byte[len];
+			in.readFully(buf);
+			try (ObjectInputStream oin = new ObjectInputStream(new ByteArrayInputStream(buf))) {
+				return oin.readObject();
+			} catch (ClassNotFoundException e) {
+				throw new IOException("Extension class not found, " + e.toString());
+			}
+		}
+
+		String readStr() throws IOException {
+			return in.readBoolean()? in.readUTF() : null;
+		}
+
+		Complex readComplex() throws IOException {
+			return in.readBoolean()? new Complex(in.readDouble(), in.readDouble()) : null;
+		}
+
+		LimitType readLimit() throws IOException {
+			return in.readBoolean()? new LimitType(in.readDouble(), in.readDouble()) : null;
+		}
+	}
+}
@@ -0,0 +1,830 @@
+ /*
+  * @(#)PsseRawDirectReader.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.fadapter.impl;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.math3.complex.Complex;
+import org.interpss.mapper.odm.impl.aclf.AbstractODMAclfNetMapper;
+import org.interpss.numeric.datatype.LimitType;
+import org.interpss.numeric.datatype.Point;
+import org.interpss.numeric.datatype.Unit.UnitType;
+
+import com.interpss.CoreObjectFactory;
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.aclf.Aclf3WBranch;
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.aclf.AclfBranchCode;
+import com.interpss.core.aclf.AclfBus;
+import com.interpss.core.aclf.AclfGen;
+import com.interpss.core.aclf.AclfGenCode;
+import com.interpss.core.aclf.AclfLoad;
+import com.interpss.core.aclf.AclfLoadCode;
+import com.interpss.core.aclf.AclfNetwork;
+import com.interpss.core.aclf.XfrZTableEntry;
+import com.interpss.core.aclf.adj.AdjControlType;
+import com.interpss.core.aclf.adj.PSXfrPControl;
+import com.interpss.core.aclf.adj.PVBusLimit;
+import com.interpss.core.aclf.adj.QBank;
+import com.interpss.core.aclf.adj.SwitchedShunt;
+import com.interpss.core.aclf.adj.TapControl;
+import com.interpss.core.aclf.adj.VarCompensationMode;
+import com.interpss.core.aclf.adpter.Aclf3WPSXformer;
+import com.interpss.core.aclf.adpter.Aclf3WXformer;
+import com.interpss.core.aclf.adpter.AclfPVGenBus;
+import com.interpss.core.aclf.adpter.AclfSwingBus;
+import com.interpss.core.net.OriginalDataFormat;
+
+/**
+ * PSS/E RAW (v29 - v33) loadflow data reader. The RAW file is read line by line in a single
+ * pass, the tokenized records are mapped directly to the AclfNetwork object, without creating
+ * the ODM (JAXB) model as an intermediate step.
+ *
+ * The following data are mapped : bus, load, fixed shunt, generator, non-transformer branch,
+ * 2W and 3W transformer (with voltage and active power tap control), switched shunt and transformer
+ * impedance correction table. Area interchange, multi-section line, zone, inter-area transfer
+ * and owner data are skipped. If the file contains HVDC, FACTS, GNE or induction machine records,
+ * an InterpssException is thrown, the file needs to be loaded through the ODM transformation.
+ *
+ * Bus and branch ids follow the ODM PSS/E mapping convention, "Bus"+number for bus and
+ * "Bus1->Bus2(cirId)" for branch.
+ *
+ * @author agent
+ *
+ */
+public class PsseRawDirectReader {
+	private static enum Section {
+		Bus, Load, FixedShunt, Generator, Branch, Transformer, AreaInterchange, DcLine2T, VscDcLine,
+		XfrZCorrection, MultiTermDcLine, MultiSectionLine, Zone, InterAreaTransfer, Owner, Facts,
+		SwitchedShunt, Gne, InductionMachine };
+
+	/*
+	 * summary of in-service generators connected to a bus, used to set the bus level gen info
+	 */
+	private static class GenSummary {
+		Complex gen = new Complex(0.0, 0.0);
+		double qmax = 0.0, qmin = 0.0;
+		double vSpec = 0.0;
+		String remoteBusId = null;
+		int count = 0;
+	}
+
+	private int defaultRev = 30;
+	private int rev;
+	private double baseMva = 100.0;
+	private AclfNetwork net = null;
+
+	private BufferedReader din = null;
+	private int lineNo = 0;
+	// the token buffer is reused for all records
+	private List<String> tokens = new ArrayList<>();
+
+	// PSS/E bus type code (IDE), bus id -> IDE
+	private Map<String, Integer> busTypeTable = new HashMap<>();
+	private Map<AclfBus, GenSummary> genSummaryTable = new LinkedHashMap<>();
+
+	/**
+	 * constructor
+	 */
+	public PsseRawDirectReader() {
+	}
+
+	/**
+	 * constructor
+	 *
+	 * @param defaultRev PSS/E revision number, used if it is not defined in the case identification record
+	 */
+	public PsseRawDirectReader(int defaultRev) {
+		this.defaultRev = defaultRev;
+	}
+
+	/**
+	 * load the PSS/E RAW file into an AclfNetwork object
+	 *
+	 * @param filepath RAW file path
+	 * @return the AclfNetwork object
+	 * @throws InterpssException if there is any data error or the file contains data not supported by the reader
+	 */
+	public AclfNetwork load(String filepath) throws InterpssException {
+		try (BufferedReader reader = new BufferedReader(new FileReader(filepath), 64 * 1024)) {
+			return load(reader);
+		} catch (IOException e) {
+			throw new InterpssException("Error while reading PSS/E RAW file " + filepath + ", " + e.toString());
+		}
+	}
+
+	/**
+	 * load the PSS/E RAW data from the reader into an AclfNetwork object
+	 *
+	 * @param reader RAW data reader
+	 * @return the AclfNetwork object
+	 * @throws InterpssException if there is any data error or the file contains data not supported by the reader
+	 * @throws IOException
+	 */
+	public AclfNetwork load(BufferedReader reader) throws InterpssException, IOException {
+		this.din = reader;
+		this.lineNo = 0;
+		this.busTypeTable.clear();
+		this.genSummaryTable.clear();
+
+		this.net = CoreObjectFactory.createAclfNetwork();
+		this.net.setOriginalDataFormat(OriginalDataFormat.PSSE);
+
+		processCaseInfo();
+
+		for (Section section : sectionList()) {
+			if (!processSection(section))
+				break;
+			if (section == Section.Generator)
+				setBusGenData();
+		}
+
+		AbstractODMAclfNetMapper.postAclfNetProcessing(this.net);
+		return this.net;
+	}
+
+	private List<Section> sectionList() {
+		List<Section> list = new ArrayList<>();
+		if (this.rev <= 30) {
+			list.add(Section.Bus); list.add(Section.Load); list.add(Section.Generator);
+			list.add(Section.Branch); list.add(Section.Transformer); list.add(Section.AreaInterchange);
+			list.add(Section.DcLine2T); list.add(Section.VscDcLine); list.add(Section.SwitchedShunt);
+			list.add(Section.XfrZCorrection); list.add(Section.MultiTermDcLine); list.add(Section.MultiSectionLine);
+			list.add(Section.Zone); list.add(Section.InterAreaTransfer); list.add(Section.Owner);
+			list.add(Section.Facts);
+		}
+		else {
+			list.add(Section.Bus); list.add(Section.Load); list.add(Section.FixedShunt);
+			list.add(Section.Generator); list.add(Section.Branch); list.add(Section.Transformer);
+			list.add(Section.AreaInterchange); list.add(Section.DcLine2T); list.add(Section.VscDcLine);
+			list.add(Section.XfrZCorrection); list.add(Section.MultiTermDcLine); list.add(Section.MultiSectionLine);
+			list.add(Section.Zone); list.add(Section.InterAreaTransfer); list.add(Section.Owner);
+			list.add(Section.Facts); list.add(Section.SwitchedShunt);
+			if (this.rev >= 32)
+				list.add(Section.Gne);
+			if (this.rev >= 33)
+				list.add(Section.InductionMachine);
+		}
+		return list;
+	}
+
+	/*
+	 * 	case identification data, three lines
+	 *
+	 * 		IC, SBASE, REV, XFRRAT, NXFRAT, BASFRQ
+	 * 		case title line 1
+	 * 		case title line 2
+	 */
+	private void processCaseInfo() throws InterpssException, IOException {
+		String line = readLine();
+		if (line == null)
+			throw new InterpssException("PSS/E RAW file is empty");
+		tokenize(line);
+		if (intAt(0, 0) != 0)
+			throw new InterpssException("PSS/E RAW change case (IC = " + intAt(0, 0) + ") is not supported by the direct reader");
+		this.baseMva = dblAt(1, 100.0);
+		this.rev = intAt(2, this.defaultRev);
+		if (this.rev < 29 || this.rev > 33)
+			throw new InterpssException("PSS/E RAW revision " + this.rev + " is not supported by the direct reader");
+		this.net.setBaseKva(this.baseMva * 1000.0);
+
+		String title1 = readLine(), title2 = readLine();
+		this.net.setId("Base_Case_from_PSS_E_format");
+		this.net.setName(title1 == null || title1.trim().equals("")? "PSS/E Loadflow Case" : title1.trim());
+		this.net.setDesc(title2 == null? "" : title2.trim());
+	}
+
+	/*
+	 * process records of the section, return false if the end of the data (Q record or EOF) is reached
+	 */
+	private boolean processSection(Section section) throws InterpssException, IOException {
+		String line;
+		while ((line = readLine()) != null) {
+			if (tokenize(line) == 0)
+				continue;
+			String first = this.tokens.get(0);
+			if (first != null && first.equals("Q"))
+				return false;
+			if (first != null && first.equals("0"))
+				return true;
+
+			switch (section) {
+				case Bus : processBus(); break;
+				case Load : processLoad(); break;
+				case FixedShunt : processFixedShunt(); break;
+				case Generator : processGen(); break;
+				case Branch : processBranch(); break;
+				case Transformer : processXfr(); break;
+				case SwitchedShunt : processSwitchedShunt(); break;
+				case XfrZCorrection : processXfrZCorrection(); break;
+				case AreaInterchange :
+				case MultiSectionLine :
+				case Zone :
+				case InterAreaTransfer :
+				case Owner : break;
+				default :
+					throw new InterpssException("PSS/E RAW " + section + " data is not supported by the direct reader, line " + this.lineNo);
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * 	v29, v30 : I, 'NAME', BASKV, IDE, GL, BL, AREA, ZONE, VM, VA, OWNER
+	 * 	v31+     : I, 'NAME', BASKV, IDE, AREA, ZONE, OWNER, VM, VA, ...
+	 */
+	private void processBus() throws InterpssException {
+		int num = intAt(0, 0);
+		AclfBus bus = CoreObjectFactory.createAclfBus(busId(num), this.net);
+		bus.setNumber(num);
+		bus.setName(strAt(1, "Bus"));
+		bus.setBaseVoltage(dblAt(2, 0.0) * 1000.0);
+		int ide = intAt(3, 1);
+		int area, zone;
+		double vm, va;
+		if (this.rev <= 30) {
+			double gl = dblAt(4, 0.0), bl = dblAt(5, 0.0);
+			if (gl != 0.0 || bl != 0.0)
+				bus.setShuntY(new Complex(gl / this.baseMva, bl / this.baseMva));
+			area = intAt(6, 1);
+			zone = intAt(7, 1);
+			vm = dblAt(8, 1.0);
+			va = dblAt(9, 0.0);
+		}
+		else {
+			area = intAt(4, 1);
+			zone = intAt(5, 1);
+			vm = dblAt(7, 1.0);
+			va = dblAt(8, 0.0);
+		}
+		bus.setStatus(ide != 4);
+		bus.setArea(CoreObjectFactory.createArea(area, this.net));
+		bus.setZone(CoreObjectFactory.createZone(zone, this.net));
+		bus.setVoltage(vm, Math.toRadians(va));
+		bus.setGenCode(AclfGenCode.NON_GEN);
+		bus.setLoadCode(AclfLoadCode.NON_LOAD);
+		this.busTypeTable.put(bus.getId(), ide);
+	}
+
+	/*
+	 * 	I, ID, STATUS, AREA, ZONE, PL, QL, IP, IQ, YP, YQ, OWNER, ...
+	 */
+	private void processLoad() throws InterpssException {
+		AclfBus bus = getBus(intAt(0, 0));
+		AclfLoad load = CoreObjectFactory.createAclfLoad(bus.getId() + "-L" + strAt(1, "1"));
+		load.setStatus(intAt(2, 1) != 0);
+
+		Complex p = new Complex(dblAt(5, 0.0), dblAt(6, 0.0)).divide(this.baseMva),
+				i = new Complex(dblAt(7, 0.0), dblAt(8, 0.0)).divide(this.baseMva),
+				// YQ is negative for an inductive load
+				z = new Complex(dblAt(9, 0.0), -dblAt(10, 0.0)).divide(this.baseMva);
+		AclfLoadCode code = AclfLoadCode.CONST_P;
+		load.setLoadCP(p);
+		if (i.abs() > 0.0) {
+			load.setLoadCI(i);
+			code = AclfLoadCode.ZIP;
+		}
+		if (z.abs() > 0.0) {
+			load.setLoadCZ(z);
+			code = AclfLoadCode.ZIP;
+		}
+		load.setCode(code);
+
+		bus.getContributeLoadList().add(load);
+		bus.setLoadCode(AclfLoadCode.CONST_P);
+	}
+
+	/*
+	 * 	I, ID, STATUS, GL, BL
+	 */
+	private void processFixedShunt() throws InterpssException {
+		AclfBus bus = getBus(intAt(0, 0));
+		if (intAt(2, 1) != 0) {
+			Complex y = new Complex(dblAt(3, 0.0), dblAt(4, 0.0)).divide(this.baseMva);
+			bus.setShuntY(bus.getShuntY() == null? y : bus.getShuntY().add(y));
+		}
+	}
+
+	/*
+	 * 	I, ID, PG, QG, QT, QB, VS, IREG, MBASE, ZR, ZX, RT, XT, GTAP, STAT, RMPCT, PT, PB, O1, F1, ...
+	 */
+	private void processGen() throws InterpssException {
+		int num = intAt(0, 0);
+		AclfBus bus = getBus(num);
+		AclfGen gen = CoreObjectFactory.createAclfGen(bus.getId() + "-G" + strAt(1, "1"));
+		boolean status = intAt(14, 1) != 0;
+		gen.setStatus(status);
+
+		Complex pq = new Complex(dblAt(2, 0.0), dblAt(3, 0.0)).divide(this.baseMva);
+		double qmax = dblAt(4, 9999.0) / this.baseMva, qmin = dblAt(5, -9999.0) / this.baseMva,
+			   vs = dblAt(6, 1.0), pmax = dblAt(16, 9999.0) / this.baseMva, pmin = dblAt(17, -9999.0) / this.baseMva;
+		int ireg = intAt(7, 0);
+
+		gen.setMvaBase(dblAt(8, this.baseMva));
+		gen.setDesiredVoltMag(vs);
+		gen.setGen(pq);
+		gen.setSourceZ(new Complex(dblAt(9, 0.0), dblAt(10, 1.0)));
+		double rt = dblAt(11, 0.0), xt = dblAt(12, 0.0);
+		if (rt != 0.0 || xt != 0.0) {
+			gen.setXfrZ(new Complex(rt, xt));
+			gen.setXfrTap(dblAt(13, 1.0));
+		}
+		gen.setPGenLimit(new LimitType(pmax, pmin));
+		gen.setQGenLimit(new LimitType(qmax, qmin));
+		String remoteBusId = ireg != 0 && ireg != num? busId(ireg) : null;
+		if (remoteBusId != null)
+			gen.setRemoteVControlBusId(remoteBusId);
+		// RMPCT in %
+		gen.setMvarControlPFactor(dblAt(15, 100.0) * 0.01);
+		gen.setMwControlPFactor(1.0);
+		bus.getContributeGenList().add(gen);
+
+		if (status) {
+			GenSummary sum = this.genSummaryTable.computeIfAbsent(bus, b -> new GenSummary());
+			if (sum.count++ == 0) {
+				sum.vSpec = vs;
+				sum.remoteBusId = remoteBusId;
+			}
+			sum.gen = sum.gen.add(pq);
+			sum.qmax += qmax;
+			sum.qmin += qmin;
+		}
+	}
+
+	/*
+	 * set the bus level gen info after all generator records have been processed. The bus gen
+	 * code follows the bus type code IDE, as in the ODM mapping. A swing (IDE = 3) or PV (IDE = 2)
+	 * bus without in-service generator keeps its type, with zero gen and the bus voltage VM as
+	 * the desired voltage.
+	 */
+	private void setBusGenData() throws InterpssException {
+		for (AclfBus bus : this.net.getBusList()) {
+			Integer ide = this.busTypeTable.get(bus.getId());
+			GenSummary sum = this.genSummaryTable.get(bus);
+			if (ide == null || (sum == null && ide != 2 && ide != 3))
+				continue;
+			double genP = sum != null? sum.gen.getReal() : 0.0,
+				   vSpec = sum != null? sum.vSpec : bus.getVoltageMag();
+			if (ide == 3) {
+				bus.setGenCode(AclfGenCode.SWING);
+				AclfSwingBus swing = bus.toSwingBus();
+				// swing.setDesiredVoltMag() override the bus voltage, need to save the angle first
+				double angRad = bus.getVoltageAng();
+				swing.setDesiredVoltMag(vSpec, UnitType.PU);
+				swing.setDesiredVoltAng(angRad, UnitType.Rad);
+				bus.setGenP(genP);
+			}
+			else if (ide == 2 && sum == null) {
+				bus.setGenCode(AclfGenCode.GEN_PV);
+				AclfPVGenBus pvBus = bus.toPVBus();
+				pvBus.setGenP(0.0, UnitType.PU);
+				pvBus.setDesiredVoltMag(vSpec, UnitType.PU);
+			}
+			else if (ide == 2 && sum.remoteBusId == null) {
+				bus.setGenCode(AclfGenCode.GEN_PV);
+				AclfPVGenBus pvBus = bus.toPVBus();
+				pvBus.setGenP(genP, UnitType.PU);
+	  			final PVBusLimit pvLimit = CoreObjectFactory.createPVBusLimit(bus);
+	  			pvLimit.setQLimit(new LimitType(sum.qmax, sum.qmin), UnitType.PU);
+	  			pvLimit.setStatus(true);
+			}
+			else {
+				// PQ gen bus or PV bus with remote bus voltage control
+				bus.setGenCode(AclfGenCode.GEN_PQ);
+				bus.toPQBus().setGen(sum.gen, UnitType.PU);
+			}
+		}
+	}
+
+	/*
+	 * 	I, J, CKT, R, X, B, RATEA, RATEB, RATEC, GI, BI, GJ, BJ, ST, ...
+	 */
+	private void processBranch() throws InterpssException {
+		AclfBranch branch = CoreObjectFactory.createAclfBranch();
+		branch.setCircuitNumber(cirId(strAt(2, "1")));
+		// negative to bus number indicates the metered end
+		addBranch(branch, intAt(0, 0), Math.abs(intAt(1, 0)));
+		branch.setStatus(intAt(13, 1) != 0);
+
+		branch.setBranchCode(AclfBranchCode.LINE);
+		branch.setZ(new Complex(dblAt(3, 0.0), dblAt(4, 0.0)));
+		double b = dblAt(5, 0.0);
+		if (b != 0.0)
+			branch.setHShuntY(new Complex(0.0, 0.5 * b));
+		Complex yi = new Complex(dblAt(9, 0.0), dblAt(10, 0.0)),
+				yj = new Complex(dblAt(11, 0.0), dblAt(12, 0.0));
+		if (yi.abs() > 0.0)
+			branch.setFromShuntY(yi);
+		if (yj.abs() > 0.0)
+			branch.setToShuntY(yj);
+		setRating(branch, 6);
+	}
+
+	/*
+	 * 	2W transformer, four lines
+	 * 		I, J, K, CKT, CW, CZ, CM, MAG1, MAG2, NMETR, 'NAME', STAT, O1, F1, ...
+	 * 		R1-2, X1-2, SBASE1-2
+	 * 		WINDV1, NOMV1, ANG1, RATA1, RATB1, RATC1, COD1, CONT1, RMA1, RMI1, VMA1, VMI1, NTP1, TAB1, CR1, CX1
+	 * 		WINDV2, NOMV2
+	 *
+	 * 	3W transformer, five lines
+	 * 		I, J, K, CKT, CW, CZ, CM, MAG1, MAG2, NMETR, 'NAME', STAT, O1, F1, ...
+	 * 		R1-2, X1-2, SBASE1-2, R2-3, X2-3, SBASE2-3, R3-1, X3-1, SBASE3-1, VMSTAR, ANSTAR
+	 * 		WINDV1, NOMV1, ANG1, RATA1, RATB1, RATC1, COD1, CONT1, RMA1, RMI1, VMA1, VMI1, NTP1, TAB1, CR1, CX1
+	 * 		WINDV2, NOMV2, ANG2, RATA2, RATB2, RATC2, COD2, CONT2, RMA2, RMI2, VMA2, VMI2, NTP2, TAB2, CR2, CX2
+	 * 		WINDV3, NOMV3, ANG3, RATA3, RATB3, RATC3, COD3, CONT3, RMA3, RMI3, VMA3, VMI3, NTP3, TAB3, CR3, CX3
+	 */
+	private void processXfr() throws InterpssException, IOException {
+		int i = intAt(0, 0), j = intAt(1, 0), k = intAt(2, 0);
+		String cirId = cirId(strAt(3, "1"));
+		int cw = intAt(4, 1), cz = intAt(5, 1), cm = intAt(6, 1), stat = intAt(11, 1);
+		double mag1 = dblAt(7, 0.0), mag2 = dblAt(8, 0.0);
+		String name = strAt(10, "");
+
+		if (k == 0)
+			process2WXfr(i, j, cirId, cw, cz, cm, mag1, mag2, stat, name);
+		else
+			process3WXfr(i, j, k, cirId, cw, cz, cm, mag1, mag2, stat, name);
+	}
+
+	private void process2WXfr(int i, int j, String cirId, int cw, int cz, int cm,
+				double mag1, double mag2, int stat, String name) throws InterpssException, IOException {
+		nextRecordLine();
+		double sbase = dblAt(2, this.baseMva);
+		Complex z = xfrZ(dblAt(0, 0.0), dblAt(1, 0.0), sbase, cz);
+
+		nextRecordLine();
+		double windv1 = dblAt(0, 1.0), nomv1 = dblAt(1, 0.0), ang1 = dblAt(2, 0.0);
+		double rata = dblAt(3, 0.0), ratb = dblAt(4, 0.0), ratc = dblAt(5, 0.0);
+		int cod = intAt(6, 0), cont = intAt(7, 0);
+		double rma = dblAt(8, 1.1), rmi = dblAt(9, 0.9), vma = dblAt(10, 1.1), vmi = dblAt(11, 0.9);
+		int ntp = intAt(12, 33), tab = intAt(13, 0);
+
+		nextRecordLine();
+		double windv2 = dblAt(0, 1.0), nomv2 = dblAt(1, 0.0);
+
+		AclfBranch branch = CoreObjectFactory.createAclfBranch();
+		branch.setCircuitNumber(cirId);
+		addBranch(branch, i, j);
+		branch.setName(name);
+		branch.setStatus(stat != 0);
+		// a xfr with active power control (COD = 3) is a PS xfr, even if the angle is zero
+		boolean isPsXfr = ang1 != 0.0 || Math.abs(cod) == 3;
+		branch.setBranchCode(isPsXfr? AclfBranchCode.PS_XFORMER : AclfBranchCode.XFORMER);
+
+		branch.setZ(z);
+		branch.setFromTurnRatio(turnRatio(windv1, nomv1, i, cw));
+		branch.setToTurnRatio(turnRatio(windv2, nomv2, j, cw));
+		if (isPsXfr)
+			branch.setFromPSXfrAngle(Math.toRadians(ang1));
+		Complex ym = magnetizingY(mag1, mag2, sbase, cm);
+		if (ym.abs() > 0.0)
+			branch.setFromShuntY(ym);
+		branch.setRatingMva1(rata);
+		branch.setRatingMva2(ratb);
+		branch.setRatingMva3(ratc);
+		if (tab > 0)
+			branch.setXfrZTableNumber(tab);
+
+		setXfrControl(branch, cod, cont, rma, rmi, vma, vmi, ntp, i, cw, nomv1);
+	}
+
+	private void process3WXfr(int i, int j, int k, String cirId, int cw, int cz, int cm,
+				double mag1, double mag2, int stat, String name) throws InterpssException, IOException {
+		nextRecordLine();
+		Complex z12 = xfrZ(dblAt(0, 0.0), dblAt(1, 0.0), dblAt(2, this.baseMva), cz),
+				z23 = xfrZ(dblAt(3, 0.0), dblAt(4, 0.0), dblAt(5, this.baseMva), cz),
+				z31 = xfrZ(dblAt(6, 0.0), dblAt(7, 0.0), dblAt(8, this.baseMva), cz);
+		double sbase12 = dblAt(2, this.baseMva), vmStar = dblAt(9, 1.0), anStar = dblAt(10, 0.0);
+
+		double[] windv = new double[3], ang = new double[3];
+		int[] busNum = {i, j, k};
+		boolean psControl = false;
+		for (int w = 0; w < 3; w++) {
+			nextRecordLine();
+			windv[w] = turnRatio(dblAt(0, 1.0), dblAt(1, 0.0), busNum[w], cw);
+			ang[w] = dblAt(2, 0.0);
+			if (Math.abs(intAt(6, 0)) == 3)
+				psControl = true;
+		}
+
+		Aclf3WBranch branch3W = CoreObjectFactory.createAclf3WXformer();
+		branch3W.setCircuitNumber(cirId);
+		try {
+			this.net.add3WXfr(branch3W, busId(i), busId(j), busId(k));
+		} catch (Exception e) {
+			throw new InterpssException(e.toString() + ", 3W xfr data error, line " + this.lineNo);
+		}
+		branch3W.setName(name);
+
+		boolean isPsXfr = psControl || ang[0] != 0.0 || ang[1] != 0.0 || ang[2] != 0.0;
+		branch3W.setBranchCode(isPsXfr? AclfBranchCode.W3_PS_XFORMER : AclfBranchCode.W3_XFORMER);
+		branch3W.create2WBranches(isPsXfr? AclfBranchCode.PS_XFORMER : AclfBranchCode.XFORMER);
+
+		// STAT : 0 all windings out, 1 in-service, 2 winding 2 out, 3 winding 3 out, 4 winding 1 out
+		branch3W.getFromAclfBranch().setStatus(stat != 0 && stat != 4);
+		branch3W.getToAclfBranch().setStatus(stat != 0 && stat != 2);
+		branch3W.getTertAclfBranch().setStatus(stat != 0 && stat != 3);
+
+		Complex ym = magnetizingY(mag1, mag2, sbase12, cm);
+		if (ym.abs() > 0.0)
+			branch3W.getFromAclfBranch().setFromShuntY(ym);
+
+		AclfBus starBus = (AclfBus)branch3W.getStarBus();
+		starBus.setVoltage(vmStar, Math.toRadians(anStar));
+		branch3W.setVoltageStarBus(starBus.getVoltage());
+
+		Aclf3WXformer xfr3W = branch3W.to3WXfr();
+		xfr3W.setZ(z12, z31, z23);
+		xfr3W.setFromTurnRatio(windv[0] == 0.0? 1.0 : windv[0]);
+		xfr3W.setToTurnRatio(windv[1] == 0.0? 1.0 : windv[1]);
+		xfr3W.setTertTurnRatio(windv[2] == 0.0? 1.0 : windv[2]);
+		if (isPsXfr) {
+			Aclf3WPSXformer psXfr3W = branch3W.toPS3WXfr();
+			if (ang[0] != 0.0)
+				psXfr3W.setFromAngle(ang[0], UnitType.Deg);
+			if (ang[1] != 0.0)
+				psXfr3W.setToAngle(ang[1], UnitType.Deg);
+			if (ang[2] != 0.0)
+				psXfr3W.setTertAngle(ang[2], UnitType.Deg);
+		}
+	}
+
+	/*
+	 * 	v29 - v31 : I, MODSW, VSWHI, VSWLO, SWREM, RMPCT, 'RMIDNT', BINIT, N1, B1, ... N8, B8
+	 * 	v32+      : I, MODSW, ADJM, STAT, VSWHI, VSWLO, SWREM, RMPCT, 'RMIDNT', BINIT, N1, B1, ... N8, B8
+	 */
+	private void processSwitchedShunt() throws InterpssException {
+		AclfBus bus = getBus(intAt(0, 0));
+		int modsw = intAt(1, 1);
+		int offset = 0;
+		if (this.rev >= 32) {
+			offset = 2;
+			if (intAt(3, 1) == 0)
+				return;
+		}
+
+		SwitchedShunt swchShunt = CoreObjectFactory.createSwitchedShunt(bus);
+		swchShunt.setBInit(dblAt(7 + offset, 0.0) / this.baseMva);
+		swchShunt.setControlMode(modsw == 0? VarCompensationMode.FIXED :
+						modsw == 2? VarCompensationMode.CONTINUOUS : VarCompensationMode.DISCRETE);
+		swchShunt.setDesiredVoltageRange(new LimitType(dblAt(2 + offset, 1.0), dblAt(3 + offset, 1.0)));
+		int swrem = intAt(4 + offset, 0);
+		if (swrem != 0 && swrem != bus.getNumber())
+			swchShunt.setRemoteBus(this.net.getBus(busId(swrem)));
+
+		for (int n = 8 + offset; n + 1 < this.tokens.size(); n += 2) {
+			int steps = intAt(n, 0);
+			if (steps == 0)
+				break;
+			QBank varBank = CoreObjectFactory.createQBank(swchShunt);
+			varBank.setSteps(steps);
+			varBank.setUnitQMvar(dblAt(n + 1, 0.0) / this.baseMva);
+		}
+	}
+
+	/*
+	 * 	I, T1, F1, T2, F2, ... T11, F11
+	 */
+	private void processXfrZCorrection() throws InterpssException {
+		XfrZTableEntry elem = CoreObjectFactory.createXfrZTableEntry(intAt(0, 0), this.net);
+		for (int n = 1; n + 1 < this.tokens.size(); n += 2) {
+			double t = dblAt(n, 0.0), f = dblAt(n + 1, 0.0);
+			if (t == 0.0 && f == 0.0)
+				break;
+			elem.getPointSet().getPoints().add(new Point(t, f));
+		}
+	}
+
+	/*
+	 * 	COD : 1 voltage control, 3 active power control, negative for control off. Reactive
+	 *  power flow control (2) and dc line control (4) are not mapped
+	 */
+	private void setXfrControl(AclfBranch branch, int cod, int cont, double rma, double rmi,
+				double vma, double vmi, int ntp, int fromBusNum, int cw, double nomv1) throws InterpssException {
+		int code = Math.abs(cod);
+		if (code == 1 && cont != 0) {
+			String vcBusId = busId(Math.abs(cont));
+			TapControl tap = CoreObjectFactory.createTapVControlBusVoltage(branch,
+							AdjControlType.RANGE_CONTROL, this.net, vcBusId);
+			tap.setControlRange(new LimitType(vma, vmi));
+			tap.setStatus(cod > 0);
+			tap.setVcBusOnFromSide(branch.isFromBus(this.net.getBus(vcBusId)));
+			tap.setControlOnFromSide(true);
+			tap.setTurnRatioLimit(new LimitType(turnRatio(rma, nomv1, fromBusNum, cw), turnRatio(rmi, nomv1, fromBusNum, cw)));
+			if (ntp > 1)
+				tap.setTapSteps(ntp);
+		}
+		else if (code == 3) {
+			PSXfrPControl psxfr = CoreObjectFactory.createPSXfrPControl(branch, AdjControlType.RANGE_CONTROL);
+			psxfr.setStatus(cod > 0);
+			psxfr.setControlRange(new LimitType(vma / this.baseMva, vmi / this.baseMva));
+			psxfr.setPSpecified(0.5 * (vma + vmi) / this.baseMva);
+			psxfr.setAngLimit(new LimitType(Math.toRadians(rma), Math.toRadians(rmi)));
+			psxfr.setControlOnFromSide(true);
+			psxfr.setMeteredOnFromSide(true);
+		}
+	}
+
+	/*
+	 * CW : 1 turn ratio in pu of bus base voltage, 2 winding voltage in kV, 3 turn ratio in pu of
+	 * nominal winding voltage NOMV
+	 */
+	private double turnRatio(double windv, double nomv, int busNum, int cw) throws InterpssException {
+		double baseKv = getBus(busNum).getBaseVoltage() * 0.001;
+		if (cw == 2)
+			return baseKv > 0.0? windv / baseKv : windv;
+		else if (cw == 3)
+			return nomv > 0.0 && baseKv > 0.0? windv * nomv / baseKv : windv;
+		return windv;
+	}
+
+	/*
+	 * CZ : 1 pu on system base, 2 pu on winding base, 3 R in load loss Watts and |Z| in pu on winding base
+	 */
+	private Complex xfrZ(double r, double x, double sbase, int cz) {
+		if (cz == 1 || sbase <= 0.0)
+			return new Complex(r, x);
+		if (cz == 3) {
+			double rpu = r / (sbase * 1.0e6);
+			x = Math.sqrt(Math.max(x * x - rpu * rpu, 0.0));
+			r = rpu;
+		}
+		double factor = this.baseMva / sbase;
+		return new Complex(r * factor, x * factor);
+	}
+
+	/*
+	 * CM : 1 pu on system base, 2 MAG1 no load loss in Watts and MAG2 exciting current in pu on winding base
+	 */
+	private Complex magnetizingY(double mag1, double mag2, double sbase, int cm) {
+		if (cm != 2 || sbase <= 0.0)
+			return new Complex(mag1, mag2);
+		double g = mag1 / (this.baseMva * 1.0e6);
+		double y = mag2 * sbase / this.baseMva;
+		return new Complex(g, -Math.sqrt(Math.max(y * y - g * g, 0.0)));
+	}
+
+	private void setRating(AclfBranch branch, int index) {
+		branch.setRatingMva1(dblAt(index, 0.0));
+		branch.setRatingMva2(dblAt(index + 1, 0.0));
+		branch.setRatingMva3(dblAt(index + 2, 0.0));
+	}
+
+	private void addBranch(AclfBranch branch, int fromNum, int toNum) throws InterpssException {
+		try {
+			this.net.addBranch(branch, busId(fromNum), busId(toNum));
+		} catch (Exception e) {
+			throw new InterpssException(e.toString() + ", branch data error, line " + this.lineNo);
+		}
+	}
+
+	private AclfBus getBus(int num) throws InterpssException {
+		AclfBus bus = this.net.getBus(busId(num));
+		if (bus == null)
+			throw new InterpssException("PSS/E RAW bus " + num + " not found, line " + this.lineNo);
+		return bus;
+	}
+
+	private static String busId(int num) {
+		return "Bus" + num;
+	}
+
+	private static String cirId(String ckt) {
+		String id = ckt.trim();
+		return id.equals("")? "1" : id;
+	}
+
+	/*
+	 * 	Line reading and tokenizing
+	 *  ===========================
+	 */
+
+	private String readLine() throws IOException {
+		String line = this.din.readLine();
+		if (line != null)
+			this.lineNo++;
+		return line;
+	}
+
+	/*
+	 * read the next line of a multi-line record
+	 */
+	private void nextRecordLine() throws InterpssException, IOException {
+		String line = readLine();
+		if (line == null)
+			throw new InterpssException("PSS/E RAW file ended in the middle of a record, line " + this.lineNo);
+		tokenize(line);
+	}
+
+	/*
+	 * split the line into the token buffer. Fields are separated by comma and/or blanks, quoted
+	 * fields may contain blank, comma and slash, and text after an unquoted slash is a comment.
+	 * Empty fields between two commas are stored as null, and the default value is used.
+	 */
+	private int tokenize(String line) {
+		this.tokens.clear();
+		int n = line.length(), i = 0;
+		while (i < n) {
+			char c = line.charAt(i);
+			if (c == ' ' || c == '\t') {
+				i++;
+				continue;
+			}
+			if (c == '/')
+				break;
+			if (c == ',') {
+				this.tokens.add(null);
+				i++;
+				continue;
+			}
+
+			int start = i, end;
+			if (c == '\'' || c == '"') {
+				int close = line.indexOf(c, i + 1);
+				if (close < 0)
+					close = n;
+				start = i + 1;
+				end = close;
+				i = close + 1;
+			}
+			else {
+				while (i < n) {
+					char ch = line.charAt(i);
+					if (ch == ',' || ch == ' ' || ch == '\t' || ch == '/')
+						break;
+					i++;
+				}
+				end = i;
+			}
+			this.tokens.add(line.substring(start, end));
+
+			// consume the field separator
+			while (i < n && (line.charAt(i) == ' ' || line.charAt(i) == '\t'))
+				i++;
+			if (i < n && line.charAt(i) == ',')
+				i++;
+		}
+		return this.tokens.size();
+	}
+
+	private String strAt(int index, String defaultValue) {
+		if (index >= this.tokens.size() || this.tokens.get(index) == null)
+			return defaultValue;
+		return this.tokens.get(index).trim();
+	}
+
+	private double dblAt(int index, double defaultValue) {
+		if (index >= this.tokens.size() || this.tokens.get(index) == null)
+			return defaultValue;
+		try {
+			return Double.parseDouble(this.tokens.get(index));
+		} catch (NumberFormatException e) {
+			return defaultValue;
+		}
+	}
+
+	private int intAt(int index, int defaultValue) {
+		if (index >= this.tokens.size() || this.tokens.get(index) == null)
+			return defaultValue;
+		String s = this.tokens.get(index);
+		try {
+			return Integer.parseInt(s);
+		} catch (NumberFormatException e) {
+			try {
+				return (int)Double.parseDouble(s);
+			} catch (NumberFormatException e1) {
+				return defaultValue;
+			}
+		}
+	}
+}
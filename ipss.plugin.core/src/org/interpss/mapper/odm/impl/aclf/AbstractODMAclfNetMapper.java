@@ -51,6 +51,7 @@ import org.ieee.odm.schema.VSCHVDC2TXmlType;
 import org.ieee.odm.schema.XformerZTableXmlType;
 import org.ieee.odm.schema.Xfr3WBranchXmlType;
 import org.ieee.odm.schema.XfrBranchXmlType;
+import org.interpss.ext.ExtColumnStore;
 import org.interpss.ext.pwd.AclfBranchPWDExtension;
 import org.interpss.ext.pwd.AclfBusPWDExtension;
 import org.interpss.mapper.odm.AbstractODMSimuCtxDataMapper;
@@ -92,6 +93,10 @@ public abstract class AbstractODMAclfNetMapper<Tfrom> extends AbstractODMSimuCtx
 	private ODMAclfNetMapper.XfrBranchModel xfrBranchModel = ODMAclfNetMapper.XfrBranchModel.InterPSS;
 	private OriginalDataFormat originalFormat = OriginalDataFormat.IPSS_API;
 	
+	// PWD branch extension column store, shared by the branches of the network being mapped
+	private ExtColumnStore branchExtStore = null;
+	private BaseAclfNetwork<?,?> branchExtStoreNet = null;
+	
 	/**
 	 * constructor
 	 * 
@@ -334,7 +339,11 @@ public abstract class AbstractODMAclfNetMapper<Tfrom> extends AbstractODMSimuCtx
 	 */
 	public void mapAclfBranchData(BaseBranchXmlType xmlBranch, Branch branch, BaseAclfNetwork<?,?> adjNet) throws InterpssException {
 		if (adjNet.getOriginalDataFormat() == OriginalDataFormat.PWD) {
-			AclfBranchPWDExtension ext = new AclfBranchPWDExtension();
+			if (this.branchExtStoreNet != adjNet) {
+				this.branchExtStore = AclfBranchPWDExtension.createStore(ExtColumnStore.DefaultCapacity);
+				this.branchExtStoreNet = adjNet;
+			}
+			AclfBranchPWDExtension ext = new AclfBranchPWDExtension(this.branchExtStore);
 			branch.setExtensionObject(ext);
 			for ( NameValuePairXmlType nv : xmlBranch.getNvPair()) {
 				ext.put(nv.getName(), nv.getValue());
@@ -425,4 +434,4 @@ public abstract class AbstractODMAclfNetMapper<Tfrom> extends AbstractODMSimuCtx
 			}
 		}
 	}
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+ /*
+  * @(#)BatchDStabSolverImpl.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.dstab.control;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.interpss.common.msg.IPSSMsgHub;
+import com.interpss.dstab.algo.DynamicSimuAlgorithm;
+import com.interpss.dstab.algo.DynamicSimuMethod;
+import com.interpss.dstab.algo.defaultImpl.DStabSolverImpl;
+import com.interpss.dstab.common.DStabSimuException;
+
+/**
+ * DStab solver which steps the controllers of the network by a list of controller batches. The batches 
+ * are created in the initialization and stepped at the beginning of each simulation step, before the 
+ * network solution and the machine loop. The batched controllers should only depend on the machine 
+ * states, which are not changed by the network solution, for example the governors depending on the 
+ * machine speed, so that the results are the same as the default solver. The controllers are released 
+ * from the batches when the solver is initialized again.
+ * 
+ * @author agent
+ *
+ */
+public class BatchDStabSolverImpl extends DStabSolverImpl {
+	private List<ControllerBatch> batchList = new ArrayList<>();
+	
+	/**
+	 * constructor
+	 * 
+	 * @param algo DStab algorithm
+	 * @param msg message hub
+	 * @param batches controller batches, one per controller model
+	 */
+	public BatchDStabSolverImpl(DynamicSimuAlgorithm algo, IPSSMsgHub msg, ControllerBatch... batches) {
+		super(algo, msg);
+		this.batchList.addAll(Arrays.asList(batches));
+	}
+	
+	/**
+	 * get the controller batch list
+	 * 
+	 * @return
+	 */
+	public List<ControllerBatch> getBatchList() {
+		return this.batchList;
+	}
+	
+	@Override 
+	public boolean initialization() {
+		for (ControllerBatch batch : this.batchList)
+			batch.release();
+		if (!super.initialization())
+			return false;
+		
+		// the batches load the controller states initialized above
+		for (ControllerBatch batch : this.batchList)
+			batch.create(dstabAlgo.getNetwork());
+		return true;
+	}
+	
+	@Override 
+	public void nextStep(double time, double dt, DynamicSimuMethod method) throws DStabSimuException {
+		if (method == DynamicSimuMethod.MODIFIED_EULER)
+			for (ControllerBatch batch : this.batchList)
+				batch.nextStep(dt);
+		super.nextStep(time, dt, method);
+	}
+}
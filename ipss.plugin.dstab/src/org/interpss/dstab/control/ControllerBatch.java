@@ -0,0 +1,59 @@
+ /*
+  * @(#)ControllerBatch.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.dstab.control;
+
+import com.interpss.dstab.BaseDStabNetwork;
+
+/**
+ * Batched integrator of a controller model. The batch groups the controllers of one model in a 
+ * network and performs the integration step for all of them at once, while the member controllers
+ * delegate their nextStep() to the batch. The batch is stepped by the solver, see BatchDStabSolverImpl.
+ * 
+ * @author agent
+ *
+ */
+public interface ControllerBatch {
+	/**
+	 * collect all the controllers of the model in the network into the batch
+	 * 
+	 * @param net the network
+	 * @return number of controllers in the batch
+	 */
+	int create(BaseDStabNetwork<?,?> net);
+	
+	/**
+	 * Perform one step calculation for all the controllers in the batch. It is called once per 
+	 * simulation step, by one thread, before the machine loop.
+	 * 
+	 * @param dt simulation time interval
+	 */
+	void nextStep(double dt);
+	
+	/**
+	 * release the controllers from the batch. The batch states are copied back to the controllers,
+	 * which are stepped individually afterwards.
+	 */
+	void release();
+}
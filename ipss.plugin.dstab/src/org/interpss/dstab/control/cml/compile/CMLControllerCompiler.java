@@ -0,0 +1,408 @@
+ /*
+  * @(#)CMLControllerCompiler.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.dstab.control.cml.compile;
+
+import static com.interpss.common.util.IpssLogger.ipssLogger;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.interpss.util.MemoryJavaCompiler;
+
+import com.interpss.common.exp.InterpssException;
+import com.interpss.dstab.algo.DynamicSimuMethod;
+import com.interpss.dstab.controller.annotate.AbstractAnnotateController;
+import com.interpss.dstab.controller.annotate.AnController;
+import com.interpss.dstab.controller.annotate.AnControllerField;
+import com.interpss.dstab.controller.annotate.AnFunctionField;
+import com.interpss.dstab.controller.block.ICMLFunction;
+import com.interpss.dstab.controller.block.ICMLFunctionExpression;
+import com.interpss.dstab.datatype.CMLFieldEnum;
+
+/**
+ * Compiler to turn the annotated block graph of a CML controller into a generated Java class,
+ * compiled in memory using MemoryJavaCompiler. In the generated class the block input
+ * expressions are translated into straight-line Java code, and the block objects are
+ * called directly, instead of through the reflection based CML interpreter.
+ *
+ * The compiled nextStep() performs the modified Euler two-step calculation. In each step the
+ * control and static blocks are processed in the field declaration order : the block input is
+ * evaluated using the current block outputs and passed to the block eulerStep1()/eulerStep2().
+ * Initialization is not compiled, it is still performed by the CML interpreter.
+ *
+ * The following are not supported, and the controller falls back to the CML interpreter :
+ *
+ *   - nested controller, function expression and lookup table fields
+ *   - feedback blocks and blocks with init order number, since the CML interpreter evaluates
+ *     them in its own order, different from the field declaration order
+ *   - block limits defined by expression
+ *   - CML symbols not defined in CMLMachineSymbols.SymbolTable, for example mach.ifd
+ *
+ * Compilation is selected per controller, either by the controller class using enable(), or by
+ * the controller object. The generated class is cached per controller class. A controller wires 
+ * the compilation in through a Binding object, see SimpleExciter.
+ *
+ * @author agent
+ *
+ */
+public class CMLControllerCompiler {
+	/**
+	 * package of the generated classes
+	 */
+	public static final String GenPackage = "org.interpss.dstab.control.cml.gen";
+
+	private static final Pattern TokenPattern = Pattern.compile(
+				"\\s*(?:([A-Za-z_][A-Za-z0-9_]*(?:\\.[A-Za-z_][A-Za-z0-9_]*)*)|([0-9]*\\.?[0-9]+(?:[eE][-+]?[0-9]+)?)|([-+*/()]))");
+
+	// default value of AnControllerField.initOrderNumber
+	private static final int InitOrderNumberDefault = initOrderNumberDefault();
+
+	private static Set<Class<?>> enabledClassSet = Collections.newSetFromMap(new ConcurrentHashMap<>());
+	// generated source by controller class, an empty string if the generation has failed
+	private static Map<Class<?>, String> sourceTable = new ConcurrentHashMap<>();
+
+	/**
+	 * enable the compilation for all controller objects of the class
+	 *
+	 * @param klass controller class
+	 */
+	public static void enable(Class<? extends AbstractAnnotateController> klass) {
+		enabledClassSet.add(klass);
+	}
+
+	/**
+	 * disable the compilation for the controller class
+	 *
+	 * @param klass controller class
+	 */
+	public static void disable(Class<? extends AbstractAnnotateController> klass) {
+		enabledClassSet.remove(klass);
+	}
+
+	/**
+	 * check if the compilation is enabled for the controller class
+	 *
+	 * @param klass controller class
+	 * @return
+	 */
+	public static boolean isEnabled(Class<?> klass) {
+		return enabledClassSet.contains(klass);
+	}
+
+	/**
+	 * compile the controller and bind the compiled controller to the controller object. The
+	 * controller states should have been initialized.
+	 *
+	 * @param controller the controller object
+	 * @return the compiled controller, null if the controller could not be compiled
+	 */
+	public static ICMLCompiledController compile(AbstractAnnotateController controller) {
+		Class<?> klass = controller.getClass();
+		String source = sourceTable.computeIfAbsent(klass, k -> {
+			try {
+				return new CMLControllerCompiler(k).generate();
+			} catch (InterpssException e) {
+				ipssLogger.info("CML controller " + k.getName() + " not compiled, " + e.getMessage());
+				return "";
+			}
+		});
+		if (source.isEmpty())
+			return null;
+
+		try {
+			ICMLCompiledController compiled = (ICMLCompiledController)MemoryJavaCompiler.javac(genClassName(klass), source);
+			if (compiled == null) {
+				sourceTable.put(klass, "");
+				return null;
+			}
+			compiled.bind(controller);
+			return compiled;
+		} catch (Exception e) {
+			ipssLogger.warning("Error in binding compiled CML controller " + klass.getName() + ", " + e.toString());
+			return null;
+		}
+	}
+
+	/**
+	 * Compiled controller binding of a controller object. The controller holds a binding object,
+	 * calls initStates() after the CML states have been initialized, and delegates nextStep() and 
+	 * getOutput() to the compiled controller if isCompiled(method) is true. Otherwise the CML
+	 * interpreter is used.
+	 */
+	public static class Binding {
+		// compiled form of the CML block graph, null if the CML interpreter is used
+		private ICMLCompiledController compiled = null;
+		private boolean compileCML = false;
+
+		/**
+		 * Set to use the compiled CML controller. If the controller could not be compiled, 
+		 * the CML interpreter is used.
+		 *
+		 * @param b
+		 */
+		public void setCompileCML(boolean b) {
+			this.compileCML = b;
+		}
+
+		/**
+		 * compile the controller, if selected by the controller object or the controller class
+		 *
+		 * @param controller the controller object
+		 * @param initOk the CML states initialization result
+		 * @return the initialization result
+		 */
+		public boolean initStates(AbstractAnnotateController controller, boolean initOk) {
+			this.compiled = null;
+			if (initOk && (this.compileCML || isEnabled(controller.getClass())))
+				this.compiled = compile(controller);
+			return initOk;
+		}
+
+		/**
+		 * check if the compiled CML controller is used
+		 *
+		 * @return
+		 */
+		public boolean isCompiled() {
+			return this.compiled != null;
+		}
+
+		/**
+		 * check if the compiled CML controller is used for the simulation method. Only the modified
+		 * Euler method is compiled.
+		 *
+		 * @param method
+		 * @return
+		 */
+		public boolean isCompiled(DynamicSimuMethod method) {
+			return this.compiled != null && method == DynamicSimuMethod.MODIFIED_EULER;
+		}
+
+		public ICMLCompiledController getCompiled() {
+			return this.compiled;
+		}
+	}
+
+	/**
+	 * get the generated class name of the controller class
+	 *
+	 * @param klass controller class
+	 * @return
+	 */
+	public static String genClassName(Class<?> klass) {
+		return GenPackage + ".CML_" + klass.getName().replace('.', '_').replace('$', '_');
+	}
+
+	private Class<?> klass;
+	// block fields, by name, in the declaration order
+	private Map<String, Field> blockTable = new LinkedHashMap<>();
+	// function fields, by name
+	private Map<String, Field> funcTable = new LinkedHashMap<>();
+	// double parameters referred by the expressions
+	private Set<String> paramSet = new LinkedHashSet<>();
+
+	private CMLControllerCompiler(Class<?> klass) {
+		this.klass = klass;
+	}
+
+	/*
+	 * generate the compiled controller source code
+	 */
+	private String generate() throws InterpssException {
+		AnController an = this.klass.getAnnotation(AnController.class);
+		if (an == null)
+			throw new InterpssException("no AnController annotation");
+
+		List<Field> fieldList = new ArrayList<>();
+		for (Class<?> c = this.klass; c != null && AbstractAnnotateController.class.isAssignableFrom(c) &&
+					!c.getName().startsWith("com.interpss."); c = c.getSuperclass())
+			fieldList.addAll(0, annotatedFields(c));
+
+		for (Field field : fieldList) {
+			AnControllerField cf = field.getAnnotation(AnControllerField.class);
+			if (cf != null) {
+				if (cf.type() != CMLFieldEnum.ControlBlock && cf.type() != CMLFieldEnum.StaticBlock)
+					throw new InterpssException("field type " + cf.type() + " not supported, " + field.getName());
+				if (cf.feedback())
+					throw new InterpssException("feedback block not supported, " + field.getName());
+				if (cf.initOrderNumber() != InitOrderNumberDefault)
+					throw new InterpssException("block init order not supported, " + field.getName());
+				for (String p : cf.parameter())
+					if (!p.startsWith("type.") && !p.startsWith("this.") && !isNumber(p))
+						throw new InterpssException("parameter expression not supported, " + field.getName() + ": " + p);
+				this.blockTable.put(field.getName(), field);
+			}
+			else {
+				if (!ICMLFunction.class.isAssignableFrom(field.getType()) ||
+						ICMLFunctionExpression.class.isAssignableFrom(field.getType()))
+					throw new InterpssException("function type not supported, " + field.getName());
+				this.funcTable.put(field.getName(), field);
+			}
+		}
+
+		// translate the expressions first to collect the referred parameters
+		StringBuilder step1 = new StringBuilder(), step2 = new StringBuilder();
+		for (Field field : this.blockTable.values()) {
+			String u = translate(field.getAnnotation(AnControllerField.class).input());
+			step1.append("\t\t" + field.getName() + ".eulerStep1(" + u + ", dt);\n");
+			step2.append("\t\t" + field.getName() + ".eulerStep2(" + u + ", dt);\n");
+		}
+		String output = translate(an.output());
+		StringBuilder funcs = new StringBuilder();
+		for (Field field : this.funcTable.values()) {
+			String[] inputs = field.getAnnotation(AnFunctionField.class).input();
+			funcs.append("\tprivate final double[] " + field.getName() + "_in = new double[" + inputs.length + "];\n");
+			funcs.append("\tprivate double " + field.getName() + "_y(Machine mach) {\n");
+			for (int i = 0; i < inputs.length; i++)
+				funcs.append("\t\t" + field.getName() + "_in[" + i + "] = " + translate(inputs[i]) + ";\n");
+			funcs.append("\t\treturn " + field.getName() + ".eval(" + field.getName() + "_in);\n\t}\n");
+		}
+
+		String name = genClassName(this.klass);
+		StringBuilder sb = new StringBuilder();
+		sb.append("package " + GenPackage + ";\n\n");
+		sb.append("import com.interpss.dstab.controller.annotate.AbstractAnnotateController;\n");
+		sb.append("import com.interpss.dstab.controller.annotate.util.AnControllerHelper;\n");
+		sb.append("import com.interpss.dstab.mach.Machine;\n");
+		sb.append("import " + ICMLCompiledController.class.getName() + ";\n\n");
+		sb.append("public class " + name.substring(GenPackage.length() + 1) + " implements ICMLCompiledController {\n");
+		sb.append("\tprivate AbstractAnnotateController cntl;\n");
+		for (Field field : this.blockTable.values())
+			sb.append("\tprivate " + field.getType().getCanonicalName() + " " + field.getName() + ";\n");
+		for (Field field : this.funcTable.values())
+			sb.append("\tprivate " + field.getType().getCanonicalName() + " " + field.getName() + ";\n");
+		for (String p : this.paramSet)
+			sb.append("\tprivate double p_" + p + ";\n");
+
+		sb.append("\n\tpublic void bind(AbstractAnnotateController cntl) throws Exception {\n");
+		sb.append("\t\tthis.cntl = cntl;\n");
+		for (Field field : this.blockTable.values())
+			sb.append(bindField(field));
+		for (Field field : this.funcTable.values())
+			sb.append(bindField(field));
+		for (String p : this.paramSet)
+			sb.append("\t\tthis.p_" + p + " = cntl.getDoubleField(\"" + p + "\");\n");
+		sb.append("\t}\n\n");
+
+		sb.append("\tpublic boolean nextStep(double dt, Machine mach) {\n");
+		sb.append(step1).append(step2);
+		sb.append("\t\treturn true;\n\t}\n\n");
+		sb.append("\tpublic double getOutput(Machine mach) {\n\t\treturn " + output + ";\n\t}\n\n");
+		sb.append(funcs);
+		sb.append("}\n");
+		return sb.toString();
+	}
+
+	private String bindField(Field field) {
+		return "\t\tthis." + field.getName() + " = (" + field.getType().getCanonicalName() +
+				")AnControllerHelper.getBlock(\"" + field.getName() + "\", cntl.getFieldWrapperList());\n" +
+				"\t\tif (this." + field.getName() + " == null) throw new Exception(\"block not found, " + field.getName() + "\");\n";
+	}
+
+	private List<Field> annotatedFields(Class<?> c) {
+		List<Field> list = new ArrayList<>();
+		for (Field field : c.getDeclaredFields())
+			if (field.getAnnotation(AnControllerField.class) != null || field.getAnnotation(AnFunctionField.class) != null)
+				list.add(field);
+		return list;
+	}
+
+	/*
+	 * translate a CML expression into Java code. The CML expression grammar (+ - * / and parentheses)
+	 * is a subset of Java expression, therefore only the symbols need to be translated.
+	 */
+	private String translate(String exp) throws InterpssException {
+		StringBuilder sb = new StringBuilder();
+		Matcher m = TokenPattern.matcher(exp);
+		int pos = 0;
+		while (pos < exp.length()) {
+			if (exp.substring(pos).trim().isEmpty())
+				break;
+			if (!m.find(pos) || m.start() != pos)
+				throw new InterpssException("invalid expression, " + exp);
+			if (m.group(1) != null)
+				sb.append(translateSymbol(m.group(1)));
+			else if (m.group(2) != null)
+				sb.append(m.group(2));
+			else
+				sb.append(" " + m.group(3) + " ");
+			pos = m.end();
+		}
+		if (sb.length() == 0)
+			throw new InterpssException("empty expression");
+		return "(" + sb.toString().trim() + ")";
+	}
+
+	private String translateSymbol(String sym) throws InterpssException {
+		if (sym.equals("this.refPoint"))
+			return "cntl.getRefPoint()";
+
+		String[] parts = sym.split("\\.");
+		if (parts[0].equals("this")) {
+			if (parts.length == 2 && !this.blockTable.containsKey(parts[1]) && !this.funcTable.containsKey(parts[1])) {
+				this.paramSet.add(parts[1]);
+				return "p_" + parts[1];
+			}
+			else if (parts.length == 3 && this.blockTable.containsKey(parts[1])) {
+				if (parts[2].equals("y"))
+					return parts[1] + ".getY()";
+				else if (parts[2].equals("u0"))
+					return parts[1] + ".getU0()";
+			}
+			else if (parts.length == 3 && this.funcTable.containsKey(parts[1]) && parts[2].equals("y"))
+				return parts[1] + "_y(mach)";
+		}
+		else if (CMLMachineSymbols.SymbolTable.containsKey(sym))
+			return CMLMachineSymbols.SymbolTable.get(sym);
+
+		throw new InterpssException("symbol not supported, " + sym);
+	}
+
+	private static int initOrderNumberDefault() {
+		try {
+			return (Integer)AnControllerField.class.getMethod("initOrderNumber").getDefaultValue();
+		} catch (NoSuchMethodException e) {
+			return 0;
+		}
+	}
+
+	private static boolean isNumber(String s) {
+		try {
+			Double.parseDouble(s.trim());
+			return true;
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+}
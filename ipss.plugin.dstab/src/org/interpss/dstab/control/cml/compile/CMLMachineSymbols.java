@@ -0,0 +1,73 @@
+ /*
+  * @(#)CMLMachineSymbols.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.dstab.control.cml.compile;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.interpss.dstab.mach.Machine;
+
+/**
+ * Machine related CML symbol evaluation functions used by the compiled controller code.
+ * The symbol to Java code mapping is defined in the SymbolTable.
+ *
+ * @author agent
+ *
+ */
+public class CMLMachineSymbols {
+	/**
+	 * CML symbol to Java code mapping, symbols not in the table are not supported by
+	 * the compiler
+	 */
+	public static final Map<String, String> SymbolTable = new HashMap<>();
+	static {
+		SymbolTable.put("mach.speed", "mach.getSpeed()");
+		SymbolTable.put("mach.efd", "mach.getEfd()");
+		SymbolTable.put("mach.pm", "mach.getPm()");
+		SymbolTable.put("mach.pe", "mach.getPe()");
+		SymbolTable.put("mach.vt", CMLMachineSymbols.class.getName() + ".vt(mach)");
+		SymbolTable.put("pss.vs", CMLMachineSymbols.class.getName() + ".pssVs(mach)");
+	}
+
+	/**
+	 * machine terminal voltage magnitude in pu
+	 *
+	 * @param mach
+	 * @return
+	 */
+	public static double vt(Machine mach) {
+		return mach.getDStabBus().getVoltageMag();
+	}
+
+	/**
+	 * stabilizer output, 0.0 if the machine has no stabilizer
+	 *
+	 * @param mach
+	 * @return
+	 */
+	public static double pssVs(Machine mach) {
+		return mach.getStabilizer() != null? mach.getStabilizer().getOutput(mach) : 0.0;
+	}
+}
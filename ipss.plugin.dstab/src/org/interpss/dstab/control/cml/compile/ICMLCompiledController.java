@@ -0,0 +1,65 @@
+ /*
+  * @(#)ICMLCompiledController.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.dstab.control.cml.compile;
+
+import com.interpss.dstab.controller.annotate.AbstractAnnotateController;
+import com.interpss.dstab.mach.Machine;
+
+/**
+ * Interface for the compiled form of an annotated CML controller, generated by
+ * CMLControllerCompiler. The compiled controller evaluates the controller block
+ * graph with straight-line code.
+ *
+ * @author agent
+ *
+ */
+public interface ICMLCompiledController {
+	/**
+	 * bind the compiled controller to the controller object. It should be called after the
+	 * controller states have been initialized, since the block objects and the parameters
+	 * are fetched from the controller at binding.
+	 *
+	 * @param controller the annotated controller object
+	 * @throws Exception
+	 */
+	void bind(AbstractAnnotateController controller) throws Exception;
+
+	/**
+	 * Perform one step modified Euler calculation of the controller blocks
+	 *
+	 * @param dt simulation time interval
+	 * @param mach the parent machine object
+	 * @return
+	 */
+	boolean nextStep(double dt, Machine mach);
+
+	/**
+	 * Get the controller output
+	 *
+	 * @param mach the parent machine object
+	 * @return
+	 */
+	double getOutput(Machine mach);
+}
@@ -27,8 +27,10 @@ package org.interpss.dstab.control.exc.simple;
 import java.lang.reflect.Field;
 
 import org.interpss.dstab.control.cml.block.DelayControlBlock;
+import org.interpss.dstab.control.cml.compile.CMLControllerCompiler;
 
 import com.interpss.dstab.BaseDStabBus;
+import com.interpss.dstab.algo.DynamicSimuMethod;
 import com.interpss.dstab.controller.AnnotateExciter;
 import com.interpss.dstab.controller.annotate.AnController;
 import com.interpss.dstab.controller.annotate.AnControllerField;
@@ -59,6 +61,9 @@ public class SimpleExciter extends AnnotateExciter {
     // UI Editor panel
     private static NBSimpleExciterEditPanel _editPanel = new NBSimpleExciterEditPanel();
     
+    // compiled CML controller binding
+    private CMLControllerCompiler.Binding cml = new CMLControllerCompiler.Binding();
+    
     /**
      * Default Constructor
      *
@@ -104,7 +109,36 @@ public class SimpleExciter extends AnnotateExciter {
         this.vmax = getData().getVrmax();
         this.vmin = getData().getVrmin();
         // call the super method to init CML field/controller states
-        return super.initStates(bus, mach);
+        return this.cml.initStates(this, super.initStates(bus, mach));
+    }
+
+    /**
+     * Set to use the compiled CML controller, see CMLControllerCompiler. If the controller
+     * could not be compiled, the CML interpreter is used.
+     *
+     * @param b
+     */
+    public void setCompileCML(boolean b) {
+    	this.cml.setCompileCML(b);
+    }
+
+    /**
+     * check if the compiled CML controller is used
+     *
+     * @return
+     */
+    public boolean isCompiled() {
+    	return this.cml.isCompiled();
+    }
+
+    @Override
+	public boolean nextStep(final double dt, final DynamicSimuMethod method, Machine mach) {
+    	return this.cml.isCompiled(method)? this.cml.getCompiled().nextStep(dt, mach) : super.nextStep(dt, method, mach);
+    }
+
+    @Override
+	public double getOutput(Machine mach) {
+    	return this.cml.isCompiled()? this.cml.getCompiled().getOutput(mach) : super.getOutput(mach);
     }
 
     /**
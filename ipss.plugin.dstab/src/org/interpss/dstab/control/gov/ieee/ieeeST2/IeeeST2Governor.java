@@ -40,6 +40,10 @@ public class IeeeST2Governor extends AbstractGovernor {
 	private double statePm = 0.0, statePref = 0.0, stateX1 = 0.0, stateX2 = 0.0, stateX3 = 0.0, stateX4 = 0.0, stateX5 = 0.0;
 	private LimitType limit = null;
 
+	// batched integrator, null if the governor is stepped individually
+	private IeeeST2GovernorBatch batch = null;
+	private int batchIndex = -1;
+
 	// UI Editor panel
 	private static final NBIeeeST2GovernorEditPanel _editPanel = new NBIeeeST2GovernorEditPanel();
 
@@ -105,6 +109,8 @@ public class IeeeST2Governor extends AbstractGovernor {
 		stateX4 = stateX3;
 		stateX5 = stateX4;
 		IpssLogger.getLogger().fine("Governor Limit:      " + limit);
+		if (batch != null)
+			batch.load(batchIndex);
 		return true;
 	}
 	
@@ -117,6 +123,9 @@ public class IeeeST2Governor extends AbstractGovernor {
 	 */	
 	@Override
 	public boolean nextStep(final double dt, final DynamicSimuMethod method, Machine mach) {
+		// the batched governor is stepped by the batch, see IeeeST2GovernorBatch.nextStep()
+		if (batch != null && method == DynamicSimuMethod.MODIFIED_EULER)
+			return true;
 		if (method == DynamicSimuMethod.MODIFIED_EULER) {
 			/*
 			 *     Step-1 : x(1) = x(0) + dx_dt(1) * dt
@@ -176,6 +185,8 @@ public class IeeeST2Governor extends AbstractGovernor {
 	 */	
 	@Override
 	public double getOutput(Machine mach) {
+		if (batch != null)
+			return batch.getOutput(batchIndex);
 		return stateX5 * getData().getFp3() + stateX4 * getData().getFp2() + stateX3 * getData().getFp1();
 	}
 
@@ -193,5 +204,38 @@ public class IeeeST2Governor extends AbstractGovernor {
 	@Override
 	public void setRefPoint(double x) {
 		statePref = x;
+		if (batch != null)
+			batch.setRefPoint(batchIndex, x);
 	}	
+	
+	/**
+	 * check if the governor is stepped by a batched integrator, see IeeeST2GovernorBatch
+	 * 
+	 * @return
+	 */
+	public boolean isBatched() {
+		return batch != null;
+	}
+	
+	void setBatch(IeeeST2GovernorBatch batch, int index) {
+		this.batch = batch;
+		this.batchIndex = index;
+	}
+	
+	/*
+	 * controller states in the order of statePm, statePref, stateX1, stateX2, stateX3, stateX4, stateX5
+	 */
+	double[] getStates() {
+		return new double[] {statePm, statePref, stateX1, stateX2, stateX3, stateX4, stateX5};
+	}
+	
+	void setStates(double[] states) {
+		statePm = states[0];
+		statePref = states[1];
+		stateX1 = states[2];
+		stateX2 = states[3];
+		stateX3 = states[4];
+		stateX4 = states[5];
+		stateX5 = states[6];
+	}
 } // SimpleExcAdapter
@@ -0,0 +1,230 @@
+ /*
+  * @(#)IeeeST2GovernorBatch.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.dstab.control.gov.ieee.ieeeST2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.interpss.dstab.control.ControllerBatch;
+
+import com.interpss.core.aclf.AclfGen;
+import com.interpss.core.net.Bus;
+import com.interpss.dstab.BaseDStabBus;
+import com.interpss.dstab.BaseDStabNetwork;
+import com.interpss.dstab.DStabGen;
+import com.interpss.dstab.controller.AbstractGovernor;
+import com.interpss.dstab.mach.Machine;
+
+/**
+ * Batched integrator for IeeeST2Governor, see IeeeST1GovernorBatch. The parameters and states 
+ * of all the governors in the batch are kept in primitive arrays, and the modified Euler step is 
+ * performed for all the governors in tight loops, one loop per stage. The calculation is the same 
+ * as IeeeST2Governor.nextStep().
+ * 
+ * @author agent
+ *
+ */
+public class IeeeST2GovernorBatch implements ControllerBatch {
+	private List<IeeeST2Governor> govList = new ArrayList<>();
+	private int size = 0;
+	
+	// parameters
+	private double[] r, t1, t2, t3, t4, t5, fp1, fp2, fp3, pmax, pmin;
+	private boolean[] droop;
+	
+	// states
+	private double[] statePm, statePref, stateX1, stateX2, stateX3, stateX4, stateX5;
+	
+	// work arrays of the step
+	private double[] speed, dX1, dX2, dX3, dX4, dX5, x1_1, x2_1, x3_1, x4_1, x5_1;
+	
+	/**
+	 * add all the IeeeST2Governor objects of the network to the batch
+	 * 
+	 * @param net the network
+	 * @return number of governors in the batch
+	 */
+	@Override
+	public int create(BaseDStabNetwork<?,?> net) {
+		for (Bus b : net.getBusList()) {
+			BaseDStabBus<?,?> bus = (BaseDStabBus<?,?>)b;
+			for (AclfGen gen : bus.getContributeGenList()) {
+				Machine mach = ((DStabGen)gen).getMach();
+				if (mach != null && mach.getGovernor() instanceof IeeeST2Governor)
+					add((IeeeST2Governor)mach.getGovernor());
+			}
+		}
+		return this.size;
+	}
+	
+	/**
+	 * add the governor to the batch. The parameters and states are loaded from the governor,
+	 * and loaded again when the governor states are initialized.
+	 * 
+	 * @param gov the governor
+	 */
+	public void add(IeeeST2Governor gov) {
+		if (gov.isBatched())
+			throw new IllegalArgumentException("Governor is already in a batch, " + gov.getId());
+		ensureCapacity(this.size + 1);
+		int i = this.size++;
+		this.govList.add(gov);
+		gov.setBatch(this, i);
+		load(i);
+	}
+	
+	/**
+	 * get the number of governors in the batch
+	 * 
+	 * @return
+	 */
+	public int size() {
+		return this.size;
+	}
+	
+	/**
+	 * release the governors from the batch. The batch states are copied back to the 
+	 * governors, which are stepped individually afterwards.
+	 */
+	@Override
+	public void release() {
+		for (int i = 0; i < this.size; i++) {
+			IeeeST2Governor gov = this.govList.get(i);
+			gov.setStates(new double[] {statePm[i], statePref[i], stateX1[i], stateX2[i], stateX3[i], stateX4[i], stateX5[i]});
+			gov.setBatch(null, -1);
+		}
+		this.govList.clear();
+		this.size = 0;
+	}
+	
+	/**
+	 * Perform one step modified Euler calculation for all the governors in the batch. It should be
+	 * called once per simulation step, before the machine speeds are updated for the step.
+	 * 
+	 * @param dt simulation time interval
+	 */
+	@Override
+	public void nextStep(double dt) {
+		int n = this.size;
+		
+		// gather the inputs
+		for (int i = 0; i < n; i++)
+			speed[i] = this.govList.get(i).getMachine().getSpeed();
+		
+		// step-1 : x(1) = x(0) + dx_dt(1) * dt
+		for (int i = 0; i < n; i++) 
+			dX1[i] = ( 100.0*(speed[i] - 1.0)/r[i] - stateX1[i] ) / t1[i];
+		for (int i = 0; i < n; i++) 
+			dX2[i] = ( (droop[i]? statePref[i] : statePm[i]) - stateX1[i] - stateX2[i] ) / t2[i];
+		for (int i = 0; i < n; i++) 
+			dX3[i] = ( stateX2[i] - stateX3[i] ) / t3[i];
+		for (int i = 0; i < n; i++) 
+			dX4[i] = ( stateX3[i] - stateX4[i] ) / t4[i];
+		for (int i = 0; i < n; i++) 
+			dX5[i] = ( stateX4[i] - stateX5[i] ) / t5[i];
+		for (int i = 0; i < n; i++) {
+			x1_1[i] = stateX1[i] + dX1[i] * dt;
+			x2_1[i] = limit(stateX2[i] + dX2[i] * dt, pmax[i], pmin[i]);
+			x3_1[i] = stateX3[i] + dX3[i] * dt;
+			x4_1[i] = stateX4[i] + dX4[i] * dt;
+			x5_1[i] = stateX5[i] + dX5[i] * dt;
+		}
+		
+		// step-2 : x(2) = x(0) + 0.5 * (dx_dt(2) + dx_dt(1)) * dt
+		for (int i = 0; i < n; i++) 
+			stateX1[i] = stateX1[i] + 0.5 * (( 100.0*(speed[i] - 1.0)/r[i] - x1_1[i] ) / t1[i] + dX1[i]) * dt;
+		for (int i = 0; i < n; i++) 
+			stateX2[i] = limit(stateX2[i] + 0.5 * (( (droop[i]? statePref[i] : statePm[i]) - x1_1[i] - x2_1[i] ) / t2[i] + dX2[i]) * dt, 
+						pmax[i], pmin[i]);
+		for (int i = 0; i < n; i++) 
+			stateX3[i] = stateX3[i] + 0.5 * (( x2_1[i] - x3_1[i] ) / t3[i] + dX3[i]) * dt;
+		for (int i = 0; i < n; i++) 
+			stateX4[i] = stateX4[i] + 0.5 * (( x3_1[i] - x4_1[i] ) / t4[i] + dX4[i]) * dt;
+		for (int i = 0; i < n; i++) 
+			stateX5[i] = stateX5[i] + 0.5 * (( x4_1[i] - x5_1[i] ) / t5[i] + dX5[i]) * dt;
+	}
+	
+	double getOutput(int index) {
+		return stateX5[index] * fp3[index] + stateX4[index] * fp2[index] + stateX3[index] * fp1[index];
+	}
+	
+	void setRefPoint(int index, double x) {
+		statePref[index] = x;
+	}
+	
+	/*
+	 * load the parameters and states of the member governor into the arrays
+	 */
+	void load(int index) {
+		IeeeST2Governor gov = this.govList.get(index);
+		IeeeST2GovernorData data = gov.getData();
+		r[index] = data.getR();
+		t1[index] = data.getT1();
+		t2[index] = data.getT2();
+		t3[index] = data.getT3();
+		t4[index] = data.getT4();
+		t5[index] = data.getT5();
+		fp1[index] = data.getFp1();
+		fp2[index] = data.getFp2();
+		fp3[index] = data.getFp3();
+		pmax[index] = data.getPmax();
+		pmin[index] = data.getPmin();
+		droop[index] = data.getOptMode() == AbstractGovernor.DroopMode;
+		
+		double[] states = gov.getStates();
+		statePm[index] = states[0];
+		statePref[index] = states[1];
+		stateX1[index] = states[2];
+		stateX2[index] = states[3];
+		stateX3[index] = states[4];
+		stateX4[index] = states[5];
+		stateX5[index] = states[6];
+	}
+	
+	private static double limit(double x, double max, double min) {
+		return x > max? max : (x < min? min : x);
+	}
+	
+	private void ensureCapacity(int n) {
+		if (r != null && r.length >= n)
+			return;
+		int cap = Math.max(n, r == null? 16 : 2*r.length);
+		r = copyOf(r, cap); t1 = copyOf(t1, cap); t2 = copyOf(t2, cap); t3 = copyOf(t3, cap);
+		t4 = copyOf(t4, cap); t5 = copyOf(t5, cap); fp1 = copyOf(fp1, cap); fp2 = copyOf(fp2, cap); 
+		fp3 = copyOf(fp3, cap); pmax = copyOf(pmax, cap); pmin = copyOf(pmin, cap);
+		droop = droop == null? new boolean[cap] : Arrays.copyOf(droop, cap);
+		statePm = copyOf(statePm, cap); statePref = copyOf(statePref, cap);
+		stateX1 = copyOf(stateX1, cap); stateX2 = copyOf(stateX2, cap); stateX3 = copyOf(stateX3, cap); 
+		stateX4 = copyOf(stateX4, cap); stateX5 = copyOf(stateX5, cap);
+		speed = new double[cap];
+		dX1 = new double[cap]; dX2 = new double[cap]; dX3 = new double[cap]; dX4 = new double[cap]; dX5 = new double[cap];
+		x1_1 = new double[cap]; x2_1 = new double[cap]; x3_1 = new double[cap]; x4_1 = new double[cap]; x5_1 = new double[cap];
+	}
+	
+	private static double[] copyOf(double[] a, int n) {
+		return a == null? new double[n] : Arrays.copyOf(a, n);
+	}
+}
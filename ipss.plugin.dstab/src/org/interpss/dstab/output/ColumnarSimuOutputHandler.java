@@ -0,0 +1,416 @@
+ /*
+  * @(#)ColumnarSimuOutputHandler.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.dstab.output;
+
+import static com.interpss.common.util.IpssLogger.ipssLogger;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.apache.commons.math3.complex.Complex;
+import org.interpss.numeric.datatype.Unit.UnitType;
+
+import com.interpss.common.msg.IpssMessage;
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.dstab.BaseDStabBus;
+import com.interpss.dstab.BaseDStabNetwork;
+import com.interpss.dstab.common.DStabOutSymbol;
+import com.interpss.dstab.datatype.DStabSimuEvent;
+import com.interpss.dstab.mach.Machine;
+import com.interpss.dstab.util.AbstractSimuOutputHandler;
+
+/**
+ * DStab output handler which records the monitored machine, bus and branch channels into
+ * preallocated primitive columns. Full chunks of the columns are passed to a background
+ * writer thread through a bounded queue, and written to an indexed binary file, see
+ * DStabBinaryOutputFile for the file format and the reader.
+ *
+ * The channel values are sampled directly from the network objects once per plot step,
+ * when the first plot step event of a new simulation time is received. The simulation
+ * thread is blocked when the writer falls behind by more than the queue capacity.
+ *
+ * Usage :
+ *
+ *   ColumnarSimuOutputHandler hdler = new ColumnarSimuOutputHandler(net, new File("out.ipsdyn"));
+ *   hdler.addMachineMonitor("Bus1-mach1");
+ *   hdler.addBusMonitor("Bus5");
+ *   dstabAlgo.setSimuOutputHandler(hdler);
+ *   ...
+ *   dstabAlgo.performSimulation();
+ *   hdler.close();
+ *
+ * @author agent
+ *
+ */
+public class ColumnarSimuOutputHandler extends AbstractSimuOutputHandler implements Closeable {
+	/**
+	 * default number of rows (time points) per chunk
+	 */
+	public static final int DefaultChunkSize = 1024;
+	/**
+	 * default number of full chunks waiting to be written
+	 */
+	public static final int DefaultQueueCapacity = 4;
+
+	/*
+	 * channel value sampler
+	 */
+	private static interface Sampler {
+		double sample();
+	}
+
+	/*
+	 * a chunk of columns, col[channel][row]
+	 */
+	static class Chunk {
+		final double[][] col;
+		int rows = 0;
+
+		Chunk(int nChannels, int size) {
+			this.col = new double[nChannels][size];
+		}
+	}
+
+	private static final Chunk EndOfOutput = new Chunk(0, 0);
+
+	private BaseDStabNetwork<?,?> net;
+	private File file;
+	private int chunkSize = DefaultChunkSize;
+	private int queueCapacity = DefaultQueueCapacity;
+
+	private List<String> machIdList = new ArrayList<>();
+	private List<String> busIdList = new ArrayList<>();
+	private List<String> branchIdList = new ArrayList<>();
+
+	private List<String> channelNameList = null;
+	private Sampler[] samplers = null;
+
+	private BlockingQueue<Chunk> fullQueue = null;
+	private BlockingQueue<Chunk> freeQueue = null;
+	private Thread writerThread = null;
+	private volatile IOException writerError = null;
+
+	private Chunk current = null;
+	private double lastTime = Double.NEGATIVE_INFINITY;
+	private long rowCount = 0;
+	private boolean closed = false;
+
+	/**
+	 * constructor
+	 *
+	 * @param net the DStab network to be monitored
+	 * @param file the binary output file
+	 */
+	public ColumnarSimuOutputHandler(BaseDStabNetwork<?,?> net, File file) {
+		this.net = net;
+		this.file = file;
+	}
+
+	/**
+	 * set the number of rows (time points) per chunk
+	 *
+	 * @param size
+	 * @return
+	 */
+	public ColumnarSimuOutputHandler setChunkSize(int size) {
+		this.chunkSize = Math.max(1, size);
+		return this;
+	}
+
+	/**
+	 * set the max number of full chunks waiting to be written
+	 *
+	 * @param capacity
+	 * @return
+	 */
+	public ColumnarSimuOutputHandler setQueueCapacity(int capacity) {
+		this.queueCapacity = Math.max(1, capacity);
+		return this;
+	}
+
+	/**
+	 * monitor the machine angle (deg), speed, Pe, Pm and Efd (pu)
+	 *
+	 * @param ids machine ids
+	 * @return
+	 */
+	public ColumnarSimuOutputHandler addMachineMonitor(String... ids) {
+		for (String id : ids)
+			this.machIdList.add(id);
+		return this;
+	}
+
+	/**
+	 * monitor the bus voltage magnitude (pu) and angle (deg)
+	 *
+	 * @param ids bus ids
+	 * @return
+	 */
+	public ColumnarSimuOutputHandler addBusMonitor(String... ids) {
+		for (String id : ids)
+			this.busIdList.add(id);
+		return this;
+	}
+
+	/**
+	 * monitor the branch from side P, Q and current magnitude (pu)
+	 *
+	 * @param ids branch ids
+	 * @return
+	 */
+	public ColumnarSimuOutputHandler addBranchMonitor(String... ids) {
+		for (String id : ids)
+			this.branchIdList.add(id);
+		return this;
+	}
+
+	/**
+	 * get the output channel name list, available after the first output step
+	 *
+	 * @return
+	 */
+	public List<String> getChannelNameList() {
+		return this.channelNameList;
+	}
+
+	/**
+	 * get the number of recorded rows (time points)
+	 *
+	 * @return
+	 */
+	public long getRowCount() {
+		return this.rowCount;
+	}
+
+	/**
+	 * get the binary output file
+	 *
+	 * @return
+	 */
+	public File getFile() {
+		return this.file;
+	}
+
+	@Override
+	public void onMsgEvent(IpssMessage event) {
+		onMsgEventStatus(event);
+	}
+
+	@Override
+	public boolean onMsgEventStatus(IpssMessage event) {
+		if (this.closed || !(event instanceof DStabSimuEvent))
+			return true;
+
+		DStabSimuEvent e = (DStabSimuEvent) event;
+		int type = e.getType();
+		if (type != DStabSimuEvent.PlotStepMachineStates && type != DStabSimuEvent.PlotStepBusStates &&
+				type != DStabSimuEvent.PlotStepScriptDynamicBusDeviceStates)
+			return true;
+
+		double time = getTime(e.getHashtableData());
+		if (time <= this.lastTime)
+			return true;
+		this.lastTime = time;
+
+		try {
+			if (this.samplers == null)
+				start();
+			recordRow(time);
+			return true;
+		} catch (IOException | InterruptedException ex) {
+			ipssLogger.severe("Error in recording DStab output, " + ex.toString());
+			this.closed = true;
+			return false;
+		}
+	}
+
+	/**
+	 * flush the recorded data, stop the writer thread and write the file index
+	 */
+	@Override
+	public void close() throws IOException {
+		if (this.writerThread != null && this.writerThread.isAlive()) {
+			try {
+				if (this.current != null && this.current.rows > 0)
+					this.fullQueue.put(this.current);
+				this.current = null;
+				this.fullQueue.put(EndOfOutput);
+				this.writerThread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while closing DStab output file " + this.file);
+			}
+		}
+		this.closed = true;
+		if (this.writerError != null)
+			throw this.writerError;
+	}
+
+	@Override
+	public String toString() {
+		return "DStab binary output " + this.file + ", channels: " +
+				(this.channelNameList != null ? this.channelNameList.size() : 0) + ", rows: " + this.rowCount;
+	}
+
+	/*
+	 * resolve the channels, allocate the chunks and start the writer thread
+	 */
+	private void start() throws IOException {
+		List<String> names = new ArrayList<>();
+		List<Sampler> list = new ArrayList<>();
+		// the time column is filled by recordRow()
+		names.add(DStabBinaryOutputFile.TimeChannel);
+		list.add(null);
+
+		for (String id : this.machIdList) {
+			Machine mach = this.net.getMachine(id);
+			if (mach == null) {
+				ipssLogger.warning("Monitored machine not found, " + id);
+				continue;
+			}
+			addChannel(names, list, "mach", id, "angle", () -> Math.toDegrees(mach.getAngle()));
+			addChannel(names, list, "mach", id, "speed", () -> mach.getSpeed());
+			addChannel(names, list, "mach", id, "pe", () -> mach.getPe());
+			addChannel(names, list, "mach", id, "pm", () -> mach.getPm());
+			addChannel(names, list, "mach", id, "efd", () -> mach.getEfd());
+		}
+		for (String id : this.busIdList) {
+			BaseDStabBus<?,?> bus = this.net.getBus(id);
+			if (bus == null) {
+				ipssLogger.warning("Monitored bus not found, " + id);
+				continue;
+			}
+			addChannel(names, list, "bus", id, "vmag", () -> bus.getVoltageMag());
+			addChannel(names, list, "bus", id, "vang", () -> bus.getVoltageAng(UnitType.Deg));
+		}
+		for (String id : this.branchIdList) {
+			AclfBranch branch = (AclfBranch)this.net.getBranch(id);
+			if (branch == null) {
+				ipssLogger.warning("Monitored branch not found, " + id);
+				continue;
+			}
+			// P and Q are sampled from the same flow calculation
+			Complex[] flow = new Complex[1];
+			addChannel(names, list, "branch", id, "p", () -> (flow[0] = branch.powerFrom2To()).getReal());
+			addChannel(names, list, "branch", id, "q", () -> flow[0].getImaginary());
+			addChannel(names, list, "branch", id, "i", () -> branch.current(UnitType.PU));
+		}
+
+		this.channelNameList = names;
+		this.samplers = list.toArray(new Sampler[list.size()]);
+
+		this.fullQueue = new ArrayBlockingQueue<>(this.queueCapacity + 1);
+		this.freeQueue = new ArrayBlockingQueue<>(this.queueCapacity + 1);
+		for (int i = 0; i < this.queueCapacity + 1; i++)
+			this.freeQueue.add(new Chunk(names.size(), this.chunkSize));
+
+		DStabBinaryOutputFile.Writer writer = new DStabBinaryOutputFile.Writer(this.file, names);
+		this.writerThread = new Thread(() -> runWriter(writer), "DStabOutputWriter");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}
+
+	private void addChannel(List<String> names, List<Sampler> list, String type, String id, String quantity, Sampler s) {
+		names.add(DStabBinaryOutputFile.channelName(type, id, quantity));
+		list.add(s);
+	}
+
+	private void recordRow(double time) throws IOException, InterruptedException {
+		if (this.writerError != null)
+			throw this.writerError;
+		if (this.current == null)
+			this.current = this.freeQueue.take();
+
+		int row = this.current.rows;
+		double[][] col = this.current.col;
+		col[0][row] = time;
+		for (int i = 1; i < this.samplers.length; i++)
+			col[i][row] = this.samplers[i].sample();
+		this.current.rows++;
+		this.rowCount++;
+
+		if (this.current.rows == this.chunkSize) {
+			this.fullQueue.put(this.current);
+			this.current = null;
+		}
+	}
+
+	/*
+	 * writer thread body, full chunks are written and returned to the free queue
+	 */
+	private void runWriter(DStabBinaryOutputFile.Writer writer) {
+		try {
+			while (true) {
+				Chunk chunk = this.fullQueue.take();
+				if (chunk == EndOfOutput)
+					break;
+				if (this.writerError == null)
+					writer.writeChunk(chunk.col, chunk.rows);
+				chunk.rows = 0;
+				this.freeQueue.put(chunk);
+			}
+		} catch (IOException e) {
+			this.writerError = e;
+			// keep the producer running, the remaining chunks are discarded
+			drainAfterError();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			try {
+				writer.close();
+			} catch (IOException e) {
+				if (this.writerError == null)
+					this.writerError = e;
+			}
+		}
+	}
+
+	private void drainAfterError() {
+		try {
+			Chunk chunk;
+			while ((chunk = this.fullQueue.take()) != EndOfOutput) {
+				chunk.rows = 0;
+				this.freeQueue.put(chunk);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static double getTime(Hashtable<String, Object> table) {
+		Object t = table != null ? table.get(DStabOutSymbol.OUT_SYMBOL_TIME) : null;
+		if (t instanceof Double)
+			return (Double)t;
+		else if (t instanceof String)
+			return Double.parseDouble((String)t);
+		return Double.NEGATIVE_INFINITY;
+	}
+}
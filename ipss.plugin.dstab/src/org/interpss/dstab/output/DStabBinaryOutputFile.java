@@ -0,0 +1,382 @@
+ /*
+  * @(#)DStabBinaryOutputFile.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.dstab.output;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.interpss.common.exp.InterpssException;
+
+/**
+ * Indexed binary DStab output file, written by ColumnarSimuOutputHandler. The file could be
+ * read channel by channel, without loading the whole file into memory.
+ *
+ * File layout, big endian :
+ *
+ *   header : int Magic, int Version, int nChannels, nChannels x channel name (UTF)
+ *   chunk  : int nRows, nChannels x nRows double, one column block per channel
+ *   index  : int nChunks, nChunks x (long chunk offset, int nRows)
+ *   trailer: long index offset, int Magic
+ *
+ * Channel name is defined as "type:id:quantity", for example "mach:Bus1-mach1:angle". The
+ * first channel is the simulation time.
+ *
+ * @author agent
+ *
+ */
+public class DStabBinaryOutputFile {
+	/**
+	 * file magic number, "IPDS"
+	 */
+	public static final int Magic = 0x49504453;
+	/**
+	 * file format version
+	 */
+	public static final int Version = 1;
+	/**
+	 * default file extension
+	 */
+	public static final String FileExt = ".ipsdyn";
+	/**
+	 * name of the time channel
+	 */
+	public static final String TimeChannel = "time";
+
+	private static final int TrailerSize = 12;
+
+	/**
+	 * build the channel name
+	 *
+	 * @param type channel type, mach, bus or branch
+	 * @param id object id
+	 * @param quantity recorded quantity
+	 * @return
+	 */
+	public static String channelName(String type, String id, String quantity) {
+		return type + ":" + id + ":" + quantity;
+	}
+
+	/**
+	 * export channels of the binary output file to a CSV file, one row per time point. Only one
+	 * chunk of the selected channels is in memory at a time.
+	 *
+	 * @param binFile the binary output file
+	 * @param csvFile the CSV file
+	 * @param channels channel names to be exported, all channels if empty
+	 */
+	public static void exportCsv(File binFile, File csvFile, String... channels) throws IOException, InterpssException {
+		try (Reader reader = new Reader(binFile);
+			 BufferedWriter out = new BufferedWriter(new FileWriter(csvFile))) {
+			List<String> names = new ArrayList<>();
+			if (channels.length == 0)
+				names.addAll(reader.getChannelNameList());
+			else {
+				names.add(TimeChannel);
+				for (String name : channels)
+					if (!name.equals(TimeChannel))
+						names.add(name);
+			}
+			int[] idx = new int[names.size()];
+			for (int i = 0; i < idx.length; i++)
+				idx[i] = reader.getChannelIndex(names.get(i));
+
+			out.write(String.join(",", names));
+			out.newLine();
+			double[][] cols = new double[idx.length][];
+			StringBuilder sb = new StringBuilder();
+			for (int k = 0; k < reader.getChunkCount(); k++) {
+				for (int i = 0; i < idx.length; i++)
+					cols[i] = reader.readChunkColumn(k, idx[i]);
+				for (int r = 0; r < cols[0].length; r++) {
+					sb.setLength(0);
+					for (int i = 0; i < idx.length; i++) {
+						if (i > 0)
+							sb.append(',');
+						sb.append(cols[i][r]);
+					}
+					out.write(sb.toString());
+					out.newLine();
+				}
+			}
+		}
+	}
+
+	/**
+	 * command line CSV export tool
+	 *
+	 *   DStabBinaryOutputFile binFile csvFile [channel ...]
+	 *
+	 * @param args
+	 */
+	public static void main(String[] args) throws Exception {
+		if (args.length < 2) {
+			System.out.println("Usage: DStabBinaryOutputFile binFile csvFile [channel ...]");
+			return;
+		}
+		String[] channels = new String[args.length - 2];
+		System.arraycopy(args, 2, channels, 0, channels.length);
+		exportCsv(new File(args[0]), new File(args[1]), channels);
+	}
+
+	/**
+	 * binary output file writer. The writer is not thread safe, it is used by one writer thread.
+	 */
+	public static class Writer implements Closeable {
+		private FileChannel channel;
+		private int nChannels;
+		private List<long[]> index = new ArrayList<>();
+		private ByteBuffer buffer = null;
+
+		/**
+		 * create the file and write the header
+		 *
+		 * @param file
+		 * @param channelNames
+		 * @throws IOException
+		 */
+		public Writer(File file, List<String> channelNames) throws IOException {
+			this.nChannels = channelNames.size();
+			this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+						StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeInt(Magic);
+			out.writeInt(Version);
+			out.writeInt(this.nChannels);
+			for (String name : channelNames)
+				out.writeUTF(name);
+			out.flush();
+			writeFully(ByteBuffer.wrap(bytes.toByteArray()));
+		}
+
+		/**
+		 * write a chunk of columns
+		 *
+		 * @param cols column data, cols[channel][row]
+		 * @param rows number of rows in the chunk
+		 * @throws IOException
+		 */
+		public void writeChunk(double[][] cols, int rows) throws IOException {
+			int size = 4 + this.nChannels * rows * 8;
+			if (this.buffer == null || this.buffer.capacity() < size)
+				this.buffer = ByteBuffer.allocateDirect(size);
+			this.buffer.clear();
+			this.buffer.putInt(rows);
+			for (int c = 0; c < this.nChannels; c++)
+				for (int r = 0; r < rows; r++)
+					this.buffer.putDouble(cols[c][r]);
+			this.buffer.flip();
+			this.index.add(new long[] {this.channel.position(), rows});
+			writeFully(this.buffer);
+		}
+
+		/**
+		 * write the index and trailer and close the file
+		 */
+		@Override
+		public void close() throws IOException {
+			if (!this.channel.isOpen())
+				return;
+			try {
+				long indexOffset = this.channel.position();
+				ByteBuffer buf = ByteBuffer.allocate(4 + this.index.size() * 12 + TrailerSize);
+				buf.putInt(this.index.size());
+				for (long[] e : this.index) {
+					buf.putLong(e[0]);
+					buf.putInt((int)e[1]);
+				}
+				buf.putLong(indexOffset);
+				buf.putInt(Magic);
+				buf.flip();
+				writeFully(buf);
+			} finally {
+				this.channel.close();
+			}
+		}
+
+		private void writeFully(ByteBuffer buf) throws IOException {
+			while (buf.hasRemaining())
+				this.channel.write(buf);
+		}
+	}
+
+	/**
+	 * binary output file reader
+	 */
+	public static class Reader implements Closeable {
+		private FileChannel channel;
+		private List<String> channelNameList = new ArrayList<>();
+		private long[] chunkOffsets;
+		private int[] chunkRows;
+		private long rowCount = 0;
+
+		/**
+		 * open the file and read the header and index
+		 *
+		 * @param file
+		 * @throws IOException
+		 * @throws InterpssException if the file is not a valid DStab binary output file
+		 */
+		public Reader(File file) throws IOException, InterpssException {
+			this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+			try {
+				long size = this.channel.size();
+				if (size < TrailerSize)
+					throw new InterpssException("Invalid DStab binary output file, " + file);
+				ByteBuffer trailer = read(size - TrailerSize, TrailerSize);
+				long indexOffset = trailer.getLong();
+				if (trailer.getInt() != Magic)
+					throw new InterpssException("DStab binary output file not closed properly, " + file);
+
+				ByteBuffer index = read(indexOffset, (int)(size - TrailerSize - indexOffset));
+				int nChunks = index.getInt();
+				this.chunkOffsets = new long[nChunks];
+				this.chunkRows = new int[nChunks];
+				for (int k = 0; k < nChunks; k++) {
+					this.chunkOffsets[k] = index.getLong();
+					this.chunkRows[k] = index.getInt();
+					this.rowCount += this.chunkRows[k];
+				}
+
+				// the header ends at the first chunk
+				long headerEnd = nChunks > 0 ? this.chunkOffsets[0] : indexOffset;
+				DataInputStream header = new DataInputStream(
+							new ByteArrayInputStream(read(0, (int)headerEnd).array()));
+				if (header.readInt() != Magic || header.readInt() != Version)
+					throw new InterpssException("Invalid DStab binary output file version, " + file);
+				int nChannels = header.readInt();
+				for (int i = 0; i < nChannels; i++)
+					this.channelNameList.add(header.readUTF());
+			} catch (IOException | InterpssException e) {
+				this.channel.close();
+				throw e;
+			}
+		}
+
+		/**
+		 * get the channel names
+		 *
+		 * @return
+		 */
+		public List<String> getChannelNameList() {
+			return Collections.unmodifiableList(this.channelNameList);
+		}
+
+		/**
+		 * get the channel index
+		 *
+		 * @param name channel name
+		 * @return
+		 * @throws InterpssException if the channel is not found
+		 */
+		public int getChannelIndex(String name) throws InterpssException {
+			int i = this.channelNameList.indexOf(name);
+			if (i < 0)
+				throw new InterpssException("Channel not found, " + name);
+			return i;
+		}
+
+		/**
+		 * get the total number of rows (time points)
+		 *
+		 * @return
+		 */
+		public long getRowCount() {
+			return this.rowCount;
+		}
+
+		/**
+		 * get the number of chunks
+		 *
+		 * @return
+		 */
+		public int getChunkCount() {
+			return this.chunkOffsets.length;
+		}
+
+		/**
+		 * read all values of a channel
+		 *
+		 * @param name channel name
+		 * @return
+		 */
+		public double[] readChannel(String name) throws IOException, InterpssException {
+			int c = getChannelIndex(name);
+			double[] values = new double[(int)this.rowCount];
+			int pos = 0;
+			for (int k = 0; k < this.chunkOffsets.length; k++) {
+				double[] col = readChunkColumn(k, c);
+				System.arraycopy(col, 0, values, pos, col.length);
+				pos += col.length;
+			}
+			return values;
+		}
+
+		/**
+		 * read the values of a channel in a chunk
+		 *
+		 * @param k chunk index
+		 * @param c channel index
+		 * @return
+		 */
+		public double[] readChunkColumn(int k, int c) throws IOException {
+			int rows = this.chunkRows[k];
+			long offset = this.chunkOffsets[k] + 4 + (long)c * rows * 8;
+			DoubleBuffer buf = read(offset, rows * 8).asDoubleBuffer();
+			double[] col = new double[rows];
+			buf.get(col);
+			return col;
+		}
+
+		@Override
+		public void close() throws IOException {
+			this.channel.close();
+		}
+
+		private ByteBuffer read(long offset, int len) throws IOException {
+			ByteBuffer buf = ByteBuffer.allocate(len);
+			while (buf.hasRemaining()) {
+				if (this.channel.read(buf, offset + buf.position()) < 0)
+					throw new IOException("Unexpected end of DStab binary output file");
+			}
+			buf.flip();
+			return buf;
+		}
+	}
+}
@@ -2,6 +2,7 @@ package org.ipss.multiNet.algo;
 
 import java.util.Hashtable;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.commons.math3.complex.Complex;
 import org.apache.commons.math3.complex.ComplexField;
@@ -24,6 +25,12 @@ public abstract class AbstractMultiNetDStabSimuHelper {
 	protected Hashtable<String, Hashtable<String, Complex>> subNetCurrInjTable = null;
 	protected Hashtable<String, double[][]> subNetIncidenceAryTable = null;  //Pk defined in the MATE paper
 	protected Hashtable<String, FieldMatrix<Complex>> subNetIncidenceMatrixTable = null;  //Pk defined in the MATE paper
+	
+	// true if the subnetwork Thevenin equivalent matrices have been changed after the boundary subsystem matrix is prepared
+	protected boolean boundarySubSystemMatrixDirty = true;
+	
+	// executor for calculating the subnetwork Thevenin equivalents concurrently, null for sequential calculation
+	protected ExecutorService subNetExecutor = null;
 
 	
 	public AbstractMultiNetDStabSimuHelper(){
@@ -51,8 +58,33 @@ public abstract class AbstractMultiNetDStabSimuHelper {
 	}
 	
 	
+	/**
+	 * set the executor for calculating the Thevenin equivalents of the subnetworks, and the sequence networks, 
+	 * concurrently. The executor is owned and shut down by the caller.
+	 * 
+	 * @param executor executor, null for sequential calculation
+	 */
+	public void setSubNetworkExecutor(ExecutorService executor){
+		this.subNetExecutor = executor;
+	}
+	
 	public void calculateSubNetTheveninEquiv(){
-		this.subNetEquivTable = NetworkEquivUtil.calMultiNetPosSeqTheveninEquiv(this.subNetProcessor);
+		this.subNetEquivTable = NetworkEquivUtil.calMultiNetPosSeqTheveninEquiv(this.subNetProcessor, this.subNetExecutor);
+		this.boundarySubSystemMatrixDirty = true;
+	}
+	
+	/**
+	 * check if the boundary subsystem matrix [Zl] needs to be prepared again, because the Thevenin
+	 * equivalent matrices of the subnetworks have been changed, for example, by a fault event.
+	 * 
+	 * @return
+	 */
+	public boolean isBoundarySubSystemMatrixDirty(){
+		return this.boundarySubSystemMatrixDirty;
+	}
+	
+	public void setBoundarySubSystemMatrixDirty(boolean dirty){
+		this.boundarySubSystemMatrixDirty = dirty;
 	}
 	
 	 /**
@@ -252,6 +284,15 @@ public abstract class AbstractMultiNetDStabSimuHelper {
        * @return
        */
        public abstract boolean solveSubNetWithBoundaryCurrInjection();
+       
+       /**
+        * solve the subNetwork with only current injection at its boundary buses. SubNetworks
+        * are independent at this stage, therefore they could be solved concurrently.
+        * 
+        * @param subNet
+        * @return
+        */
+       public abstract boolean solveSubNetWithBoundaryCurrInjection(BaseDStabNetwork<?,?> subNet);
       
       
       /**
@@ -0,0 +1,247 @@
+ /*
+  * @(#)DenseComplexMatrix.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+
+package org.ipss.multiNet.algo;
+
+import org.apache.commons.math3.complex.Complex;
+
+/**
+ * Dense complex matrix for the multiNet boundary subsystem, stored as interleaved primitive
+ * double array [re, im] in the row-major order, with in-place LU factorization (partial 
+ * pivoting) and solve. Complex vectors are also interleaved double arrays of length 2n. 
+ * 
+ * Factorization, solve and matrix-vector product do not create any object, so that the
+ * boundary subsystem could be solved at each integration step without allocation. 
+ * 
+ * @author agent
+ *
+ */
+public class DenseComplexMatrix {
+	private final int nRow, nCol;
+	private final double[] data;
+	
+	// row pivot of the LU factorization, null if not factorized
+	private int[] pivot = null;
+	
+	/**
+	 * constructor, all elements are zero
+	 * 
+	 * @param nRow
+	 * @param nCol
+	 */
+	public DenseComplexMatrix(int nRow, int nCol) {
+		this.nRow = nRow;
+		this.nCol = nCol;
+		this.data = new double[2 * nRow * nCol];
+	}
+	
+	/**
+	 * constructor
+	 * 
+	 * @param a complex matrix
+	 */
+	public DenseComplexMatrix(Complex[][] a) {
+		this(a.length, a.length > 0? a[0].length : 0);
+		for (int i = 0; i < this.nRow; i++)
+			for (int j = 0; j < this.nCol; j++)
+				if (a[i][j] != null)
+					set(i, j, a[i][j].getReal(), a[i][j].getImaginary());
+	}
+	
+	public int getRowDimension() { return this.nRow; }
+	public int getColumnDimension() { return this.nCol; }
+	
+	/**
+	 * check if the matrix has been LU factorized
+	 * 
+	 * @return
+	 */
+	public boolean isFactorized() { return this.pivot != null; }
+	
+	public double getReal(int i, int j) { return this.data[2 * (i * this.nCol + j)]; }
+	public double getImaginary(int i, int j) { return this.data[2 * (i * this.nCol + j) + 1]; }
+	
+	/**
+	 * get the element as a Complex object, not to be used in hot loops 
+	 * 
+	 * @param i
+	 * @param j
+	 * @return
+	 */
+	public Complex get(int i, int j) {
+		return new Complex(getReal(i, j), getImaginary(i, j));
+	}
+	
+	public void set(int i, int j, double re, double im) {
+		int k = 2 * (i * this.nCol + j);
+		this.data[k] = re;
+		this.data[k + 1] = im;
+		this.pivot = null;
+	}
+	
+	public void set(int i, int j, Complex c) {
+		set(i, j, c.getReal(), c.getImaginary());
+	}
+	
+	public void add(int i, int j, double re, double im) {
+		int k = 2 * (i * this.nCol + j);
+		this.data[k] += re;
+		this.data[k + 1] += im;
+		this.pivot = null;
+	}
+	
+	public void add(int i, int j, Complex c) {
+		add(i, j, c.getReal(), c.getImaginary());
+	}
+	
+	/**
+	 * y = A x, x and y are interleaved complex vectors
+	 * 
+	 * @param x vector of length 2 * nCol
+	 * @param y vector of length 2 * nRow, could not be x
+	 */
+	public void multiply(double[] x, double[] y) {
+		if (this.pivot != null)
+			throw new IllegalStateException("Matrix has been LU factorized");
+		for (int i = 0; i < this.nRow; i++) {
+			double re = 0.0, im = 0.0;
+			int k = 2 * i * this.nCol;
+			for (int j = 0; j < this.nCol; j++, k += 2) {
+				double ar = this.data[k], ai = this.data[k + 1], xr = x[2 * j], xi = x[2 * j + 1];
+				re += ar * xr - ai * xi;
+				im += ar * xi + ai * xr;
+			}
+			y[2 * i] = re;
+			y[2 * i + 1] = im;
+		}
+	}
+	
+	/**
+	 * LU factorize the matrix in place, with partial pivoting. The matrix has to be square. 
+	 * 
+	 * @return false if the matrix is singular
+	 */
+	public boolean factorize() {
+		if (this.nRow != this.nCol)
+			throw new IllegalStateException("Only square matrix could be factorized, " + this.nRow + "x" + this.nCol);
+		int n = this.nRow;
+		int[] piv = new int[n];
+		double[] a = this.data;
+		for (int k = 0; k < n; k++) {
+			// find the pivot row
+			int p = k;
+			double max = abs2(a, k, k);
+			for (int i = k + 1; i < n; i++) {
+				double v = abs2(a, i, k);
+				if (v > max) {
+					max = v;
+					p = i;
+				}
+			}
+			if (max == 0.0)
+				return false;
+			piv[k] = p;
+			if (p != k)
+				for (int j = 0; j < 2 * n; j++) {
+					double t = a[2 * k * n + j];
+					a[2 * k * n + j] = a[2 * p * n + j];
+					a[2 * p * n + j] = t;
+				}
+			
+			// 1/pivot
+			int kk = 2 * (k * n + k);
+			double pr = a[kk], pi = a[kk + 1], d = pr * pr + pi * pi;
+			double ir = pr / d, ii = -pi / d;
+			
+			for (int i = k + 1; i < n; i++) {
+				int ik = 2 * (i * n + k);
+				// l(i,k) = a(i,k) / a(k,k)
+				double lr = a[ik] * ir - a[ik + 1] * ii, li = a[ik] * ii + a[ik + 1] * ir;
+				a[ik] = lr;
+				a[ik + 1] = li;
+				if (lr == 0.0 && li == 0.0)
+					continue;
+				int ij = ik + 2, kj = kk + 2;
+				for (int j = k + 1; j < n; j++, ij += 2, kj += 2) {
+					a[ij] -= lr * a[kj] - li * a[kj + 1];
+					a[ij + 1] -= lr * a[kj + 1] + li * a[kj];
+				}
+			}
+		}
+		this.pivot = piv;
+		return true;
+	}
+	
+	/**
+	 * solve A x = b in place using the LU factorization 
+	 * 
+	 * @param b right-hand side vector of length 2n, the solution x on return
+	 */
+	public void solve(double[] b) {
+		if (this.pivot == null)
+			throw new IllegalStateException("Matrix has not been LU factorized");
+		int n = this.nRow;
+		double[] a = this.data;
+		// the rows are swapped in whole at factorization, therefore P A = L U. The
+		// row permutation is applied to b first, in the pivoting order
+		for (int k = 0; k < n; k++) {
+			int p = this.pivot[k];
+			if (p != k) {
+				double tr = b[2 * k], ti = b[2 * k + 1];
+				b[2 * k] = b[2 * p]; b[2 * k + 1] = b[2 * p + 1];
+				b[2 * p] = tr; b[2 * p + 1] = ti;
+			}
+		}
+		// forward, L y = P b
+		for (int k = 0; k < n; k++) {
+			double yr = b[2 * k], yi = b[2 * k + 1];
+			if (yr == 0.0 && yi == 0.0)
+				continue;
+			for (int i = k + 1; i < n; i++) {
+				int ik = 2 * (i * n + k);
+				b[2 * i] -= a[ik] * yr - a[ik + 1] * yi;
+				b[2 * i + 1] -= a[ik] * yi + a[ik + 1] * yr;
+			}
+		}
+		// backward, U x = y
+		for (int i = n - 1; i >= 0; i--) {
+			double sr = b[2 * i], si = b[2 * i + 1];
+			int ij = 2 * (i * n + i + 1);
+			for (int j = i + 1; j < n; j++, ij += 2) {
+				sr -= a[ij] * b[2 * j] - a[ij + 1] * b[2 * j + 1];
+				si -= a[ij] * b[2 * j + 1] + a[ij + 1] * b[2 * j];
+			}
+			int ii = 2 * (i * n + i);
+			double pr = a[ii], pi = a[ii + 1], d = pr * pr + pi * pi;
+			b[2 * i] = (sr * pr + si * pi) / d;
+			b[2 * i + 1] = (si * pr - sr * pi) / d;
+		}
+	}
+	
+	private double abs2(double[] a, int i, int j) {
+		int k = 2 * (i * this.nCol + j);
+		return a[k] * a[k] + a[k + 1] * a[k + 1];
+	}
+}
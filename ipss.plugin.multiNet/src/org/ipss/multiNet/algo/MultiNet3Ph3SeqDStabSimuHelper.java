@@ -19,7 +19,6 @@ import org.ipss.threePhase.dynamic.DStabNetwork3Phase;
 import com.interpss.common.util.IpssLogger;
 import com.interpss.core.acsc.SequenceCode;
 import com.interpss.core.net.NetCoordinate;
-import com.interpss.core.sparse.impl.SparseEqnComplexMatrix3x3Impl;
 import com.interpss.dstab.BaseDStabBus;
 import com.interpss.dstab.BaseDStabNetwork;
 import com.interpss.dstab.DStabBranch;
@@ -38,6 +37,10 @@ import com.interpss.dstab.DStabBus;
 public class MultiNet3Ph3SeqDStabSimuHelper extends AbstractMultiNetDStabSimuHelper{
 	
 	private Complex3x3[][] ZlAry = null;
+	
+	// ZlAry expanded to a 3n x 3n dense matrix in the internal [pos,neg,zero] storage sequence, LU factorized in place at the first solve
+	private DenseComplexMatrix Zl = null;
+	private double[] ZlRhs = null;
 	private List<String> threePhModelingSubNetIdList = null; // should be provided after subnetwork creation 
 	private Hashtable<String, Hashtable<String, Complex3x1>> subNet3SeqCurrInjTable = null;
 	private double negZeroSeqCurrTolerance=1.0E-5;  // in pu;
@@ -64,7 +67,8 @@ public class MultiNet3Ph3SeqDStabSimuHelper extends AbstractMultiNetDStabSimuHel
 	@Override
 	public void calculateSubNetTheveninEquiv(){
 		//calculate the subnetwork equivalent
-				this.subNetEquivTable = NetworkEquivUtil.calMultiNet3ph3SeqTheveninEquiv(subNetProcessor, threePhModelingSubNetIdList);
+				this.subNetEquivTable = NetworkEquivUtil.calMultiNet3ph3SeqTheveninEquiv(subNetProcessor, threePhModelingSubNetIdList, this.subNetExecutor);
+				this.boundarySubSystemMatrixDirty = true;
 	}
 	
 	@Override
@@ -140,8 +144,10 @@ public class MultiNet3Ph3SeqDStabSimuHelper extends AbstractMultiNetDStabSimuHel
     				  // Zl = Zl + sum{Zl_k}|all subsystems
     				   this.ZlAry = MatrixUtil.add(this.ZlAry,Zl_k);
     			  }
-    		 
     		  	 
+    		  	 this.Zl = toDenseMatrix(this.ZlAry);
+    		 
+    		  	 this.boundarySubSystemMatrixDirty = false;
     	}
     	else{
     		throw new Error("The subNetIncidenceMatrixTable is not initialized yet, cannot procede the boundary subsystem matrix calculation!");
@@ -175,8 +181,8 @@ public class MultiNet3Ph3SeqDStabSimuHelper extends AbstractMultiNetDStabSimuHel
 
 	@Override
 	public void updateSubNetworkEquivMatrix() {
-		this.subNetEquivTable = NetworkEquivUtil.calMultiNet3ph3SeqTheveninEquiv(this.subNetProcessor,threePhModelingSubNetIdList);
-		
+		this.subNetEquivTable = NetworkEquivUtil.calMultiNet3ph3SeqTheveninEquiv(this.subNetProcessor,threePhModelingSubNetIdList, this.subNetExecutor);
+		this.boundarySubSystemMatrixDirty = true;
 	}
 
 	@Override
@@ -191,9 +197,10 @@ public class MultiNet3Ph3SeqDStabSimuHelper extends AbstractMultiNetDStabSimuHel
 	    	}
 	    	else
 	    		equiv = NetworkEquivUtil.cal3SeqNetworkTheveninEquiv(subNet,
-	    			       this.subNetProcessor.getSubNet2BoundaryBusListTable().get(subNetworkId));
+	    			       this.subNetProcessor.getSubNet2BoundaryBusListTable().get(subNetworkId), this.subNetExecutor);
 	    	
 	    	this.subNetEquivTable.put(subNetworkId, equiv);
+	    	this.boundarySubSystemMatrixDirty = true;
     	}
     	else
     		throw new Error("No subnetwork is found with the input subNetwork Id!");
@@ -280,30 +287,27 @@ public class MultiNet3Ph3SeqDStabSimuHelper extends AbstractMultiNetDStabSimuHel
     			
     		}
     		
-    		//create SparseMatrix3x3 with the ZlAry;
-    		
-    		 ISparseEqnComplexMatrix3x3 ZlMatrix = new SparseEqnComplexMatrix3x3Impl(dim);
-    		 
-    		 for(int i=0; i<dim;i++){
-    			 for(int j=0;j<dim;j++){
-    				 if(this.ZlAry[i][j].abs()>0)
-    				    ZlMatrix.setA(this.ZlAry[i][j], i, j);
-    			 }
-    		 }
+    		// Zl is factorized only once after it is prepared, the factorization is reused until the next network change
+    		if(this.Zl == null)
+    			this.Zl = toDenseMatrix(this.ZlAry);
+    		if(!this.Zl.isFactorized() && !this.Zl.factorize()){
+    			IpssLogger.getLogger().severe("The boundary sub system [Zl] matrix is singular");
+    			return false;
+    		}
     		 
     		 // set the B vector
+    		 if(this.ZlRhs == null || this.ZlRhs.length != 6*dim)
+    			 this.ZlRhs = new double[6*dim];
+    		 double[] b = this.ZlRhs;
     		 for(int i=0; i<dim;i++){
     			 // note the ZL is stored in [ pos,neg,zero]  sequence, while the Eth is in [a0,b1,c2] sequence
     			 // need to perform necessary transformation
-    		    ZlMatrix.setBi(toInternal120StorageSeq(Eth[i]), i);
+    			 setRhs(b, 3*i, Eth[i].b_1);
+    			 setRhs(b, 3*i+1, Eth[i].c_2);
+    			 setRhs(b, 3*i+2, Eth[i].a_0);
     		 }
     		
-    		 try {
-				ZlMatrix.solveEqn(1.0E-9);
-			} catch (IpssNumericException e) {
-				
-				e.printStackTrace();
-			}
+    		 this.Zl.solve(b);
     		 
     		 // retrieve the results
     		 Complex3x1[] currVector = MatrixUtil.createComplex3x1DArray(dim);
@@ -311,13 +315,8 @@ public class MultiNet3Ph3SeqDStabSimuHelper extends AbstractMultiNetDStabSimuHel
     			     //TODO the internal 3seq Ymatrix storage sequence is [pos,neg,zero], and the result X is also with this sequence
     			     // however, the default Complex3x1 storage is [a_0, b_1, z_2], thus a transformation is required to obtain the 
     			     //  correct three-seq current injection value
-    			     // 
-    			 
-    			     Complex3x1 threeSeqCur = ZlMatrix.getX(i);
     			     //                              ----zero --------positive---------negative-------
-    		         currVector[i] =  new Complex3x1(threeSeqCur.c_2,threeSeqCur.a_0,threeSeqCur.b_1);
-    		      
-    			
+    		         currVector[i] =  new Complex3x1(new Complex(b[6*i+4],b[6*i+5]),new Complex(b[6*i],b[6*i+1]),new Complex(b[6*i+2],b[6*i+3]));
     		 }
     		 
 //    		FieldLUDecomposition<Complex> lu = new FieldLUDecomposition<>(this.Zl);
@@ -357,10 +356,17 @@ public class MultiNet3Ph3SeqDStabSimuHelper extends AbstractMultiNetDStabSimuHel
 
 	@Override
 	public boolean solveSubNetWithBoundaryCurrInjection() {
-		 
+		for(BaseDStabNetwork<?,?> subNet: this.subNetProcessor.getSubNetworkList()){
+			if(!solveSubNetWithBoundaryCurrInjection(subNet))
+				return false;
+		}
+		return true;
+	}
+	
+	@Override
+	public boolean solveSubNetWithBoundaryCurrInjection(BaseDStabNetwork<?,?> subNet) {
 			   
 			   // need to separately process the three-seq subnetwork and three-phase subnetwork
-				for(BaseDStabNetwork<?,?> subNet: this.subNetProcessor.getSubNetworkList()){
 				
 			   	     
 			   		// make sure there is no current injection at the boundary
@@ -452,7 +458,6 @@ public class MultiNet3Ph3SeqDStabSimuHelper extends AbstractMultiNetDStabSimuHel
 			   		} // end of zeroImax > tol
 			   	}// end of else
 			   		 
-			 }  // end of for subnetwork loop
 			   
 		   return true;
 	}
@@ -596,12 +601,33 @@ public class MultiNet3Ph3SeqDStabSimuHelper extends AbstractMultiNetDStabSimuHel
 	 * @param v012
 	 * @return
 	 */
-	private Complex3x1 toInternal120StorageSeq(Complex3x1 v012){
-		Complex3x1 result = new Complex3x1();
-		result.a_0 = v012.b_1;
-		result.b_1 = v012.c_2;
-		result.c_2 = v012.a_0;
-		return result;
+	/**
+	 * expand the Complex3x3 block matrix to a dense complex matrix, block (i,j) row r, column c is 
+	 * stored at (3i+r, 3j+c)
+	 * 
+	 * @param ary Complex3x3 block matrix
+	 * @return the dense complex matrix
+	 */
+	private DenseComplexMatrix toDenseMatrix(Complex3x3[][] ary){
+		int dim = ary.length;
+		DenseComplexMatrix m = new DenseComplexMatrix(3*dim, 3*dim);
+		for(int i = 0; i < dim; i++){
+			for(int j = 0; j < dim; j++){
+				Complex3x3 z = ary[i][j];
+				if(z == null)
+					continue;
+				int r = 3*i, c = 3*j;
+				m.set(r,   c, z.aa); m.set(r,   c+1, z.ab); m.set(r,   c+2, z.ac);
+				m.set(r+1, c, z.ba); m.set(r+1, c+1, z.bb); m.set(r+1, c+2, z.bc);
+				m.set(r+2, c, z.ca); m.set(r+2, c+1, z.cb); m.set(r+2, c+2, z.cc);
+			}
+		}
+		return m;
+	}
+	
+	private static void setRhs(double[] b, int i, Complex c){
+		b[2*i] = c.getReal();
+		b[2*i+1] = c.getImaginary();
 	}
 
 
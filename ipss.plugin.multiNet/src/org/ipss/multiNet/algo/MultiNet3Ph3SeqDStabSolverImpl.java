@@ -11,22 +11,14 @@ import org.interpss.numeric.datatype.Complex3x1;
 import org.interpss.numeric.util.NumericUtil;
 import org.ipss.threePhase.dynamic.DStabNetwork3Phase;
 
-import com.interpss.common.exp.InterpssException;
 import com.interpss.common.util.IpssLogger;
-import com.interpss.core.aclf.AclfGen;
-import com.interpss.core.net.Branch;
 import com.interpss.core.net.Bus;
 import com.interpss.dstab.BaseDStabBus;
 import com.interpss.dstab.BaseDStabNetwork;
-import com.interpss.dstab.DStabBranch;
 import com.interpss.dstab.DStabBus;
-import com.interpss.dstab.DStabGen;
 import com.interpss.dstab.algo.DynamicSimuAlgorithm;
 import com.interpss.dstab.algo.DynamicSimuMethod;
 import com.interpss.dstab.common.DStabSimuException;
-import com.interpss.dstab.device.DynamicBranchDevice;
-import com.interpss.dstab.device.DynamicBusDevice;
-import com.interpss.dstab.mach.Machine;
 
 public class MultiNet3Ph3SeqDStabSolverImpl extends MultiNetDStabSolverImpl {
 	
@@ -100,7 +92,7 @@ public class MultiNet3Ph3SeqDStabSolverImpl extends MultiNetDStabSolverImpl {
 			
 			// The first  step of the multi-subNetwork solution is to solve each subnetwork independently without current injections from the 
 			// connection tie-lines
-			for(BaseDStabNetwork<?,?> dsNet: subNetList){
+			forEachSubNetwork(dsNet -> {
 				
 				DStabNetwork3Phase dsNet3Ph = (DStabNetwork3Phase) dsNet;
 				
@@ -132,7 +124,7 @@ public class MultiNet3Ph3SeqDStabSolverImpl extends MultiNetDStabSolverImpl {
 						throw new DStabSimuException("Exception in dstabNet.solvePosSeqNetEqn() : "+dsNet.getId());
 				}
 				
-			}  //end for-subnetwork loop
+			});  //end for-subnetwork loop
 			
 		
 			 /*
@@ -154,7 +146,7 @@ public class MultiNet3Ph3SeqDStabSolverImpl extends MultiNetDStabSolverImpl {
 				  this.multiNetSimuHelper.solveBoundarySubSystem();
 				  
 				  //solve all the SubNetworks With only Boundary Current Injections
-				  this.multiNetSimuHelper.solveSubNetWithBoundaryCurrInjection();
+				  forEachSubNetwork(dsNet -> this.multiNetSimuHelper.solveSubNetWithBoundaryCurrInjection(dsNet));
 				  
 				  for(BaseDStabNetwork<?,?> dsNet: subNetList){
 					for ( Bus busi : dsNet.getBusList() ) {
@@ -187,100 +179,11 @@ public class MultiNet3Ph3SeqDStabSolverImpl extends MultiNetDStabSolverImpl {
 			  *  x(t+deltaT) = x(t) + dx_dt*deltaT 
 			  */
 			  
-		  for(BaseDStabNetwork<?,?> dsNet: subNetList){  
-			// Solve DEqn for all dynamic bus devices
-				for (Bus b : dsNet.getBusList()) {
-					if(b.isActive()){
-						BaseDStabBus<?,?> bus = (BaseDStabBus<?,?>)b;
-						for (DynamicBusDevice device : bus.getDynamicBusDeviceList()) {
-							// solve DEqn for the step. This includes all controller's nextStep() call
-							if(device.isActive()){
-								if (!device.nextStep(dt, method)) {
-									throw new DStabSimuException("Error occured, Simulation will be stopped");
-								}
-							}
-						}
-						
-						// Solve DEqn for generator 
-						if(bus.getContributeGenList().size()>0){
-							for(AclfGen gen:bus.getContributeGenList()){
-								if(gen.isActive()){
-									Machine mach = ((DStabGen)gen).getMach();
-									if(mach!=null && mach.isActive()){
-									   if (!mach.nextStep(dt, method)) {
-										  throw new DStabSimuException("Error occured when solving nextStep for mach #"+ mach.getId()+ "@ bus - "
-									                   +bus.getId()+", Simulation will be stopped!");
-									   }
-									}
-								}
-							}
-						}
-						
-						//TODO Solve DEqn for dynamic load, e.g. induction motor
-						
-					}
-				}// bus-loop
-
-				// Solve DEqn for all dynamic branch devices
-				for (Branch b : dsNet.getBranchList()) {
-					DStabBranch branch = (DStabBranch)b;
-					for (DynamicBranchDevice device : branch.getDynamicBranchDeviceList()) {
-						// solve DEqn for the step. This includes all controller's nextStep() call
-						if (!device.nextStep(dt, method)) {
-							throw new DStabSimuException("Error occured, Simulation will be stopped");
-						}
-					}
-				} 
-			  
-				
-			  // The network solution and integration steps ends here, the following is mainly to record or update some intermediate variables
-			  
-			  
-			  // update the dynamic attributes and calculate the bus frequency
-		     //  for(DStabilityNetwork dsNet: subNetList){
-			
-				for ( Bus busi : dsNet.getBusList() ) {
-					BaseDStabBus<?,?> bus = (BaseDStabBus<?,?>)busi;
-					if(bus.isActive()){
-						
-						// update dynamic attributes of the dynamic devices connected to the bus
-						 try {
-							bus.updateDynamicAttributes(false);
-						} catch (InterpssException e) {
-						
-							e.printStackTrace();
-						}
-						 // calculate bus frequency
-						 if (!bus.nextStep(dt, method)) {
-								throw new DStabSimuException("Error occured, Simulation will be stopped");
-							}
-					}
-				}
-		    	
-		 } // for subNetwork loop
+		  forEachSubNetwork(dsNet -> solveSubNetDEqnStep(dsNet, dt, method));
 			
 			
 		// back up the states	
-			for(BaseDStabNetwork<?,?> dsNet: subNetList){
-			 // backup the states
-			 for (Bus b :  dsNet.getBusList()) {
-					if(b.isActive()){
-						BaseDStabBus<?,?> bus = (BaseDStabBus<?,?>)b;
-						// Solve DEqn for generator 
-						if(bus.getContributeGenList().size()>0){
-							for(AclfGen gen:bus.getContributeGenList()){
-								if(gen.isActive()){
-									Machine mach = ((DStabGen)gen).getMach();
-									if(mach!=null && mach.isActive()){
-									  mach.backUpStates();
-									}
-								}
-							}
-						}
-						
-					}
-			  }
-		}
+		  forEachSubNetwork(dsNet -> backUpSubNetStates(dsNet));
 			
 			
 		// save the interface currents
@@ -1,16 +1,10 @@
 package org.ipss.multiNet.algo;
 
+import java.util.Arrays;
 import java.util.Hashtable;
-import java.util.List;
 import java.util.Map.Entry;
 
 import org.apache.commons.math3.complex.Complex;
-import org.apache.commons.math3.complex.ComplexField;
-import org.apache.commons.math3.linear.Array2DRowFieldMatrix;
-import org.apache.commons.math3.linear.ArrayFieldVector;
-import org.apache.commons.math3.linear.FieldLUDecomposition;
-import org.apache.commons.math3.linear.FieldMatrix;
-import org.apache.commons.math3.linear.FieldVector;
 import org.interpss.numeric.exp.IpssNumericException;
 import org.interpss.numeric.sparse.ISparseEqnComplex;
 import org.ipss.multiNet.equivalent.NetworkEquivUtil;
@@ -20,7 +14,6 @@ import com.interpss.common.util.IpssLogger;
 import com.interpss.dstab.BaseDStabBus;
 import com.interpss.dstab.BaseDStabNetwork;
 import com.interpss.dstab.DStabBranch;
-import com.interpss.dstab.DStabBus;
 /**
  * MultiNetDStabSimuHelper is a "helper" class for multi area, positive sequence based Transient Stability simulation. 
  * This is basic multiNetDStabSimuHelper implementation. For  three-phase and/or three-sequence based multi area TS simulation,
@@ -31,7 +24,10 @@ import com.interpss.dstab.DStabBus;
 public class MultiNetDStabSimuHelper extends AbstractMultiNetDStabSimuHelper{
 	
 
-	private FieldMatrix<Complex> Zl = null; // boundary subsystem matrix
+	private DenseComplexMatrix Zl = null; // boundary subsystem matrix, LU factorized in place at the first solve
+	
+	// boundary subsystem Eth vector, the tie-line currents after the solve, interleaved [re, im]
+	private double[] ZlRhs = null;
 	
 	
 	/**
@@ -117,7 +113,8 @@ public class MultiNetDStabSimuHelper extends AbstractMultiNetDStabSimuHelper{
     @Override
 	public void updateSubNetworkEquivMatrix(){
     	
-    	this.subNetEquivTable = NetworkEquivUtil.calMultiNetPosSeqTheveninEquiv(this.subNetProcessor);
+    	this.subNetEquivTable = NetworkEquivUtil.calMultiNetPosSeqTheveninEquiv(this.subNetProcessor, this.subNetExecutor);
+    	this.boundarySubSystemMatrixDirty = true;
     }
     
     /**
@@ -133,6 +130,7 @@ public class MultiNetDStabSimuHelper extends AbstractMultiNetDStabSimuHelper{
 	    			       this.subNetProcessor.getSubNet2BoundaryBusListTable().get(subNetworkId));
 	    	
 	    	this.subNetEquivTable.put(subNetworkId, equiv);
+	    	this.boundarySubSystemMatrixDirty = true;
     	}
     	else
     		throw new Error("No subnetwork is found with the input subNetwork Id!");
@@ -154,34 +152,48 @@ public class MultiNetDStabSimuHelper extends AbstractMultiNetDStabSimuHelper{
     	
     	this.subNetCurrInjTable = new Hashtable<>();
     	if(this.Zl!=null){
-    		// use the latest Thevenin equivalent voltage sources
-    		FieldVector<Complex> Eth = new ArrayFieldVector<Complex>( ComplexField.getInstance(), this.Zl.getRowDimension());
-    	
+    		int m = this.Zl.getRowDimension();
+    		if(this.ZlRhs == null || this.ZlRhs.length != 2*m)
+    			this.ZlRhs = new double[2*m];
+    		double[] Eth = this.ZlRhs;
+    		Arrays.fill(Eth, 0.0);
+    		
+    		// use the latest Thevenin equivalent voltage sources, Eth = sum{Pk_T*Eth_k}
     		for(BaseDStabNetwork<?,?> subNet: this.subNetProcessor.getSubNetworkList()){
     			Complex[] Vth =this.subNetEquivTable.get(subNet.getId()).getComplexEqn().getB();
-    			FieldVector<Complex>  Eth_k = new ArrayFieldVector<Complex>(Vth);
-    			FieldMatrix<Complex> Pk_T = this.subNetIncidenceMatrixTable.get(subNet.getId());
-    			Eth_k = Pk_T.operate(Eth_k);//Returns the result of multiplying this matrix by the vector v.
-    			Eth = Eth.add(Eth_k);
-    			
-    			
+    			double[][] Pk_T = this.subNetIncidenceAryTable.get(subNet.getId());
+    			for(int i = 0; i < m; i++)
+    				for(int j = 0; j < Vth.length; j++)
+    					if(Pk_T[i][j] != 0.0){
+    						Eth[2*i] += Pk_T[i][j]*Vth[j].getReal();
+    						Eth[2*i+1] += Pk_T[i][j]*Vth[j].getImaginary();
+    					}
     		}
     		
-    		FieldLUDecomposition<Complex> lu = new FieldLUDecomposition<>(this.Zl);
-    		FieldVector<Complex> currVector = lu.getSolver().solve(Eth);
+    		// Zl is factorized only once after it is prepared, the factorization is reused until the next network change 
+    		if(!this.Zl.isFactorized() && !this.Zl.factorize()){
+    			IpssLogger.getLogger().severe("The boundary sub system [Zl] matrix is singular");
+    			return false;
+    		}
+    		this.Zl.solve(Eth);
+    		double[] currVector = Eth;
     		
     		for(BaseDStabNetwork<?,?> subNet: this.subNetProcessor.getSubNetworkList()){
-    			// mapping the branch current into the 
-    			FieldMatrix<Complex> Pk_T = this.subNetIncidenceMatrixTable.get(subNet.getId());
-    			FieldVector<Complex>  boundaryBusCurrInj = Pk_T.transpose().operate(currVector);
+    			// mapping the branch current into the boundary bus current injection, Pk*I
+    			double[][] Pk_T = this.subNetIncidenceAryTable.get(subNet.getId());
     			
     			Hashtable<String,Complex> busCurrInjTable = new Hashtable<>();
-    			int i =0;
+    			int j =0;
     			for(String busId: this.subNetProcessor.getSubNet2BoundaryBusListTable().get(subNet.getId())){
-    				
+    				double re = 0.0, im = 0.0;
+    				for(int i = 0; i < m; i++)
+    					if(Pk_T[i][j] != 0.0){
+    						re += Pk_T[i][j]*currVector[2*i];
+    						im += Pk_T[i][j]*currVector[2*i+1];
+    					}
     				//Please note the direction of current, as fromBus -> toBus is defined as the positive for the interface tie-lie current
-    			    busCurrInjTable.put(busId, boundaryBusCurrInj.getEntry(i).multiply(-1.0));
-    			    i++;
+    			    busCurrInjTable.put(busId, new Complex(-re, -im));
+    			    j++;
     			}
     			
     			this.subNetCurrInjTable.put(subNet.getId(),  busCurrInjTable);
@@ -201,61 +213,6 @@ public class MultiNetDStabSimuHelper extends AbstractMultiNetDStabSimuHelper{
     
     
     
-    /**
-     * prepare the interface branches to boundary buses incident matrix Pk_T
-     * (Pk)transpose is the mapping from the interface branches to the boundary buses of each subNetwork;
-		
-		Thus, if the Thevenin equivalent viewed at the boundary buses is explicitly calculated instead of 
-		inverting the whole Yk matrix, then Pk_T can be much smaller, with 
-		
-		 Pk_T as a m by n integer matrix 
-		 m: Num. of interface branches
-		 n: Num of boundary buses,
-		 For the boundary bus as the interface branch from bus, the corresponding entry is 1;
-		 For to bus, it becomes -1; with no connections, it will be zero
-     * 
-     * @return
-     */
-    @Override
-	protected Hashtable<String, FieldMatrix<Complex>> prepareInterfaceBranchBusIncidenceMatrix(){
-    	
-    	this.subNetIncidenceMatrixTable = new Hashtable<>();
-    	
-    	 for(BaseDStabNetwork<?,?> subNet: this.subNetProcessor.getSubNetworkList()){
-    		    int m =this.subNetProcessor.getInterfaceBranchIdList().size();
-    		    
-    		    List<String> busIdList = this.subNetProcessor.getSubNet2BoundaryBusListTable().get(subNet.getId());
-    		    int n = busIdList.size();
-    		    FieldMatrix<Complex> Pk_T = new Array2DRowFieldMatrix<Complex>(ComplexField.getInstance(),m,n);
-    		    
-    		    int i = 0;
-    			for(String branchId:this.subNetProcessor.getInterfaceBranchIdList()){
-    				DStabBranch branch= net.getBranch(branchId);
-    			
-    				        
-					DStabBus fBus = (DStabBus) branch.getFromBus();
-					DStabBus tBus = (DStabBus) branch.getToBus();
-					int j =0;
-					for(String busId:busIdList){
-						if(busId.equals(fBus.getId())){
-							Pk_T.setEntry(i, j, new Complex(1,0));
-						}
-						else if(busId.equals(tBus.getId()))
-							  Pk_T.setEntry(i, j, new Complex(-1,0));
-						
-						j++;
-					}
-					
-					i++;
-					
-    			} // end of interface branches loop
-    			
-    			this.subNetIncidenceMatrixTable.put(subNet.getId(), Pk_T);
-    	 } // end of subNetwork loop
-    	 return  this.subNetIncidenceMatrixTable;
-    	
-    }
-    
    /**
     *  Build the boundary subsystem matrix (also known as the Thevenin impedance matrix [Zl]);
     * @return
@@ -264,16 +221,16 @@ public class MultiNetDStabSimuHelper extends AbstractMultiNetDStabSimuHelper{
 	public void prepareBoundarySubSystemMatrix(){
     	int n = subNetProcessor.getInterfaceBranchIdList().size();
       
-        this.Zl = new Array2DRowFieldMatrix<Complex>(ComplexField.getInstance(),n,n);
+        this.Zl = new DenseComplexMatrix(n,n);
         
-    	if(this.subNetIncidenceMatrixTable !=null){
+    	if(this.subNetIncidenceAryTable !=null){
     		
     		 // initialize the Zl matrix
     		  int i=0;
     		  for(String branchId: subNetProcessor.getInterfaceBranchIdList()){
     			  
   				DStabBranch branch= net.getBranch(branchId);
-  				this.Zl.setEntry(i, i, branch.getZ());
+  				this.Zl.set(i, i, branch.getZ());
   				i++;
     		  }
     		    
@@ -281,16 +238,22 @@ public class MultiNetDStabSimuHelper extends AbstractMultiNetDStabSimuHelper{
     		 // Connecting the boundary bus Thevenin equivalent to the interface branches according the
     		  // the interface branch to boundary bus incidence matrix
     		  	 for(BaseDStabNetwork<?,?> subNet: this.subNetProcessor.getSubNetworkList()){
-    		  		  FieldMatrix<Complex>  Pk_T = this.subNetIncidenceMatrixTable.get(subNet.getId());
-    				  FieldMatrix<Complex> Zth_k = new Array2DRowFieldMatrix<>(this.subNetEquivTable.get(subNet.getId()).getComplexEqn().getA());
-    	    		  //  Zl_k = Pk_T*Zth_k*Pk
-    				  FieldMatrix<Complex> Zl_k = Pk_T.multiply(Zth_k).multiply(Pk_T.transpose());
-    				  
-    				  // Zl = Zl + sum{Zl_k}|all subsystems
-    				   this.Zl = this.Zl.add(Zl_k);
+    		  		  double[][] Pk_T = this.subNetIncidenceAryTable.get(subNet.getId());
+    				  Complex[][] Zth_k = this.subNetEquivTable.get(subNet.getId()).getComplexEqn().getA();
+    	    		  //  Zl = Zl + sum{Pk_T*Zth_k*Pk}|all subsystems, Pk_T entries are 0, 1 or -1
+    				  for(int a = 0; a < n; a++)
+    					  for(int p = 0; p < Zth_k.length; p++){
+    						  if(Pk_T[a][p] == 0.0) continue;
+    						  for(int b = 0; b < n; b++)
+    							  for(int q = 0; q < Zth_k.length; q++){
+    								  if(Pk_T[b][q] == 0.0) continue;
+    								  double f = Pk_T[a][p]*Pk_T[b][q];
+    								  this.Zl.add(a, b, f*Zth_k[p][q].getReal(), f*Zth_k[p][q].getImaginary());
+    							  }
+    					  }
     			  }
     		 
-    		  	 
+    		  	 this.boundarySubSystemMatrixDirty = false;
     	}
     	else{
     		throw new Error("The subNetIncidenceMatrixTable is not initialized yet, cannot procede the boundary subsystem matrix calculation!");
@@ -313,8 +276,17 @@ public class MultiNetDStabSimuHelper extends AbstractMultiNetDStabSimuHelper{
      @Override
 	public boolean solveSubNetWithBoundaryCurrInjection(){
 	   
-		   // need to first reset all customized current injection to be zero
 		   for(BaseDStabNetwork<?,?> subNet: this.subNetProcessor.getSubNetworkList()){
+			   if(!solveSubNetWithBoundaryCurrInjection(subNet))
+				   return false;
+		   }
+		   
+		   return true;
+	   }
+     
+     @Override
+	public boolean solveSubNetWithBoundaryCurrInjection(BaseDStabNetwork<?,?> subNet){
+		   // need to first reset all customized current injection to be zero
 			   subNet.setCustomBusCurrInjHashtable(null);
 			   
 			   ISparseEqnComplex subNetY= subNet.getYMatrix();
@@ -338,10 +310,6 @@ public class MultiNetDStabSimuHelper extends AbstractMultiNetDStabSimuHelper{
 				   //bus voltage V = Vinternal + Vext_injection
 				   b.setVoltage(b.getVoltage().add(subNetY.getX(b.getSortNumber())));
 			   }
-			   
-			   
-		   }
-		   
 		   
 		   return true;
 	   }
@@ -5,8 +5,12 @@ import static com.interpss.dstab.funcImpl.DStabFunction.BuiltBusState;
 import static com.interpss.dstab.funcImpl.DStabFunction.BuiltMachineState;
 import static com.interpss.dstab.funcImpl.DStabFunction.BuiltScriptDynamicBusDeviceState;
 
+import java.util.ArrayList;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.interpss.IpssCorePlugin;
 import org.interpss.numeric.util.NumericUtil;
@@ -34,6 +38,17 @@ public class MultiNetDStabSolverImpl extends DStabSolverImpl {
 	
 	protected AbstractMultiNetDStabSimuHelper multiNetSimuHelper = null;
 	protected List<BaseDStabNetwork<?,?>> subNetList = null;
+	
+	// executor for solving the subnetworks concurrently, null for sequential solution
+	protected ExecutorService subNetExecutor = null;
+	
+	/**
+	 * task performed on a subnetwork
+	 */
+	@FunctionalInterface
+	protected interface SubNetworkTask {
+		void run(BaseDStabNetwork<?,?> subNet) throws DStabSimuException;
+	}
 
 	public MultiNetDStabSolverImpl(DynamicSimuAlgorithm algo, AbstractMultiNetDStabSimuHelper mNetSimuHelper) {
 		super(algo, IpssCorePlugin.getMsgHub());
@@ -41,6 +56,60 @@ public class MultiNetDStabSolverImpl extends DStabSolverImpl {
 		this.subNetList = this.multiNetSimuHelper.getSubNetworkProcessor().getSubNetworkList();
 	}
 	
+	/**
+	 * set the executor for solving the subnetworks concurrently. The subnetwork network solution, the
+	 * subnetwork solution with the boundary current injections and the DEqn integration are performed 
+	 * for all subnetworks in parallel, and all subnetworks are completed before the next stage, for example, 
+	 * the boundary subsystem solution. Since the subnetworks are independent in these stages, the results 
+	 * are the same as the sequential solution. The executor is also used by the simulation helper for 
+	 * calculating the subnetwork Thevenin equivalents. The executor is owned and shut down by the caller.
+	 * 
+	 * @param executor executor, null for sequential solution
+	 */
+	public void setSubNetworkExecutor(ExecutorService executor) {
+		this.subNetExecutor = executor;
+		this.multiNetSimuHelper.setSubNetworkExecutor(executor);
+	}
+	
+	/**
+	 * perform the task for all subnetworks, in parallel if the subnetwork executor is defined. The method
+	 * returns after the task of all subnetworks has been completed.
+	 * 
+	 * @param task
+	 * @throws DStabSimuException
+	 */
+	protected void forEachSubNetwork(SubNetworkTask task) throws DStabSimuException {
+		if (this.subNetExecutor == null || this.subNetList.size() <= 1) {
+			for (BaseDStabNetwork<?,?> dsNet : this.subNetList)
+				task.run(dsNet);
+			return;
+		}
+		
+		List<Future<Object>> futureList = new ArrayList<>();
+		for (BaseDStabNetwork<?,?> dsNet : this.subNetList)
+			futureList.add(this.subNetExecutor.submit(() -> {
+				task.run(dsNet);
+				return null;
+			}));
+		
+		// wait for all the subnetworks, the first error is reported after all tasks completed
+		DStabSimuException exp = null;
+		for (Future<Object> f : futureList) {
+			try {
+				f.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new DStabSimuException("SubNetwork solution interrupted");
+			} catch (ExecutionException e) {
+				if (exp == null)
+					exp = e.getCause() instanceof DStabSimuException? (DStabSimuException)e.getCause() :
+								new DStabSimuException("SubNetwork solution error, " + e.getCause().toString());
+			}
+		}
+		if (exp != null)
+			throw exp;
+	}
+	
 	@Override 
 	public boolean initialization() {
 		this.simuPercent = 0;
@@ -147,8 +216,9 @@ public class MultiNetDStabSolverImpl extends DStabSolverImpl {
 			applyDynamicEvent(time);
 		}
 		
-		// when every there is an event, need to update the [Zl] matrix of the boundary subsystem
-		if( hasDynEvent(time)){
+		// the [Zl] matrix of the boundary subsystem only needs to be updated when an event has changed 
+		// the subnetwork Thevenin equivalent matrices, otherwise the cached factorization is reused
+		if( hasDynEvent(time) && this.multiNetSimuHelper.isBoundarySubSystemMatrixDirty()){
 			
 			this.multiNetSimuHelper.prepareBoundarySubSystemMatrix();
 		}
@@ -164,7 +234,7 @@ public class MultiNetDStabSolverImpl extends DStabSolverImpl {
 			 
 			// The first  step of the multi-subNetwork solution is to solve each subnetwork independently without current injections from the 
 			// connection tie-lines
-			for(BaseDStabNetwork<?,?> dsNet: subNetList){
+			forEachSubNetwork(dsNet -> {
 				
 				// make sure there is no current injection at the boundary
 				dsNet.setCustomBusCurrInjHashtable(null);
@@ -173,7 +243,7 @@ public class MultiNetDStabSolverImpl extends DStabSolverImpl {
 				if (!dsNet.solveNetEqn())
 					throw new DStabSimuException("Exception in dstabNet.solveNetEqn()");
 				
-			}  //end for-subnetwork loop
+			});  //end for-subnetwork loop
 			
 		
 			 /*
@@ -195,7 +265,7 @@ public class MultiNetDStabSolverImpl extends DStabSolverImpl {
 				  this.multiNetSimuHelper.solveBoundarySubSystem();
 				  
 				  //solve all the SubNetworks With only Boundary Current Injections
-				  this.multiNetSimuHelper.solveSubNetWithBoundaryCurrInjection();
+				  forEachSubNetwork(dsNet -> this.multiNetSimuHelper.solveSubNetWithBoundaryCurrInjection(dsNet));
 				  
 				  for(BaseDStabNetwork<?,?> dsNet: subNetList){
 					for ( Bus busi : dsNet.getBusList() ) {
@@ -227,7 +297,23 @@ public class MultiNetDStabSolverImpl extends DStabSolverImpl {
 			  *  x(t+deltaT) = x(t) + dx_dt*deltaT 
 			  */
 			  
-		  for(BaseDStabNetwork<?,?> dsNet: subNetList){  
+		  forEachSubNetwork(dsNet -> solveSubNetDEqnStep(dsNet, dt, method));
+			
+			
+		// back up the states	
+		  forEachSubNetwork(dsNet -> backUpSubNetStates(dsNet));
+	
+	}
+	
+	/**
+	 * solve DEqn of the dynamic devices and update the bus dynamic attributes of the subnetwork for the step
+	 * 
+	 * @param dsNet subnetwork
+	 * @param dt
+	 * @param method
+	 * @throws DStabSimuException
+	 */
+	protected void solveSubNetDEqnStep(BaseDStabNetwork<?,?> dsNet, double dt, DynamicSimuMethod method) throws DStabSimuException {
 			// Solve DEqn for all dynamic bus devices
 				for (Bus b : dsNet.getBusList()) {
 					if(b.isActive()){
@@ -296,11 +382,14 @@ public class MultiNetDStabSolverImpl extends DStabSolverImpl {
 					}
 				}
 		    	
-		 } // for subNetwork loop
-			
-			
-		// back up the states	
-			for(BaseDStabNetwork<?,?> dsNet: subNetList){
+	}
+	
+	/**
+	 * back up the machine states of the subnetwork
+	 * 
+	 * @param dsNet subnetwork
+	 */
+	protected void backUpSubNetStates(BaseDStabNetwork<?,?> dsNet) {
 			 // backup the states
 			 for (Bus b :  dsNet.getBusList()) {
 					if(b.isActive()){
@@ -319,10 +408,8 @@ public class MultiNetDStabSolverImpl extends DStabSolverImpl {
 						
 					}
 			  }
-		}
-	
 	}
-	
+
 	@Override public boolean procInitOutputEvent() {
 		try {
 			for(BaseDStabNetwork<?,?> dsNet: subNetList){
@@ -48,6 +48,13 @@ public class MultiNetDynamicEventProcessor extends DynamicEventProcessor {
 				if (hasAnyEvent(t)) {
 					
 					//System.out.println("dynamic event at: "+t);
+					// only the bus fault event is supported, other events, such as branch trip, change the 
+					// subnetwork Thevenin equivalents and the boundary subsystem matrix, which are not updated
+					for (DynamicEvent dEvent : net.getDynamicEventList()) {
+						if (dEvent.hasEventAt(t) && dEvent.getType() != DynamicEventType.BUS_FAULT)
+							throw new Error("Dynamic event type is not supported in the multiNet simulation, " + dEvent.getType());
+					}
+					
 					/*
 					 * We always start from a full Y-matrix without any fault. At
 					 * any point, if there is an event, we apply all current
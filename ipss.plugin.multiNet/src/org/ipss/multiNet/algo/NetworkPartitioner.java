@@ -0,0 +1,802 @@
+package org.ipss.multiNet.algo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import com.interpss.common.util.IpssLogger;
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.aclf.AclfGen;
+import com.interpss.core.net.Branch;
+import com.interpss.core.net.Bus;
+import com.interpss.dstab.BaseDStabBus;
+import com.interpss.dstab.BaseDStabNetwork;
+import com.interpss.dstab.DStabGen;
+import com.interpss.dstab.device.DynamicBusDevice;
+
+/**
+ * NetworkPartitioner splits a network into a target number of subnetworks automatically, and returns the
+ * interface branches (tie-lines) to be used to define the subnetwork boundary of the SubNetworkProcessor.
+ *
+ * The partition is obtained by multilevel recursive bisection:
+ *  (1) the bus graph is coarsened by heavy edge matching;
+ *  (2) the coarsest graph is bisected by greedy graph growing;
+ *  (3) the bisection is projected back level by level, and refined by Fiduccia-Mattheyses (FM) passes at each level;
+ *  (4) after the k-way partition is obtained, the disconnected pieces of a part are merged into the neighboring part.
+ *
+ * Each bus is weighted by the number of dynamic devices connected, such that the per-subnetwork dynamic
+ * simulation cost is balanced. Zero impedance branches are heavily weighted, so they are not selected as the tie-lines.
+ *
+ * @author agent
+ *
+ */
+public class NetworkPartitioner {
+	// stop coarsening when the graph size is smaller than this number, or the reduction is less than 10%
+	private static final int CoarsestGraphSize = 40;
+	private static final int NumOfInitSeeds = 8;
+	private static final int MaxFmPasses = 8;
+	// max number of vertices visited to check if a FM move keeps the source part connected
+	private static final int LocalSearchSize = 64;
+
+	private BaseDStabNetwork<?,?> net = null;
+
+	private int busBaseWeight = 1;
+	private int dynDeviceWeight = 4;
+	private int zeroZBranchWeight = 1000;
+	private double zeroZThreshold = 1.0E-5;
+	private double imbalanceTolerance = 0.05;
+
+	// the full bus graph, the vertex index is the bus position in the network bus list
+	private List<String> busIdList = null;
+	private Hashtable<String, Integer> busId2IndexTable = null;
+	private Graph graph = null;
+
+	private int[] busPart = null;
+	private Hashtable<String, Integer> busId2PartitionTable = null;
+	private List<String> interfaceBranchIdList = null;
+
+	public NetworkPartitioner(BaseDStabNetwork<?,?> net){
+		this.net = net;
+	}
+
+	/**
+	 * partition the network into nSubNet balanced parts with few tie-lines
+	 *
+	 * @param nSubNet target number of subnetworks
+	 * @return the interface branch id list, which could be used by SubNetworkProcessor.addSubNetInterfaceBranch()
+	 */
+	public List<String> partition(int nSubNet){
+		if(nSubNet < 1)
+			throw new Error("The target number of subnetworks should be at least 1, input # " + nSubNet);
+
+		buildBusGraph();
+
+		this.busPart = new int[this.graph.n];
+		int[] vertices = new int[this.graph.n];
+		for(int i = 0; i < vertices.length; i++)
+			vertices[i] = i;
+		if(nSubNet > 1 && this.graph.n > 1)
+			recursiveBisection(vertices, nSubNet, 0);
+
+		// SubNetworkProcessor creates one subnetwork for each connected piece confined by the tie-lines
+		for(int iter = 0; iter < 10; iter++)
+			if(!mergeDisconnectedPieces(this.graph, this.busPart, nSubNet))
+				break;
+
+		this.busId2PartitionTable = new Hashtable<>();
+		for(int i = 0; i < this.graph.n; i++)
+			this.busId2PartitionTable.put(this.busIdList.get(i), this.busPart[i]);
+
+		this.interfaceBranchIdList = new ArrayList<>();
+		for(Branch bra: this.net.getBranchList()){
+			if(isGraphBranch(bra) &&
+					this.busPart[index(bra.getFromBus())] != this.busPart[index(bra.getToBus())])
+				this.interfaceBranchIdList.add(bra.getId());
+		}
+
+		IpssLogger.getLogger().info("Network partitioned into " + nSubNet + " parts, part weights: "
+				+ Arrays.toString(getPartitionWeights()) + ", num of tie-lines: " + this.interfaceBranchIdList.size());
+		return this.interfaceBranchIdList;
+	}
+
+	/**
+	 * get the bus id to partition index table of the last partition
+	 *
+	 * @return
+	 */
+	public Hashtable<String, Integer> getBusId2PartitionTable() {
+		return busId2PartitionTable;
+	}
+
+	/**
+	 * get the interface branch id list of the last partition
+	 *
+	 * @return
+	 */
+	public List<String> getInterfaceBranchIdList() {
+		return interfaceBranchIdList;
+	}
+
+	/**
+	 * get the total bus weight of each part of the last partition
+	 *
+	 * @return
+	 */
+	public int[] getPartitionWeights(){
+		int nPart = 0;
+		for(int p: this.busPart)
+			nPart = Math.max(nPart, p + 1);
+		int[] w = new int[nPart];
+		for(int i = 0; i < this.busPart.length; i++)
+			w[this.busPart[i]] += this.graph.vw[i];
+		return w;
+	}
+
+	public void setBusBaseWeight(int busBaseWeight) {
+		this.busBaseWeight = busBaseWeight;
+	}
+
+	public void setDynDeviceWeight(int dynDeviceWeight) {
+		this.dynDeviceWeight = dynDeviceWeight;
+	}
+
+	public void setZeroZBranchWeight(int zeroZBranchWeight) {
+		this.zeroZBranchWeight = zeroZBranchWeight;
+	}
+
+	public void setZeroZThreshold(double zeroZThreshold) {
+		this.zeroZThreshold = zeroZThreshold;
+	}
+
+	public void setImbalanceTolerance(double imbalanceTolerance) {
+		this.imbalanceTolerance = imbalanceTolerance;
+	}
+
+	/**
+	 * build the bus graph of the active buses and branches. The bus sort number is not used as the vertex index,
+	 * since it defines the Y-matrix ordering of the network.
+	 */
+	private void buildBusGraph(){
+		int n = this.net.getNoBus();
+		this.busIdList = new ArrayList<>(n);
+		this.busId2IndexTable = new Hashtable<>();
+		int[] vw = new int[n];
+		for(Bus b: this.net.getBusList()){
+			vw[this.busIdList.size()] = b.isActive()? busWeight((BaseDStabBus<?,?>)b) : 0;
+			this.busId2IndexTable.put(b.getId(), this.busIdList.size());
+			this.busIdList.add(b.getId());
+		}
+
+		int[] from = new int[this.net.getNoBranch()];
+		int[] to = new int[from.length];
+		int[] w = new int[from.length];
+		int m = 0;
+		for(Branch bra: this.net.getBranchList()){
+			if(isGraphBranch(bra)){
+				from[m] = index(bra.getFromBus());
+				to[m] = index(bra.getToBus());
+				w[m] = ((AclfBranch)bra).getZ().abs() < this.zeroZThreshold? this.zeroZBranchWeight : 1;
+				m++;
+			}
+		}
+		this.graph = Graph.create(n, vw, from, to, w, m);
+	}
+
+	private int index(Bus bus){
+		return this.busId2IndexTable.get(bus.getId());
+	}
+
+	private boolean isGraphBranch(Branch bra){
+		return bra.isActive() && bra.getFromBus().isActive() && bra.getToBus().isActive()
+				&& bra.getFromBus() != bra.getToBus();
+	}
+
+	private int busWeight(BaseDStabBus<?,?> bus){
+		int nDevice = 0;
+		for(DynamicBusDevice device: bus.getDynamicBusDeviceList())
+			if(device.isActive())
+				nDevice++;
+		for(AclfGen gen: bus.getContributeGenList())
+			if(gen.isActive() && gen instanceof DStabGen && ((DStabGen)gen).getMach() != null)
+				nDevice++;
+		return this.busBaseWeight + this.dynDeviceWeight * nDevice;
+	}
+
+	/**
+	 * partition the sub-graph induced by the vertices into nPart parts, the results are saved in busPart[] with
+	 * part index starting from partOffset
+	 */
+	private void recursiveBisection(int[] vertices, int nPart, int partOffset){
+		if(nPart == 1 || vertices.length <= 1){
+			for(int v: vertices)
+				this.busPart[v] = partOffset;
+			return;
+		}
+
+		int nPart0 = nPart / 2;
+		Graph g = this.graph.subGraph(vertices);
+		int[] part = multilevelBisection(g, nPart0, nPart);
+
+		int n0 = 0;
+		for(int p: part)
+			if(p == 0) n0++;
+		int[] v0 = new int[n0], v1 = new int[vertices.length - n0];
+		for(int i = 0, i0 = 0, i1 = 0; i < part.length; i++){
+			if(part[i] == 0) v0[i0++] = vertices[i];
+			else v1[i1++] = vertices[i];
+		}
+		recursiveBisection(v0, nPart0, partOffset);
+		recursiveBisection(v1, nPart - nPart0, partOffset + nPart0);
+	}
+
+	/**
+	 * bisect the graph with the weight ratio nPart0 : (nPart - nPart0)
+	 */
+	private int[] multilevelBisection(Graph g, int nPart0, int nPart){
+		// coarsening phase
+		List<Graph> levels = new ArrayList<>();
+		List<int[]> cmaps = new ArrayList<>();
+		levels.add(g);
+		Graph cur = g;
+		int maxVw = Math.max(1, (int)(1.5 * g.totalVw / CoarsestGraphSize));
+		while(cur.n > CoarsestGraphSize){
+			int[] cmap = new int[cur.n];
+			int nc = heavyEdgeMatching(cur, cmap, maxVw);
+			if(nc > 0.9 * cur.n)
+				break;
+			cur = cur.contract(cmap, nc);
+			cmaps.add(cmap);
+			levels.add(cur);
+		}
+
+		long[] target = {Math.round((double)g.totalVw * nPart0 / nPart), 0};
+		target[1] = g.totalVw - target[0];
+		// the allowed imbalance is relative to the weight of one final part, and shared by the bisection levels, 
+		// such that the final parts are within the tolerance. A part is not allowed to become empty.
+		int nLevel = 32 - Integer.numberOfLeadingZeros(nPart - 1);
+		long slack = (long)Math.ceil(this.imbalanceTolerance * g.totalVw / nPart / nLevel);
+		slack = Math.max(0, Math.min(slack, Math.min(target[0], target[1]) - 1));
+		long[] maxW = {target[0] + slack, target[1] + slack};
+
+		// initial bisection of the coarsest graph
+		int[] part = initialBisection(cur, target, maxW);
+
+		// uncoarsening and refinement phase
+		for(int l = cmaps.size() - 1; l >= 0; l--){
+			int[] cmap = cmaps.get(l);
+			Graph fine = levels.get(l);
+			int[] finePart = new int[fine.n];
+			for(int v = 0; v < fine.n; v++)
+				finePart[v] = part[cmap[v]];
+			part = finePart;
+			refine(fine, part, maxW);
+		}
+		
+		connectParts(g, part, maxW);
+		return part;
+	}
+	
+	/**
+	 * FM moves may leave a disconnected piece in a part, which is merged into the other part and then the 
+	 * balance is restored by the FM refinement
+	 */
+	private void connectParts(Graph g, int[] part, long[] maxW){
+		for(int iter = 0; iter < 3; iter++){
+			if(!mergeDisconnectedPieces(g, part, 2))
+				break;
+			refine(g, part, maxW);
+		}
+	}
+
+	/**
+	 * match each vertex with the unmatched neighbor connected by the heaviest edge
+	 *
+	 * @return number of the coarse vertices
+	 */
+	private static int heavyEdgeMatching(Graph g, int[] cmap, int maxVw){
+		Arrays.fill(cmap, -1);
+		// visit the vertices with low degree first, so that they are more likely to be matched
+		Integer[] order = new Integer[g.n];
+		for(int i = 0; i < g.n; i++)
+			order[i] = i;
+		Arrays.sort(order, (a, b) -> (g.xadj[a+1] - g.xadj[a]) - (g.xadj[b+1] - g.xadj[b]));
+
+		int nc = 0;
+		for(int v: order){
+			if(cmap[v] >= 0)
+				continue;
+			int match = -1, maxW = 0;
+			for(int k = g.xadj[v]; k < g.xadj[v+1]; k++){
+				int u = g.adj[k];
+				if(cmap[u] < 0 && g.adjw[k] > maxW && g.vw[v] + g.vw[u] <= maxVw){
+					match = u;
+					maxW = g.adjw[k];
+				}
+			}
+			cmap[v] = nc;
+			if(match >= 0)
+				cmap[match] = nc;
+			nc++;
+		}
+		return nc;
+	}
+
+	/**
+	 * greedy graph growing bisection from a few seeds, the one with the min cut after refinement is selected.
+	 */
+	private int[] initialBisection(Graph g, long[] target, long[] maxW){
+		int[] best = null;
+		long bestCut = Long.MAX_VALUE, bestExcess = Long.MAX_VALUE;
+		int nSeed = Math.min(NumOfInitSeeds, g.n);
+		for(int s = 0; s < nSeed; s++){
+			int seed = (int)((long)s * g.n / nSeed);
+			int[] part = growRegion(g, seed, target[0]);
+
+			refine(g, part, maxW);
+			connectParts(g, part, maxW);
+			
+			// select the connected bisection with the min imbalance, then with the min cut
+			long[] pw = new long[2];
+			for(int v = 0; v < g.n; v++)
+				pw[part[v]] += g.vw[v];
+			long exc = excess(pw, maxW);
+			long cut = g.cut(part);
+			if(exc < bestExcess || exc == bestExcess && cut < bestCut){
+				bestExcess = exc;
+				bestCut = cut;
+				best = part;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * grow part 0 from the seed, always adding the frontier vertex with the max gain. The gain is the cut reduction
+	 * of moving the vertex to part 0, initially minus its weighted degree. The small pieces of part 1 enclosed by
+	 * the grown region, for example generator buses connected radially, are absorbed into part 0, so that part 1 
+	 * stays connected.
+	 */
+	private static int[] growRegion(Graph g, int seed, long target0){
+		int[] part = new int[g.n];
+		Arrays.fill(part, 1);
+		int[] gain = new int[g.n];
+		for(int v = 0; v < g.n; v++)
+			for(int k = g.xadj[v]; k < g.xadj[v+1]; k++)
+				gain[v] -= g.adjw[k];
+		int[] visited = new int[g.n];
+		int[] queue = new int[LocalSearchSize + 1];
+		PriorityQueue<Long> frontier = new PriorityQueue<>();
+		frontier.add(key(gain[seed], seed));
+		long w0 = 0;
+		int next = 0;
+		while(w0 < target0){
+			int v = -1;
+			while(!frontier.isEmpty() && v < 0){
+				long key = frontier.poll();
+				int u = (int)(key & 0xffffffffL);
+				if(part[u] == 1 && -(key >> 32) == gain[u])
+					v = u;
+			}
+			if(v < 0){
+				// the grown region is disconnected from the rest, restart from any vertex in part 1
+				while(next < g.n && part[next] == 0)
+					next++;
+				if(next == g.n) break;
+				v = next;
+			}
+			if(w0 > 0 && w0 + g.vw[v] - target0 > target0 - w0)
+				break;
+			w0 += moveToPart0(g, part, gain, frontier, v);
+
+			// absorb the enclosed pieces of part 1
+			for(int k = g.xadj[v]; k < g.xadj[v+1]; k++){
+				int u = g.adj[k];
+				if(part[u] != 1 || visited[u] == v + 1)
+					continue;
+				int n = smallPiece(g, part, u, v + 1, visited, queue);
+				long pieceW = 0;
+				for(int i = 0; i < n; i++)
+					pieceW += g.vw[queue[i]];
+				if(n > 0 && 2 * pieceW < g.totalVw - w0)
+					for(int i = 0; i < n; i++)
+						w0 += moveToPart0(g, part, gain, frontier, queue[i]);
+			}
+		}
+		return part;
+	}
+
+	private static int moveToPart0(Graph g, int[] part, int[] gain, PriorityQueue<Long> frontier, int v){
+		part[v] = 0;
+		for(int k = g.xadj[v]; k < g.xadj[v+1]; k++){
+			int u = g.adj[k];
+			if(part[u] == 1){
+				gain[u] += 2 * g.adjw[k];
+				frontier.add(key(gain[u], u));
+			}
+		}
+		return g.vw[v];
+	}
+
+	/**
+	 * find the piece of part 1 containing vertex s, by a BFS limited to LocalSearchSize vertices
+	 *
+	 * @return number of vertices of the piece saved in the queue, 0 if the search limit is reached
+	 */
+	private static int smallPiece(Graph g, int[] part, int s, int stamp, int[] visited, int[] queue){
+		int head = 0, tail = 0;
+		visited[s] = stamp;
+		queue[tail++] = s;
+		while(head < tail){
+			int v = queue[head++];
+			for(int k = g.xadj[v]; k < g.xadj[v+1]; k++){
+				int u = g.adj[k];
+				if(part[u] != 1 || visited[u] == stamp)
+					continue;
+				if(tail == LocalSearchSize)
+					return 0;
+				visited[u] = stamp;
+				queue[tail++] = u;
+			}
+		}
+		return tail;
+	}
+
+	private void refine(Graph g, int[] part, long[] maxW){
+		long[] pw = new long[2];
+		for(int v = 0; v < g.n; v++)
+			pw[part[v]] += g.vw[v];
+		for(int pass = 0; pass < MaxFmPasses; pass++)
+			if(!fmPass(g, part, pw, maxW))
+				break;
+	}
+
+	/**
+	 * one Fiduccia-Mattheyses pass: move the vertices with the max gain one at a time, each vertex at most once,
+	 * and roll back to the best cut seen in the pass. Moves violating the max part weight are not allowed, unless
+	 * the move reduces the imbalance. Moves which may disconnect the source part are not allowed either.
+	 *
+	 * @return true if the cut (or imbalance) is improved
+	 */
+	private static boolean fmPass(Graph g, int[] part, long[] pw, long[] maxW){
+		int[] gain = new int[g.n];
+		boolean[] locked = new boolean[g.n];
+		int[] visited = new int[g.n];
+		int[] queue = new int[LocalSearchSize + 1];
+		int stamp = 0;
+		// the heap key is (-gain, v), such that the vertex with the max gain is polled first
+		PriorityQueue<Long> heap = new PriorityQueue<>();
+		for(int v = 0; v < g.n; v++){
+			boolean boundary = false;
+			for(int k = g.xadj[v]; k < g.xadj[v+1]; k++){
+				if(part[g.adj[k]] != part[v]){
+					gain[v] += g.adjw[k];
+					boundary = true;
+				}
+				else
+					gain[v] -= g.adjw[k];
+			}
+			if(boundary)
+				heap.add(key(gain[v], v));
+		}
+
+		int[] moves = new int[g.n];
+		int nMove = 0, bestMove = 0;
+		long cumGain = 0, bestGain = 0;
+		long bestExcess = excess(pw, maxW);
+		int maxNoImprove = Math.max(50, g.n / 20);
+		while(!heap.isEmpty() && nMove - bestMove < maxNoImprove){
+			long key = heap.poll();
+			int v = (int)(key & 0xffffffffL);
+			if(locked[v] || -(key >> 32) != gain[v])
+				continue;
+			int from = part[v], to = 1 - from;
+			if(!isLocallyConnected(g, part, v, ++stamp, visited, queue))
+				continue;
+			long excessBefore = excess(pw, maxW);
+			pw[from] -= g.vw[v];
+			pw[to] += g.vw[v];
+			long excessAfter = excess(pw, maxW);
+			if(excessAfter > 0 && excessAfter >= excessBefore){
+				pw[from] += g.vw[v];
+				pw[to] -= g.vw[v];
+				continue;
+			}
+			part[v] = to;
+			locked[v] = true;
+			moves[nMove++] = v;
+			cumGain += gain[v];
+			for(int k = g.xadj[v]; k < g.xadj[v+1]; k++){
+				int u = g.adj[k];
+				if(locked[u])
+					continue;
+				gain[u] += part[u] == to? -2 * g.adjw[k] : 2 * g.adjw[k];
+				heap.add(key(gain[u], u));
+			}
+			if(excessAfter < bestExcess || excessAfter == bestExcess && cumGain > bestGain){
+				bestExcess = excessAfter;
+				bestGain = cumGain;
+				bestMove = nMove;
+			}
+		}
+
+		// roll back the moves after the best point
+		for(int i = nMove - 1; i >= bestMove; i--){
+			int v = moves[i];
+			pw[part[v]] -= g.vw[v];
+			part[v] = 1 - part[v];
+			pw[part[v]] += g.vw[v];
+		}
+		return bestMove > 0;
+	}
+
+	/**
+	 * check if the same part neighbors of vertex v are still connected without v, by a BFS limited to
+	 * LocalSearchSize vertices. The check is conservative, false is returned if the search limit is reached.
+	 */
+	private static boolean isLocallyConnected(Graph g, int[] part, int v, int stamp, int[] visited, int[] queue){
+		int p = part[v], first = -1, nSame = 0;
+		for(int k = g.xadj[v]; k < g.xadj[v+1]; k++)
+			if(part[g.adj[k]] == p){
+				if(first < 0) first = g.adj[k];
+				nSame++;
+			}
+		if(nSame <= 1)
+			return true;
+
+		// the visited array is marked by the stamp, so it does not need to be cleared
+		int head = 0, tail = 0;
+		visited[v] = stamp;
+		visited[first] = stamp;
+		queue[tail++] = first;
+		int nFound = 1;
+		while(head < tail && nFound < nSame){
+			int u = queue[head++];
+			for(int k = g.xadj[u]; k < g.xadj[u+1]; k++){
+				int w = g.adj[k];
+				if(part[w] != p || visited[w] == stamp)
+					continue;
+				visited[w] = stamp;
+				if(isAdjacent(g, w, v))
+					nFound++;
+				if(tail == LocalSearchSize)
+					return nFound == nSame;
+				queue[tail++] = w;
+			}
+		}
+		return nFound == nSame;
+	}
+
+	private static boolean isAdjacent(Graph g, int u, int v){
+		for(int k = g.xadj[u]; k < g.xadj[u+1]; k++)
+			if(g.adj[k] == v)
+				return true;
+		return false;
+	}
+
+	private static long key(int gain, int v){
+		return ((long)-gain << 32) | v;
+	}
+
+	private static long excess(long[] pw, long[] maxW){
+		return Math.max(0, pw[0] - maxW[0]) + Math.max(0, pw[1] - maxW[1]);
+	}
+
+	/**
+	 * merge the disconnected pieces of each part, except the largest piece, into the neighboring part with
+	 * the most connections.
+	 *
+	 * @return true if any piece is merged
+	 */
+	private static boolean mergeDisconnectedPieces(Graph g, int[] part, int nPart){
+		int[] comp = new int[g.n];
+		int[] queue = new int[g.n];
+		Arrays.fill(comp, -1);
+		List<int[]> pieces = new ArrayList<>();
+		for(int s = 0; s < g.n; s++){
+			if(comp[s] >= 0)
+				continue;
+			// BFS within the same part
+			int head = 0, tail = 0, weight = 0;
+			queue[tail++] = s;
+			comp[s] = pieces.size();
+			while(head < tail){
+				int v = queue[head++];
+				weight += g.vw[v];
+				for(int k = g.xadj[v]; k < g.xadj[v+1]; k++){
+					int u = g.adj[k];
+					if(comp[u] < 0 && part[u] == part[v]){
+						comp[u] = comp[s];
+						queue[tail++] = u;
+					}
+				}
+			}
+			pieces.add(new int[]{s, weight, tail});
+		}
+
+		// the largest piece of each part is kept
+		int[] largest = new int[nPart];
+		Arrays.fill(largest, -1);
+		for(int c = 0; c < pieces.size(); c++){
+			int p = part[pieces.get(c)[0]];
+			if(largest[p] < 0 || compare(pieces.get(c), pieces.get(largest[p])) > 0)
+				largest[p] = c;
+		}
+
+		// group the vertices by piece
+		int[] start = new int[pieces.size() + 1];
+		for(int v = 0; v < g.n; v++)
+			start[comp[v] + 1]++;
+		for(int c = 0; c < pieces.size(); c++)
+			start[c+1] += start[c];
+		int[] fill = Arrays.copyOf(start, pieces.size());
+		for(int v = 0; v < g.n; v++)
+			queue[fill[comp[v]]++] = v;
+
+		boolean changed = false;
+		int[] newPart = Arrays.copyOf(part, g.n);
+		long[] conn = new long[nPart];
+		for(int c = 0; c < pieces.size(); c++){
+			int p = part[pieces.get(c)[0]];
+			if(c == largest[p])
+				continue;
+			Arrays.fill(conn, 0);
+			for(int i = start[c]; i < start[c+1]; i++){
+				int v = queue[i];
+				for(int k = g.xadj[v]; k < g.xadj[v+1]; k++)
+					if(part[g.adj[k]] != p)
+						conn[part[g.adj[k]]] += g.adjw[k];
+			}
+			int target = -1;
+			for(int q = 0; q < nPart; q++)
+				if(conn[q] > 0 && (target < 0 || conn[q] > conn[target]))
+					target = q;
+			// an isolated piece, e.g. an island of the network, is left in its part
+			if(target >= 0){
+				for(int i = start[c]; i < start[c+1]; i++)
+					newPart[queue[i]] = target;
+				changed = true;
+			}
+		}
+		System.arraycopy(newPart, 0, part, 0, g.n);
+		return changed;
+	}
+
+	// compare two pieces {startVertex, weight, size} by weight, then by size
+	private static int compare(int[] a, int[] b){
+		return a[1] != b[1]? Integer.compare(a[1], b[1]) : Integer.compare(a[2], b[2]);
+	}
+
+	/**
+	 * weighted undirected graph in the compressed sparse row (CSR) form
+	 */
+	private static class Graph {
+		int n;
+		int[] xadj, adj, adjw, vw;
+		long totalVw;
+
+		/**
+		 * create a graph from the edge list, parallel edges are merged with their weights summed up
+		 */
+		static Graph create(int n, int[] vw, int[] from, int[] to, int[] w, int m){
+			int[] deg = new int[n + 1];
+			for(int e = 0; e < m; e++){
+				deg[from[e]]++;
+				deg[to[e]]++;
+			}
+			int[] xadj = new int[n + 1];
+			for(int v = 0; v < n; v++)
+				xadj[v+1] = xadj[v] + deg[v];
+			int[] pos = Arrays.copyOf(xadj, n);
+			int[] adj = new int[xadj[n]], adjw = new int[xadj[n]];
+			for(int e = 0; e < m; e++){
+				adj[pos[from[e]]] = to[e]; adjw[pos[from[e]]++] = w[e];
+				adj[pos[to[e]]] = from[e]; adjw[pos[to[e]]++] = w[e];
+			}
+			Graph raw = new Graph();
+			raw.n = n; raw.xadj = xadj; raw.adj = adj; raw.adjw = adjw; raw.vw = vw;
+			int[] identity = new int[n];
+			for(int v = 0; v < n; v++)
+				identity[v] = v;
+			return raw.contract(identity, n);
+		}
+
+		/**
+		 * contract the graph, vertex v is mapped to the coarse vertex cmap[v]. Edges within a coarse vertex are removed.
+		 */
+		Graph contract(int[] cmap, int nc){
+			Graph c = new Graph();
+			c.n = nc;
+			c.vw = new int[nc];
+			for(int v = 0; v < this.n; v++)
+				c.vw[cmap[v]] += this.vw[v];
+
+			// group the fine vertices by the coarse vertex
+			int[] start = new int[nc + 1];
+			for(int v = 0; v < this.n; v++)
+				start[cmap[v] + 1]++;
+			for(int i = 0; i < nc; i++)
+				start[i+1] += start[i];
+			int[] members = new int[this.n];
+			int[] fill = Arrays.copyOf(start, nc);
+			for(int v = 0; v < this.n; v++)
+				members[fill[cmap[v]]++] = v;
+
+			int[] marker = new int[nc];
+			Arrays.fill(marker, -1);
+			int[] xadj = new int[nc + 1];
+			int[] adj = new int[this.adj.length], adjw = new int[this.adj.length];
+			int cnt = 0;
+			for(int cv = 0; cv < nc; cv++){
+				for(int i = start[cv]; i < start[cv+1]; i++){
+					int v = members[i];
+					for(int k = this.xadj[v]; k < this.xadj[v+1]; k++){
+						int cu = cmap[this.adj[k]];
+						if(cu == cv)
+							continue;
+						if(marker[cu] >= xadj[cv])
+							adjw[marker[cu]] += this.adjw[k];
+						else{
+							marker[cu] = cnt;
+							adj[cnt] = cu;
+							adjw[cnt++] = this.adjw[k];
+						}
+					}
+				}
+				xadj[cv+1] = cnt;
+			}
+			c.xadj = xadj;
+			c.adj = Arrays.copyOf(adj, cnt);
+			c.adjw = Arrays.copyOf(adjw, cnt);
+			for(int w: c.vw)
+				c.totalVw += w;
+			return c;
+		}
+
+		/**
+		 * the sub-graph induced by the vertices, with the vertex i of the sub-graph being vertices[i]
+		 */
+		Graph subGraph(int[] vertices){
+			int[] local = new int[this.n];
+			Arrays.fill(local, -1);
+			for(int i = 0; i < vertices.length; i++)
+				local[vertices[i]] = i;
+			Graph s = new Graph();
+			s.n = vertices.length;
+			s.vw = new int[s.n];
+			s.xadj = new int[s.n + 1];
+			int cnt = 0;
+			for(int i = 0; i < s.n; i++){
+				int v = vertices[i];
+				s.vw[i] = this.vw[v];
+				s.totalVw += s.vw[i];
+				for(int k = this.xadj[v]; k < this.xadj[v+1]; k++)
+					if(local[this.adj[k]] >= 0) cnt++;
+				s.xadj[i+1] = cnt;
+			}
+			s.adj = new int[cnt];
+			s.adjw = new int[cnt];
+			cnt = 0;
+			for(int v: vertices){
+				for(int k = this.xadj[v]; k < this.xadj[v+1]; k++){
+					int u = local[this.adj[k]];
+					if(u >= 0){
+						s.adj[cnt] = u;
+						s.adjw[cnt++] = this.adjw[k];
+					}
+				}
+			}
+			return s;
+		}
+
+		long cut(int[] part){
+			long cut = 0;
+			for(int v = 0; v < this.n; v++)
+				for(int k = this.xadj[v]; k < this.xadj[v+1]; k++)
+					if(part[this.adj[k]] != part[v])
+						cut += this.adjw[k];
+			return cut / 2;
+		}
+	}
+}
@@ -124,6 +124,33 @@ public class SubNetworkProcessor {
 		
 	}
     
+    /**
+     * define the subnetwork boundary automatically, instead of naming the interface branches by hand. The network
+     * is partitioned into nSubNet parts with balanced dynamic device count and few tie-lines by the NetworkPartitioner,
+     * and the resulting tie-lines are added as the interface branches.
+     * 
+     * @param nSubNet target number of subnetworks
+     * @return the interface branch id list
+     */
+    public List<String> addAutoSubNetInterfaceBranches(int nSubNet){
+    	return addAutoSubNetInterfaceBranches(new NetworkPartitioner(this.net), nSubNet);
+    }
+    
+    /**
+     * define the subnetwork boundary automatically using the input partitioner, which could be configured
+     * with custom bus and branch weights
+     * 
+     * @param partitioner network partitioner
+     * @param nSubNet target number of subnetworks
+     * @return the interface branch id list
+     */
+    public List<String> addAutoSubNetInterfaceBranches(NetworkPartitioner partitioner, int nSubNet){
+    	List<String> tieLineIdList = partitioner.partition(nSubNet);
+    	for(String branchId: tieLineIdList)
+    		addSubNetInterfaceBranch(branchId);
+    	return tieLineIdList;
+    }
+    
     /**
      * If busSplitting is set to true, then a boundary  bus are split into the original and a dummy bus,
      * and both are connected by a newly created zero-impedance branch. Subsequently the full system is split by 
@@ -4,17 +4,26 @@ import java.util.ArrayList;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.math3.complex.Complex;
+import org.interpss.numeric.NumericConstant;
 import org.interpss.numeric.datatype.Complex3x1;
+import org.interpss.numeric.exp.IpssNumericException;
+import org.interpss.numeric.sparse.ISparseEqnComplex;
 import org.ipss.multiNet.algo.SubNetworkProcessor;
 import org.ipss.threePhase.basic.Branch3Phase;
 import org.ipss.threePhase.basic.Bus3Phase;
+import org.ipss.threePhase.basic.Load3Phase;
+import org.ipss.threePhase.basic.impl.Load3PhaseImpl;
 import org.ipss.threePhase.powerflow.DistributionPowerFlowAlgorithm;
 import org.ipss.threePhase.util.ThreePhaseObjectFactory;
 
 import com.interpss.CoreObjectFactory;
 import com.interpss.common.exp.InterpssException;
+import com.interpss.common.exp.InterpssRuntimeException;
 import com.interpss.common.util.IpssLogger;
 import com.interpss.core.aclf.AclfBranch;
 import com.interpss.core.aclf.AclfBus;
@@ -25,6 +34,7 @@ import com.interpss.core.aclf.BaseAclfNetwork;
 import com.interpss.core.acsc.AcscBranch;
 import com.interpss.core.acsc.BaseAcscBus;
 import com.interpss.core.acsc.BaseAcscNetwork;
+import com.interpss.core.acsc.SequenceCode;
 import com.interpss.core.algo.LoadflowAlgorithm;
 import com.interpss.core.net.Branch;
 import com.interpss.core.net.NetworkType;
@@ -35,7 +45,7 @@ public class TDMultiNetPowerflowAlgorithm {
 	protected BaseAclfNetwork<? extends BaseAclfBus<?,?>, ?extends AclfBranch> transmissionNet = null;
 	protected List<BaseAclfNetwork<?,?>> distNetList = null;
 	protected SubNetworkProcessor subNetProcessor = null;
-	protected Hashtable<String,String> distNetId2BoundaryBusTable = null;
+	protected Hashtable<String,List<String>> distNetId2BoundaryBusTable = null;
 	protected Hashtable<String,Complex3x1> distBoundary3SeqCurInjTable = null;
 	protected Hashtable<String,Complex3x1> transBoundary3SeqCurInjTable = null;
 	protected Hashtable<String,Complex3x1> distBoundaryBus3SeqVoltages = null;
@@ -44,13 +54,30 @@ public class TDMultiNetPowerflowAlgorithm {
 	protected Hashtable<String,Complex> distBoundaryPosSeqPowerTable = null;
 	protected List<String> transNetworkBoundaryBusIdList = null;
 	
+	/*
+	 * multi-source distribution system: the first boundary bus is the swing bus of the distribution power flow,
+	 * each of the other boundary buses is a source represented by a boundary current injection. The injection 
+	 * is corrected by the boundary voltage mismatch between the transmission and distribution solutions, through 
+	 * the Thevenin impedances of both systems at the boundary bus. The tables are keyed by the distribution 
+	 * boundary bus id.
+	 */
+	protected Hashtable<String,Complex3x1> distBoundary3SeqInjCurTable = null;
+	protected Hashtable<String,Complex> distBoundaryTheveninZTable = null;
+	protected Hashtable<String,Complex3x1> distBoundary3SeqVoltMismatchTable = null;
+	private Hashtable<String,Load3Phase> distBoundaryInjLoadTable = null;
+	private Hashtable<String,Complex> distBoundaryBaseLoadTable = null;
 	
 	
+	
+	// executor for solving the distribution networks concurrently, null for sequential solution
+	protected ExecutorService distNetExecutor = null;
+	
 	protected boolean pfFlag = true;
 	protected int iterationMax = 30;
 	protected double tolerance = 5.0E-4;
 	
 	private Hashtable<String,Complex3x1> lastStepTransBoundaryBus3SeqVoltages = null;
+	private Hashtable<String,Complex> lastStepDistBoundaryPosSeqPowerTable = null;
 	
 	
 	public TDMultiNetPowerflowAlgorithm(BaseAclfNetwork<? extends BaseAclfBus<?,?>, ? extends AclfBranch> tdNet, 
@@ -69,6 +96,13 @@ public class TDMultiNetPowerflowAlgorithm {
 		transNetworkBoundaryBusIdList  = new ArrayList<>();
 		
 		lastStepTransBoundaryBus3SeqVoltages  = new Hashtable<>();
+		lastStepDistBoundaryPosSeqPowerTable = new Hashtable<>();
+		
+		distBoundary3SeqInjCurTable = new Hashtable<>();
+		distBoundaryTheveninZTable = new Hashtable<>();
+		distBoundary3SeqVoltMismatchTable = new Hashtable<>();
+		distBoundaryInjLoadTable = new Hashtable<>();
+		distBoundaryBaseLoadTable = new Hashtable<>();
 		
 		this.transmissionNet = subNetProc.getExternalSubNetwork();
 		
@@ -84,6 +118,19 @@ public class TDMultiNetPowerflowAlgorithm {
 		
 	}
 	
+	/**
+	 * set the executor for solving the distribution network power flows concurrently. In each 
+	 * transmission-distribution iteration, the power flows of all distribution networks are solved 
+	 * in parallel, and all of them are completed before the transmission network solution. Since the 
+	 * distribution networks are independent for the given boundary bus voltages, the results are the 
+	 * same as the sequential solution. The executor is owned and shut down by the caller.
+	 * 
+	 * @param executor executor, null for sequential solution
+	 */
+	public void setDistributionNetworkExecutor(ExecutorService executor){
+		this.distNetExecutor = executor;
+	}
+	
 	public boolean powerflow() throws InterpssException{
 		
 		// set the interconnection tie-line created during the network splitting to be out-of-service
@@ -97,13 +144,14 @@ public class TDMultiNetPowerflowAlgorithm {
 		 * 1. network splitting should be performed before running power flow
 		 */
 		if(transmissionNet == null || this.distNetList == null){
-			throw new Error(" The network is not splitted yet!");
+			throw new InterpssRuntimeException(" The network is not splitted yet!");
 		}
 		
 		//TODO need to obtain the transmission network and distribution networks from the subNetworkProcessor 
 		
 		/*
-		 *  2.  set the boundary buses of distribution system as swing bus and their bus voltages to be unit voltages
+		 *  2.  set the first boundary bus of distribution system as swing bus and its bus voltage to be unit voltage,
+		 *      the other boundary buses of a multi-source distribution system are sources with zero initial current injection
 		 *
 		 *  3. run distribution power flow with unit swing bus voltages 
 		 *  
@@ -112,55 +160,25 @@ public class TDMultiNetPowerflowAlgorithm {
 		for(BaseAclfNetwork<?,?> distNet:this.distNetList){
 			List<String> boundaryList = subNetProcessor.getSubNet2BoundaryBusListTable().get(distNet.getId());
 			
-			if(boundaryList.size()!=1){
-				throw new Error(" Only one source bus for a distribution system is supported!");
+			if(boundaryList == null || boundaryList.isEmpty()){
+				throw new InterpssRuntimeException(" No source bus is defined for the distribution system # "+distNet.getId());
 			}
-			else{
-				BaseAclfBus<?,?> sourceBus = (BaseAclfBus<?,?>) distNet.getBus(boundaryList.get(0));
-				
-				distNetId2BoundaryBusTable.put(distNet.getId(), sourceBus.getId());
-				
-				sourceBus.setGenCode(AclfGenCode.SWING);
-				sourceBus.setVoltage(new Complex(1.0,0));
-				
-				DistributionPowerFlowAlgorithm distPFAlgo = ThreePhaseObjectFactory.createDistPowerFlowAlgorithm(distNet);
-
 			
-				if(!distPFAlgo.powerflow()){
-					throw new Error("Distribution system power flow is NOT converged! # "+distNet.getId());
-				}
-				
-				Complex3x1 currInj3Phase = new Complex3x1();
+			distNetId2BoundaryBusTable.put(distNet.getId(), new ArrayList<>(boundaryList));
+			
+			for(int k = 0; k < boundaryList.size(); k++){
+				BaseAclfBus<?,?> sourceBus = (BaseAclfBus<?,?>) distNet.getBus(boundaryList.get(k));
 				
-				for(Branch bra: sourceBus.getConnectedPhysicalBranchList()){
-					if(bra.isActive()){
-						Branch3Phase acLine = (Branch3Phase) bra;
-						
-						//NOTE the positive sign of branch current flow is fromBus->ToBus  
-						if(bra.getFromBus().getId().equals(sourceBus.getId())){
-							currInj3Phase = currInj3Phase.add(acLine.getCurrentAbcAtFromSide().multiply(-1));
-						}
-						else{
-							currInj3Phase = currInj3Phase.add(acLine.getCurrentAbcAtToSide());
-						}
-					}
+				if(k == 0){
+					sourceBus.setGenCode(AclfGenCode.SWING);
+					sourceBus.setVoltage(new Complex(1.0,0));
 				}
-				
-				// save the three-sequence current injection to the table
-				Complex3x1 currInj3Seq = currInj3Phase.to012();
-				
-				System.out.println("3seq current injection"+currInj3Seq.toString());
-				distBoundary3SeqCurInjTable.put(sourceBus.getId(), currInj3Phase.to012());
-				
-				Bus3Phase sourceBus3Ph = (Bus3Phase) sourceBus; 
-				
-				Complex posSeqPower = sourceBus3Ph.getThreeSeqVoltage().b_1.multiply(currInj3Seq.b_1.conjugate());
-				
-				System.out.println("pos seq power = "+posSeqPower.toString());
-				
-				distBoundaryPosSeqPowerTable.put(sourceBus.getId(), posSeqPower);
+				else
+					initBoundaryInjection((Bus3Phase) sourceBus);
 			}
 		}
+		
+		solveDistributionNetworks(true);
 			
 		
 		/*
@@ -188,21 +206,22 @@ public class TDMultiNetPowerflowAlgorithm {
 			   BaseAclfBus<?,?> transBoundaryBus = this.transmissionNet.getBus(transBoundaryBusId);
 			   
 			   if(transBoundaryBus == null){
-				   throw new Error("The tranmission network boundary bus is not found, ID: "+transBoundaryBusId);
+				   throw new InterpssRuntimeException("The tranmission network boundary bus is not found, ID: "+transBoundaryBusId);
 			   }
 			   else{
 				   
 				   
 				   //TODO assuming there is no loads at the boundary bus
 				   if(transBoundaryBus.getLoadPQ().abs()>0.0){
-					   throw new Error("The  boundary bus in the tranmission network cannot be a load bus: "+transBoundaryBusId);
+					   throw new InterpssRuntimeException("The  boundary bus in the tranmission network cannot be a load bus: "+transBoundaryBusId);
 				   }
 				   
 				   // represent the power flow into the boundary bus as "negative" load
 				   transBoundaryBus.setLoadPQ(e.getValue().multiply(-1.0));
 				   transBoundaryBus.setLoadCode(AclfLoadCode.CONST_P);
 				   
-				   transNetworkBoundaryBusIdList.add(transBoundaryBusId);
+				   if(!transNetworkBoundaryBusIdList.contains(transBoundaryBusId))
+					   transNetworkBoundaryBusIdList.add(transBoundaryBusId);
 			   }
 			   
 		   }
@@ -231,11 +250,10 @@ public class TDMultiNetPowerflowAlgorithm {
 		      
 		     
 		      transBoundaryBus3SeqVoltages = seqNetSolver.solveNegZeroSeqNetwork(transBoundary3SeqCurInjTable);
-		      
-		      
-		      
-		      
-		      
+	      
+		      // Thevenin impedances for correcting the current injections at the multi-source boundary buses
+		      calBoundaryTheveninZ();
+	      
 		      //-----------------------------------------------------------------------------------------
 		      //   Start the iterative solution of both transmission and distribution systems
 		      //-----------------------------------------------------------------------------------------
@@ -251,52 +269,11 @@ public class TDMultiNetPowerflowAlgorithm {
 			    * 
 			    */
 		    	  updateDistBoundaryBus3SeqVoltTable();
-		    	  
-		    	  for(BaseAclfNetwork<?,?> distNet:this.distNetList){
-		    		  Bus3Phase sourceBus3Ph = (Bus3Phase) distNet.getBus(distNetId2BoundaryBusTable.get(distNet.getId()));
-		    		  
-		    		  Complex3x1 vabc = this.distBoundaryBus3SeqVoltages.get(sourceBus3Ph.getId()).toABC();
-		    		  
-		    		  System.out.println("updated dist source bus vabc = "+vabc);
-		    		  sourceBus3Ph.set3PhaseVoltages(vabc);
-		    		  //manually update the positive sequence, since internally it won't be automatically updated.
-		    		  sourceBus3Ph.setVoltage(sourceBus3Ph.getThreeSeqVoltage().b_1);
-		    		  
-		    		  DistributionPowerFlowAlgorithm distPFAlgo = ThreePhaseObjectFactory.createDistPowerFlowAlgorithm(distNet);
-                      
-		    		  // use the voltages obtained from the last step and transmission system power flow results
-		    		  distPFAlgo.setInitBusVoltageEnabled(false);
-		    		  
-						if(!distPFAlgo.powerflow()){
-							throw new Error("Distribution system power flow is NOT converged! # "+distNet.getId());
-						}
-						
-					
-						Complex3x1 currInj3Phase = new Complex3x1();
-						
-						for(Branch bra: sourceBus3Ph.getConnectedPhysicalBranchList()){
-							if(bra.isActive()){
-								Branch3Phase acLine = (Branch3Phase) bra;
-								if(bra.getFromBus().getId().equals(sourceBus3Ph.getId())){
-									currInj3Phase = currInj3Phase.add(acLine.getCurrentAbcAtFromSide().multiply(-1));
-								}
-								else{
-									currInj3Phase = currInj3Phase.add(acLine.getCurrentAbcAtToSide());
-								}
-							}
-						}
-						
-						// save the three-sequence current injection to the table
-						Complex3x1 currInj3Seq = currInj3Phase.to012();
-						distBoundary3SeqCurInjTable.put(sourceBus3Ph.getId(), currInj3Phase.to012());
-						
-						System.out.println("3seq current injection:"+distBoundary3SeqCurInjTable.toString());
-						
-						Complex posSeqPower = sourceBus3Ph.getThreeSeqVoltage().b_1.multiply(currInj3Seq.b_1.conjugate());
-						
-						distBoundaryPosSeqPowerTable.put(sourceBus3Ph.getId(), posSeqPower);
-		    		  
-		    	  }
+	    	  
+		    	  // correct the current injections at the multi-source boundary buses by the last step voltage mismatches
+		    	  updateBoundaryInjections();
+	    	  
+		    	  solveDistributionNetworks(false);
 			   
 			       /*
 			        *  9.  represent the positive sequence current injections as constant power load
@@ -322,7 +299,7 @@ public class TDMultiNetPowerflowAlgorithm {
 					   BaseAclfBus<?,?> transBoundaryBus = this.transmissionNet.getBus(transBoundaryBusId);
 					   
 					   if(transBoundaryBus == null){
-						   throw new Error("The tranmission network boundary bus is not found, ID: "+transBoundaryBusId);
+						   throw new InterpssRuntimeException("The tranmission network boundary bus is not found, ID: "+transBoundaryBusId);
 					   }
 					   else{
 						   
@@ -359,25 +336,34 @@ public class TDMultiNetPowerflowAlgorithm {
 				      
 				    
 				    /*
-				     *  11. check convergence of the iteration by monitoring all the boundary buses
+				     *  11. check convergence of the iteration by monitoring all the boundary buses of all the 
+				     *      distribution systems, a boundary bus without the voltage of the last step is not converged. 
+				     *      The boundary power exchanges and, at the multi-source boundary buses, the voltage mismatches 
+				     *      between the transmission and distribution solutions are also checked.
 				     */
+			      
+				      this.pfFlag = i>0;
+			      
+				      if(!checkBoundaryMismatch())
+				    	  this.pfFlag = false;
 				      
-				      this.pfFlag = true;
-				      
-				      for( Entry<String, Complex3x1> e : transBoundaryBus3SeqVoltages.entrySet()){
-				    	  if(i>0){
-				    		  if(this.lastStepTransBoundaryBus3SeqVoltages.get(e.getKey()).subtract(e.getValue()).absMax() > this.tolerance){
-				    			  this.pfFlag = false;
-				    			  System.out.println("i = "+i+" TDPF not converge!");
-				    			  System.out.println("Last step transmission system boundary bus 3 seq voltage: \n"+e.getKey() +","+this.lastStepTransBoundaryBus3SeqVoltages.get(e.getKey()));
-				    			  System.out.println("Current step transmission system boundary bus 3 seq voltage: \n"+e.getKey() +","+e.getValue());
-				    		      
-				    		  }
+				      for(String boundaryId: transNetworkBoundaryBusIdList){
+				    	  Complex3x1 v3Seq = transBoundaryBus3SeqVoltages.get(boundaryId);
+				    	  if(v3Seq == null){
+				    		  throw new Error("The 3 seq voltage of the tranmission network boundary bus is not solved, ID: "+boundaryId);
+				    	  }
+				    	  
+				    	  Complex3x1 lastStepV3Seq = this.lastStepTransBoundaryBus3SeqVoltages.get(boundaryId);
+				    	  if(i>0 && (lastStepV3Seq == null || lastStepV3Seq.subtract(v3Seq).absMax() > this.tolerance)){
+				    		  this.pfFlag = false;
+				    		  System.out.println("i = "+i+" TDPF not converge!");
+				    		  System.out.println("Last step transmission system boundary bus 3 seq voltage: \n"+boundaryId +","+lastStepV3Seq);
+				    		  System.out.println("Current step transmission system boundary bus 3 seq voltage: \n"+boundaryId +","+v3Seq);
 				    	  }
-				    	  this.lastStepTransBoundaryBus3SeqVoltages.put(e.getKey(), e.getValue().clone());
+				    	  this.lastStepTransBoundaryBus3SeqVoltages.put(boundaryId, v3Seq.clone());
 				      }
 		    	     
-				      if (i>0 && this.pfFlag) {
+				      if (this.pfFlag) {
 				    	  // taking into account the 1 iteration at the initialization stage
 				    	  IpssLogger.getLogger().info(" Transmision&Distribution combined power flow converges after " + (i+2) +" iterations.");
 				    	  System.out.println(" Transmision&Distribution combined power flow converges after " + (i+2) +" iterations.");
@@ -411,6 +397,299 @@ public class TDMultiNetPowerflowAlgorithm {
 		return pfFlag;
 	}
 	
+	/**
+	 * run the power flows of all the distribution systems, in parallel if the distribution network executor 
+	 * is defined, and update the three-sequence current injection and the positive sequence power at all 
+	 * the boundary buses. The results are saved to the tables in the order of the distribution network list 
+	 * after all the distribution power flows have been completed.
+	 * 
+	 * @param initStage true for the initialization stage, where the source buses are at the unit voltages 
+	 */
+	private void solveDistributionNetworks(boolean initStage){
+		List<Hashtable<String,Complex3x1>> curInjTableList = new ArrayList<>();
+		
+		if(this.distNetExecutor == null || this.distNetList.size() <= 1){
+			for(BaseAclfNetwork<?,?> distNet:this.distNetList)
+				curInjTableList.add(solveDistributionNetwork(distNet, initStage));
+		}
+		else{
+			List<Future<Hashtable<String,Complex3x1>>> futureList = new ArrayList<>();
+			for(BaseAclfNetwork<?,?> distNet:this.distNetList)
+				futureList.add(this.distNetExecutor.submit(() -> solveDistributionNetwork(distNet, initStage)));
+			
+			// wait for all the distribution systems, the first error is reported after all tasks completed
+			Error err = null;
+			for(Future<Hashtable<String,Complex3x1>> f: futureList){
+				try {
+					curInjTableList.add(f.get());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new Error("Distribution system power flow interrupted");
+				} catch (ExecutionException e) {
+					if(err == null)
+						err = e.getCause() instanceof Error? (Error)e.getCause() :
+									new Error("Distribution system power flow error, " + e.getCause().toString());
+				}
+			}
+			if(err != null)
+				throw err;
+		}
+		
+		for(int k = 0; k < this.distNetList.size(); k++){
+			BaseAclfNetwork<?,?> distNet = this.distNetList.get(k);
+			for(Entry<String,Complex3x1> e: curInjTableList.get(k).entrySet()){
+				Bus3Phase sourceBus3Ph = (Bus3Phase) distNet.getBus(e.getKey());
+				Complex3x1 currInj3Seq = e.getValue();
+				
+				// save the three-sequence current injection to the table
+				distBoundary3SeqCurInjTable.put(sourceBus3Ph.getId(), currInj3Seq);
+				
+				System.out.println("3seq current injection @"+sourceBus3Ph.getId()+": "+currInj3Seq.toString());
+				
+				Complex posSeqPower = sourceBus3Ph.getThreeSeqVoltage().b_1.multiply(currInj3Seq.b_1.conjugate());
+				
+				distBoundaryPosSeqPowerTable.put(sourceBus3Ph.getId(), posSeqPower);
+			}
+		}
+	}
+	
+	/**
+	 * run the power flow of a distribution system and calculate the three-sequence current injections 
+	 * at its source buses. Only the objects of the distribution system are modified, so that the method 
+	 * can be performed for different distribution systems concurrently.
+	 * 
+	 * @param distNet distribution system
+	 * @param initStage true for the initialization stage, where the source buses are at the unit voltages
+	 * @return source bus id to the three-sequence current injection table
+	 */
+	private Hashtable<String,Complex3x1> solveDistributionNetwork(BaseAclfNetwork<?,?> distNet, boolean initStage){
+		List<String> sourceBusIdList = distNetId2BoundaryBusTable.get(distNet.getId());
+		
+		if(!initStage){
+			// update the three-phase voltages of source buses with the transmission system results
+			for(String sourceBusId: sourceBusIdList){
+				Complex3x1 v3Seq = this.distBoundaryBus3SeqVoltages.get(sourceBusId);
+				if(v3Seq == null){
+					throw new Error("The voltage of the distribution system source bus is not available, ID: "+sourceBusId);
+				}
+				
+				Bus3Phase sourceBus3Ph = (Bus3Phase) distNet.getBus(sourceBusId);
+				sourceBus3Ph.set3PhaseVoltages(v3Seq.toABC());
+				//manually update the positive sequence, since internally it won't be automatically updated.
+				sourceBus3Ph.setVoltage(sourceBus3Ph.getThreeSeqVoltage().b_1);
+			}
+		}
+		
+		DistributionPowerFlowAlgorithm distPFAlgo = ThreePhaseObjectFactory.createDistPowerFlowAlgorithm(distNet);
+		
+		// use the voltages obtained from the last step and transmission system power flow results
+		if(!initStage)
+			distPFAlgo.setInitBusVoltageEnabled(false);
+		
+		if(!distPFAlgo.powerflow()){
+			throw new Error("Distribution system power flow is NOT converged! # "+distNet.getId());
+		}
+		
+		Hashtable<String,Complex3x1> curInjTable = new Hashtable<>();
+		for(String sourceBusId: sourceBusIdList){
+			Bus3Phase sourceBus3Ph = (Bus3Phase) distNet.getBus(sourceBusId);
+			curInjTable.put(sourceBusId, calSourceBusCurrInj3Phase(sourceBus3Ph).to012());
+		}
+		return curInjTable;
+	}
+	
+	/**
+	 * calculate the three-phase current injection into the distribution system at the source bus
+	 * 
+	 * @param sourceBus3Ph
+	 * @return
+	 */
+	private Complex3x1 calSourceBusCurrInj3Phase(Bus3Phase sourceBus3Ph){
+		Complex3x1 currInj3Phase = new Complex3x1();
+		
+		for(Branch bra: sourceBus3Ph.getConnectedPhysicalBranchList()){
+			if(bra.isActive()){
+				Branch3Phase acLine = (Branch3Phase) bra;
+				
+				//NOTE the positive sign of branch current flow is fromBus->ToBus  
+				if(bra.getFromBus().getId().equals(sourceBus3Ph.getId())){
+					currInj3Phase = currInj3Phase.add(acLine.getCurrentAbcAtFromSide().multiply(-1));
+				}
+				else{
+					currInj3Phase = currInj3Phase.add(acLine.getCurrentAbcAtToSide());
+				}
+			}
+		}
+		return currInj3Phase;
+	}
+	
+	/**
+	 * initialize a non-swing source bus of a multi-source distribution system. The current injection of 
+	 * the source is applied as a negative three-phase load at the bus, and is zero initially.
+	 * 
+	 * @param sourceBus3Ph source bus
+	 */
+	private void initBoundaryInjection(Bus3Phase sourceBus3Ph){
+		String id = sourceBus3Ph.getId();
+		sourceBus3Ph.setGenCode(AclfGenCode.NON_GEN);
+		if(sourceBus3Ph.getLoadCode() == AclfLoadCode.NON_LOAD)
+			sourceBus3Ph.setLoadCode(AclfLoadCode.CONST_P);
+		
+		if(!this.distBoundaryInjLoadTable.containsKey(id)){
+			Load3Phase injLoad = new Load3PhaseImpl();
+			sourceBus3Ph.getThreePhaseLoadList().add(injLoad);
+			this.distBoundaryInjLoadTable.put(id, injLoad);
+			this.distBoundaryBaseLoadTable.put(id, sourceBus3Ph.getLoadPQ());
+		}
+		this.distBoundary3SeqInjCurTable.put(id, new Complex3x1());
+		setBoundaryInjectionLoad(sourceBus3Ph, new Complex3x1());
+	}
+	
+	/*
+	 * set the boundary injection load of a source bus, S = -V*conj(I) of each phase at the present bus voltage
+	 */
+	private void setBoundaryInjectionLoad(Bus3Phase sourceBus3Ph, Complex3x1 injCur3Seq){
+		Complex3x1 vabc = sourceBus3Ph.get3PhaseVotlages();
+		Complex3x1 iabc = injCur3Seq.toABC();
+		Complex3x1 sabc = new Complex3x1(vabc.a_0.multiply(iabc.a_0.conjugate()).negate(),
+				vabc.b_1.multiply(iabc.b_1.conjugate()).negate(),
+				vabc.c_2.multiply(iabc.c_2.conjugate()).negate());
+		this.distBoundaryInjLoadTable.get(sourceBus3Ph.getId()).set3PhaseLoad(sabc);
+		
+		// keep the positive sequence load of the bus consistent with the three-phase loads
+		Complex posSeqInj = sourceBus3Ph.getThreeSeqVoltage().b_1.multiply(injCur3Seq.b_1.conjugate());
+		sourceBus3Ph.setLoadPQ(this.distBoundaryBaseLoadTable.get(sourceBus3Ph.getId()).subtract(posSeqInj));
+	}
+	
+	/**
+	 * calculate the Thevenin impedance for correcting the current injection at each non-swing boundary bus 
+	 * of the multi-source distribution systems. It is the sum of the positive sequence driving point impedances, 
+	 * at the boundary bus, of the transmission system and of the distribution system with its swing boundary 
+	 * bus grounded.
+	 */
+	private void calBoundaryTheveninZ(){
+		ISparseEqnComplex transYMatrix = null;
+		for(BaseAclfNetwork<?,?> distNet:this.distNetList){
+			List<String> boundaryList = this.distNetId2BoundaryBusTable.get(distNet.getId());
+			if(boundaryList.size() <= 1)
+				continue;
+			
+			if(transYMatrix == null)
+				transYMatrix = factorizedPosSeqYMatrix((BaseAcscNetwork<?,?>) this.transmissionNet, -1);
+			ISparseEqnComplex distYMatrix = factorizedPosSeqYMatrix((BaseAcscNetwork<?,?>) distNet, 
+							distNet.getBus(boundaryList.get(0)).getSortNumber());
+			
+			for(int k = 1; k < boundaryList.size(); k++){
+				String distBoundaryBusId = boundaryList.get(k);
+				Complex zTrans = drivingPointZ(transYMatrix, 
+						this.transmissionNet.getBus(toTransBoundaryBusId(distBoundaryBusId)).getSortNumber());
+				Complex zDist = drivingPointZ(distYMatrix, distNet.getBus(distBoundaryBusId).getSortNumber());
+				this.distBoundaryTheveninZTable.put(distBoundaryBusId, zTrans.add(zDist));
+			}
+		}
+	}
+	
+	/*
+	 * form and factorize the positive sequence Y-matrix, the bus of groundedBusSortNum (if >= 0) is grounded
+	 */
+	private ISparseEqnComplex factorizedPosSeqYMatrix(BaseAcscNetwork<?,?> net, int groundedBusSortNum){
+		ISparseEqnComplex ymatrix = net.formScYMatrix(SequenceCode.POSITIVE, false);
+		if(groundedBusSortNum >= 0)
+			ymatrix.addToA(NumericConstant.LargeBusZ, groundedBusSortNum, groundedBusSortNum);
+		try {
+			ymatrix.factorization(1.0E-10);
+		} catch (IpssNumericException e) {
+			throw new Error("Boundary Thevenin impedance calculation error, " + e.toString());
+		}
+		return ymatrix;
+	}
+	
+	private Complex drivingPointZ(ISparseEqnComplex ymatrix, int sortNum){
+		ymatrix.setB2Unity(sortNum);
+		try {
+			ymatrix.solveEqn();
+		} catch (IpssNumericException e) {
+			throw new Error("Boundary Thevenin impedance calculation error, " + e.toString());
+		}
+		return ymatrix.getX(sortNum);
+	}
+	
+	/**
+	 * correct the current injection at each non-swing boundary bus of the multi-source distribution systems 
+	 * by the boundary voltage mismatch of the last step, dI = (Vtrans - Vdist)/(Zth,trans + Zth,dist), and update 
+	 * the boundary injection loads. Performed in the calling thread before the distribution power flows.
+	 */
+	private void updateBoundaryInjections(){
+		for(BaseAclfNetwork<?,?> distNet:this.distNetList){
+			List<String> boundaryList = this.distNetId2BoundaryBusTable.get(distNet.getId());
+			for(int k = 1; k < boundaryList.size(); k++){
+				String id = boundaryList.get(k);
+				Complex3x1 injCur = this.distBoundary3SeqInjCurTable.get(id);
+				Complex3x1 dv = this.distBoundary3SeqVoltMismatchTable.get(id);
+				if(dv != null){
+					Complex z = this.distBoundaryTheveninZTable.get(id);
+					injCur = new Complex3x1(injCur.a_0.add(dv.a_0.divide(z)), injCur.b_1.add(dv.b_1.divide(z)), 
+							injCur.c_2.add(dv.c_2.divide(z)));
+					this.distBoundary3SeqInjCurTable.put(id, injCur);
+				}
+				setBoundaryInjectionLoad((Bus3Phase) distNet.getBus(id), injCur);
+			}
+		}
+	}
+	
+	/**
+	 * check the boundary power exchange changes at all the boundary buses and the voltage mismatches at the 
+	 * non-swing boundary buses of the multi-source distribution systems. The voltage mismatches are saved for 
+	 * correcting the current injections in the next step.
+	 * 
+	 * @return true if all the mismatches are within the tolerance
+	 */
+	private boolean checkBoundaryMismatch(){
+		boolean converged = true;
+		for(Entry<String,Complex> e: this.distBoundaryPosSeqPowerTable.entrySet()){
+			Complex lastStepPower = this.lastStepDistBoundaryPosSeqPowerTable.put(e.getKey(), e.getValue());
+			if(lastStepPower == null || lastStepPower.subtract(e.getValue()).abs() > this.tolerance)
+				converged = false;
+		}
+		
+		for(BaseAclfNetwork<?,?> distNet:this.distNetList){
+			List<String> boundaryList = this.distNetId2BoundaryBusTable.get(distNet.getId());
+			for(int k = 1; k < boundaryList.size(); k++){
+				String id = boundaryList.get(k);
+				Complex3x1 vTrans = this.transBoundaryBus3SeqVoltages.get(toTransBoundaryBusId(id));
+				Complex3x1 vDist = ((Bus3Phase) distNet.getBus(id)).getThreeSeqVoltage();
+				Complex3x1 dv = vTrans.subtract(vDist);
+				this.distBoundary3SeqVoltMismatchTable.put(id, dv);
+				if(dv.absMax() > this.tolerance)
+					converged = false;
+			}
+		}
+		return converged;
+	}
+	
+	private static String toTransBoundaryBusId(String distBoundaryBusId){
+		return distBoundaryBusId.contains("Dummy")? distBoundaryBusId.replace("Dummy", "") : distBoundaryBusId+"Dummy";
+	}
+	
+	/**
+	 * get the current injections at the non-swing source buses of the multi-source distribution systems
+	 * 
+	 * @return distribution boundary bus id to the three-sequence current injection table
+	 */
+	public Hashtable<String,Complex3x1> getDistBoundary3SeqInjCurTable(){
+		return this.distBoundary3SeqInjCurTable;
+	}
+	
+	/**
+	 * get the voltage mismatches, transmission minus distribution solution, at the non-swing source buses 
+	 * of the multi-source distribution systems
+	 * 
+	 * @return distribution boundary bus id to the three-sequence voltage mismatch table
+	 */
+	public Hashtable<String,Complex3x1> getDistBoundary3SeqVoltMismatchTable(){
+		return this.distBoundary3SeqVoltMismatchTable;
+	}
+	
 	private Hashtable<String, Complex3x1> updateDistBoundaryBus3SeqVoltTable(){
 		
 		for(Entry<String,Complex3x1> e: transBoundaryBus3SeqVoltages .entrySet()){
@@ -1,7 +1,12 @@
 package org.ipss.multiNet.equivalent;
 
+import java.util.ArrayList;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.math3.complex.Complex;
 import org.interpss.numeric.datatype.Complex3x1;
@@ -14,25 +19,51 @@ import org.ipss.multiNet.algo.SubNetworkProcessor;
 import org.ipss.threePhase.dynamic.DStabNetwork3Phase;
 
 import com.interpss.common.datatype.Constants;
+import com.interpss.common.util.IpssLogger;
 import com.interpss.core.aclf.BaseAclfBus;
 import com.interpss.core.acsc.SequenceCode;
 import com.interpss.core.net.NetCoordinate;
 import com.interpss.core.net.NetEquivType;
-import com.interpss.dstab.BaseDStabBus;
 import com.interpss.dstab.BaseDStabNetwork;
 
+/**
+ * Thevenin equivalent calculation of the subnetworks at the boundary buses.
+ * 
+ * The equivalent impedance matrix is computed by unit current injections at the boundary buses. The Y-matrix of each 
+ * (sequence) network is factorized once and the unit injections of all boundary buses are solved as a block using the 
+ * factorization, with the boundary bus sort numbers looked up only once. The blocks of different subnetworks and 
+ * sequence networks are independent, they could be solved concurrently by an executor. The Y-matrices are formed and 
+ * factorized in the calling thread, since forming the matrices changes the network objects.
+ *
+ */
 public class NetworkEquivUtil {
 	
 	
 	public static Hashtable<String, NetworkEquivalent> calMultiNetPosSeqTheveninEquiv( SubNetworkProcessor subNetProc){
+		return calMultiNetPosSeqTheveninEquiv(subNetProc, null);
+	}
+	
+	/**
+	 * calculate the positive sequence Thevenin equivalent of all subnetworks
+	 * 
+	 * @param subNetProc subnetwork processor
+	 * @param executor executor for solving the subnetworks concurrently, null for sequential solution
+	 * @return subnetwork id to Thevenin equivalent table
+	 */
+	public static Hashtable<String, NetworkEquivalent> calMultiNetPosSeqTheveninEquiv( SubNetworkProcessor subNetProc, ExecutorService executor){
 		   
-		Hashtable<String,NetworkEquivalent> netEquivTable = new Hashtable<>();
-		
-		
-		for(BaseDStabNetwork<?,?> subNet:subNetProc.getSubNetworkList()){
-			NetworkEquivalent equiv = calPosSeqNetworkTheveninEquiv(subNet,subNetProc.getSubNet2BoundaryBusListTable().get(subNet.getId()));
-			netEquivTable.put(subNet.getId(), equiv);
+		List<BaseDStabNetwork<?,?>> subNetList = subNetProc.getSubNetworkList();
+		List<Callable<Complex[][]>> taskList = new ArrayList<>();
+		for(BaseDStabNetwork<?,?> subNet:subNetList){
+			ISparseEqnComplex ymatrix = getFactorizedPosSeqYMatrix(subNet);
+			int[] boundaryIdx = getBoundaryBusSortNumbers(subNet, subNetProc.getSubNet2BoundaryBusListTable().get(subNet.getId()));
+			taskList.add(() -> solveUnitInjection(ymatrix, boundaryIdx));
 		}
+		List<Complex[][]> zList = runTasks(taskList, executor);
+		
+		Hashtable<String,NetworkEquivalent> netEquivTable = new Hashtable<>();
+		for(int k = 0; k < subNetList.size(); k++)
+			netEquivTable.put(subNetList.get(k).getId(), createPosSeqEquiv(zList.get(k)));
 		
 		return netEquivTable;
 		
@@ -40,28 +71,51 @@ public class NetworkEquivUtil {
 	
 	
 	public static Hashtable<String, NetworkEquivalent> calMultiNet3ph3SeqTheveninEquiv( SubNetworkProcessor subNetProc, List<String> threePhaseSubNetIdList ){
+		return calMultiNet3ph3SeqTheveninEquiv(subNetProc, threePhaseSubNetIdList, null);
+	}
+	
+	/**
+	 * calculate the three-phase Thevenin equivalent of the three-phase modeling subnetworks, and three-sequence 
+	 * equivalent of the others. Both are in the three-sequence coordinate.
+	 * 
+	 * @param subNetProc subnetwork processor
+	 * @param threePhaseSubNetIdList three-phase modeling subnetwork id list
+	 * @param executor executor for solving the subnetworks and sequence networks concurrently, null for sequential solution
+	 * @return subnetwork id to Thevenin equivalent table
+	 */
+	public static Hashtable<String, NetworkEquivalent> calMultiNet3ph3SeqTheveninEquiv( SubNetworkProcessor subNetProc, List<String> threePhaseSubNetIdList, 
+			                   ExecutorService executor){
 		   
-		Hashtable<String,NetworkEquivalent> netEquivTable = new Hashtable<>();
+		List<BaseDStabNetwork<?,?>> subNetList = subNetProc.getSubNetworkList();
 		
-		NetworkEquivalent equiv = null;
-		for(BaseDStabNetwork<?,?> subNet:subNetProc.getSubNetworkList()){
-			if(threePhaseSubNetIdList!= null){
-				if(threePhaseSubNetIdList.contains(subNet.getId())){
-					if(subNet instanceof DStabNetwork3Phase){
-					       equiv = cal3PhaseNetworkTheveninEquiv((DStabNetwork3Phase) subNet,subNetProc.getSubNet2BoundaryBusListTable().get(subNet.getId()));
-					       
-					       //System.out.println(MatrixUtil.complex3x32DAry2String(equiv.getMatrix3x3()));
-					       //this 3phase-to-3seq transformation is only performed on the Zth part
-					       equiv = equiv.transformCoordinate(NetCoordinate.THREE_SEQUENCE);
-					}
-					else
-						throw new Error(" The subnetwork for creating 3Phase Network Thevenin Equiv is not a DStabNetwork3Phase object");
-				}
-				else
-					equiv = cal3SeqNetworkTheveninEquiv(subNet,subNetProc.getSubNet2BoundaryBusListTable().get(subNet.getId()));
+		// one task for a three-phase subnetwork, three tasks (positive, negative and zero sequence) for a three-sequence subnetwork
+		List<Callable<Complex[][]>> taskList = new ArrayList<>();
+		for(BaseDStabNetwork<?,?> subNet:subNetList){
+			List<String> boundaryBusIdList = subNetProc.getSubNet2BoundaryBusListTable().get(subNet.getId());
+			if(threePhaseSubNetIdList!= null && threePhaseSubNetIdList.contains(subNet.getId())){
+				if(!(subNet instanceof DStabNetwork3Phase))
+					throw new Error(" The subnetwork for creating 3Phase Network Thevenin Equiv is not a DStabNetwork3Phase object");
+				ISparseEqnComplexMatrix3x3 ymatrix = getFactorizedYMatrixABC((DStabNetwork3Phase) subNet);
+				int[] boundaryIdx = getBoundaryBusSortNumbers(subNet, boundaryBusIdList);
+				taskList.add(() -> solveUnitInjection(ymatrix, boundaryIdx));
+			}
+			else
+				add3SeqTasks(subNet, boundaryBusIdList, taskList);
+		}
+		List<Complex[][]> zList = runTasks(taskList, executor);
+		
+		Hashtable<String,NetworkEquivalent> netEquivTable = new Hashtable<>();
+		int k = 0;
+		for(BaseDStabNetwork<?,?> subNet:subNetList){
+			NetworkEquivalent equiv = null;
+			if(threePhaseSubNetIdList!= null && threePhaseSubNetIdList.contains(subNet.getId())){
+				equiv = create3PhaseEquiv(zList.get(k++));
+				//this 3phase-to-3seq transformation is only performed on the Zth part
+				equiv = equiv.transformCoordinate(NetCoordinate.THREE_SEQUENCE);
 			}
 			else{
-				equiv = cal3SeqNetworkTheveninEquiv(subNet,subNetProc.getSubNet2BoundaryBusListTable().get(subNet.getId()));
+				equiv = create3SeqEquiv(zList.get(k), zList.get(k+1), zList.get(k+2));
+				k += 3;
 			}
 			netEquivTable.put(subNet.getId(), equiv);
 		}
@@ -73,6 +127,67 @@ public class NetworkEquivUtil {
 	
 	public static  NetworkEquivalent calPosSeqNetworkTheveninEquiv(BaseDStabNetwork<?,?> net, List<String> boundaryBusIdList){
 		
+		ISparseEqnComplex ymatrix = getFactorizedPosSeqYMatrix(net);
+		
+		// solve YV=I with only unit current injection at one boundary bus
+		return createPosSeqEquiv(solveUnitInjection(ymatrix, getBoundaryBusSortNumbers(net, boundaryBusIdList)));
+		
+	}
+	
+	public static  NetworkEquivalent cal3SeqNetworkTheveninEquiv(BaseDStabNetwork<?,?> net, List<String> boundaryBusIdList){
+		return cal3SeqNetworkTheveninEquiv(net, boundaryBusIdList, null);
+	}
+	
+	/**
+	 * calculate the three-sequence Thevenin equivalent of the network, the three sequence networks are solved
+	 * concurrently if the executor is defined. 
+	 * 
+	 * @param net network
+	 * @param boundaryBusIdList boundary bus id list
+	 * @param executor executor, null for sequential solution
+	 * @return
+	 */
+	public static  NetworkEquivalent cal3SeqNetworkTheveninEquiv(BaseDStabNetwork<?,?> net, List<String> boundaryBusIdList, 
+			                   ExecutorService executor){
+		
+		// calculate three seq thevein equivalent impedance matrices
+		List<Callable<Complex[][]>> taskList = new ArrayList<>();
+		add3SeqTasks(net, boundaryBusIdList, taskList);
+		List<Complex[][]> zList = runTasks(taskList, executor);
+		
+		return create3SeqEquiv(zList.get(0), zList.get(1), zList.get(2));
+		
+	}
+	
+	
+public static  NetworkEquivalent cal3PhaseNetworkTheveninEquiv(DStabNetwork3Phase net, List<String> boundaryBusIdList){
+		
+		ISparseEqnComplexMatrix3x3 ymatrix = getFactorizedYMatrixABC(net);
+		
+		// solve YV=I with only unit current injection at one boundary bus phase
+		return create3PhaseEquiv(solveUnitInjection(ymatrix, getBoundaryBusSortNumbers(net, boundaryBusIdList)));
+		
+	}
+	
+	/**
+	 * calculate the sequence impedance matrix related to those boundary buses
+	 * 
+	 * @param boundaryBusIdAry
+	 * @param code
+	 * @return  a Complex[][] matrix corresponding to the order in the boundaryBusIdAry
+	 * @throws IpssNumericException 
+	 */
+	public  static Complex[][] calcInterfaceSeqZMatrix(BaseDStabNetwork<?,?> net,SequenceCode code,List<String> boundaryBusIdList){
+		
+		ISparseEqnComplex seqYmatrixEqn = getSeqYMatrix(net, code);
+		return solveUnitInjection(seqYmatrixEqn, getBoundaryBusSortNumbers(net, boundaryBusIdList));
+	}
+	
+	/*
+	 * 	Y-matrix preparation, performed in the calling thread
+	 */
+	
+	private static ISparseEqnComplex getFactorizedPosSeqYMatrix(BaseDStabNetwork<?,?> net){
 		ISparseEqnComplex ymatrix = net.getYMatrix();
 		if(ymatrix==null){
 			ymatrix = net.formScYMatrix(SequenceCode.POSITIVE,false);
@@ -87,84 +202,11 @@ public class NetworkEquivUtil {
 				e.printStackTrace();
 			}
 		}
-		
-		// solve YV=I with only unit current injection at one boundary bus
-		int dim = boundaryBusIdList.size();
-		
-		NetworkEquivalent netEquiv = null;
-		
-		if(dim>0){
-			netEquiv = new NetworkEquivalent(dim);
-			//ymatrix.setB2Zero();
-			int i=0;
-			for(String busId:boundaryBusIdList){
-				BaseDStabBus<?,?> bus = net.getBus(busId);
-				ymatrix.setB2Unity(bus.getSortNumber());
-				try {
-					ymatrix.solveEqn();
-				} catch (IpssNumericException e) {
-					// TODO Auto-generated catch block
-					e.printStackTrace();
-				}
-				int j=0;
-				for(String busId2:boundaryBusIdList){
-				    Complex zji= ymatrix.getX(net.getBus(busId2).getSortNumber());
-				    netEquiv.getComplexEqn().setAij(zji, j, i);  // zji = Vj/Ii
-				    j++;
-				     
-				}
-				i++;
-			}
-			
-		}
-		else
-			throw new Error("no boundary bus defined in the input BusIdList");
-		
-		
-		return netEquiv;
-		
-	}
-	
-	public static  NetworkEquivalent cal3SeqNetworkTheveninEquiv(BaseDStabNetwork<?,?> net, List<String> boundaryBusIdList){
-		
-		// calculate three seq thevein equivalent impedance matrices
-			Complex[][] posSeqZMatrix  = calcInterfaceSeqZMatrix( net,SequenceCode.POSITIVE,boundaryBusIdList);
-			
-			Complex[][] negSeqZMatrix  = calcInterfaceSeqZMatrix( net,SequenceCode.NEGATIVE,boundaryBusIdList);
-			
-			Complex[][] zeroSeqZMatrix  = calcInterfaceSeqZMatrix( net,SequenceCode.ZERO,boundaryBusIdList);
-		  
-		// form the 3-seq Thevenin Equiv impedance matrix as a block matrix, with zij = diag([zij(1) zij(2) zij(0)]) 
-		
-		 int dim =  boundaryBusIdList.size();
-		 
-		 
-		 NetworkEquivalent netEquiv = null;
-		
-		 //TODO change to use Complex3x3 to store;
-		 if(dim>0){
-				netEquiv = new NetworkEquivalent(dim);
-				netEquiv.setEquivCoordinate(NetCoordinate.THREE_SEQUENCE);
-		 
-				 Complex3x3[][] Z120Matrix = MatrixUtil.createComplex3x32DArray(dim,dim);
-				    for(int i=0;i<dim;i++){
-				    	for(int j=0;j<dim;j++){
-				    		Z120Matrix[i][j] = new Complex3x3(posSeqZMatrix[i][j],negSeqZMatrix[i][j],zeroSeqZMatrix[i][j]);   
-				    	}     
-				  }
-				 
-				 
-				 netEquiv.setMatrix3x3(Z120Matrix); 
-		    
-		}
-		return netEquiv;
-		
+		return ymatrix;
 	}
 	
-	
-public static  NetworkEquivalent cal3PhaseNetworkTheveninEquiv(DStabNetwork3Phase net, List<String> boundaryBusIdList){
-		
-	 ISparseEqnComplexMatrix3x3 ymatrix = net.getYMatrixABC();
+	private static ISparseEqnComplexMatrix3x3 getFactorizedYMatrixABC(DStabNetwork3Phase net){
+		ISparseEqnComplexMatrix3x3 ymatrix = net.getYMatrixABC();
 		if(ymatrix==null){
 			try {
 				ymatrix = net.formYMatrixABC();
@@ -173,8 +215,6 @@ public static  NetworkEquivalent cal3PhaseNetworkTheveninEquiv(DStabNetwork3Phas
 			}
 		}
 		
-		//System.out.println(ymatrix.getSparseEqnComplex());
-		
 		if(net.isYMatrixDirty()){
 			try {
 				ymatrix.factorization(1.0E-10);
@@ -183,151 +223,211 @@ public static  NetworkEquivalent cal3PhaseNetworkTheveninEquiv(DStabNetwork3Phas
 				e.printStackTrace();
 			}
 		}
+		return ymatrix;
+	}
+	
+	private static ISparseEqnComplex getSeqYMatrix(BaseDStabNetwork<?,?> net,SequenceCode code){
+		ISparseEqnComplex seqYmatrixEqn = null;
 		
-		// solve YV=I with only unit current injection at one boundary bus
-		int dim = boundaryBusIdList.size()*3;
-		
-		NetworkEquivalent netEquiv = null;
-		
-		if(dim>0){
-			netEquiv = new NetworkEquivalent(dim);
-			netEquiv.setEquivCoordinate(NetCoordinate.THREE_PHASE);
-			netEquiv.setType(NetEquivType.THEVENIN);
+		if(net.isPositiveSeqDataOnly() && (code.equals(SequenceCode.NEGATIVE) ||code.equals(SequenceCode.ZERO)) ){
+            throw new Error ("The network does not include negative or zero sequence");
+		}
 			
-			int i=0;
-			for(String busId:boundaryBusIdList){
-				BaseDStabBus<?,?> bus = net.getBus(busId);
-				//System.out.println(bus.getId()+","+bus.getSortNumber());
-				
-				
-				// consider all three phases, one time for each
-				for(int phaseIdx = 0;phaseIdx<3;phaseIdx++){
-						
-						Complex3x1 bi =new Complex3x1(new Complex(1,0), new Complex(0,0),new Complex(0,0));
-						if(phaseIdx==1)
-							  bi =new Complex3x1(new Complex(0,0), new Complex(1,0),new Complex(0,0));
-						
-						else if(phaseIdx==2)
-							  bi =new Complex3x1(new Complex(0,0), new Complex(0,0),new Complex(1,0));
-						
-						// reset the B vector to zero every time before setting new Bi
-						ymatrix.setB2Zero();
-						ymatrix.setBi(bi,  bus.getSortNumber());
+		switch (code) {
+		case ZERO:
+			if(net.getZeroSeqYMatrix()==null)
+			    seqYmatrixEqn = net.formScYMatrix(SequenceCode.ZERO,true);
+			else
+				seqYmatrixEqn = net.getZeroSeqYMatrix();
+			break;
+        
+		case NEGATIVE:	
+			
+			//setBoundaryGenLoadInactive();
+			if(net.getNegSeqYMatrix()==null)
+			     seqYmatrixEqn =net.formScYMatrix(SequenceCode.NEGATIVE,true);
+			else
+				 seqYmatrixEqn = net.getNegSeqYMatrix();
+			break;
+			
+		default:
+			     if(net.getYMatrix() == null)
+				    seqYmatrixEqn = net.formScYMatrix(SequenceCode.POSITIVE,true);
+			     else{
+			    	 seqYmatrixEqn = net.getYMatrix();
+			    	 
+			    	 if(net.isYMatrixDirty()){
 						try {
-							ymatrix.solveEqn();
+							seqYmatrixEqn.factorization(Constants.Matrix_LU_Tolerance);
 						} catch (IpssNumericException e) {
 							e.printStackTrace();
 						}
-						
-						
-						int j=0;
-						
-						//TODO this part can be changed to use the Complex3x3 as basic storage element.
-						for(String busId2:boundaryBusIdList){
-						    Complex3x1 zji= ymatrix.getX(net.getBus(busId2).getSortNumber());
-						    netEquiv.getComplexEqn().setAij(zji.a_0, 3*j, 3*i+phaseIdx); //zji(a_phase)
-						    netEquiv.getComplexEqn().setAij(zji.b_1, 3*j+1, 3*i+phaseIdx);//zji(b_phase)
-						    netEquiv.getComplexEqn().setAij(zji.c_2, 3*j+2, 3*i+phaseIdx);//zji(c_phase)
-						    j++;
-						     
-						}
-				}
-				i++;
-			}
-			
-			// post-processing
-			netEquiv.transMatrixTo3x3BlockMatrix();
-		
+			    	 }
+			    	 
+			     }
+			    	 
 		}
-		else
-			throw new Error("no boundary bus defined in the input BusIdList");
-		
+		return seqYmatrixEqn;
+	}
 	
-		return netEquiv;
-		
+	private static void add3SeqTasks(BaseDStabNetwork<?,?> net, List<String> boundaryBusIdList, List<Callable<Complex[][]>> taskList){
+		int[] boundaryIdx = getBoundaryBusSortNumbers(net, boundaryBusIdList);
+		for(SequenceCode code: new SequenceCode[]{SequenceCode.POSITIVE, SequenceCode.NEGATIVE, SequenceCode.ZERO}){
+			ISparseEqnComplex seqYmatrixEqn = getSeqYMatrix(net, code);
+			taskList.add(() -> solveUnitInjection(seqYmatrixEqn, boundaryIdx));
+		}
+	}
+	
+	private static int[] getBoundaryBusSortNumbers(BaseDStabNetwork<?,?> net, List<String> boundaryBusIdList){
+		int[] idx = new int[boundaryBusIdList.size()];
+		for(int i = 0; i < idx.length; i++){
+			BaseAclfBus<?,?> bus = net.getBus(boundaryBusIdList.get(i));
+			idx[i] = bus.getSortNumber();
+		}
+		return idx;
 	}
 	
+	/*
+	 * 	Unit injection block solution, thread-safe as long as each Y-matrix is used by one task
+	 */
+	
 	/**
-	 * calculate the sequence impedance matrix related to those boundary buses
+	 * solve the unit current injections at the boundary buses with the factorized Y-matrix
 	 * 
-	 * @param boundaryBusIdAry
-	 * @param code
-	 * @return  a Complex[][] matrix corresponding to the order in the boundaryBusIdAry
-	 * @throws IpssNumericException 
+	 * @param ymatrix factorized Y-matrix
+	 * @param boundaryIdx boundary bus sort numbers
+	 * @return  z[j][i] = Vj/Ii
 	 */
-	public  static Complex[][] calcInterfaceSeqZMatrix(BaseDStabNetwork<?,?> net,SequenceCode code,List<String> boundaryBusIdList){
-		
-		Complex[][] seqZMatrix = null;
-		ISparseEqnComplex seqYmatrixEqn = null;
-		
-		if(net.isPositiveSeqDataOnly() && (code.equals(SequenceCode.NEGATIVE) ||code.equals(SequenceCode.ZERO)) ){
-            throw new Error ("The network does not include negative or zero sequence");
-		}
-		else{
-			int dim =boundaryBusIdList.size();
-			seqZMatrix = new Complex[dim][dim]; 
-			
-			switch (code) {
-			case ZERO:
-				if(net.getZeroSeqYMatrix()==null)
-				    seqYmatrixEqn = net.formScYMatrix(SequenceCode.ZERO,true);
-				else
-					seqYmatrixEqn = net.getZeroSeqYMatrix();
-				break;
-	        
-			case NEGATIVE:	
-				
-				//setBoundaryGenLoadInactive();
-				if(net.getNegSeqYMatrix()==null)
-				     seqYmatrixEqn =net.formScYMatrix(SequenceCode.NEGATIVE,true);
-				else
-					 seqYmatrixEqn = net.getNegSeqYMatrix();
-				break;
-				
-			default:
-				     if(net.getYMatrix() == null)
-					    seqYmatrixEqn = net.formScYMatrix(SequenceCode.POSITIVE,true);
-				     else{
-				    	 seqYmatrixEqn = net.getYMatrix();
-				    	 
-				    	 if(net.isYMatrixDirty()){
-							try {
-								seqYmatrixEqn.factorization(Constants.Matrix_LU_Tolerance);
-							} catch (IpssNumericException e) {
-								e.printStackTrace();
-							}
-				    	 }
-				    	 
-				     }
-				    	 
+	private static Complex[][] solveUnitInjection(ISparseEqnComplex ymatrix, int[] boundaryIdx){
+		int dim = boundaryIdx.length;
+		Complex[][] z = new Complex[dim][dim];
+		for(int i = 0;i<dim;i++){
+			ymatrix.setB2Unity(boundaryIdx[i]); //unit current injection at bus of Idx only, the rest are zero
+			try {
+				ymatrix.solveEqn();
+			} catch (IpssNumericException e) {
+				e.printStackTrace();
 			}
-		
-		
-				for(int i = 0;i<dim;i++){
-					String busId =boundaryBusIdList.get(i);
-					BaseAclfBus<?,?> bus = net.getBus(busId);
-					int idx = bus.getSortNumber();
-					seqYmatrixEqn.setB2Unity(idx); //unit current injection at bus of Idx only, the rest are zero
-					try {
-						 seqYmatrixEqn.solveEqn();
-					} catch (IpssNumericException e) {
-						
-						e.printStackTrace();
-					}
+			for(int j=0;j<dim;j++)
+				z[j][i]=ymatrix.getX(boundaryIdx[j]);
+		}
+		return z;
+	}
 	
+	/**
+	 * solve the unit current injections at the phases of the boundary buses with the factorized three-phase Y-matrix
+	 * 
+	 * @param ymatrix factorized three-phase Y-matrix
+	 * @param boundaryIdx boundary bus sort numbers
+	 * @return  z[3j+q][3i+p] = Vj(q)/Ii(p)
+	 */
+	private static Complex[][] solveUnitInjection(ISparseEqnComplexMatrix3x3 ymatrix, int[] boundaryIdx){
+		int dim = boundaryIdx.length;
+		Complex[][] z = new Complex[3*dim][3*dim];
+		Complex3x1[] unitAry = {
+				new Complex3x1(new Complex(1,0), new Complex(0,0),new Complex(0,0)),
+				new Complex3x1(new Complex(0,0), new Complex(1,0),new Complex(0,0)),
+				new Complex3x1(new Complex(0,0), new Complex(0,0),new Complex(1,0))};
+		for(int i = 0;i<dim;i++){
+			// consider all three phases, one time for each
+			for(int phaseIdx = 0;phaseIdx<3;phaseIdx++){
+				// reset the B vector to zero every time before setting new Bi
+				ymatrix.setB2Zero();
+				ymatrix.setBi(unitAry[phaseIdx], boundaryIdx[i]);
+				try {
+					ymatrix.solveEqn();
+				} catch (IpssNumericException e) {
+					e.printStackTrace();
+				}
 				
-					for(int j=0;j<dim;j++){
-						busId = boundaryBusIdList.get(j);
-						BaseAclfBus<?,?> busj = net.getBus(busId);
-						seqZMatrix[j][i]=seqYmatrixEqn.getX(busj.getSortNumber());
-					}
-						
-					
+				for(int j=0;j<dim;j++){
+				    Complex3x1 zji= ymatrix.getX(boundaryIdx[j]);
+				    z[3*j][3*i+phaseIdx] = zji.a_0;   //zji(a_phase)
+				    z[3*j+1][3*i+phaseIdx] = zji.b_1; //zji(b_phase)
+				    z[3*j+2][3*i+phaseIdx] = zji.c_2; //zji(c_phase)
 				}
+			}
 		}
-		return seqZMatrix; 
+		return z;
+	}
+	
+	/**
+	 * run the tasks, concurrently if the executor is defined, and return the results in the task order 
+	 */
+	private static List<Complex[][]> runTasks(List<Callable<Complex[][]>> taskList, ExecutorService executor){
+		List<Complex[][]> resultList = new ArrayList<>();
+		try {
+			if(executor == null || taskList.size() <= 1){
+				for(Callable<Complex[][]> task: taskList)
+					resultList.add(task.call());
+			}
+			else{
+				for(Future<Complex[][]> f: executor.invokeAll(taskList))
+					resultList.add(f.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new Error("Thevenin equivalent calculation interrupted");
+		} catch (ExecutionException e) {
+			IpssLogger.getLogger().severe(e.getCause().toString());
+			throw new Error("Thevenin equivalent calculation error, " + e.getCause().toString());
+		} catch (Exception e) {
+			IpssLogger.getLogger().severe(e.toString());
+			throw new Error("Thevenin equivalent calculation error, " + e.toString());
+		}
+		return resultList;
+	}
+	
+	/*
+	 * 	NetworkEquivalent creation
+	 */
+	
+	private static NetworkEquivalent createPosSeqEquiv(Complex[][] z){
+		int dim = z.length;
+		if(dim == 0)
+			throw new Error("no boundary bus defined in the input BusIdList");
+		NetworkEquivalent netEquiv = new NetworkEquivalent(dim);
+		for(int i = 0;i<dim;i++)
+			for(int j=0;j<dim;j++)
+			    netEquiv.getComplexEqn().setAij(z[j][i], j, i);  // zji = Vj/Ii
+		return netEquiv;
 	}
-
 	
+	private static NetworkEquivalent create3SeqEquiv(Complex[][] posSeqZMatrix, Complex[][] negSeqZMatrix, Complex[][] zeroSeqZMatrix){
+		// form the 3-seq Thevenin Equiv impedance matrix as a block matrix, with zij = diag([zij(1) zij(2) zij(0)]) 
+		
+		 int dim =  posSeqZMatrix.length;
+		 if(dim == 0)
+			 return null;
+		 
+		 NetworkEquivalent netEquiv = new NetworkEquivalent(dim);
+		 netEquiv.setEquivCoordinate(NetCoordinate.THREE_SEQUENCE);
+		 
+		 Complex3x3[][] Z120Matrix = MatrixUtil.createComplex3x32DArray(dim,dim);
+		 for(int i=0;i<dim;i++){
+		    for(int j=0;j<dim;j++){
+		    	Z120Matrix[i][j] = new Complex3x3(posSeqZMatrix[i][j],negSeqZMatrix[i][j],zeroSeqZMatrix[i][j]);   
+		    }     
+		 }
+				 
+		 netEquiv.setMatrix3x3(Z120Matrix); 
+		 return netEquiv;
+	}
+	
+	private static NetworkEquivalent create3PhaseEquiv(Complex[][] z){
+		int dim = z.length;
+		if(dim == 0)
+			throw new Error("no boundary bus defined in the input BusIdList");
+		NetworkEquivalent netEquiv = new NetworkEquivalent(dim);
+		netEquiv.setEquivCoordinate(NetCoordinate.THREE_PHASE);
+		netEquiv.setType(NetEquivType.THEVENIN);
+		for(int i = 0;i<dim;i++)
+			for(int j=0;j<dim;j++)
+			    netEquiv.getComplexEqn().setAij(z[j][i], j, i);
+		
+		// post-processing
+		netEquiv.transMatrixTo3x3BlockMatrix();
+		return netEquiv;
+	}
 	
 }
@@ -11,6 +11,8 @@ import org.junit.runners.Suite.SuiteClasses;
 	TestSubNetEquiv.class,
 	TestAddDummyBus.class,
 	TestNetworkEquivUtil.class,
+	TestDenseComplexMatrix.class,
+	TestNetworkPartitioner.class,
 	TestMultiNetDStab.class,
 	TestMultiNetDStabSimuHelper.class,
 	TestMultiNet3Ph3SeqSimHelper.class,
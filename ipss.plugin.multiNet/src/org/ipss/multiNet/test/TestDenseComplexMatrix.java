@@ -0,0 +1,97 @@
+package org.ipss.multiNet.test;
+
+import static org.junit.Assert.assertTrue;
+
+import org.apache.commons.math3.complex.Complex;
+import org.apache.commons.math3.complex.ComplexField;
+import org.apache.commons.math3.linear.Array2DRowFieldMatrix;
+import org.apache.commons.math3.linear.ArrayFieldVector;
+import org.apache.commons.math3.linear.FieldLUDecomposition;
+import org.apache.commons.math3.linear.FieldVector;
+import org.ipss.multiNet.algo.DenseComplexMatrix;
+import org.junit.Test;
+
+public class TestDenseComplexMatrix {
+	
+	@Test
+	public void test_solve_vs_fieldLU() {
+		// a small boundary subsystem type matrix, with a zero diagonal entry to force pivoting
+		Complex[][] a = {
+				{new Complex(0.0, 0.0),   new Complex(0.01, 0.12), new Complex(0.0, -0.05)},
+				{new Complex(0.01, 0.12), new Complex(0.02, 0.30), new Complex(0.0, 0.04)},
+				{new Complex(0.0, -0.05), new Complex(0.0, 0.04),  new Complex(0.03, 0.25)}};
+		Complex[] e = {new Complex(1.0, 0.1), new Complex(0.98, -0.05), new Complex(1.02, 0.0)};
+		
+		FieldVector<Complex> x0 = new FieldLUDecomposition<>(new Array2DRowFieldMatrix<Complex>(a)).getSolver()
+				.solve(new ArrayFieldVector<Complex>(e));
+		
+		DenseComplexMatrix m = new DenseComplexMatrix(a);
+		assertTrue(m.factorize());
+		assertTrue(m.isFactorized());
+		
+		// the factorization is reused for multiple right hand sides
+		for(int k = 0; k < 2; k++){
+			double[] b = new double[2*e.length];
+			for(int i = 0; i < e.length; i++){
+				b[2*i] = e[i].getReal();
+				b[2*i+1] = e[i].getImaginary();
+			}
+			m.solve(b);
+			for(int i = 0; i < e.length; i++)
+				assertTrue(new Complex(b[2*i], b[2*i+1]).subtract(x0.getEntry(i)).abs() < 1.0E-9);
+		}
+	}
+	
+	@Test
+	public void test_solve_multiPivot() {
+		// a cyclic permutation type matrix, each column needs a row swap in the factorization
+		int n = 4;
+		DenseComplexMatrix a = new DenseComplexMatrix(n, n);
+		for (int i = 0; i < n; i++) {
+			a.set(i, (i + 1) % n, 1.0 + 0.1 * i, 0.5 - 0.2 * i);
+			a.add(i, i, 0.01 * (i + 1), -0.02);
+			a.add(i, (i + 2) % n, 0.0, 0.05 * (i + 1));
+		}
+		DenseComplexMatrix m = new DenseComplexMatrix(n, n);
+		for (int i = 0; i < n; i++)
+			for (int j = 0; j < n; j++)
+				m.set(i, j, a.getReal(i, j), a.getImaginary(i, j));
+		assertTrue(m.factorize());
+		
+		double[] e = {1.0, 0.1, 0.98, -0.05, 1.02, 0.0, 0.5, 0.3};
+		for(int k = 0; k < 2; k++){
+			double[] x = e.clone();
+			m.solve(x);
+			// residual of A x = e
+			double[] y = new double[2*n];
+			a.multiply(x, y);
+			for(int i = 0; i < 2*n; i++)
+				assertTrue(Math.abs(y[i] - e[i]) < 1.0E-10);
+		}
+	}
+	
+	@Test
+	public void test_multiply() {
+		DenseComplexMatrix m = new DenseComplexMatrix(2, 2);
+		m.set(0, 0, new Complex(1.0, 1.0));
+		m.add(0, 1, 0.0, 2.0);
+		m.set(1, 1, 3.0, 0.0);
+		
+		double[] x = {1.0, 0.0, 0.0, 1.0};   // [1, j]
+		double[] y = new double[4];
+		m.multiply(x, y);
+		// row 0: (1+j) + j2*j = -1+j, row 1: 3j
+		assertTrue(Math.abs(y[0] + 1.0) < 1.0E-12 && Math.abs(y[1] - 1.0) < 1.0E-12);
+		assertTrue(Math.abs(y[2]) < 1.0E-12 && Math.abs(y[3] - 3.0) < 1.0E-12);
+	}
+	
+	@Test
+	public void test_singular() {
+		DenseComplexMatrix m = new DenseComplexMatrix(2, 2);
+		m.set(0, 0, 1.0, 1.0);
+		m.set(0, 1, 2.0, 2.0);
+		m.set(1, 0, 0.5, 0.5);
+		m.set(1, 1, 1.0, 1.0);
+		assertTrue(!m.factorize());
+	}
+}
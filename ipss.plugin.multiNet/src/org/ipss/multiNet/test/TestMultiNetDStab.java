@@ -2,6 +2,8 @@ package org.ipss.multiNet.test;
 
 import static org.junit.Assert.assertTrue;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 
 import org.ieee.odm.adapter.IODMAdapter.NetType;
@@ -341,6 +343,101 @@ public class TestMultiNetDStab {
 	    System.out.println(sm.toCSVString(sm.getBusVoltTable()));
 	}
 	
+	/**
+	 * the subnetworks solved concurrently by the executor should give the same results
+	 * as the sequential solution
+	 * 
+	 * @throws InterpssException
+	 */
+	@Test
+	public void test_IEEE9Bus_MultiSubNet_Dstab_executor() throws InterpssException{
+		StateMonitor sm = runIEEE9Bus_MultiSubNet_2port(null);
+		
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		StateMonitor smExecutor;
+		try {
+			smExecutor = runIEEE9Bus_MultiSubNet_2port(executor);
+		} finally {
+			executor.shutdown();
+		}
+		
+		for (String id : new String[]{"Bus1-mach1","Bus2-mach1","Bus3-mach1"}) {
+			int n = sm.getMachAngleTable().get(id).size();
+			assertTrue(n > 50 && n == smExecutor.getMachAngleTable().get(id).size());
+			for (int i = 0; i < n; i++) {
+				assertTrue(Math.abs(sm.getMachAngleTable().get(id).get(i).getValue() - 
+						smExecutor.getMachAngleTable().get(id).get(i).getValue()) < 1.0E-10);
+				assertTrue(Math.abs(sm.getMachPeTable().get(id).get(i).getValue() - 
+						smExecutor.getMachPeTable().get(id).get(i).getValue()) < 1.0E-10);
+			}
+		}
+		for (String id : new String[]{"Bus5","Bus7","Bus8"}) {
+			int n = sm.getBusVoltTable().get(id).size();
+			assertTrue(n == smExecutor.getBusVoltTable().get(id).size());
+			for (int i = 0; i < n; i++)
+				assertTrue(Math.abs(sm.getBusVoltTable().get(id).get(i).getValue() - 
+						smExecutor.getBusVoltTable().get(id).get(i).getValue()) < 1.0E-10);
+		}
+		
+		// the fault at Bus6 is applied
+		assertTrue(sm.getBusVoltTable().get("Bus5").get(30).getValue() < 0.5);
+	}
+	
+	/*
+	 * run the IEEE9 two-subnetwork case of test_IEEE9Bus_MultiSubNet_Dstab_2port(), with the subnetworks 
+	 * solved by the executor, or sequentially if the executor is null
+	 */
+	private StateMonitor runIEEE9Bus_MultiSubNet_2port(ExecutorService executor) throws InterpssException{
+		IpssCorePlugin.init();
+		PSSEAdapter adapter = new PSSEAdapter(PsseVersion.PSSE_30);
+		assertTrue(adapter.parseInputFile(NetType.DStabNet, new String[]{
+				"testData/IEEE9Bus/ieee9.raw",
+				"testData/IEEE9Bus/ieee9.seq",
+				"testData/IEEE9Bus/ieee9_dyn_onlyGen.dyr"
+		}));
+		SimuContext simuCtx = SimuObjectFactory.createSimuNetwork(SimuCtxType.DSTABILITY_NET);
+		assertTrue(new ODMDStabParserMapper(IpssCorePlugin.getMsgHub())
+					.map2Model((DStabModelParser)adapter.getModel(), simuCtx));
+	    BaseDStabNetwork<?,?> dsNet =simuCtx.getDStabilityNet();
+	    
+		LoadflowAlgorithm aclfAlgo = CoreObjectFactory.createLoadflowAlgorithm(dsNet);
+		assertTrue(aclfAlgo.loadflow());
+	    
+	    SubNetworkProcessor proc = new SubNetworkProcessor(dsNet);
+	    proc.addSubNetInterfaceBranch("Bus4->Bus5(0)");
+	    proc.addSubNetInterfaceBranch("Bus7->Bus8(0)");
+	    proc.splitFullSystemIntoSubsystems(false);
+	    assertTrue(proc.getSubNetworkList().size() == 2);
+	    
+	    MultiNetDStabSimuHelper multiNetHelper = new  MultiNetDStabSimuHelper(dsNet,proc);
+	    
+	    DynamicSimuAlgorithm dstabAlgo =DStabObjectFactory.createDynamicSimuAlgorithm(dsNet, IpssCorePlugin.getMsgHub());
+		dstabAlgo.setSimuMethod(DynamicSimuMethod.MODIFIED_EULER);
+		dstabAlgo.setSimuStepSec(0.005d);
+		dstabAlgo.setTotalSimuTimeSec(0.5d);
+		for (BaseDStabNetwork<?,?> subNet:proc.getSubNetworkList()){
+			subNet.setNetEqnIterationNoEvent(1);
+			subNet.setNetEqnIterationWithEvent(1);
+		}
+		dsNet.addDynamicEvent(create3PhaseFaultEvent("Bus6", proc.getSubNetworkList().get(0),0.1d,0.05),"3phaseFault@Bus6");
+        
+		MultiNetDStabSolverImpl solver = new MultiNetDStabSolverImpl(dstabAlgo ,multiNetHelper);
+		solver.setSubNetworkExecutor(executor);
+		dstabAlgo.setSolver(solver);
+		dstabAlgo.setDynamicEventHandler(new MultiNetDynamicEventProcessor(multiNetHelper));
+		
+		StateMonitor sm = new StateMonitor();
+		sm.addGeneratorStdMonitor(new String[]{"Bus1-mach1","Bus2-mach1","Bus3-mach1"});
+		sm.addBusStdMonitor(new String[]{"Bus5","Bus7","Bus8"});
+		dstabAlgo.setSimuOutputHandler(sm);
+		dstabAlgo.setOutPutPerSteps(1);
+		
+		assertTrue(dstabAlgo.initialization());
+		while(dstabAlgo.getSimuTime()<=dstabAlgo.getTotalSimuTimeSec())
+			assertTrue(dstabAlgo.solveDEqnStep(true));
+		return sm;
+	}
+	
 	private DynamicEvent create3PhaseFaultEvent(String faultBusId, BaseDStabNetwork<?,?> net,double startTime, double durationTime){
 	    // define an event, set the event id and event type.
 			DynamicEvent event1 = DStabObjectFactory.createDEvent("BusFault3P@"+faultBusId, "Bus Fault 3P@"+faultBusId, 
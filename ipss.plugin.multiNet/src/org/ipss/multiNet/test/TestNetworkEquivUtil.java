@@ -2,6 +2,9 @@ package org.ipss.multiNet.test;
 
 import static org.junit.Assert.assertTrue;
 
+import java.util.Hashtable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 
 import org.apache.commons.math3.complex.Complex;
@@ -11,6 +14,7 @@ import org.ieee.odm.adapter.psse.PSSEAdapter.PsseVersion;
 import org.ieee.odm.model.dstab.DStabModelParser;
 import org.interpss.IpssCorePlugin;
 import org.interpss.display.AclfOutFunc;
+import org.interpss.numeric.datatype.Complex3x3;
 import org.interpss.numeric.matrix.MatrixUtil;
 import org.ipss.multiNet.algo.SubNetworkProcessor;
 import org.ipss.multiNet.equivalent.NetworkEquivUtil;
@@ -149,5 +153,60 @@ public class TestNetworkEquivUtil {
 		assertTrue(aclfAlgo.loadflow());
 		System.out.println(AclfOutFunc.loadFlowSummary(dsNet));
 	}
+	
+	@Test
+	public void test_MultiNetEquiv_executor_IEEE39Bus() throws InterpssException{
+		IpssCorePlugin.init();
+		IpssCorePlugin.setLoggerLevel(Level.INFO);
+		PSSEAdapter adapter = new PSSEAdapter(PsseVersion.PSSE_30);
+		assertTrue(adapter.parseInputFile(NetType.DStabNet, new String[]{
+				"testData/IEEE39Bus/IEEE39bus_v30.raw",
+				"testData/IEEE39Bus/IEEE39bus_v30.seq",
+				"testData/IEEE39Bus/IEEE39bus_onlyGen.dyr"
+		}));
+		DStabModelParser parser =(DStabModelParser) adapter.getModel();
+		
+		SimuContext simuCtx = SimuObjectFactory.createSimuNetwork(SimuCtxType.DSTABILITY_NET);
+		assertTrue(new ODM3PhaseDStabParserMapper(IpssCorePlugin.getMsgHub()).map2Model(parser, simuCtx));
+		
+	    DStabNetwork3Phase dsNet =(DStabNetwork3Phase) simuCtx.getDStabilityNet();
+		LoadflowAlgorithm aclfAlgo = CoreObjectFactory.createLoadflowAlgorithm(dsNet);
+		assertTrue(aclfAlgo.loadflow());
+		
+		SubNetworkProcessor proc = new SubNetworkProcessor(dsNet);
+	    proc.addSubNetInterfaceBranch("Bus3->Bus4(1)");
+	    proc.addSubNetInterfaceBranch("Bus9->Bus39(1)");
+	    proc.addSubNetInterfaceBranch("Bus15->Bus16(1)");
+	    proc.addSubNetInterfaceBranch("Bus16->Bus17(1)");
+	    proc.splitFullSystemIntoSubsystems(false);
+	    
+	    // the equivalents calculated concurrently are the same as the sequential ones
+	    ExecutorService executor = Executors.newFixedThreadPool(4);
+	    try {
+		    Hashtable<String, NetworkEquivalent> posSeqTable = NetworkEquivUtil.calMultiNetPosSeqTheveninEquiv(proc);
+		    Hashtable<String, NetworkEquivalent> posSeqTable2 = NetworkEquivUtil.calMultiNetPosSeqTheveninEquiv(proc, executor);
+		    Hashtable<String, NetworkEquivalent> seqTable = NetworkEquivUtil.calMultiNet3ph3SeqTheveninEquiv(proc, null);
+		    Hashtable<String, NetworkEquivalent> seqTable2 = NetworkEquivUtil.calMultiNet3ph3SeqTheveninEquiv(proc, null, executor);
+		    
+		    for(BaseDStabNetwork<?,?> subNet: proc.getSubNetworkList()){
+		    	Complex[][] z = posSeqTable.get(subNet.getId()).getComplexEqn().getA();
+		    	Complex[][] z2 = posSeqTable2.get(subNet.getId()).getComplexEqn().getA();
+		    	Complex3x3[][] z120 = seqTable.get(subNet.getId()).getMatrix3x3();
+		    	Complex3x3[][] z120_2 = seqTable2.get(subNet.getId()).getMatrix3x3();
+		    	for(int i = 0; i < z.length; i++)
+		    		for(int j = 0; j < z.length; j++){
+		    			assertTrue(z[i][j].subtract(z2[i][j]).abs() < 1.0E-10);
+		    			// the positive sequence part of the 3-seq equivalent is the positive sequence equivalent
+		    			assertTrue(z120[i][j].aa.subtract(z[i][j]).abs() < 1.0E-8);
+		    			assertTrue(z120[i][j].aa.subtract(z120_2[i][j].aa).abs() < 1.0E-10);
+		    			assertTrue(z120[i][j].bb.subtract(z120_2[i][j].bb).abs() < 1.0E-10);
+		    			assertTrue(z120[i][j].cc.subtract(z120_2[i][j].cc).abs() < 1.0E-10);
+		    		}
+		    }
+	    }
+	    finally {
+	    	executor.shutdown();
+	    }
+	}
 
 }
@@ -0,0 +1,80 @@
+package org.ipss.multiNet.test;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.logging.Level;
+
+import org.ieee.odm.adapter.IODMAdapter.NetType;
+import org.ieee.odm.adapter.psse.PSSEAdapter;
+import org.ieee.odm.adapter.psse.PSSEAdapter.PsseVersion;
+import org.ieee.odm.model.dstab.DStabModelParser;
+import org.interpss.IpssCorePlugin;
+import org.interpss.mapper.odm.ODMDStabParserMapper;
+import org.ipss.multiNet.algo.NetworkPartitioner;
+import org.ipss.multiNet.algo.SubNetworkProcessor;
+import org.junit.Test;
+
+import com.interpss.SimuObjectFactory;
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.net.Bus;
+import com.interpss.dstab.BaseDStabNetwork;
+import com.interpss.simu.SimuContext;
+import com.interpss.simu.SimuCtxType;
+
+public class TestNetworkPartitioner {
+	
+	@Test
+	public void test_IEEE39Bus_autoPartition() throws InterpssException{
+		for(int nSubNet = 2; nSubNet <= 4; nSubNet++){
+			BaseDStabNetwork<?,?> dsNet = createIEEE39Net();
+			
+			NetworkPartitioner partitioner = new NetworkPartitioner(dsNet);
+			SubNetworkProcessor proc = new SubNetworkProcessor(dsNet);
+			List<String> tieLineList = proc.addAutoSubNetInterfaceBranches(partitioner, nSubNet);
+			System.out.println(nSubNet + " subnetworks, tie-lines: " + tieLineList);
+			
+			assertTrue(tieLineList.size() >= nSubNet - 1);
+			
+			// the tie-lines split the network exactly into the target number of connected subnetworks
+			assertTrue(proc.splitFullSystemIntoSubsystems(false));
+			assertTrue(proc.getSubNetworkList().size() == nSubNet);
+			
+			// all buses are assigned, and the buses of a subnetwork are from the same part
+			for(BaseDStabNetwork<?,?> subNet: proc.getSubNetworkList()){
+				Integer part = null;
+				for(Bus bus: subNet.getBusList()){
+					Integer p = partitioner.getBusId2PartitionTable().get(bus.getId());
+					assertTrue(p != null);
+					if(part == null)
+						part = p;
+					assertTrue(part.intValue() == p.intValue());
+				}
+			}
+			
+			// the parts are balanced 
+			int total = 0, max = 0;
+			for(int w: partitioner.getPartitionWeights()){
+				total += w;
+				max = Math.max(max, w);
+			}
+			assertTrue(max <= 1.3 * total / nSubNet);
+		}
+	}
+	
+	private BaseDStabNetwork<?,?> createIEEE39Net() throws InterpssException{
+		IpssCorePlugin.init();
+		IpssCorePlugin.setLoggerLevel(Level.INFO);
+		PSSEAdapter adapter = new PSSEAdapter(PsseVersion.PSSE_30);
+		assertTrue(adapter.parseInputFile(NetType.DStabNet, new String[]{
+				"testData/IEEE39Bus/IEEE39bus_v30.raw",
+				"testData/IEEE39Bus/IEEE39bus_v30.seq",
+				"testData/IEEE39Bus/IEEE39bus_onlyGen.dyr"
+		}));
+		DStabModelParser parser =(DStabModelParser) adapter.getModel();
+		
+		SimuContext simuCtx = SimuObjectFactory.createSimuNetwork(SimuCtxType.DSTABILITY_NET);
+		assertTrue(new ODMDStabParserMapper(IpssCorePlugin.getMsgHub()).map2Model(parser, simuCtx));
+		return simuCtx.getDStabilityNet();
+	}
+}
@@ -1,8 +1,12 @@
 package org.ipss.multiNet.test.trans_dist;
 
 import static com.interpss.core.funcImpl.AcscFunction.acscXfrAptr;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 
 import org.apache.commons.math3.complex.Complex;
@@ -33,6 +37,7 @@ import com.interpss.common.exp.InterpssException;
 import com.interpss.core.aclf.AclfBranchCode;
 import com.interpss.core.aclf.AclfGenCode;
 import com.interpss.core.aclf.AclfLoadCode;
+import com.interpss.core.aclf.BaseAclfBus;
 import com.interpss.core.acsc.XfrConnectCode;
 import com.interpss.core.acsc.adpter.AcscXformer;
 import com.interpss.core.algo.LoadflowAlgorithm;
@@ -105,6 +110,162 @@ public class TestTnDCombinedPowerflow {
 		 
 	}
 	
+	@Test
+	public void test_TDPowerflow_IEEE9_twoFeeder_executor() throws InterpssException{
+		IpssCorePlugin.init();
+		IpssCorePlugin.setLoggerLevel(Level.WARNING);
+		
+		// sequential distribution power flow solution
+		DStabNetwork3Phase seqNet = createIEEE9TwoFeederNetwork();
+		SubNetworkProcessor seqProc = splitTwoFeederNetwork(seqNet);
+		assertTrue(seqProc.getSubNetworkList().size() == 3);
+		
+		TDMultiNetPowerflowAlgorithm seqAlgo = new TDMultiNetPowerflowAlgorithm(seqNet,seqProc);
+		assertTrue(seqAlgo.getDistributionNetworkList().size() == 2);
+		assertTrue(seqAlgo.powerflow());
+		
+		// parallel distribution power flow solution
+		DStabNetwork3Phase parNet = createIEEE9TwoFeederNetwork();
+		SubNetworkProcessor parProc = splitTwoFeederNetwork(parNet);
+		
+		TDMultiNetPowerflowAlgorithm parAlgo = new TDMultiNetPowerflowAlgorithm(parNet,parProc);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			parAlgo.setDistributionNetworkExecutor(executor);
+			assertTrue(parAlgo.powerflow());
+		}
+		finally {
+			executor.shutdown();
+		}
+		
+		// the distribution systems are independent within an iteration, the results should be the same
+		for(BaseAclfBus<?,?> bus: seqAlgo.getTransmissionNetwork().getBusList()){
+			Complex v = parAlgo.getTransmissionNetwork().getBus(bus.getId()).getVoltage();
+			assertEquals(bus.getVoltage().getReal(), v.getReal(), 1.0E-9);
+			assertEquals(bus.getVoltage().getImaginary(), v.getImaginary(), 1.0E-9);
+		}
+		
+		for(String busId: new String[]{"Bus13","Bus14","Bus23","Bus24"}){
+			Complex3x1 vabc = ((Bus3Phase)seqNet.getBus(busId)).get3PhaseVotlages();
+			Complex3x1 parVabc = ((Bus3Phase)parNet.getBus(busId)).get3PhaseVotlages();
+			assertTrue(vabc.subtract(parVabc).absMax() < 1.0E-9);
+		}
+	}
+	
+	@Test
+	public void test_TDPowerflow_IEEE9_twoSourceFeeder() throws InterpssException{
+		IpssCorePlugin.init();
+		IpssCorePlugin.setLoggerLevel(Level.WARNING);
+		
+		DStabNetwork3Phase dsNet = createIEEE9TwoFeederNetwork(false);
+		
+		// the feeder at Bus5 is also supplied from Bus6, through the 69 kV source Bus15 connected to feeder Bus12
+		addFeederSource(dsNet, "Bus6", "Bus15", "Bus12");
+		
+		SubNetworkProcessor proc = new SubNetworkProcessor(dsNet);
+		proc.addSubNetInterfaceBranch("Bus5->Bus11(0)",false);
+		proc.addSubNetInterfaceBranch("Bus6->Bus15(0)",false);
+		proc.splitFullSystemIntoSubsystems(true);
+		assertTrue(proc.getSubNetworkList().size() == 2);
+		
+		TDMultiNetPowerflowAlgorithm tdAlgo = new TDMultiNetPowerflowAlgorithm(dsNet,proc);
+		assertTrue(tdAlgo.getDistributionNetworkList().size() == 1);
+		assertTrue(tdAlgo.powerflow());
+		
+		DStabNetwork3Phase distNet = (DStabNetwork3Phase) tdAlgo.getDistributionNetworkList().get(0);
+		
+		// the first boundary bus is the swing bus of the distribution power flow, the second one is a source 
+		// with a boundary current injection
+		List<String> boundaryList = proc.getSubNet2BoundaryBusListTable().get(distNet.getId());
+		assertTrue(boundaryList.size() == 2);
+		Complex3x1 injCur = tdAlgo.getDistBoundary3SeqInjCurTable().get(boundaryList.get(1));
+		assertTrue(injCur != null);
+		assertTrue(injCur.b_1.abs() > 0.01);
+		assertTrue(tdAlgo.getDistBoundary3SeqVoltMismatchTable().get(boundaryList.get(1)).absMax() < 5.0E-4);
+		
+		// the boundary voltages of the transmission and distribution solutions match at both source buses
+		for(String busId: new String[]{"Bus11","Bus15"}){
+			Complex vTrans = tdAlgo.getTransmissionNetwork().getBus(busId+"Dummy").getVoltage();
+			Complex vDist = ((Bus3Phase)distNet.getBus(busId)).getThreeSeqVoltage().b_1;
+			assertTrue(vTrans.subtract(vDist).abs() < 1.0E-3);
+		}
+	}
+	
+	/**
+	 * add a 69 kV source bus to a feeder, which is connected to the transmission bus through a transformer and 
+	 * to the feeder bus through a 69/13.8 kV transformer
+	 */
+	private void addFeederSource(DStabNetwork3Phase net, String transBusId, String sourceBusId, String feederBusId) throws InterpssException{
+		Bus3Phase source = ThreePhaseObjectFactory.create3PAclfBus(sourceBusId, net);
+		source.setAttributes("69 kV feeder source", "");
+		source.setBaseVoltage(69000.0);
+		source.setGenCode(AclfGenCode.NON_GEN);
+		source.setLoadCode(AclfLoadCode.NON_LOAD);
+		source.setVoltage(new Complex(1.00,0));
+		
+		Branch3Phase xfrTrans = ThreePhaseObjectFactory.create3PBranch(transBusId, sourceBusId, "0", net);
+		xfrTrans.setBranchCode(AclfBranchCode.XFORMER);
+		xfrTrans.setToTurnRatio(1.03);
+		xfrTrans.setZ( new Complex(0.0, 0.08 ));
+		xfrTrans.setZ0( new Complex(0.0, 0.08 ));
+		
+		AcscXformer xfr1 = acscXfrAptr.apply(xfrTrans);
+		xfr1.setFromConnectGroundZ(XfrConnectCode.WYE_SOLID_GROUNDED, new Complex(0.0,0.0), UnitType.PU);
+		xfr1.setToConnectGroundZ(XfrConnectCode.WYE_SOLID_GROUNDED, new Complex(0.0,0.0), UnitType.PU);
+		
+		Branch3Phase xfrFeeder = ThreePhaseObjectFactory.create3PBranch(sourceBusId, feederBusId, "0", net);
+		xfrFeeder.setBranchCode(AclfBranchCode.XFORMER);
+		xfrFeeder.setZ( new Complex( 0.0, 0.05));
+		xfrFeeder.setZabc(Complex3x3.createUnitMatrix().multiply(new Complex( 0.0, 0.05 )));
+		
+		AcscXformer xfr0 = acscXfrAptr.apply(xfrFeeder);
+		xfr0.setFromConnectGroundZ(XfrConnectCode.DELTA, new Complex(0.0,0.0), UnitType.PU);
+		xfr0.setToConnectGroundZ(XfrConnectCode.WYE_SOLID_GROUNDED, new Complex(0.0,0.0), UnitType.PU);
+	}
+	
+	private DStabNetwork3Phase createIEEE9TwoFeederNetwork() throws InterpssException{
+		return createIEEE9TwoFeederNetwork(true);
+	}
+	
+	/**
+	 * create the IEEE9 network with the loads at Bus5 and Bus6 removed, with a feeder at Bus5 and optionally at Bus6
+	 */
+	private DStabNetwork3Phase createIEEE9TwoFeederNetwork(boolean feederAtBus6) throws InterpssException{
+		PSSEAdapter adapter = new PSSEAdapter(PsseVersion.PSSE_30);
+		assertTrue(adapter.parseInputFile(NetType.DStabNet, new String[]{
+				"testData/IEEE9Bus/ieee9.raw",
+				"testData/IEEE9Bus/ieee9.seq",
+				"testData/IEEE9Bus/ieee9_dyn.dyr"
+		}));
+		DStabModelParser parser =(DStabModelParser) adapter.getModel();
+		
+		SimuContext simuCtx = SimuObjectFactory.createSimuNetwork(SimuCtxType.DSTABILITY_NET);
+		assertTrue(new ODM3PhaseDStabParserMapper(IpssCorePlugin.getMsgHub())
+					.map2Model(parser, simuCtx));
+		
+	    DStabNetwork3Phase dsNet =(DStabNetwork3Phase) simuCtx.getDStabilityNet();
+	    
+	    // replace the loads at Bus5 and Bus6 with feeders
+	    for(String busId: new String[]{"Bus5","Bus6"}){
+	    	dsNet.getBus(busId).getContributeLoadList().remove(0);
+	    	dsNet.getBus(busId).setLoadCode(AclfLoadCode.NON_LOAD);
+	    }
+	    
+	    addADistFeeder(dsNet, "Bus5", 10);
+	    if(feederAtBus6)
+	    	addADistFeeder(dsNet, "Bus6", 20);
+	    
+	    return dsNet;
+	}
+	
+	private SubNetworkProcessor splitTwoFeederNetwork(DStabNetwork3Phase dsNet){
+		SubNetworkProcessor proc = new SubNetworkProcessor(dsNet);
+		proc.addSubNetInterfaceBranch("Bus5->Bus11(0)",false);
+		proc.addSubNetInterfaceBranch("Bus6->Bus21(0)",false);
+		proc.splitFullSystemIntoSubsystems(true);
+		return proc;
+	}
+	
 	@Test
 	public void test_PosSeqPowerflow_IEEE9_feeder() throws InterpssException{
 		IpssCorePlugin.init();
@@ -150,7 +311,15 @@ public class TestTnDCombinedPowerflow {
 	}
 	
 	private void addADistFeeder(DStabNetwork3Phase net) throws InterpssException{
-		Bus3Phase bus1 = ThreePhaseObjectFactory.create3PAclfBus("Bus11", net);
+		addADistFeeder(net, "Bus5", 10);
+	}
+	
+	/**
+	 * add a feeder, which is connected to the transmission bus through a transformer. The feeder buses are
+	 * numbered as Bus[busNumOffset+1] to Bus[busNumOffset+4], with Bus[busNumOffset+1] as the feeder source bus.
+	 */
+	private void addADistFeeder(DStabNetwork3Phase net, String transBusId, int busNumOffset) throws InterpssException{
+		Bus3Phase bus1 = ThreePhaseObjectFactory.create3PAclfBus("Bus"+(busNumOffset+1), net);
   		bus1.setAttributes("69 kV feeder source", "");
   		bus1.setBaseVoltage(69000.0);
   		// set the bus to a non-generator bus
@@ -160,8 +329,8 @@ public class TestTnDCombinedPowerflow {
   		bus1.setVoltage(new Complex(1.00,0));
 
   		
-		Bus3Phase bus2 = ThreePhaseObjectFactory.create3PAclfBus("Bus12", net);
-  		bus2.setAttributes("13.8 V feeder bus 12", "");
+		Bus3Phase bus2 = ThreePhaseObjectFactory.create3PAclfBus("Bus"+(busNumOffset+2), net);
+  		bus2.setAttributes("13.8 V feeder bus "+(busNumOffset+2), "");
   		bus2.setBaseVoltage(13800.0);
   		// set the bus to a non-generator bus
   		bus2.setGenCode(AclfGenCode.NON_GEN);
@@ -169,8 +338,8 @@ public class TestTnDCombinedPowerflow {
   		bus2.setLoadCode(AclfLoadCode.NON_LOAD);
   		
   		
-		Bus3Phase bus3 = ThreePhaseObjectFactory.create3PAclfBus("Bus13", net);
-  		bus3.setAttributes("13.8 V feeder bus 13", "");
+		Bus3Phase bus3 = ThreePhaseObjectFactory.create3PAclfBus("Bus"+(busNumOffset+3), net);
+  		bus3.setAttributes("13.8 V feeder bus "+(busNumOffset+3), "");
   		bus3.setBaseVoltage(13800.0);
   		// set the bus to a non-generator bus
   		bus3.setGenCode(AclfGenCode.NON_GEN);
@@ -183,8 +352,8 @@ public class TestTnDCombinedPowerflow {
   		bus3.setLoadPQ(new Complex(0.5,-0.1));
   		
   		
-		Bus3Phase bus4 = ThreePhaseObjectFactory.create3PAclfBus("Bus14", net);
-  		bus4.setAttributes("13.8 V feeder bus 14", "");
+		Bus3Phase bus4 = ThreePhaseObjectFactory.create3PAclfBus("Bus"+(busNumOffset+4), net);
+  		bus4.setAttributes("13.8 V feeder bus "+(busNumOffset+4), "");
   		bus4.setBaseVoltage(13800.0);
   		// set the bus to a non-generator bus
   		bus4.setGenCode(AclfGenCode.NON_GEN);
@@ -198,7 +367,7 @@ public class TestTnDCombinedPowerflow {
   		bus4.getThreePhaseLoadList().add(load2);
   		
   		
-  		Branch3Phase xfr5_11 = ThreePhaseObjectFactory.create3PBranch("Bus5", "Bus11", "0", net);
+  		Branch3Phase xfr5_11 = ThreePhaseObjectFactory.create3PBranch(transBusId, "Bus"+(busNumOffset+1), "0", net);
   		xfr5_11.setBranchCode(AclfBranchCode.XFORMER);
   		xfr5_11.setToTurnRatio(1.03);
   		//xfr5_11.setZabc(Complex3x3.createUnitMatrix().multiply(new Complex( 0.0, 0.05 )));
@@ -213,7 +382,7 @@ public class TestTnDCombinedPowerflow {
   		
 		
   		
-  		Branch3Phase xfr1_2 = ThreePhaseObjectFactory.create3PBranch("Bus11", "Bus12", "0", net);
+  		Branch3Phase xfr1_2 = ThreePhaseObjectFactory.create3PBranch("Bus"+(busNumOffset+1), "Bus"+(busNumOffset+2), "0", net);
   		xfr1_2.setBranchCode(AclfBranchCode.XFORMER);
   		//xfr1_2.setToTurnRatio(1.02);
   		xfr1_2.setZ( new Complex( 0.0, 0.05));
@@ -229,13 +398,13 @@ public class TestTnDCombinedPowerflow {
 //		xfr0.setToConnectGroundZ(XfrConnectCode.DELTA, new Complex(0.0,0.0), UnitType.PU);
 //		xfr0.setFromConnectGroundZ(XfrConnectCode.WYE_SOLID_GROUNDED, new Complex(0.0,0.0), UnitType.PU);
 		
-		Branch3Phase Line2_3 = ThreePhaseObjectFactory.create3PBranch("Bus12", "Bus13", "0", net);
+		Branch3Phase Line2_3 = ThreePhaseObjectFactory.create3PBranch("Bus"+(busNumOffset+2), "Bus"+(busNumOffset+3), "0", net);
 		Line2_3.setBranchCode(AclfBranchCode.LINE);
 		Line2_3.setZ( new Complex( 0.004, 0.04 ));
 		Line2_3.setZ0( new Complex(0.008, 0.08 ));
   		
 		
-		Branch3Phase Line2_4 = ThreePhaseObjectFactory.create3PBranch("Bus14", "Bus12", "0", net);
+		Branch3Phase Line2_4 = ThreePhaseObjectFactory.create3PBranch("Bus"+(busNumOffset+4), "Bus"+(busNumOffset+2), "0", net);
 		Line2_4.setBranchCode(AclfBranchCode.LINE);
 		Line2_4.setZ( new Complex( 0.004, 0.04 ));
 		Line2_4.setZ0( new Complex(0.008, 0.08 ));
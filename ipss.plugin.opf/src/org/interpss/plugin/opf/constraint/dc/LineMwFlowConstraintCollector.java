@@ -1,6 +1,7 @@
 package org.interpss.plugin.opf.constraint.dc;
 
 import java.util.List;
+import java.util.Set;
 
 import org.interpss.plugin.opf.constraint.BaseConstraintCollector;
 import org.interpss.plugin.opf.constraint.OpfConstraint;
@@ -16,17 +17,47 @@ import com.interpss.opf.BaseOpfBranch;
 import com.interpss.opf.BaseOpfNetwork;
 
 public class LineMwFlowConstraintCollector extends BaseConstraintCollector {
+	// ids of branches to be constrained, null for all branches
+	private Set<String> branchIdSet = null;
 
 	public LineMwFlowConstraintCollector(BaseOpfNetwork opfNet,
 			List<OpfConstraint> cstContainer) {
 		super(opfNet, cstContainer);
 	}	
 
+	/**
+	 * constructor, only branches in the branch id set are constrained
+	 * 
+	 * @param opfNet
+	 * @param cstContainer
+	 * @param branchIdSet ids of branches to be constrained
+	 */
+	public LineMwFlowConstraintCollector(BaseOpfNetwork opfNet,
+			List<OpfConstraint> cstContainer, Set<String> branchIdSet) {
+		super(opfNet, cstContainer);
+		this.branchIdSet = branchIdSet;
+	}	
+
+	/**
+	 * calculate the branch susceptance used in the flow constraint
+	 * 
+	 * @param aclfBra
+	 * @return
+	 */
+	public static double calBranchBij(AclfBranch aclfBra) {
+		double bij = (aclfBra.getZ().getImaginary() > 0.00001) ? 1 / aclfBra
+				.getZ().getImaginary() : DEFAULT_BIJ; // in case x=0;
+		return OpfDataHelper.round(bij,5);
+	}
+
 	@Override
 	public void collectConstraint() {
 		double bij = DEFAULT_BIJ;		
 		
 		for (Branch bra : opfNet.getBranchList()) {
+			if (this.branchIdSet != null && !this.branchIdSet.contains(bra.getId()))
+				continue;
+			
 			IntArrayList colNo = new IntArrayList();
 			DoubleArrayList val = new DoubleArrayList();
 			
@@ -34,11 +65,7 @@ public class LineMwFlowConstraintCollector extends BaseConstraintCollector {
 			//if (bra.isAclfBranch()) {
 				
 				AclfBranch aclfBra = (AclfBranch) bra;
-				bij = (aclfBra.getZ().getImaginary() > 0.00001) ? 1 / aclfBra
-						.getZ().getImaginary() : DEFAULT_BIJ; // in case x=0;
-						
-				
-				bij = OpfDataHelper.round(bij,5);
+				bij = calBranchBij(aclfBra);
 
 				BaseOpfBranch opfBra = (BaseOpfBranch) bra;		
 				double ratingMw = opfBra.getRatingMw1();				
@@ -3,7 +3,10 @@ package org.interpss.plugin.opf.solver.giqpsolve;
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.interpss.plugin.opf.common.OPFLogger;
 import org.interpss.plugin.opf.constraint.OpfConstraint;
@@ -19,7 +22,10 @@ import cern.colt.matrix.impl.SparseDoubleMatrix1D;
 import cern.colt.matrix.impl.SparseDoubleMatrix2D;
 import cern.colt.matrix.linalg.Algebra;
 
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.net.Branch;
 import com.interpss.core.net.Bus;
+import com.interpss.opf.BaseOpfBranch;
 import com.interpss.opf.OpfBus;
 import com.interpss.opf.OpfNetwork;
 
@@ -33,19 +39,81 @@ public class GIQPSolver extends AbstractOpfSolver {
 	private SparseDoubleMatrix1D beq = null;
 	private SparseDoubleMatrix1D biq = null;
 	
+	// lazy line flow limit mode, branch flow constraints are added only for violated or near-binding branches
+	private boolean lazyLineLimit = false;
+	// a branch is near-binding if |flow| > nearBindingFactor * rating
+	private double nearBindingFactor = 0.95;
+	private int maxLazyIterations = 20;
+	private Set<String> constrainedBranchIdSet = new LinkedHashSet<>();
+	// number of branches added at each iteration of the last lazy line limit solve
+	private List<Integer> lazyAddedCountList = new ArrayList<>();
+	
 	//Constructor
 	public GIQPSolver(OpfNetwork opfNet, constraintHandleType constType) {
 		super(opfNet, constType);		
 		this.numOfVar = numOfGen + numOfBus;
 		}
+	
+	/**
+	 * set the lazy line flow limit mode. In the mode, the problem is first solved without branch flow
+	 * limits. Branch flows are then checked against the ratings and the flow constraints of the violated 
+	 * or near-binding branches are added before solving again, until there is no violation.
+	 * 
+	 * @param lazy
+	 */
+	public void setLazyLineLimit(boolean lazy) {
+		this.lazyLineLimit = lazy;
+	}
+	
+	/**
+	 * set the near-binding factor for the lazy line flow limit mode, the default is 0.95
+	 * 
+	 * @param factor
+	 */
+	public void setNearBindingFactor(double factor) {
+		this.nearBindingFactor = factor;
+	}
+	
+	/**
+	 * set the max number of solve-and-check iterations for the lazy line flow limit mode
+	 * 
+	 * @param max
+	 */
+	public void setMaxLazyIterations(int max) {
+		this.maxLazyIterations = max;
+	}
+	
+	/**
+	 * get ids of the branches with flow constraint in the lazy line flow limit mode
+	 * 
+	 * @return
+	 */
+	public Set<String> getConstrainedBranchIdSet() {
+		return this.constrainedBranchIdSet;
+	}
+	
+	/**
+	 * get number of branches added to the constrained branch set at each iteration of the 
+	 * last solve in the lazy line flow limit mode. The last entry is 0 if the solve converged.
+	 * 
+	 * @return
+	 */
+	public List<Integer> getLazyAddedCountList() {
+		return this.lazyAddedCountList;
+	}
 
 	// build order: Equality -> Inequality 
 	@Override
 	public void build(List<OpfConstraint> cstContainer) {		
+		cstContainer.clear();
 		new ActivePowerEqnConstraintCollector(opfNet,cstContainer)
 					.collectConstraint();
 		
-		new LineMwFlowConstraintCollector(opfNet,cstContainer)
+		if (this.lazyLineLimit)
+			new LineMwFlowConstraintCollector(opfNet,cstContainer, this.constrainedBranchIdSet)
+					.collectConstraint();
+		else
+			new LineMwFlowConstraintCollector(opfNet,cstContainer)
 					.collectConstraint();
 		
 		new GenMwOutputConstraintCollector(opfNet,cstContainer)
@@ -86,12 +154,15 @@ public class GIQPSolver extends AbstractOpfSolver {
 	public boolean solve() {
 		OPFLogger.getLogger().info("Running DC Optimal Power Flow Using QP solver....");
 		Long startTime = System.currentTimeMillis();
-		this.build(cstContainer);
-		
-		solver = new QuadProgJ(G,a,Ceq,beq,Ciq,biq);
 		
 		try{
-			this.optimX = solver.getMinX();
+			if (this.lazyLineLimit)
+				solveLazyLineLimit();
+			else {
+				this.build(cstContainer);
+				solver = new QuadProgJ(G,a,Ceq,beq,Ciq,biq);
+				this.optimX = solver.getMinX();
+			}
 			// attach result to network
 			this.attachedResult();
 			this.calLMP();			
@@ -107,6 +178,50 @@ public class GIQPSolver extends AbstractOpfSolver {
 		
 		return this.isSolved;
 	}
+	/**
+	 * solve the problem in the lazy line flow limit mode, starting from the current constrained 
+	 * branch set
+	 */
+	private void solveLazyLineLimit() {
+		this.lazyAddedCountList.clear();
+		for (int iter = 0; iter < this.maxLazyIterations; iter++) {
+			this.build(cstContainer);
+			solver = new QuadProgJ(G,a,Ceq,beq,Ciq,biq);
+			this.optimX = solver.getMinX();
+			
+			int cnt = addViolatedBranches();
+			this.lazyAddedCountList.add(cnt);
+			OPFLogger.getLogger().info("Lazy line limit iteration " + (iter+1) + ", constrained branches: " + 
+						this.constrainedBranchIdSet.size() + ", added: " + cnt);
+			if (cnt == 0)
+				return;
+		}
+		OPFLogger.getLogger().warning("Lazy line limit not converged in " + this.maxLazyIterations + " iterations");
+	}
+	
+	/**
+	 * check branch flows of the current solution against the ratings, add violated or 
+	 * near-binding branches to the constrained branch set
+	 * 
+	 * @return number of branches added
+	 */
+	private int addViolatedBranches() {
+		int cnt = 0;
+		for (Branch bra : opfNet.getBranchList()) {
+			if (!bra.isActive() || this.constrainedBranchIdSet.contains(bra.getId()))
+				continue;
+			double bij = LineMwFlowConstraintCollector.calBranchBij((AclfBranch)bra);
+			double flow = bij * (this.optimX[bra.getFromBus().getSortNumber() + this.numOfGen] - 
+									this.optimX[bra.getToBus().getSortNumber() + this.numOfGen]);
+			double ratingMw = ((BaseOpfBranch)bra).getRatingMw1();
+			if (Math.abs(flow) > this.nearBindingFactor * ratingMw) {
+				this.constrainedBranchIdSet.add(bra.getId());
+				cnt++;
+			}
+		}
+		return cnt;
+	}
+	
 	  /**
 	   * Computes and returns nx1 solution vector (x)
 	   * @return doulbe[]
@@ -0,0 +1,145 @@
+package org.interpss.plugin.opf.test;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.apache.commons.math3.complex.Complex;
+import org.interpss.IpssCorePlugin;
+import org.interpss.numeric.datatype.LimitType;
+import org.interpss.plugin.opf.OpfSolverFactory;
+import org.interpss.plugin.opf.solver.IOpfSolver;
+import org.interpss.plugin.opf.solver.giqpsolve.GIQPSolver;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.interpss.OpfObjectFactory;
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.aclf.AclfBranchCode;
+import com.interpss.core.aclf.AclfGenCode;
+import com.interpss.core.aclf.AclfLoadCode;
+import com.interpss.core.common.curve.CommonCurveFactory;
+import com.interpss.core.common.curve.NumericCurveModel;
+import com.interpss.core.common.curve.QuadraticCurve;
+import com.interpss.core.net.Branch;
+import com.interpss.opf.Constraint;
+import com.interpss.opf.IncrementalCost;
+import com.interpss.opf.OpfBranch;
+import com.interpss.opf.OpfBus;
+import com.interpss.opf.OpfFactory;
+import com.interpss.opf.OpfGenBus;
+import com.interpss.opf.OpfNetwork;
+
+public class GIQPSolverLazyLineLimitTest {
+	
+	@BeforeClass
+	public static void init() {
+		IpssCorePlugin.init();
+	}
+
+	@Test
+	public void test_lazyVsAllConstraints() throws InterpssException {
+		// all branch flow constraints in the problem
+		OpfNetwork net = create3BusNet();
+		GIQPSolver solver = OpfSolverFactory.createGIQPSolver(net, IOpfSolver.constraintHandleType.AllIn);
+		assertTrue(solver.solve());
+		double gen1 = ((OpfGenBus)net.getBus("Bus1")).getGenP(),
+			   gen2 = ((OpfGenBus)net.getBus("Bus2")).getGenP(),
+			   minF = solver.getObjectiveFunctionValue();
+		
+		// Bus1->Bus3 flow = (P1 + 2)/3 is limited to 0.8 pu, the cheap gen is backed down to 0.4 pu
+		assertTrue(Math.abs(gen1 - 0.4) < 1.0e-4);
+		assertTrue(Math.abs(gen2 - 1.6) < 1.0e-4);
+		
+		// lazy mode, the problem is first solved without branch flow constraints
+		OpfNetwork lazyNet = create3BusNet();
+		GIQPSolver lazySolver = OpfSolverFactory.createGIQPSolver(lazyNet, IOpfSolver.constraintHandleType.AllIn);
+		lazySolver.setLazyLineLimit(true);
+		assertTrue(lazySolver.solve());
+		
+		// same optimum as the all-constraint mode
+		assertTrue(Math.abs(((OpfGenBus)lazyNet.getBus("Bus1")).getGenP() - gen1) < 1.0e-6);
+		assertTrue(Math.abs(((OpfGenBus)lazyNet.getBus("Bus2")).getGenP() - gen2) < 1.0e-6);
+		assertTrue(Math.abs(lazySolver.getObjectiveFunctionValue() - minF) < 1.0e-6 * Math.max(1.0, Math.abs(minF)));
+		
+		// the violated Bus1->Bus3 (1.333 pu without limit) is added at the first iteration, 
+		// no branch is added at the second iteration
+		List<Integer> addedList = lazySolver.getLazyAddedCountList();
+		assertTrue(addedList.size() == 2);
+		assertTrue(addedList.get(0) == 1 && addedList.get(1) == 0);
+		assertTrue(lazySolver.getConstrainedBranchIdSet().size() == 1);
+		assertTrue(lazySolver.getConstrainedBranchIdSet().contains(findBranch("Bus1", "Bus3", lazyNet).getId()));
+	}
+	
+	@Test
+	public void test_lazyNoViolation() throws InterpssException {
+		// with large ratings, no branch flow constraint is added
+		OpfNetwork net = create3BusNet();
+		findBranch("Bus1", "Bus3", net).setRatingMw1(5.0);
+		GIQPSolver solver = OpfSolverFactory.createGIQPSolver(net, IOpfSolver.constraintHandleType.AllIn);
+		solver.setLazyLineLimit(true);
+		assertTrue(solver.solve());
+		
+		assertTrue(Math.abs(((OpfGenBus)net.getBus("Bus1")).getGenP() - 2.0) < 1.0e-4);
+		assertTrue(solver.getLazyAddedCountList().size() == 1);
+		assertTrue(solver.getConstrainedBranchIdSet().isEmpty());
+	}
+	
+	/*
+	 * 3 bus case, a cheap gen at Bus1 (swing), an expensive gen at Bus2 and 2.0 pu load at Bus3. 
+	 * All lines have x = 0.1 pu, Bus1->Bus3 is rated at 0.8 pu and the others at 5.0 pu.
+	 */
+	private OpfNetwork create3BusNet() throws InterpssException {
+		OpfNetwork net = OpfObjectFactory.createOpfNetwork();
+		net.setBaseKva(100000.0);
+		
+		createGenBus("Bus1", AclfGenCode.SWING, 1000.0, net);
+		createGenBus("Bus2", AclfGenCode.GEN_PV, 3000.0, net);
+		
+		OpfBus bus3 = OpfObjectFactory.createOpfBus("Bus3", net);
+		bus3.setBaseVoltage(230000.0);
+		bus3.setGenCode(AclfGenCode.NON_GEN);
+		bus3.setLoadCode(AclfLoadCode.CONST_P);
+		bus3.setLoadP(2.0);
+		
+		createBranch("Bus1", "Bus2", 5.0, net);
+		createBranch("Bus1", "Bus3", 0.8, net);
+		createBranch("Bus2", "Bus3", 5.0, net);
+		return net;
+	}
+	
+	private void createGenBus(String id, AclfGenCode code, double linCoeff, OpfNetwork net) throws InterpssException {
+		OpfGenBus bus = OpfObjectFactory.createOpfGenBus(id, net);
+		bus.setBaseVoltage(230000.0);
+		bus.setGenCode(code);
+		bus.setLoadCode(AclfLoadCode.NON_LOAD);
+		
+		IncrementalCost inc = OpfFactory.eINSTANCE.createIncrementalCost();
+		inc.setCostModel(NumericCurveModel.QUADRATIC);
+		QuadraticCurve curve = CommonCurveFactory.eINSTANCE.createQuadraticCurve();
+		curve.setA(10.0);
+		curve.setB(linCoeff);
+		curve.setC(0.0);
+		inc.setQuadraticCurve(curve);
+		bus.setIncCost(inc);
+		
+		Constraint cst = OpfFactory.eINSTANCE.createConstraint();
+		cst.setPLimit(new LimitType(5.0, 0.0));
+		bus.setConstraints(cst);
+	}
+	
+	private OpfBranch findBranch(String fromId, String toId, OpfNetwork net) {
+		for (Branch branch : net.getBranchList())
+			if (branch.getFromBus().getId().equals(fromId) && branch.getToBus().getId().equals(toId))
+				return (OpfBranch)branch;
+		return null;
+	}
+	
+	private void createBranch(String fromId, String toId, double ratingMw, OpfNetwork net) throws InterpssException {
+		OpfBranch branch = OpfObjectFactory.createOpfBranch();
+		net.addBranch(branch, fromId, toId);
+		branch.setBranchCode(AclfBranchCode.LINE);
+		branch.setZ(new Complex(0.0, 0.1));
+		branch.setRatingMw1(ratingMw);
+	}
+}
@@ -54,6 +54,7 @@ import org.ieee.odm.model.dstab.DStabModelParser;
 import org.ieee.odm.schema.AnalysisCategoryEnumType;
 import org.ieee.odm.schema.NetworkCategoryEnumType;
 import org.interpss.CorePluginFunction;
+import org.interpss.fadapter.impl.AclfNetBinarySnapshot;
 import org.interpss.mapper.odm.ODMAclfNetMapper;
 import org.interpss.pssl.simu.BaseDSL;
 
@@ -162,18 +163,39 @@ public class IpssAdapter extends BaseDSL {
 		
 		private Object importedObj = null;
 		
+		/**
+		 * network snapshot cache dir, the snapshot cache is disabled if not defined
+		 */
+		private String snapshotDir = null;
+		/**
+		 * snapshot hash key and file of the current import, to be written after the network is mapped
+		 */
+		private String snapshotHash = null;
+		private File snapshotFile = null;
+		private boolean loadedFromSnapshot = false;
+		
 		/**
 		 * get the AclfParser object
 		 * 
-		 * @return the AclfParser object
+		 * @return the AclfParser object, null if the network is loaded from the snapshot cache, 
+		 *         see isLoadedFromSnapshot()
 		 */
 		public AclfModelParser getAclfParser() { return (AclfModelParser)odmParser; }
 		/**
 		 * get the ODM parser object
 		 * 
-		 * @return the ODM parser object
+		 * @return the ODM parser object, null if the network is loaded from the snapshot cache, 
+		 *         see isLoadedFromSnapshot()
 		 */
 		public IODMModelParser getOdmParser() { return odmParser; }
+		/**
+		 * check if the network is loaded from the snapshot cache. In this case the files are not 
+		 * parsed and the ODM parser is not available. Use a FileImportDSL without the snapshot dir
+		 * if the ODM parser is needed. 
+		 * 
+		 * @return
+		 */
+		public boolean isLoadedFromSnapshot() { return this.loadedFromSnapshot; }
 		
 		/**
 		 * get the imported object, for example, AclfNetwork, ... DynamicSimuAlgorithm
@@ -184,15 +206,64 @@ public class IpssAdapter extends BaseDSL {
 		@SuppressWarnings(value="unchecked")
 		public <T> T getImportedObj() throws InterpssException { 
 			if (this.importedObj == null) {
+				boolean aclfNet = !(odmParser instanceof AcscModelParser || odmParser instanceof DStabModelParser ||
+						odmParser instanceof DistModelParser || odmParser instanceof DcSystemModelParser);
 				this.importedObj = odmParser instanceof AcscModelParser? mapAcscNet() :	
 						   odmParser instanceof DStabModelParser? mapDStabAlgo().getNetwork() :	
 						   odmParser instanceof DistModelParser? mapDistNet() :	
 						   odmParser instanceof DcSystemModelParser? mapDcSysNet() :	
 						   mapAclfNet();
+				if (aclfNet && this.snapshotFile != null)
+					writeSnapshot((AclfNetwork)this.importedObj);
 			}
 			return (T)this.importedObj;
 		}
 
+		/*
+		 * write the imported network into the snapshot cache. Failure in writing the snapshot
+		 * does not affect the import.
+		 */
+		private void writeSnapshot(AclfNetwork net) {
+			try {
+				if (AclfNetBinarySnapshot.write(net, this.snapshotHash, this.snapshotFile))
+					ipssLogger.info("Network snapshot written: " + this.snapshotFile.getPath());
+			} catch (IOException e) {
+				ipssLogger.warning("Error in writing network snapshot: " + e.toString());
+			}
+			this.snapshotFile = null;
+		}
+
+		/*
+		 * try to load the network from the snapshot cache. If there is no valid snapshot, the snapshot
+		 * file is recorded so that the snapshot is written after the network is imported.
+		 * 
+		 * @return true if the network is loaded from the snapshot
+		 */
+		private boolean loadSnapshot() {
+			this.snapshotFile = null;
+			this.loadedFromSnapshot = false;
+			try {
+				// the key covers all the input files, the file format and version
+				String tag = this.format + "|" + this.psseVersion + "|" + this.xfrBranchModel + "|" + this.classname;
+				String hash = AclfNetBinarySnapshot.contentHash(
+								new String[] {this.file1Name, this.file2Name, this.file3Name}, tag);
+				File file = AclfNetBinarySnapshot.snapshotFile(this.snapshotDir, hash);
+				AclfNetwork net = AclfNetBinarySnapshot.read(file, hash);
+				if (net != null) {
+					ipssLogger.info("Load network from snapshot: " + file.getPath());
+					this.importedObj = net;
+					this.odmParser = null;
+					this.loadedFromSnapshot = true;
+					return true;
+				}
+				this.snapshotHash = hash;
+				this.snapshotFile = file;
+			} catch (IOException | InterpssException e) {
+				ipssLogger.warning("Error in loading network snapshot, " + e.toString());
+			}
+			return false;
+		}
+
 		/**
 		 * map the parse object to an AclfNetwork object
 		 * 
@@ -370,6 +441,24 @@ public class IpssAdapter extends BaseDSL {
 		 */
 		public FileImportDSL filename(String name) { return this.setFilename(name); }
 
+		/**
+		 * set the network snapshot cache dir. When defined, the imported AclfNetwork object is
+		 * saved in a binary snapshot file, keyed by the content hash of the imported files and the
+		 * file format and version, and the network is loaded from the snapshot next time the same 
+		 * files are imported. In this case the ODM parser is not available, see isLoadedFromSnapshot().
+		 * 
+		 * @param dir snapshot cache dir
+		 * @return
+		 */
+		public FileImportDSL setSnapshotDir(String dir) { this.snapshotDir = dir; return this; }
+		/**
+		 * set the network snapshot cache dir
+		 * 
+		 * @param dir snapshot cache dir
+		 * @return
+		 */
+		public FileImportDSL snapshotDir(String dir) { return this.setSnapshotDir(dir); }
+
 		/**
 		 * create(get) ODM custom file adapter, based on the file format and PSS/E version
 		 * number
@@ -469,6 +558,9 @@ public class IpssAdapter extends BaseDSL {
 			
 			if(filename !=null) this.file1Name = filename;
 			
+			if (this.snapshotDir != null && !debug && this.format != FileFormat.IEEE_ODM && loadSnapshot())
+				return this;
+			
 			try {
 				ipssLogger.info("Load file: " + this.file1Name + " of format " + this.format);
 
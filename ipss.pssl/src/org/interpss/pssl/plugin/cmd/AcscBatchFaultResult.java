@@ -0,0 +1,111 @@
+ /*
+  * @(#)AcscBatchFaultResult.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.pssl.plugin.cmd;
+
+import org.interpss.numeric.datatype.Complex3x1;
+import org.interpss.pssl.util.BusFaultDuty;
+
+import com.interpss.core.acsc.fault.SimpleFaultCode;
+import com.interpss.core.datatype.IFaultResult;
+
+/**
+ * Fault result of an Acsc batch run. The bus faults of the batch are calculated by the bus fault 
+ * sweep helper and the result is a bus fault duty record. The branch faults are calculated by 
+ * the fault algorithm and the result is the fault algorithm result.
+ * 
+ * @author agent
+ *
+ */
+public class AcscBatchFaultResult {
+	// bus fault result and fault type
+	private BusFaultDuty busFaultDuty = null;
+	private SimpleFaultCode faultCode = null;
+	
+	// network base kva, for converting the bus fault current to Amps
+	private double baseKva;
+	
+	// branch fault result
+	private IFaultResult faultResult = null;
+	
+	/**
+	 * constructor for a bus fault result
+	 * 
+	 * @param duty bus fault duty
+	 * @param code fault type
+	 * @param baseKva network base kva
+	 */
+	public AcscBatchFaultResult(BusFaultDuty duty, SimpleFaultCode code, double baseKva) {
+		this.busFaultDuty = duty;
+		this.faultCode = code;
+		this.baseKva = baseKva;
+	}
+	
+	/**
+	 * constructor for a branch fault result
+	 * 
+	 * @param result fault algorithm result
+	 */
+	public AcscBatchFaultResult(IFaultResult result) {
+		this.faultResult = result;
+	}
+	
+	public boolean isBusFault() { return this.busFaultDuty != null; }
+	
+	public BusFaultDuty getBusFaultDuty() { return this.busFaultDuty; }
+	
+	public IFaultResult getFaultResult() { return this.faultResult; }
+	
+	/**
+	 * get the short circuit current at the fault point in 012 coordinates, in pu
+	 * 
+	 * @return
+	 */
+	public Complex3x1 getSCCurrent_012() {
+		return isBusFault()? this.busFaultDuty.getFaultCurrent_012(this.faultCode) : 
+								this.faultResult.getSCCurrent_012();
+	}
+	
+	/**
+	 * output the fault result
+	 * 
+	 * @param baseV base voltage of the fault point in Volts
+	 * @return
+	 */
+	public String toString(double baseV) {
+		if (!isBusFault())
+			return this.faultResult.toString(baseV);
+		
+		double baseAmps = this.baseKva * 1000.0 / (Math.sqrt(3.0) * baseV);
+		StringBuffer buf = new StringBuffer();
+		buf.append("Bus fault at " + this.busFaultDuty.getBusId() + ", " + this.faultCode + "\n");
+		buf.append("   Zth1: " + this.busFaultDuty.getZth1() + ", Zth2: " + this.busFaultDuty.getZth2() + 
+						", Zth0: " + this.busFaultDuty.getZth0() + " pu\n");
+		buf.append("   Fault current I012: " + getSCCurrent_012() + " pu\n");
+		buf.append("   Fault current Iabc: " + this.busFaultDuty.getFaultCurrent_abc(this.faultCode) + " pu\n");
+		double duty = this.busFaultDuty.getFaultDuty(this.faultCode);
+		buf.append("   Fault duty: " + duty + " pu, " + duty * baseAmps + " Amps\n");
+		return buf.toString();
+	}
+}
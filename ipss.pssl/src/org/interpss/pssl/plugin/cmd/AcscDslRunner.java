@@ -25,6 +25,13 @@
 package org.interpss.pssl.plugin.cmd;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.math3.complex.Complex;
 import org.ieee.odm.schema.AcscBaseFaultXmlType;
@@ -34,10 +41,13 @@ import org.ieee.odm.schema.AcscFaultAnalysisXmlType;
 import org.ieee.odm.schema.AcscFaultCategoryEnumType;
 import org.ieee.odm.schema.AcscFaultTypeEnumType;
 import org.ieee.odm.schema.ComplexXmlType;
+import org.interpss.pssl.plugin.cmd.json.AcscFaultConfigBean;
 import org.interpss.pssl.plugin.cmd.json.AcscRunConfigBean;
 import org.interpss.pssl.plugin.cmd.json.BaseJSONBean;
 import org.interpss.pssl.simu.IpssAcsc;
 import org.interpss.pssl.simu.IpssAcsc.FaultAlgoDSL;
+import org.interpss.pssl.util.AcscFaultSweepHelper;
+import org.interpss.pssl.util.BusFaultDuty;
 
 import com.interpss.common.exp.InterpssException;
 import com.interpss.core.acsc.AcscNetwork;
@@ -119,33 +129,155 @@ public class AcscDslRunner implements IDslRunner {
 	}
 	
 	/**
-	 * run the acsc analysis case and return the analysis results
+	 * run the acsc analysis case and return the analysis results. If the fault list is defined, 
+	 * the faults are calculated as a batch and a list of the fault results is returned, see runBatch().
 	 * 
 	 * @param acscConfigBean
 	 * @return
 	 */
 	public <T> T run(BaseJSONBean bean)  throws InterpssException {
 		AcscRunConfigBean acscBean = (AcscRunConfigBean) bean;
+		if (acscBean.isBatchRun())
+			return (T)runBatch(acscBean);
+		
 		FaultAlgoDSL algo = IpssAcsc.createAcscAlgo(this.net);
+		return (T)runFault(algo, acscBean.getFaultConfig());
+	}
+	
+	/**
+	 * run the faults in the fault list against the network and return the fault results in the order
+	 * of the fault list. The network is loaded once and shared.
+	 * 
+	 *   - The bus faults are calculated using the bus fault sweep helper. The sequence Y-matrices are 
+	 *     factorized once, in the calling thread, and the bus fault list is partitioned into chunks, 
+	 *     which are processed by worker threads. The workers only read the network and the shared
+	 *     factors, each worker has its own fault calculator and result objects.
+	 *   - The branch faults are calculated in the calling thread using one fault algorithm object,
+	 *     after the bus faults, since the fault algorithm changes the network.  
+	 * 
+	 * The first error is reported after all the workers completed.
+	 * 
+	 * @param acscBean
+	 * @return fault result list
+	 * @throws InterpssException
+	 */
+	public List<AcscBatchFaultResult> runBatch(AcscRunConfigBean acscBean) throws InterpssException {
+		List<AcscFaultConfigBean> faultList = acscBean.faultList;
+		int n = faultList.size();
+		AcscBatchFaultResult[] results = new AcscBatchFaultResult[n];
+		
+		List<Integer> busFaultList = new ArrayList<>();
+		for (int i = 0; i < n; i++) {
+			AcscFaultConfigBean fault = faultList.get(i);
+			if (fault.type == SimpleFaultType.BUS_FAULT)
+				busFaultList.add(i);
+			else if (fault.type != SimpleFaultType.BRANCH_FAULT)
+				throw new InterpssException("Fault type not supported in Acsc batch run, " + fault.toString());
+		}
+		
+		if (!busFaultList.isEmpty())
+			runBusFaults(faultList, busFaultList, acscBean.numberOfThreads, results);
+		
+		FaultAlgoDSL algo = null;
+		for (int i = 0; i < n; i++) {
+			if (results[i] == null) {
+				if (algo == null)
+					algo = IpssAcsc.createAcscAlgo(this.net);
+				results[i] = new AcscBatchFaultResult(runFault(algo, faultList.get(i)));
+			}
+		}
+		return Arrays.asList(results);
+	}
+	
+	private void runBusFaults(List<AcscFaultConfigBean> faultList, List<Integer> busFaultList, int numberOfThreads, 
+				AcscBatchFaultResult[] results) throws InterpssException {
+		// the sequence Y-matrices required by the fault types are factorized once, in the calling thread
+		AcscFaultSweepHelper helper = new AcscFaultSweepHelper(this.net)
+				.setFaultCodes(busFaultList.stream()
+						.map(i -> faultList.get(i).category)
+						.distinct()
+						.toArray(SimpleFaultCode[]::new))
+				.factorize();
+		
+		int n = busFaultList.size();
+		int nThreads = Math.max(1, Math.min(numberOfThreads, n));
+		int size = Math.max(1, (n + nThreads - 1) / nThreads);
+		if (nThreads == 1) {
+			runBusFaultChunk(helper.createCalculator(), faultList, busFaultList, 0, n, results);
+			return;
+		}
+		
+		ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+		try {
+			List<Future<Object>> futureList = new ArrayList<>();
+			for (int start = 0; start < n; start += size) {
+				// each worker has its own calculator, the factors are shared
+				AcscFaultSweepHelper.FaultCalculator calculator = helper.createCalculator();
+				int chunkStart = start, chunkEnd = Math.min(start + size, n);
+				futureList.add(executor.submit(() -> {
+					runBusFaultChunk(calculator, faultList, busFaultList, chunkStart, chunkEnd, results);
+					return null;
+				}));
+			}
 
-		if (acscBean.type==SimpleFaultType.BUS_FAULT) {
+			InterpssException exp = null;
+			for (Future<Object> f : futureList) {
+				try {
+					f.get();
+				} catch (ExecutionException e) {
+					if (exp == null)
+						exp = e.getCause() instanceof InterpssException? (InterpssException)e.getCause() :
+									new InterpssException("Acsc batch run error, " + e.getCause().toString());
+				}
+			}
+			if (exp != null)
+				throw exp;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterpssException("Acsc batch run interrupted");
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	private void runBusFaultChunk(AcscFaultSweepHelper.FaultCalculator calculator, List<AcscFaultConfigBean> faultList, 
+				List<Integer> busFaultList, int start, int end, AcscBatchFaultResult[] results) throws InterpssException {
+		double baseKva = this.net.getBaseKva();
+		for (int k = start; k < end; k++) {
+			int i = busFaultList.get(k);
+			AcscFaultConfigBean fault = faultList.get(i);
+			BusFaultDuty duty = calculator.calculate(fault.faultBusId, fault.zLG.toComplex(), fault.zLL.toComplex(), fault.category);
+			results[i] = new AcscBatchFaultResult(duty, fault.category, baseKva);
+		}
+	}
+	
+	/**
+	 * run the fault using the fault algorithm object
+	 * 
+	 * @param algo
+	 * @param fault
+	 * @return fault result, null if the fault type is not supported
+	 * @throws InterpssException
+	 */
+	private IFaultResult runFault(FaultAlgoDSL algo, AcscFaultConfigBean fault) throws InterpssException {
+		if (fault.type==SimpleFaultType.BUS_FAULT) {
 			
-	  		algo.createBusFault(acscBean.faultBusId)
-	  			.faultCode(acscBean.category)
-	  			.zLGFault(acscBean.zLG.toComplex())
-	  			.zLLFault(acscBean.zLL.toComplex())
+	  		algo.createBusFault(fault.faultBusId)
+	  			.faultCode(fault.category)
+	  			.zLGFault(fault.zLG.toComplex())
+	  			.zLLFault(fault.zLL.toComplex())
 	  			.calculateFault();
-	  		return (T)algo.getResult();
+	  		return algo.getResult();
 		}
-		else if (acscBean.type==SimpleFaultType.BRANCH_FAULT) {
+		else if (fault.type==SimpleFaultType.BRANCH_FAULT) {
 			
-	  		algo.createBranchFault(acscBean.faultBranchFromId, acscBean.faultBranchToId, acscBean.faultBranchCirId)
-	  			.faultCode(acscBean.category)
-	  			.zLGFault(acscBean.zLG.toComplex())
-	  			.zLLFault(acscBean.zLL.toComplex())
-	  			.distance(acscBean.distance)
+	  		algo.createBranchFault(fault.faultBranchFromId, fault.faultBranchToId, fault.faultBranchCirId)
+	  			.faultCode(fault.category)
+	  			.zLGFault(fault.zLG.toComplex())
+	  			.zLLFault(fault.zLL.toComplex())
+	  			.distance(fault.distance)
 	  			.calculateFault();
-	  		return (T)algo.getResult();
+	  		return algo.getResult();
 		}
 		
 		return null;
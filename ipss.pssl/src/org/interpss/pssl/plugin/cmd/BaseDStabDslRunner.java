@@ -1,5 +1,6 @@
 package org.interpss.pssl.plugin.cmd;
 
+import java.io.Closeable;
 import java.io.IOException;
 
 import org.ieee.odm.adapter.IODMAdapter.NetType;
@@ -76,8 +77,17 @@ public abstract class BaseDStabDslRunner implements IDslRunner {
 		}
 		
 		//output the result
-        
-		if(!dstabBean.dstabOutputFileName.equals("")){
+		
+		// output handlers writing their own output file, for example the columnar binary
+		// output handler, only need to be closed
+		if(outputHdler instanceof Closeable){
+			try {
+				((Closeable)outputHdler).close();
+			} catch (IOException e) {
+				IpssLogger.getLogger().severe("Error in closing the output handler, " + e.toString());
+			}
+		}
+		else if(!dstabBean.dstabOutputFileName.equals("")){
 			FileUtil.write2File(dstabBean.dstabOutputFileName, outputHdler.toString().getBytes());
 			IpssLogger.getLogger().info("Ouput written to " + dstabBean.dstabOutputFileName);
 		}
@@ -30,10 +30,12 @@ import static org.interpss.pssl.plugin.IpssAdapter.importAclfNet;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.List;
 
 import org.ieee.odm.adapter.IODMAdapter.NetType;
 import org.interpss.pssl.plugin.IpssAdapter.FileImportDSL;
 import org.interpss.pssl.plugin.cmd.json.AclfRunConfigBean;
+import org.interpss.pssl.plugin.cmd.json.AcscFaultConfigBean;
 import org.interpss.pssl.plugin.cmd.json.AcscRunConfigBean;
 import org.interpss.pssl.plugin.cmd.json.BaseJSONBean;
 import org.interpss.pssl.plugin.cmd.json.DstabRunConfigBean;
@@ -132,6 +134,7 @@ public class CmdRunner {
 			FileImportDSL inDsl = importAclfNet(aclfBean.aclfCaseFileName)
 					.setFormat(aclfBean.format)
 					.setPsseVersion(aclfBean.version)
+					.setSnapshotDir(aclfBean.snapshotDir)
 					.load();	
 
 			// map ODM to InterPSS model object
@@ -163,17 +166,30 @@ public class CmdRunner {
 			// map ODM to InterPSS model object
 			AcscNetwork net = inDsl.getImportedObj();	
 			
-			IFaultResult scResults = acscBean.loadDslRunner()
-											.setNetwork(net)
-											.run(acscBean);
-			
-			// output short circuit result
-			
-			// require the base votlage of the fault point
-			double baseV = acscBean.type == SimpleFaultType.BUS_FAULT? net.getBus(acscBean.faultBusId).getBaseVoltage():
-				                                  net.getBus(acscBean.faultBranchFromId).getBaseVoltage();
+			if (acscBean.isBatchRun()) {
+				// run the faults in the fault list against the loaded network
+				List<AcscBatchFaultResult> scResultList = acscBean.loadDslRunner()
+												.setNetwork(net)
+												.run(acscBean);
+				
+				// output the short circuit results to one consolidated file
+				StringBuffer buf = new StringBuffer();
+				for (int i = 0; i < acscBean.faultList.size(); i++) {
+					AcscFaultConfigBean fault = acscBean.faultList.get(i);
+					buf.append("Fault #" + (i+1) + ": " + fault.toString() + "\n");
+					buf.append(scResultList.get(i).toString(getFaultBaseVoltage(net, fault)) + "\n");
+				}
+				FileUtil.write2File(acscBean.acscOutputFileName, buf.toString().getBytes());
+			}
+			else {
+				IFaultResult scResults = acscBean.loadDslRunner()
+												.setNetwork(net)
+												.run(acscBean);
 				
-			FileUtil.write2File(acscBean.acscOutputFileName, scResults.toString(baseV).getBytes());
+				// output short circuit result
+				FileUtil.write2File(acscBean.acscOutputFileName, 
+						scResults.toString(getFaultBaseVoltage(net, acscBean.getFaultConfig())).getBytes());
+			}
 			ipssLogger.info("Ouput written to " + acscBean.acscOutputFileName);
 			
 			// create a simuContext and return it
@@ -225,6 +241,14 @@ public class CmdRunner {
 		
 	}
 	
+	/*
+	 * require the base votlage of the fault point
+	 */
+	private double getFaultBaseVoltage(AcscNetwork net, AcscFaultConfigBean fault) {
+		return fault.type == SimpleFaultType.BUS_FAULT? net.getBus(fault.faultBusId).getBaseVoltage():
+				                                  net.getBus(fault.faultBranchFromId).getBaseVoltage();
+	}
+	
 	private AclfRunConfigBean loadAclfRunConfigInfo() throws IOException {
 		AclfRunConfigBean aclfBean = BaseJSONBean.toBean(this.controlFilename, AclfRunConfigBean.class);
 
@@ -40,6 +40,12 @@ public class AclfRunConfigBean extends BaseJSONBean {
 	 */
 	public IpssAdapter.PsseVersion version = IpssAdapter.PsseVersion.PSSE_30;
 	
+	/**
+	 * network snapshot cache dir, optional. If defined, the imported network is cached
+	 * in binary snapshot and reused when the same case file is run again
+	 */
+	public String snapshotDir = null;
+	
 	/**
 	 * Loadflow method
 	 */
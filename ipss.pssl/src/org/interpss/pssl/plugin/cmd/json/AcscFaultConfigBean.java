@@ -0,0 +1,41 @@
+package org.interpss.pssl.plugin.cmd.json;
+
+import org.interpss.datamodel.bean.datatype.ComplexBean;
+
+import com.google.gson.Gson;
+import com.interpss.core.acsc.fault.SimpleFaultCode;
+import com.interpss.core.acsc.fault.SimpleFaultType;
+
+/**
+ * Fault definition of an Acsc run, used in the fault list of AcscRunConfigBean 
+ * for running a batch of faults against the same network
+ * 
+ * @author agent
+ *
+ */
+public class AcscFaultConfigBean {
+	public SimpleFaultType type = SimpleFaultType.BUS_FAULT;
+	
+	public SimpleFaultCode category = SimpleFaultCode.GROUND_3P;
+
+	public ComplexBean zLG = new ComplexBean(),
+			           zLL = new ComplexBean();
+	
+	// Bus fault only
+	public String faultBusId = "";
+	
+	// Branch fault only
+	public String faultBranchFromId = "";
+
+	public String faultBranchToId = "";
+	
+	public String faultBranchCirId = "";
+	
+	// Distrance is measured starting from the fromBus side
+	public double distance = 0.0;
+	
+	@Override
+	public String toString() {
+		return new Gson().toJson(this);
+	}
+}
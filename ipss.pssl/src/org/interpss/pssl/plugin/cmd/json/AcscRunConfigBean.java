@@ -1,5 +1,8 @@
 package org.interpss.pssl.plugin.cmd.json;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.interpss.datamodel.bean.datatype.ComplexBean;
 
 import com.interpss.core.acsc.fault.SimpleFaultCode;
@@ -43,4 +46,39 @@ public class AcscRunConfigBean extends BaseJSONBean {
 	
 	// Distrance is measured starting from the fromBus side
 	public double distance = 0.0;
+	
+	// Batch run only, the faults are calculated against the same network, and the 
+	// single fault definition above is ignored if the list is not empty
+	public List<AcscFaultConfigBean> faultList = new ArrayList<>();
+	
+	// number of worker threads for running the fault list
+	public int numberOfThreads = 1;
+	
+	/**
+	 * check if the fault list is defined for a batch run
+	 * 
+	 * @return
+	 */
+	public boolean isBatchRun() {
+		return this.faultList != null && !this.faultList.isEmpty();
+	}
+	
+	/**
+	 * get the single fault definition of the run as a fault config bean
+	 * 
+	 * @return
+	 */
+	public AcscFaultConfigBean getFaultConfig() {
+		AcscFaultConfigBean fault = new AcscFaultConfigBean();
+		fault.type = this.type;
+		fault.category = this.category;
+		fault.zLG = this.zLG;
+		fault.zLL = this.zLL;
+		fault.faultBusId = this.faultBusId;
+		fault.faultBranchFromId = this.faultBranchFromId;
+		fault.faultBranchToId = this.faultBranchToId;
+		fault.faultBranchCirId = this.faultBranchCirId;
+		fault.distance = this.distance;
+		return fault;
+	}
 }
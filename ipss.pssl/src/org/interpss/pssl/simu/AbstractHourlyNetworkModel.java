@@ -1,12 +1,17 @@
 package org.interpss.pssl.simu;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import org.interpss.numeric.exp.IpssNumericException;
 import org.interpss.pssl.plugin.IpssAdapter.FileImportDSL;
 import org.interpss.pssl.simu.IpssDclf.DclfAlgorithmDSL;
+import org.interpss.pssl.util.IContingencyResultCollector;
+import org.interpss.pssl.util.ParallelContingencyAnalysisHelper;
 
 import com.interpss.common.exp.InterpssException;
 import com.interpss.core.aclf.AclfNetwork;
+import com.interpss.core.dclf.common.ReferenceBusException;
 import com.interpss.core.funcImpl.AclfNetHelper;
 import com.interpss.core.funcImpl.ZeroZBranchProcesor;
 
@@ -21,6 +26,20 @@ public abstract class AbstractHourlyNetworkModel {
 	private AclfNetwork aclfNet = null;
 	private AclfNetwork basecaseAclfNet = null;
 	
+	// DclfAlgorithm object pool for parallel computing
+	private int dclfAlgoPoolSize = Runtime.getRuntime().availableProcessors();
+	private DclfAlgorithmPool dclfAlgoPool = null;
+	private int dclfAlgoPoolHour = -1;
+	private List<String> dclfAlgoPoolDeadBusIdList = new ArrayList<>();
+	
+	// incremental hourly update, preparedHour is the hour at which the aclfNet object 
+	// has been consolidated, -1 if not consolidated
+	private int preparedHour = -1;
+	private double preparedSmallBranchZ = 0.0;
+	private DclfAlgorithmDSL preparedDclfAlgo = null;
+	private List<String> preparedDeadBusIdList = new ArrayList<>();
+	private int nIncrementalUpdates = 0, nRebuilds = 0;
+	
 	//private ChangeRecorder recorderBaseNet;
 	
 	/**
@@ -76,6 +95,110 @@ public abstract class AbstractHourlyNetworkModel {
 	 * @return
 	 */
 	public AclfNetwork getAclfNet(int hr, double smallBranchZ) throws InterpssException { 
+		rebuildAclfNet(hr, smallBranchZ);
+		return this.getAclfNet(); 
+	}		
+	
+	/**
+	 * Get the network data changes from hour fromHr to hour toHr, used for updating the
+	 * AclfNetwork object in place. To be overridden by sub-class, which keeps the hourly 
+	 * data. The default implementation returns null, the network is re-built for each hour.  
+	 * 
+	 * @param fromHr current hour of the AclfNetwork object
+	 * @param toHr new hour
+	 * @return the changes, null if the changes are not known
+	 * @throws InterpssException
+	 */
+	protected HourlyNetworkChange getHourlyChange(int fromHr, int toHr) throws InterpssException {
+		return null;
+	}
+	
+	/**
+	 * Set model hour, and get consolidated AclfNetwork object for the hour. If the AclfNetwork 
+	 * object has been consolidated for the current hour, by this method or getAclfNet(hr, smallBranchZ), 
+	 * and the changes to the new hour are injection or branch status changes, the changes are applied 
+	 * in place and the zero-Z branch consolidation is kept. Otherwise the network is re-built
+	 * as in getAclfNet(hr, smallBranchZ).
+	 * 
+	 * @param hr
+	 * @param smallBranchZ
+	 * @return
+	 * @throws InterpssException
+	 */
+	public AclfNetwork updateAclfNet(int hr, double smallBranchZ) throws InterpssException {
+		HourlyNetworkChange.ChangeType type = applyHourlyChange(hr, smallBranchZ);
+		if (type == null)
+			rebuildAclfNet(hr, smallBranchZ);
+		else if (type != HourlyNetworkChange.ChangeType.INJECTION)
+			// B' matrix changed
+			this.preparedDclfAlgo = null;
+		return this.getAclfNet();
+	}
+	
+	/**
+	 * Set model hour, and get a DclfAlgoithm DSL object for the hour with DCLF calculated. For 
+	 * injection only changes, the DclfAlgorithm object of the previous hour, including the solver 
+	 * and the dead bus list, is kept and only the DCLF is re-calculated. For branch status changes,
+	 * the zero-Z branch consolidation is kept and the dead bus analysis and DCLF are re-done. 
+	 * Otherwise the network and the algorithm are re-built as in createDclfAlgo(hr, smallBranchZ, deadBusIdList).
+	 * 
+	 * @param hr ED hour
+	 * @param smallBranchZ
+	 * @param deadBusIdList for storing dead bus ids
+	 * @return DclfAlgoithm DSL object, DCLF calculated
+	 * @throws InterpssException
+	 */
+	public DclfAlgorithmDSL updateDclfAlgo(int hr, double smallBranchZ, List<String> deadBusIdList) throws InterpssException {
+		HourlyNetworkChange.ChangeType type = this.preparedDclfAlgo != null? 
+				applyHourlyChange(hr, smallBranchZ) : null;
+		if (type == null) {
+			List<String> list = new ArrayList<>();
+			this.preparedDclfAlgo = createDclfAlgo(hr, smallBranchZ, list);
+			this.preparedDeadBusIdList = list;
+		}
+		else if (type == HourlyNetworkChange.ChangeType.BRANCH_STATUS) {
+			List<String> list = new ArrayList<>();
+			new AclfNetHelper(this.getAclfNet()).findPreContNetworkIslanding(list);
+			for (String id : list)
+				if (!this.preparedDeadBusIdList.contains(id))
+					this.preparedDeadBusIdList.add(id);
+			this.preparedDclfAlgo = IpssDclf.createDclfAlgorithm(getAclfNet());
+		}
+		
+		try {
+			this.preparedDclfAlgo.runDclfAnalysis();
+		} catch (ReferenceBusException | IpssNumericException e) {
+			this.preparedDclfAlgo = null;
+			throw new InterpssException("DCLF calculation error for hour " + hr + ", " + e.toString());
+		}
+		
+		if (deadBusIdList != null)
+			deadBusIdList.addAll(this.preparedDeadBusIdList);
+		return this.preparedDclfAlgo;
+	}
+	
+	/**
+	 * get number of in place hourly updates
+	 * 
+	 * @return
+	 */
+	public int getNumOfIncrementalUpdates() {
+		return this.nIncrementalUpdates;
+	}
+	
+	/**
+	 * get number of hourly network re-builds
+	 * 
+	 * @return
+	 */
+	public int getNumOfRebuilds() {
+		return this.nRebuilds;
+	}
+	
+	/*
+	 * set the hour and consolidate the network object for the hour
+	 */
+	private void rebuildAclfNet(int hr, double smallBranchZ) throws InterpssException {
 		this.setHour(hr);
 		this.getAclfNet().setZeroZBranchThreshold(smallBranchZ);
 		
@@ -86,8 +209,38 @@ public abstract class AbstractHourlyNetworkModel {
 	  		proc.setContingencyList(this.getAclfNet().getContingencyList());
 	  	this.getAclfNet().accept(proc);
 	  	
-		return this.getAclfNet(); 
-	}		
+	  	this.preparedHour = hr;
+	  	this.preparedSmallBranchZ = smallBranchZ;
+	  	this.preparedDclfAlgo = null;
+	  	this.preparedDeadBusIdList.clear();
+	  	this.nRebuilds++;
+	}
+	
+	/*
+	 * apply the changes from the current hour to hour hr in place, if the network object 
+	 * has been consolidated for the current hour and the changes are not topology changes.
+	 * 
+	 * @return the change type, null if the changes are not applied
+	 */
+	private HourlyNetworkChange.ChangeType applyHourlyChange(int hr, double smallBranchZ) throws InterpssException {
+		if (this.preparedHour < 0 || this.preparedHour != this.hour || this.preparedSmallBranchZ != smallBranchZ)
+			return null;
+		if (hr == this.hour)
+			return HourlyNetworkChange.ChangeType.INJECTION;
+		
+		HourlyNetworkChange change = getHourlyChange(this.hour, hr);
+		if (change == null)
+			return null;
+		HourlyNetworkChange.ChangeType type = change.classify(this.getAclfNet());
+		if (type == HourlyNetworkChange.ChangeType.TOPOLOGY)
+			return null;
+		
+		change.apply(this.getAclfNet());
+		this.hour = hr;
+		this.preparedHour = hr;
+		this.nIncrementalUpdates++;
+		return type;
+	}
 	
 	/**
 	 * create network case object based on the File import DSL
@@ -114,6 +267,8 @@ public abstract class AbstractHourlyNetworkModel {
 		// set hr for the network model, Apply all
 		// outage and override for the hour
 		setHour(hr);
+		this.preparedHour = -1;
+		this.preparedDclfAlgo = null;
 		
 		// find island bus in the current AclfNetwork object
 		new AclfNetHelper(this.getAclfNet()).findPreContNetworkIslanding(deadBusIdList);
@@ -137,15 +292,7 @@ public abstract class AbstractHourlyNetworkModel {
 	public DclfAlgorithmDSL createDclfAlgo(int hr, double smallBranchZ, List<String> deadBusIdList) throws InterpssException {	
 		// set hr for the network model, Apply all
 		// outage and override for the hour
-		setHour(hr);
-		this.getAclfNet().setZeroZBranchThreshold(smallBranchZ);
-
-		processNetDataForConsolidation(smallBranchZ);
-
-	  	ZeroZBranchProcesor proc = new ZeroZBranchProcesor();
-	  	if (this.getAclfNet().getContingencyList().size() > 0)
-	  		proc.setContingencyList(this.getAclfNet().getContingencyList());
-	  	this.getAclfNet().accept(proc);
+		rebuildAclfNet(hr, smallBranchZ);
 	  	
 		// find island bus in the current AclfNetwork object
 		new AclfNetHelper(this.getAclfNet()).findPreContNetworkIslanding(deadBusIdList);	  	
@@ -161,11 +308,37 @@ public abstract class AbstractHourlyNetworkModel {
 	 * for parallel computing implementation
 	 */
 	
-	// TODO to be implemented
+	/**
+	 * set max number of DclfAlgorithm objects in the object pool. The default
+	 * is the number of available processors.
+	 * 
+	 * @param size
+	 */
+	public void setDclfAlgoPoolSize(int size) {
+		this.dclfAlgoPoolSize = size;
+	}
+	
+	/**
+	 * get the DclfAlgorithm object pool for the current hour, null if no
+	 * object has been borrowed
+	 * 
+	 * @return
+	 */
+	public DclfAlgorithmPool getDclfAlgoPool() {
+		return this.dclfAlgoPool;
+	}
+	
 	/**
 	 * Borrow an AclfNetwork object from the object pool. The AclfNetwork object is 
 	 * configure for the ED hour and dead buses (island bus) are identified for the
-	 * hourly AclfNetwork object
+	 * hourly AclfNetwork object. 
+	 * 
+	 * The pool is created at the first borrow for the hour, DCLF is calculated for the hour
+	 * and all pooled DclfAlgorithm objects share the factorized B' matrix. Since the pooled objects
+	 * wrap the same AclfNetwork object, the hour could only be changed after all borrowed objects 
+	 * have been returned. The P-Angle sensitivities of the contingency outage branch buses are cached 
+	 * when the pool is created, other sensitivities used concurrently need to be cached by 
+	 * getDclfAlgoPool().cacheBusSensitivity() before the objects are used.
 	 * 
 	 * @param hr ED hour
 	 * @param deadBusIdList a list storing island bus list in the network
@@ -173,10 +346,12 @@ public abstract class AbstractHourlyNetworkModel {
 	 * @throws InterpssException
 	 */
 	public DclfAlgorithmDSL borrowDclfAlgo(int hr, List<String> deadBusIdList) throws InterpssException {
-		return null;
+		DclfAlgorithmPool pool = getDclfAlgoPool(hr);
+		if (deadBusIdList != null)
+			deadBusIdList.addAll(this.dclfAlgoPoolDeadBusIdList);
+		return pool.borrow();
 	}
 	
-	// TODO to be implemented
 	/**
 	 * Return the AclfNetwork object wrapped in the Dclf Algorithm DSL object into the 
 	 * object pool.
@@ -184,6 +359,67 @@ public abstract class AbstractHourlyNetworkModel {
 	 * @param algo
 	 */
 	public void returnDclfAlgo(DclfAlgorithmDSL algo) {
-		//algo.destroy();
+		if (this.dclfAlgoPool != null)
+			this.dclfAlgoPool.giveBack(algo);
+	}
+	
+	/**
+	 * Perform Dclf contingency analysis of the hour in parallel for all contingencies defined
+	 * in the AclfNetwork object, using the DclfAlgorithm object pool. 
+	 * 
+	 * @param hr ED hour
+	 * @param deadBusIdList a list storing island bus list in the network
+	 * @param collector thread-safe contingency analysis result collector
+	 * @return false if there is any calculation related issue
+	 * @throws InterpssException
+	 */
+	public boolean parallelContingencyAnalysis(int hr, List<String> deadBusIdList, IContingencyResultCollector collector) throws InterpssException {
+		DclfAlgorithmPool pool = getDclfAlgoPool(hr);
+		if (deadBusIdList != null)
+			deadBusIdList.addAll(this.dclfAlgoPoolDeadBusIdList);
+		return new ParallelContingencyAnalysisHelper(pool).contAnalysis(collector);
+	}
+	
+	private synchronized DclfAlgorithmPool getDclfAlgoPool(int hr) throws InterpssException {
+		if (this.dclfAlgoPool != null && this.dclfAlgoPoolHour == hr && this.hour == hr)
+			return this.dclfAlgoPool;
+		
+		if (this.dclfAlgoPool != null && this.dclfAlgoPool.getNumOfBorrowed() > 0)
+			throw new InterpssException("Error, hour cannot be changed to " + hr + 
+					" before all DclfAlgorithm objects of hour " + this.dclfAlgoPoolHour + " are returned");
+		
+		if (this.dclfAlgoPool != null && this.dclfAlgoPoolHour == this.hour) {
+			// for injection only changes, B' matrix and the cached P-Angle sensitivities
+			// are unchanged, the pool is kept and DCLF is re-calculated
+			HourlyNetworkChange change = getHourlyChange(this.hour, hr);
+			if (change != null && change.classify(this.getAclfNet()) == HourlyNetworkChange.ChangeType.INJECTION) {
+				change.apply(this.getAclfNet());
+				this.hour = hr;
+				this.preparedHour = -1;
+				this.preparedDclfAlgo = null;
+				this.nIncrementalUpdates++;
+				try {
+					new DclfAlgorithmDSL(this.dclfAlgoPool.getBaseAlgorithm()).runDclfAnalysis();
+				} catch (ReferenceBusException | IpssNumericException e) {
+					this.dclfAlgoPool = null;
+					throw new InterpssException("DCLF calculation error for hour " + hr + ", " + e.toString());
+				}
+				this.dclfAlgoPoolHour = hr;
+				return this.dclfAlgoPool;
+			}
+		}
+		
+		this.dclfAlgoPoolDeadBusIdList.clear();
+		DclfAlgorithmDSL algoDsl = createDclfAlgo(hr, this.dclfAlgoPoolDeadBusIdList);
+		try {
+			algoDsl.runDclfAnalysis();
+		} catch (ReferenceBusException | IpssNumericException e) {
+			throw new InterpssException("DCLF calculation error for hour " + hr + ", " + e.toString());
+		}
+		
+		this.dclfAlgoPool = new DclfAlgorithmPool(algoDsl.algo(), this.dclfAlgoPoolSize);
+		this.dclfAlgoPool.cacheSensitivity(algoDsl.algo().getNetwork().getContingencyList());
+		this.dclfAlgoPoolHour = hr;
+		return this.dclfAlgoPool;
 	}
 }
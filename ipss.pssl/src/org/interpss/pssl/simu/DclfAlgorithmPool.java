@@ -0,0 +1,234 @@
+ /*
+  * @(#)DclfAlgorithmPool.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.pssl.simu;
+
+import static com.interpss.common.util.IpssLogger.ipssLogger;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.interpss.numeric.exp.IpssNumericException;
+import org.interpss.pssl.simu.IpssDclf.DclfAlgorithmDSL;
+
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.aclf.AclfBus;
+import com.interpss.core.aclf.contingency.BaseContingency;
+import com.interpss.core.aclf.contingency.Contingency;
+import com.interpss.core.aclf.contingency.MultiOutageContingency;
+import com.interpss.core.aclf.contingency.OutageBranch;
+import com.interpss.core.dclf.DclfAlgorithm;
+import com.interpss.core.dclf.LODFSenAnalysisType;
+import com.interpss.core.dclf.common.ReferenceBusException;
+
+/**
+ * A bounded pool of DclfAlgorithm objects for parallel Dclf contingency analysis. All
+ * pooled objects are created by IpssDclf.copyAlgorithm() from the base DclfAlgorithm object,
+ * therefore they share the same network object and the same factorized B' matrix. Each pooled
+ * object keeps its own outage branch list and LODF calculation state, so that one pooled object
+ * could be used by one worker thread at a time.
+ *
+ * Usage:
+ *
+ *    pool.cacheSensitivity(contList);
+ *    DclfAlgorithmDSL algoDsl = pool.borrow();
+ *    try {
+ *        ...
+ *    } finally {
+ *        pool.giveBack(algoDsl);
+ *    }
+ *
+ * The P-Angle sensitivities are cached in the shared Dclf solver, one column per injection bus. 
+ * Since the solver is not thread-safe, the columns used by the pooled objects have to be cached, 
+ * by calling cacheSensitivity() or cacheBusSensitivity(), before the objects are used concurrently.  
+ *
+ * @author agent
+ *
+ */
+public class DclfAlgorithmPool {
+	private DclfAlgorithm baseAlgo = null;
+
+	private int maxSize = 1;
+	private int nCreated = 0;
+	private BlockingQueue<DclfAlgorithmDSL> idleQueue = null;
+
+	// ids of the buses, of which the P-Angle sensitivities have been cached
+	private Set<String> cachedBusIdSet = new HashSet<>();
+
+	/**
+	 * constructor. Pool size is set to the number of available processors.
+	 *
+	 * @param baseAlgo the base DclfAlgorithm object, DCLF should have been calculated
+	 * @throws InterpssException
+	 */
+	public DclfAlgorithmPool(DclfAlgorithm baseAlgo) throws InterpssException {
+		this(baseAlgo, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * constructor
+	 *
+	 * @param baseAlgo the base DclfAlgorithm object, DCLF should have been calculated
+	 * @param maxSize max number of DclfAlgorithm objects in the pool
+	 * @throws InterpssException
+	 */
+	public DclfAlgorithmPool(DclfAlgorithm baseAlgo, int maxSize) throws InterpssException {
+		if (!baseAlgo.isDclfCalculated())
+			throw new InterpssException("Error, run DCLF before creating the DclfAlgorithm pool");
+		if (maxSize < 1)
+			throw new InterpssException("Error, DclfAlgorithm pool size should be > 0, size: " + maxSize);
+
+		this.baseAlgo = baseAlgo;
+		this.maxSize = maxSize;
+		this.idleQueue = new ArrayBlockingQueue<>(maxSize);
+	}
+
+	/**
+	 * get the base DclfAlgorithm object
+	 *
+	 * @return
+	 */
+	public DclfAlgorithm getBaseAlgorithm() {
+		return this.baseAlgo;
+	}
+
+	/**
+	 * get the max number of DclfAlgorithm objects in the pool
+	 *
+	 * @return
+	 */
+	public int getMaxSize() {
+		return this.maxSize;
+	}
+
+	/**
+	 * get number of DclfAlgorithm objects currently borrowed out of the pool
+	 *
+	 * @return
+	 */
+	public synchronized int getNumOfBorrowed() {
+		return this.nCreated - this.idleQueue.size();
+	}
+
+	/**
+	 * Borrow a DclfAlgorithm DSL object from the pool. If all objects have been borrowed
+	 * and the pool has reached its max size, the call is blocked until an object is
+	 * returned to the pool.
+	 *
+	 * @return
+	 * @throws InterpssException
+	 */
+	public DclfAlgorithmDSL borrow() throws InterpssException {
+		DclfAlgorithmDSL algoDsl = this.idleQueue.poll();
+		if (algoDsl != null)
+			return algoDsl;
+
+		synchronized (this) {
+			if (this.nCreated < this.maxSize) {
+				this.nCreated++;
+				return IpssDclf.copyAlgorithm(this.baseAlgo);
+			}
+		}
+
+		try {
+			return this.idleQueue.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterpssException("Interrupted while waiting for a pooled DclfAlgorithm object");
+		}
+	}
+
+	/**
+	 * Return the DclfAlgorithm DSL object to the pool. The outage branch list of the
+	 * algorithm object is cleared.
+	 *
+	 * @param algoDsl
+	 */
+	public void giveBack(DclfAlgorithmDSL algoDsl) {
+		if (algoDsl == null)
+			return;
+		algoDsl.setLODFAnalysisType(LODFSenAnalysisType.SINGLE_BRANCH);
+		if (!this.idleQueue.offer(algoDsl))
+			ipssLogger.warning("DclfAlgorithm object returned to a full pool, it is discarded");
+	}
+
+	/**
+	 * Cache the P-Angle sensitivities used in the LODF calculation of the contingencies, which are
+	 * the columns of the outage branch terminal buses. Only the columns not yet cached are calculated.
+	 *
+	 * @param contList contingency list
+	 */
+	public void cacheSensitivity(Collection<? extends BaseContingency> contList) {
+		Set<String> busIdSet = new HashSet<>();
+		for (BaseContingency cont : contList) {
+			if (cont instanceof Contingency)
+				addTerminalBusIds(((Contingency)cont).getOutageBranch(), busIdSet);
+			else if (cont instanceof MultiOutageContingency)
+				((MultiOutageContingency)cont).getOutageBranches().forEach(outBranch -> {
+					addTerminalBusIds(outBranch, busIdSet);
+				});
+		}
+		cacheBusSensitivity(busIdSet);
+	}
+
+	/**
+	 * Cache the P-Angle sensitivities of the buses. Only the columns not yet cached are calculated. 
+	 * The cache is filled sequentially, since the solver is not thread-safe.
+	 *
+	 * @param busIds bus id list
+	 */
+	public synchronized void cacheBusSensitivity(Collection<String> busIds) {
+		for (String busId : busIds) {
+			if (this.cachedBusIdSet.contains(busId))
+				continue;
+			AclfBus bus = this.baseAlgo.getNetwork().getBus(busId);
+			try {
+				if (bus != null && bus.isActive() && !bus.isRefBus())
+					this.baseAlgo.getDclfSolver().getSenPAngle(busId);
+				this.cachedBusIdSet.add(busId);
+			} catch (InterpssException | IpssNumericException | ReferenceBusException e) {
+				ipssLogger.severe("Bus " + busId + ", " + e.toString());
+			}
+		}
+	}
+
+	/**
+	 * get number of buses, of which the P-Angle sensitivities have been cached
+	 *
+	 * @return
+	 */
+	public synchronized int getNumOfCachedBuses() {
+		return this.cachedBusIdSet.size();
+	}
+
+	private void addTerminalBusIds(OutageBranch outBranch, Set<String> busIdSet) {
+		if (outBranch != null && outBranch.getBranch() != null) {
+			busIdSet.add(outBranch.getBranch().getFromBus().getId());
+			busIdSet.add(outBranch.getBranch().getToBus().getId());
+		}
+	}
+}
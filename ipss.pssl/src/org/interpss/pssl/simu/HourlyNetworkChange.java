@@ -0,0 +1,186 @@
+ /*
+  * @(#)HourlyNetworkChange.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+
+package org.interpss.pssl.simu;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.math3.complex.Complex;
+
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.aclf.AclfBus;
+import com.interpss.core.aclf.AclfNetwork;
+
+/**
+ * Network data changes between two hours of an hourly network model, used for updating
+ * the hourly AclfNetwork object in place, instead of re-building it for each hour.
+ * The changes are classified as
+ *
+ *     INJECTION      bus gen/load changes only, network topology and B' matrix unchanged
+ *     BRANCH_STATUS  branch in/out service changes, zero-Z branch consolidation unchanged
+ *     TOPOLOGY       any other change, the network has to be re-built
+ *
+ * @author agent
+ *
+ */
+public class HourlyNetworkChange {
+	/**
+	 * change type, in the order of impact
+	 */
+	public static enum ChangeType { INJECTION, BRANCH_STATUS, TOPOLOGY };
+
+	/**
+	 * bus injection change, null gen or load for no change
+	 */
+	public static class BusInjection {
+		public String busId;
+		public Complex gen, load;
+		public BusInjection(String busId, Complex gen, Complex load) {
+			this.busId = busId; this.gen = gen; this.load = load;
+		}
+	}
+
+	/**
+	 * branch status change
+	 */
+	public static class BranchStatus {
+		public String branchId;
+		public boolean status;
+		public BranchStatus(String branchId, boolean status) {
+			this.branchId = branchId; this.status = status;
+		}
+	}
+
+	private List<BusInjection> busInjectionList = new ArrayList<>();
+	private List<BranchStatus> branchStatusList = new ArrayList<>();
+	private boolean topologyChanged = false;
+
+	/**
+	 * add a bus injection change, in PU
+	 *
+	 * @param busId
+	 * @param gen bus gen, null for no change
+	 * @param load bus load, null for no change
+	 * @return
+	 */
+	public HourlyNetworkChange addBusInjection(String busId, Complex gen, Complex load) {
+		this.busInjectionList.add(new BusInjection(busId, gen, load));
+		return this;
+	}
+
+	/**
+	 * add a branch status change
+	 *
+	 * @param branchId
+	 * @param status true for in service
+	 * @return
+	 */
+	public HourlyNetworkChange addBranchStatus(String branchId, boolean status) {
+		this.branchStatusList.add(new BranchStatus(branchId, status));
+		return this;
+	}
+
+	/**
+	 * mark the change as topology change, for example bus status change or branch
+	 * impedance change, the network has to be re-built for the hour
+	 *
+	 * @return
+	 */
+	public HourlyNetworkChange setTopologyChanged() {
+		this.topologyChanged = true;
+		return this;
+	}
+
+	public List<BusInjection> getBusInjectionList() { return this.busInjectionList; }
+	public List<BranchStatus> getBranchStatusList() { return this.branchStatusList; }
+
+	/**
+	 * classify the change against the current network object. A branch status change is
+	 * a topology change if the branch is a zero-Z branch, since the zero-Z branch
+	 * consolidation has to be re-done, or if a branch connected to a turned-off (dead) bus
+	 * is put into service, since the dead bus analysis could not be reverted in place.
+	 *
+	 * @param net the current network object
+	 * @return
+	 */
+	public ChangeType classify(AclfNetwork net) {
+		if (this.topologyChanged)
+			return ChangeType.TOPOLOGY;
+
+		for (BusInjection inj : this.busInjectionList)
+			if (net.getBus(inj.busId) == null)
+				return ChangeType.TOPOLOGY;
+
+		ChangeType type = ChangeType.INJECTION;
+		for (BranchStatus s : this.branchStatusList) {
+			AclfBranch branch = net.getBranch(s.branchId);
+			if (branch == null || branch.isZeroZBranch())
+				return ChangeType.TOPOLOGY;
+			if (branch.isActive() != s.status) {
+				if (s.status && !(branch.getFromBus().isActive() && branch.getToBus().isActive()))
+					return ChangeType.TOPOLOGY;
+				type = ChangeType.BRANCH_STATUS;
+			}
+		}
+		return type;
+	}
+
+	/**
+	 * apply the changes to the network object in place. The change should have been
+	 * classified as INJECTION or BRANCH_STATUS.
+	 *
+	 * @param net
+	 * @throws InterpssException
+	 */
+	public void apply(AclfNetwork net) throws InterpssException {
+		for (BusInjection inj : this.busInjectionList) {
+			AclfBus bus = net.getBus(inj.busId);
+			if (bus == null)
+				throw new InterpssException("Bus not found in hourly change, " + inj.busId);
+			if (inj.gen != null) {
+				bus.setGenP(inj.gen.getReal());
+				bus.setGenQ(inj.gen.getImaginary());
+			}
+			if (inj.load != null)
+				bus.setLoadPQ(inj.load);
+		}
+
+		for (BranchStatus s : this.branchStatusList) {
+			AclfBranch branch = net.getBranch(s.branchId);
+			if (branch == null)
+				throw new InterpssException("Branch not found in hourly change, " + s.branchId);
+			branch.setStatus(s.status);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "HourlyNetworkChange: bus injections " + this.busInjectionList.size() +
+				", branch status " + this.branchStatusList.size() +
+				(this.topologyChanged? ", topology changed" : "");
+	}
+}
@@ -26,7 +26,11 @@ package org.interpss.pssl.simu;
 
 import static com.interpss.common.util.NetUtilFunc.ToBranchId;
 
+import java.util.List;
+
 import org.apache.commons.math3.complex.Complex;
+import org.interpss.pssl.util.AcscFaultSweepHelper;
+import org.interpss.pssl.util.BusFaultDuty;
 
 import com.interpss.CoreObjectFactory;
 import com.interpss.common.exp.InterpssException;
@@ -34,6 +38,7 @@ import com.interpss.core.acsc.BaseAcscNetwork;
 import com.interpss.core.acsc.fault.AcscBranchFault;
 import com.interpss.core.acsc.fault.AcscBusFault;
 import com.interpss.core.acsc.fault.SimpleFaultCode;
+import com.interpss.core.algo.ScBusVoltageType;
 import com.interpss.core.algo.SimpleFaultAlgorithm;
 import com.interpss.core.datatype.IFaultResult;
 
@@ -69,6 +74,7 @@ public class IpssAcsc extends BaseDSL {
 		
 		private FaultType faultType = null;
 		private AcscBusFault fault = null;
+		private ScBusVoltageType scBusVoltage = ScBusVoltageType.UNIT_VOLT;
 		private AcscBranchFault getBranchFault() { return (AcscBranchFault)this.fault; }
 		
 		/**
@@ -86,6 +92,17 @@ public class IpssAcsc extends BaseDSL {
 		 */
 		public BaseAcscNetwork<?,?> getAcscNet() { return (BaseAcscNetwork<?,?>)this.algo.getNetwork(); }
  		
+		/**
+		 * set pre-fault bus voltage type
+		 * 
+		 * @param type
+		 * @return
+		 */
+		public FaultAlgoDSL scBusVoltage(ScBusVoltageType type) {
+			this.scBusVoltage = type;
+			this.algo.setScBusVoltage(type);
+  			return this; }
+		
 		/**
 		 * create a bus fault
 		 * 
@@ -171,5 +188,37 @@ public class IpssAcsc extends BaseDSL {
 		public IFaultResult getResult() {
 			return fault.getFaultResult();
 		}
+		
+		/**
+		 * create a bus fault sweep helper for calculating the 3P, LG, LL and LLG fault 
+		 * duty at all or a selected set of buses in one go, using the pre-fault bus voltage type
+		 * of this DSL
+		 * 
+		 * @return
+		 */
+		public AcscFaultSweepHelper createBusFaultSweep() {
+			return new AcscFaultSweepHelper(getAcscNet()).setScBusVoltage(this.scBusVoltage);
+		}
+		
+		/**
+		 * calculate the bus fault duty at the buses, with solid faults
+		 * 
+		 * @param busIdList fault bus id list
+		 * @param nThreads number of worker threads
+		 * @return bus fault duty list, in the order of the bus id list
+		 */
+		public List<BusFaultDuty> calculateBusFaultDuty(List<String> busIdList, int nThreads) throws InterpssException {
+			return createBusFaultSweep().setNumberOfThreads(nThreads).sweep(busIdList);
+		}
+		
+		/**
+		 * calculate the bus fault duty at all active buses, with solid faults
+		 * 
+		 * @param nThreads number of worker threads
+		 * @return bus fault duty list
+		 */
+		public List<BusFaultDuty> calculateBusFaultDuty(int nThreads) throws InterpssException {
+			return createBusFaultSweep().setNumberOfThreads(nThreads).sweep();
+		}
 	}
 }
@@ -27,8 +27,9 @@ package org.interpss.pssl.simu;
 import static com.interpss.common.util.IpssLogger.ipssLogger;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.BiConsumer;
 
 import org.eclipse.emf.common.util.EList;
@@ -36,10 +37,13 @@ import org.ieee.odm.model.IODMModelParser;
 import org.interpss.datatype.DblBranchValue;
 import org.interpss.datatype.DblBusValue;
 import org.interpss.display.DclfOutFunc;
+import org.interpss.numeric.NumericConstant;
 import org.interpss.numeric.datatype.Unit.UnitType;
 import org.interpss.numeric.exp.IpssNumericException;
 import org.interpss.numeric.sparse.ISparseEqnDouble;
 import org.interpss.pssl.common.PSSLException;
+import org.interpss.pssl.util.DclfSenMatrixHelper;
+import org.interpss.pssl.util.TopKHeap;
 
 import com.interpss.CoreObjectFactory;
 import com.interpss.common.exp.InterpssException;
@@ -67,6 +71,7 @@ import com.interpss.core.dclf.common.OutageConnectivityException;
 import com.interpss.core.dclf.common.ReferenceBusException;
 import com.interpss.core.net.Area;
 import com.interpss.core.net.Branch;
+import com.interpss.core.net.Bus;
 
 
 /**
@@ -718,27 +723,27 @@ public class IpssDclf extends BaseDSL {
   		}  		
 
   		/**
-  		 * perform busbar -outage contingency analysis
+  		 * perform busbar -outage contingency analysis. All branches connected to the busbar 
+  		 * are outaged and the busbar is isolated, see isolatedBusOutageAanlysis()
   		 * 
   		 * @param cont the contingency object
   		 * @param resultProcessor result processing function
   		 * @return
   		 */
   		public boolean busbarOutageContingencyAanlysis(BusbarOutageContingency cont, BiConsumer<AclfBranch, Double> resultProcessor) {
-  			// TODO
-  			return true;
+  			return isolatedBusOutageAanlysis(cont, resultProcessor);
   		}
 
   		/**
-  		 * perform 3W xformer outage contingency analysis
+  		 * perform 3W xformer outage contingency analysis. The three 2W xfr branches are outaged 
+  		 * and the 3W xfr star bus is isolated, see isolatedBusOutageAanlysis()
   		 * 
   		 * @param cont the contingency object
   		 * @param resultProcessor result processing function
   		 * @return
   		 */
   		public boolean xfr3WOutageContingencyAanlysis(Xfr3WOutageContingency cont, BiConsumer<AclfBranch, Double> resultProcessor) {
-  			// TODO
-  			return true;
+  			return isolatedBusOutageAanlysis(cont, resultProcessor);
   		}
   		
   		/*
@@ -869,6 +874,30 @@ public class IpssDclf extends BaseDSL {
   			}
   		}
 
+  		/**
+  		 * calculate LODF matrix [monitor branch x outage branch] in matrix mode. The angle
+  		 * sensitivity of each outage branch is calculated once using the factorized B' matrix
+  		 * and reused for all monitor branches. Pre-condition : DCLF calculated
+  		 *
+  		 * @param monitorBranchList monitor branch list
+  		 * @param outageBranchList outage branch list
+  		 * @return the LODF matrix, lodf[i][j] for the i-th monitor branch and j-th outage branch
+  		 * @throws InterpssException
+  		 */
+  		public double[][] calLineOutageDFactorMatrix(List<AclfBranch> monitorBranchList, List<AclfBranch> outageBranchList) throws InterpssException {
+  			return new DclfSenMatrixHelper(this.algo).calLineOutageDFactorMatrix(monitorBranchList, outageBranchList); }
+
+  		/**
+  		 * calculate PTDF matrix [bus x branch] in matrix mode, for injection at the bus
+  		 * and withdraw at the reference bus. Pre-condition : DCLF calculated
+  		 *
+  		 * @param branchList branch list
+  		 * @return the PTDF matrix, ptdf[n][j] for bus with sort number n and the j-th branch
+  		 * @throws InterpssException
+  		 */
+  		public double[][] calPTDFMatrix(List<AclfBranch> branchList) throws InterpssException {
+  			return new DclfSenMatrixHelper(this.algo).calPTDFMatrix(branchList); }
+
   		// generator shifting factor
   		
   		/**
@@ -1058,6 +1087,148 @@ public class IpssDclf extends BaseDSL {
   		////////////////////////////////////////////////
   		/////  private implementation    ///////////////
   		////////////////////////////////////////////////
+
+  		/**
+  		 * Multi-branch outage contingency analysis where the outage isolates one or more buses, 
+  		 * for example busbar outage or 3W xfr outage (the star bus is isolated). Direct multi-branch 
+  		 * LODF calculation is singular in this case. The compensation is done in two steps using 
+  		 * the factorized B' matrix :
+  		 * 
+  		 *   1) the isolated bus net injection is removed, balanced by the ref bus, using GSF
+  		 *   2) for each isolated bus, one of its outage branches (relaxed branch) is excluded, and 
+  		 *      the rest outage branches are outaged using the multi-branch LODF. The relaxed branches
+  		 *      are selected such that they connect the isolated buses to the rest of the network 
+  		 *      as a tree, for example the 3W xfr star bus and an adjacent bus which is only connected 
+  		 *      to the star bus. The relaxed branches carry zero flow at this point, since the isolated 
+  		 *      buses have no net injection.
+  		 * 
+  		 * The analysis fails, returning false, if the ref bus with net injection is isolated or the 
+  		 * outage islands the network other than the isolated buses.
+  		 * 
+  		 * @param cont the contingency object
+  		 * @param resultProcessor result processing function
+  		 * @return
+  		 */
+  		private boolean isolatedBusOutageAanlysis(MultiOutageContingency cont, BiConsumer<AclfBranch, Double> resultProcessor) {
+  			AclfNetwork net = getAclfNetwork();
+  			double baseMva = net.getBaseMva();
+
+  			// active outage branches
+  			Set<AclfBranch> outBranchSet = new HashSet<>();
+  			List<OutageBranch> outBranchList = new ArrayList<>();
+  			cont.getOutageBranches().forEach(outBranch -> {
+  				if (outBranch.getBranch().isActive() && outBranchSet.add(outBranch.getBranch()))
+  					outBranchList.add(outBranch);
+  			});
+
+  			// find isolated buses
+  			List<AclfBus> isolatedBusList = new ArrayList<>();
+  			for (OutageBranch outBranch : outBranchList) {
+  				for (AclfBus bus : new AclfBus[] {outBranch.getBranch().getFromAclfBus(), outBranch.getBranch().getToAclfBus()}) {
+  					if (!isolatedBusList.contains(bus) && isIsolatedBus(bus, outBranchSet))
+  						isolatedBusList.add(bus);
+  				}
+  			}
+
+  			// select the relaxed branches, growing the trees from the non-isolated buses, so that
+  			// the multi-branch outage of the rest outage branches does not island the isolated buses
+  			Set<AclfBranch> relaxedBranchSet = new HashSet<>();
+  			Set<AclfBus> connectedBusSet = new HashSet<>();
+  			boolean found = true;
+  			while (found && connectedBusSet.size() < isolatedBusList.size()) {
+  				found = false;
+  				for (AclfBus bus : isolatedBusList) {
+  					if (connectedBusSet.contains(bus))
+  						continue;
+  					for (Branch b : bus.getBranchList()) {
+  						Bus otherBus = b.getFromBus() == bus? b.getToBus() : b.getFromBus();
+  						if (b.isActive() && (!isolatedBusList.contains(otherBus) || connectedBusSet.contains(otherBus))) {
+  							relaxedBranchSet.add((AclfBranch)b);
+  							connectedBusSet.add(bus);
+  							found = true;
+  							break;
+  						}
+  					}
+  				}
+  			}
+  			if (connectedBusSet.size() < isolatedBusList.size()) {
+  				ipssLogger.severe("Contingency: " + cont.getId() + ", the isolated buses are not connected to the rest of the network");
+  				return false;
+  			}
+
+  			try {
+  	  			// step-1, pre flow after removing the isolated bus net injection
+  	  			double[] preFlow = new double[net.getBranchList().size()];
+  	  			for (AclfBranch branch : net.getBranchList()) 
+  	  				preFlow[branch.getSortNumber()] = branch.getDclfFlow();
+  	  			for (AclfBus bus : isolatedBusList) {
+  	  				double p = busNetInjection(bus);
+  	  				if (Math.abs(p) > NumericConstant.SmallDoubleNumber) {
+  	  					if (bus.isRefBus()) {
+  	  						ipssLogger.severe("Contingency: " + cont.getId() + ", the ref bus " + bus.getId() + " is isolated");
+  	  						return false;
+  	  					}
+  	  	  				for (AclfBranch branch : net.getBranchList()) 
+  	  	  					if (branch.isActive())
+  	  	  						preFlow[branch.getSortNumber()] -= p * this.algo.calGenShiftFactor(bus.getId(), branch);
+  	  				}
+  	  			}
+
+  	  			// step-2, multi-branch outage of the non-relaxed outage branches
+  	  			setLODFAnalysisType(LODFSenAnalysisType.MULTI_BRANCH);
+  	  			for (OutageBranch outBranch : outBranchList)
+  	  				if (!relaxedBranchSet.contains(outBranch.getBranch()))
+  	  					addOutageBranch(outBranch);
+  	  			boolean hasLODFOutage = outageBranchList().size() > 0;
+  	  			if (hasLODFOutage)
+  	  				calLineOutageDFactors(cont.getId());
+
+  	  			for (AclfBranch branch : net.getBranchList()) {
+  	  				double postFlow = 0.0;
+  	  				if (branch.isActive() && !outBranchSet.contains(branch)) {
+  	  					postFlow = preFlow[branch.getSortNumber()];
+  	  					if (hasLODFOutage) {
+  	  						double[] factors = monitorBranch(branch)
+  	  											.getLineOutageDFactors();
+  	  						if (factors != null) {
+  	  							int cnt = 0;
+  	  							for (OutageBranch outBranch : outageBranchList())
+  	  								postFlow += preFlow[outBranch.getBranch().getSortNumber()] * factors[cnt++];
+  	  						}
+  	  					}
+  	  				}
+  	  				resultProcessor.accept(branch, postFlow*baseMva);
+  	  			}
+  			} catch (InterpssException | ReferenceBusException | IpssNumericException | OutageConnectivityException e) {
+  				ipssLogger.severe("Contingency: " + cont.getId() + "  " + e.toString());
+  				return false;
+  			}
+  			return true;
+  		}
+
+  		/*
+  		 * a bus is isolated if all its active branches are outage branches 
+  		 */
+  		private boolean isIsolatedBus(AclfBus bus, Set<AclfBranch> outBranchSet) {
+  			for (Branch b : bus.getBranchList())
+  				if (b.isActive() && !outBranchSet.contains(b))
+  					return false;
+  			return true;
+  		}
+
+  		/*
+  		 * bus net injection calculated as the sum of the Dclf flow leaving the bus
+  		 */
+  		private double busNetInjection(AclfBus bus) {
+  			double p = 0.0;
+  			for (Branch b : bus.getBranchList()) {
+  				if (b.isActive()) {
+  					AclfBranch branch = (AclfBranch)b;
+  					p += branch.getFromBus() == bus? branch.getDclfFlow() : -branch.getDclfFlow();
+  				}
+  			}
+  			return p;
+  		}
 		private DclfAlgorithmDSL _addLoadWithdrawBus(double loadThreshhold, UnitType unit) { 
 			this.aclfNet().calLoadDFactor(loadThreshhold, unit);
 			this.setWithdrawBusType(BusSenAnalysisType.MULTIPLE_BUS);
@@ -1069,33 +1240,30 @@ public class IpssDclf extends BaseDSL {
 		} 
 
   		private List<DblBranchValue> _largestLODFs(int size) {
-  			List<DblBranchValue> list = new ArrayList<DblBranchValue>();
-  			for (int cnt = 0; cnt < size; cnt++)
-  				list.add(new DblBranchValue(0.0));
+  			// fixed-size min-heap of abs(LODF), a new value is either rejected or inserted in O(log(size))
+  			TopKHeap<DblBranchValue> heap = new TopKHeap<>(size, v -> Math.abs(v.value));
   			for (Branch b : this.getAclfNetwork().getBranchList()) {
   				AclfBranch branch = (AclfBranch)b;
   				if (!branch.getId().equals(this.outageBranch.getId())) {
   					try {
   						double f = algo.lineOutageDFactor(this.outageBranch.getBranch(), branch);
-  	  					DblBranchValue v = list.get(size-1);
-  	  					if (Math.abs(f) > Math.abs(v.value)) {
-  	  	  					v.value = f;
-  	  	  					v.branch = branch;
-  	  	  					Collections.sort(list, DblBranchValue.getAbsComparator());
-  	  	  				}
+  	  					if (f != 0.0 && heap.accepts(Math.abs(f)))
+  	  						heap.offer(new DblBranchValue(branch, f));
   					} catch ( ReferenceBusException e ) {
   						ipssLogger.severe(e.toString());
   					}
   				}
   			}
+  			List<DblBranchValue> list = heap.toSortedList();
+  			while (list.size() < size)
+  				list.add(new DblBranchValue(0.0));
   			return list;
   		}
   		
   		private List<DblBusValue> _largestGSFs(int size, GSFOptions opt) {
   			this.injectionBusType(BusSenAnalysisType.SINGLE_BUS);
-  			List<DblBusValue> list = new ArrayList<DblBusValue>();
-  			for (int cnt = 0; cnt < size; cnt++)
-  				list.add(new DblBusValue(0.0));
+  			// fixed-size min-heap of abs(GSF), a new value is either rejected or inserted in O(log(size))
+  			TopKHeap<DblBusValue> heap = new TopKHeap<>(size, v -> Math.abs(v.value));
 		  	//if (senCacheOff)
 		  	//	this.getAlgorithm().setCacheSensitivity(false);
   			for (AclfBus bus : this.getAclfNetwork().getBusList()) {
@@ -1104,24 +1272,12 @@ public class IpssDclf extends BaseDSL {
   	  					if (opt == GSFOptions.LargestGSF ||
   	  							opt == GSFOptions.ExcludeZeroGenP && bus.getGenP() > 0.0) {
   	  	  					double f = injectionBusId(bus.getId()).genShiftFactor();
-  	  	  					DblBusValue v = list.get(size-1);
-  	  	  	  				if (Math.abs(f) > Math.abs(v.value)) {
-  	  	  	  					v.value = f;
-  	  	  	  					v.id = bus.getId();
-  	  	  	  					v.bus = bus;
-  	  	  	  					Collections.sort(list, DblBusValue.getAbsComparator());
-  	  	  	  				}
+  	  	  	  				offerGSF(heap, bus, f);
   	  					}
   	  					else if (opt == GSFOptions.LargestBranchFlow && bus.getGenP() > 0.0) {
   	  						// in this case 
   	  	  					double f = bus.getGenP() * injectionBusId(bus.getId()).genShiftFactor();
-  	  	  					DblBusValue v = list.get(size-1);
-  	  	  	  				if (Math.abs(f) > Math.abs(v.value)) {
-  	  	  	  					v.value = f;
-  	  	  	  					v.id = bus.getId();
-  	  	  	  					v.bus = bus;
-  	  	  	  					Collections.sort(list, DblBusValue.getAbsComparator());
-  	  	  	  				}
+  	  	  	  				offerGSF(heap, bus, f);
   	  					}
   					} catch ( ReferenceBusException e ) {
   						ipssLogger.severe(e.toString());
@@ -1132,6 +1288,7 @@ public class IpssDclf extends BaseDSL {
 		  	//if (senCacheOff)
 		  	//	this.getAlgorithm().setCacheSensitivity(true);
 		  	
+		  	List<DblBusValue> list = heap.toSortedList();
 		  	while (list.size() > 0 && Math.abs(list.get(list.size()-1).value) < DclfOutFunc.SmallBranchFlowPU)
 		  		list.remove(list.size()-1);
 		  	
@@ -1143,5 +1300,11 @@ public class IpssDclf extends BaseDSL {
 		  	
   			return list; 
   		}  		
+  		
+  		private void offerGSF(TopKHeap<DblBusValue> heap, AclfBus bus, double f) {
+  			if (f != 0.0 && heap.accepts(Math.abs(f))) {
+  				heap.offer(new DblBusValue(bus, f));
+  			}
+  		}
 	}
 }
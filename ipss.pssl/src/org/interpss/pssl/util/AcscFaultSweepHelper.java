@@ -0,0 +1,338 @@
+ /*
+  * @(#)AcscFaultSweepHelper.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+
+package org.interpss.pssl.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.math3.complex.Complex;
+import org.interpss.numeric.datatype.Complex3x1;
+import org.interpss.numeric.sparse.ISparseEqnComplex;
+
+import com.interpss.common.datatype.Constants;
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.acsc.BaseAcscBus;
+import com.interpss.core.acsc.BaseAcscNetwork;
+import com.interpss.core.acsc.SequenceCode;
+import com.interpss.core.acsc.fault.SimpleFaultCode;
+import com.interpss.core.algo.ScBusVoltageType;
+
+/**
+ * Helper class for calculating the bus fault duty (3P, LG, LL and LLG fault currents) at all
+ * or a selected set of buses in one sweep. Instead of re-solving the sequence networks for each
+ * fault, the sequence Y-matrices are formed and factorized once, and the Zbus diagonal entry
+ * of each fault bus is extracted by solving the Zbus column with a unit current injection
+ * at the bus. The fault currents are then calculated from the Thevenin equivalent sequence
+ * impedances.
+ *
+ *   - The sequence Y-matrices are formed and factorized once, in the calling thread, see factorize(). 
+ *     The LU factors are read-only and shared by the worker threads.
+ *   - The fault bus list is partitioned into chunks, and the chunks are processed by worker
+ *     threads. Each worker uses its own FaultCalculator object, which holds the right-hand side
+ *     and solution buffers of the worker.
+ *   - The fault impedance zLG is the line to ground impedance (3P, LG and LLG faults) and zLL the
+ *     line to line impedance (LL fault). For the LLG fault, the faulted phases are connected
+ *     solidly and to the ground through zLG.
+ *
+ * @author agent
+ *
+ */
+public class AcscFaultSweepHelper {
+	private BaseAcscNetwork<?,?> net = null;
+
+	// number of worker threads
+	private int nThreads = Runtime.getRuntime().availableProcessors();
+
+	private Complex zLGFault = new Complex(0.0, 0.0);
+	private Complex zLLFault = new Complex(0.0, 0.0);
+
+	private ScBusVoltageType scBusVoltage = ScBusVoltageType.UNIT_VOLT;
+
+	private SimpleFaultCode[] faultCodes = new SimpleFaultCode[] {
+			SimpleFaultCode.GROUND_3P, SimpleFaultCode.GROUND_LG, SimpleFaultCode.GROUND_LL, SimpleFaultCode.GROUND_LLG };
+
+	// LU factors of the sequence Y-matrices, shared by the worker threads
+	private Map<SequenceCode, ComplexLUFactor> factorTable = new EnumMap<>(SequenceCode.class);
+
+	/**
+	 * constructor
+	 *
+	 * @param net Acsc network object
+	 */
+	public AcscFaultSweepHelper(BaseAcscNetwork<?,?> net) {
+		this.net = net;
+	}
+
+	/**
+	 * set number of worker threads
+	 *
+	 * @param nThreads
+	 * @return
+	 */
+	public AcscFaultSweepHelper setNumberOfThreads(int nThreads) {
+		this.nThreads = Math.max(1, nThreads);
+		return this;
+	}
+
+	/**
+	 * set Line-ground fault Z
+	 *
+	 * @param z
+	 * @return
+	 */
+	public AcscFaultSweepHelper setZLGFault(Complex z) {
+		this.zLGFault = z;
+		return this;
+	}
+
+	/**
+	 * set Line-line fault Z
+	 *
+	 * @param z
+	 * @return
+	 */
+	public AcscFaultSweepHelper setZLLFault(Complex z) {
+		this.zLLFault = z;
+		return this;
+	}
+
+	/**
+	 * set pre-fault bus voltage type
+	 *
+	 * @param type
+	 * @return
+	 */
+	public AcscFaultSweepHelper setScBusVoltage(ScBusVoltageType type) {
+		this.scBusVoltage = type;
+		return this;
+	}
+
+	/**
+	 * set the fault types to be calculated. The negative and zero sequence Y-matrices are
+	 * formed only if an unbalanced fault type is included.
+	 *
+	 * @param codes
+	 * @return
+	 */
+	public AcscFaultSweepHelper setFaultCodes(SimpleFaultCode... codes) {
+		this.faultCodes = codes;
+		return this;
+	}
+
+	/**
+	 * form and factorize the sequence Y-matrices required by the fault types, if not yet done.
+	 * Since forming the matrices changes the network object, this method should be called in 
+	 * the calling thread, before the worker threads start. 
+	 *
+	 * @return
+	 * @throws InterpssException
+	 */
+	public AcscFaultSweepHelper factorize() throws InterpssException {
+		boolean unbalanced = Arrays.stream(this.faultCodes).anyMatch(code -> code != SimpleFaultCode.GROUND_3P);
+		for (SequenceCode code : new SequenceCode[] {SequenceCode.POSITIVE, SequenceCode.NEGATIVE, SequenceCode.ZERO})
+			if ((code == SequenceCode.POSITIVE || unbalanced) && !this.factorTable.containsKey(code)) {
+				ISparseEqnComplex ymatrix = this.net.formScYMatrix(code, false);
+				this.factorTable.put(code, new ComplexLUFactor(this.net, ymatrix, Constants.Matrix_LU_Tolerance));
+			}
+		return this;
+	}
+
+	/**
+	 * create a fault calculator, which uses the shared sequence Y-matrix factors. The sequence Y-matrices 
+	 * are factorized, if not yet done. A calculator object should be used by one thread only.
+	 *
+	 * @return
+	 * @throws InterpssException
+	 */
+	public FaultCalculator createCalculator() throws InterpssException {
+		factorize();
+		return new FaultCalculator();
+	}
+
+	/**
+	 * calculate the fault duty at all active buses of the network
+	 *
+	 * @return bus fault duty list
+	 * @throws InterpssException
+	 */
+	public List<BusFaultDuty> sweep() throws InterpssException {
+		List<String> busIdList = new ArrayList<>();
+		for (BaseAcscBus<?,?> bus : this.net.getBusList())
+			if (bus.isActive())
+				busIdList.add(bus.getId());
+		return sweep(busIdList);
+	}
+
+	/**
+	 * calculate the fault duty at the buses
+	 *
+	 * @param busIdList fault bus id list
+	 * @return bus fault duty list, in the order of the bus id list
+	 * @throws InterpssException
+	 */
+	public List<BusFaultDuty> sweep(List<String> busIdList) throws InterpssException {
+		int n = busIdList.size();
+		for (String busId : busIdList)
+			if (this.net.getBus(busId) == null)
+				throw new InterpssException("Fault bus not found, id: " + busId);
+
+		// the sequence Y-matrices are factorized once, in the calling thread
+		factorize();
+
+		int nWorkers = Math.max(1, Math.min(this.nThreads, n));
+		int size = Math.max(1, (n + nWorkers - 1) / nWorkers);
+
+		BusFaultDuty[] results = new BusFaultDuty[n];
+		if (nWorkers == 1) {
+			sweepChunk(new FaultCalculator(), busIdList, 0, n, results);
+			return Arrays.asList(results);
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(nWorkers);
+		try {
+			List<Future<Object>> futureList = new ArrayList<>();
+			for (int start = 0; start < n; start += size) {
+				// each worker has its own buffers
+				FaultCalculator calculator = new FaultCalculator();
+				int chunkStart = start, chunkEnd = Math.min(start + size, n);
+				futureList.add(executor.submit(() -> {
+					sweepChunk(calculator, busIdList, chunkStart, chunkEnd, results);
+					return null;
+				}));
+			}
+
+			for (Future<Object> f : futureList)
+				f.get();
+			return Arrays.asList(results);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterpssException("Bus fault sweep interrupted");
+		} catch (ExecutionException e) {
+			throw new InterpssException("Bus fault sweep error, " + e.getCause().toString());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * calculate the fault duty at the buses [start, end) of the list. The results are saved 
+	 * to the result array, each worker writes to its own section.
+	 */
+	private void sweepChunk(FaultCalculator calculator, List<String> busIdList, int start, int end, 
+					BusFaultDuty[] results) throws InterpssException {
+		for (int i = start; i < end; i++)
+			results[i] = calculator.calculate(busIdList.get(i), this.zLGFault, this.zLLFault, this.faultCodes);
+	}
+
+	/**
+	 * Bus fault calculator using the shared sequence Y-matrix factors. It holds the right-hand side and 
+	 * solution buffers of one worker thread, and the network is only read.
+	 */
+	public class FaultCalculator {
+		private double[] xRe, xIm;
+
+		private FaultCalculator() {
+			int n = factorTable.get(SequenceCode.POSITIVE).getDimension();
+			this.xRe = new double[n];
+			this.xIm = new double[n];
+		}
+
+		/**
+		 * calculate the fault duty of the fault types at the bus
+		 *
+		 * @param busId fault bus id
+		 * @param zLG line to ground fault Z
+		 * @param zLL line to line fault Z
+		 * @param codes fault types
+		 * @return
+		 * @throws InterpssException
+		 */
+		public BusFaultDuty calculate(String busId, Complex zLG, Complex zLL, SimpleFaultCode... codes) throws InterpssException {
+			BaseAcscBus<?,?> bus = net.getBus(busId);
+			if (bus == null)
+				throw new InterpssException("Fault bus not found, id: " + busId);
+			boolean unbalanced = Arrays.stream(codes).anyMatch(code -> code != SimpleFaultCode.GROUND_3P);
+			if (unbalanced && !factorTable.containsKey(SequenceCode.ZERO))
+				throw new InterpssException("The negative and zero sequence Y-matrices are not factorized, see setFaultCodes()");
+
+			int idx = bus.getSortNumber();
+			Complex vpf = scBusVoltage == ScBusVoltageType.LOADFLOW_VOLT? bus.getVoltage() : new Complex(1.0, 0.0);
+			Complex z1 = calZbusDiagonal(SequenceCode.POSITIVE, idx),
+					z2 = unbalanced? calZbusDiagonal(SequenceCode.NEGATIVE, idx) : null,
+					z0 = unbalanced? calZbusDiagonal(SequenceCode.ZERO, idx) : null;
+
+			BusFaultDuty duty = new BusFaultDuty(busId, vpf, z1, z2, z0);
+			for (SimpleFaultCode code : codes)
+				duty.setFaultCurrent_012(code, calFaultCurrent_012(code, vpf, z1, z2, z0, zLG, zLL));
+			return duty;
+		}
+
+		/*
+		 * calculate the Zbus diagonal entry at the bus by solving the Zbus column with a unit current injection
+		 */
+		private Complex calZbusDiagonal(SequenceCode code, int idx) {
+			return factorTable.get(code).solveZbusDiagonal(idx, this.xRe, this.xIm);
+		}
+	}
+
+	/**
+	 * calculate the fault current in 012 coordinates using the Thevenin equivalent sequence impedances
+	 */
+	private static Complex3x1 calFaultCurrent_012(SimpleFaultCode code, Complex vpf, Complex z1, Complex z2, Complex z0, 
+					Complex zLG, Complex zLL) {
+		Complex zero = new Complex(0.0, 0.0);
+		if (code == SimpleFaultCode.GROUND_3P) {
+			Complex i1 = vpf.divide(z1.add(zLG));
+			return new Complex3x1(zero, i1, zero);
+		}
+		else if (code == SimpleFaultCode.GROUND_LG) {
+			// I1 = I2 = I0 = Vpf / (Z1 + Z2 + Z0 + 3Zf)
+			Complex i0 = vpf.divide(z1.add(z2).add(z0).add(zLG.multiply(3.0)));
+			return new Complex3x1(i0, i0, i0);
+		}
+		else if (code == SimpleFaultCode.GROUND_LL) {
+			// I1 = -I2 = Vpf / (Z1 + Z2 + Zf)
+			Complex i1 = vpf.divide(z1.add(z2).add(zLL));
+			return new Complex3x1(zero, i1, i1.negate());
+		}
+		else {
+			// I1 = Vpf / (Z1 + Z2 // (Z0 + 3Zf)), I2 = -I1 * (Z0 + 3Zf) / (Z2 + Z0 + 3Zf), I0 = -I1 * Z2 / (Z2 + Z0 + 3Zf)
+			Complex z0f = z0.add(zLG.multiply(3.0));
+			Complex zsum = z2.add(z0f);
+			Complex i1 = vpf.divide(z1.add(z2.multiply(z0f).divide(zsum)));
+			Complex i2 = i1.negate().multiply(z0f).divide(zsum);
+			Complex i0 = i1.negate().multiply(z2).divide(zsum);
+			return new Complex3x1(i0, i1, i2);
+		}
+	}
+}
@@ -0,0 +1,134 @@
+ /*
+  * @(#)BusFaultDuty.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+
+package org.interpss.pssl.util;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.apache.commons.math3.complex.Complex;
+import org.interpss.numeric.datatype.Complex3x1;
+
+import com.interpss.core.acsc.fault.SimpleFaultCode;
+
+/**
+ * Bus fault duty record of a bus fault sweep. It holds the Thevenin equivalent sequence
+ * impedances (Zbus diagonal entries) at the bus, the pre-fault voltage and the sequence fault
+ * currents of the fault types calculated, all in pu.
+ *
+ * @author agent
+ *
+ */
+public class BusFaultDuty {
+	private String busId;
+
+	// Zbus diagonal entries of the positive, negative and zero sequence networks
+	private Complex zth1, zth2, zth0;
+
+	// pre-fault bus voltage
+	private Complex vpf;
+
+	// fault code to the fault current in 012 coordinates
+	private Map<SimpleFaultCode, Complex3x1> current012Table = new EnumMap<>(SimpleFaultCode.class);
+
+	/**
+	 * constructor
+	 *
+	 * @param busId fault bus id
+	 * @param vpf pre-fault bus voltage
+	 * @param zth1 positive sequence Zbus diagonal entry
+	 * @param zth2 negative sequence Zbus diagonal entry, null if not calculated
+	 * @param zth0 zero sequence Zbus diagonal entry, null if not calculated
+	 */
+	public BusFaultDuty(String busId, Complex vpf, Complex zth1, Complex zth2, Complex zth0) {
+		this.busId = busId;
+		this.vpf = vpf;
+		this.zth1 = zth1;
+		this.zth2 = zth2;
+		this.zth0 = zth0;
+	}
+
+	public String getBusId() { return this.busId; }
+
+	public Complex getPreFaultVoltage() { return this.vpf; }
+
+	public Complex getZth1() { return this.zth1; }
+
+	public Complex getZth2() { return this.zth2; }
+
+	public Complex getZth0() { return this.zth0; }
+
+	/**
+	 * set the fault current of the fault type
+	 *
+	 * @param code fault type
+	 * @param current012 fault current in 012 coordinates
+	 */
+	public void setFaultCurrent_012(SimpleFaultCode code, Complex3x1 current012) {
+		this.current012Table.put(code, current012);
+	}
+
+	/**
+	 * get the fault current of the fault type in 012 coordinates
+	 *
+	 * @param code fault type
+	 * @return null if the fault type is not calculated
+	 */
+	public Complex3x1 getFaultCurrent_012(SimpleFaultCode code) {
+		return this.current012Table.get(code);
+	}
+
+	/**
+	 * get the fault current of the fault type in abc coordinates
+	 *
+	 * @param code fault type
+	 * @return null if the fault type is not calculated
+	 */
+	public Complex3x1 getFaultCurrent_abc(SimpleFaultCode code) {
+		Complex3x1 i012 = this.current012Table.get(code);
+		return i012 == null? null : i012.toABC();
+	}
+
+	/**
+	 * get the max phase fault current magnitude of the fault type, which is the fault duty
+	 *
+	 * @param code fault type
+	 * @return 0.0 if the fault type is not calculated
+	 */
+	public double getFaultDuty(SimpleFaultCode code) {
+		Complex3x1 iabc = getFaultCurrent_abc(code);
+		return iabc == null? 0.0 : iabc.absMax();
+	}
+
+	@Override
+	public String toString() {
+		StringBuffer buf = new StringBuffer();
+		buf.append("Bus: " + this.busId + ", Zth1: " + this.zth1 + ", Zth2: " + this.zth2 + ", Zth0: " + this.zth0 + "\n");
+		this.current012Table.forEach((code, i012) -> {
+			buf.append("   " + code + ": I012 " + i012 + ", duty " + getFaultDuty(code) + "\n");
+		});
+		return buf.toString();
+	}
+}
@@ -0,0 +1,84 @@
+ /*
+  * @(#)CAViolationRecord.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.pssl.util;
+
+import org.interpss.numeric.util.Number2String;
+
+import com.interpss.core.aclf.AclfBranch;
+
+/**
+ * Contingency analysis branch rating violation record
+ *
+ * @author agent
+ *
+ */
+public class CAViolationRecord {
+	/**
+	 * contingency id
+	 */
+	public String contId;
+	/**
+	 * the violated branch
+	 */
+	public AclfBranch branch;
+	/**
+	 * post contingency branch flow in Mw
+	 */
+	public double postFlow;
+	/**
+	 * post contingency branch loading in %
+	 */
+	public double loading;
+
+	/**
+	 * constructor
+	 *
+	 * @param contId
+	 * @param branch
+	 * @param postFlow
+	 * @param loading
+	 */
+	public CAViolationRecord(String contId, AclfBranch branch, double postFlow, double loading) {
+		this.contId = contId;
+		this.branch = branch;
+		this.postFlow = postFlow;
+		this.loading = loading;
+	}
+
+	/**
+	 * get the absolute loading value, used as the key for the violation ranking
+	 *
+	 * @return
+	 */
+	public double getAbsLoading() {
+		return Math.abs(this.loading);
+	}
+
+	@Override public String toString() {
+		return "Contingency: " + this.contId + ", branch: " + this.branch.getId() +
+				", post flow(Mw): " + Number2String.toStr(this.postFlow) +
+				", loading(%): " + Number2String.toStr(this.loading);
+	}
+}
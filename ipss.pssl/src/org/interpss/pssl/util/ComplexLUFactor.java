@@ -0,0 +1,273 @@
+ /*
+  * @(#)ComplexLUFactor.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.pssl.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.commons.math3.complex.Complex;
+import org.interpss.numeric.sparse.ISparseEqnComplex;
+
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.acsc.BaseAcscNetwork;
+import com.interpss.core.net.Branch;
+
+/**
+ * Sparse LU factorization of a network Y-matrix, which could be shared by multiple threads. 
+ * The ISparseEqnComplex object holds the right-hand side and solution vectors internally, therefore 
+ * it could not be used by more than one thread. This class copies the Y-matrix entries, factorizes
+ * the matrix once and keeps the factors read-only. The callers provide their own work buffers 
+ * to solve the equation.
+ * 
+ *   - The matrix non-zero pattern follows the bus and active branch connections of the network.
+ *   - The buses are ordered by the minimum degree rule (Tinney scheme 2) and the pivots are taken 
+ *     on the diagonal, as the Y-matrix is structurally symmetric. 
+ *   
+ * @author agent
+ *
+ */
+class ComplexLUFactor {
+	// matrix dimension
+	private int n;
+	
+	// bus sort number to elimination order, and the reverse
+	private int[] order, busIdx;
+	
+	// for the pivot p, the columns (in elimination order) of the off-diagonal entries
+	// of the row p of U, which are also the rows of the column p of L 
+	private int[][] cols;
+	
+	// diagonal, row p of U and column p of L (unit diagonal) 
+	private double[] dRe, dIm;
+	private double[][] uRe, uIm, lRe, lIm;
+	
+	/**
+	 * copy the Y-matrix entries and factorize the matrix
+	 * 
+	 * @param net network object, for the matrix non-zero pattern
+	 * @param ymatrix Y-matrix formed by the network, not factorized
+	 * @param tolerance zero pivot tolerance
+	 * @throws InterpssException if a zero pivot is found
+	 */
+	ComplexLUFactor(BaseAcscNetwork<?,?> net, ISparseEqnComplex ymatrix, double tolerance) throws InterpssException {
+		this.n = ymatrix.getDimension();
+		
+		List<Set<Integer>> adjList = new ArrayList<>();
+		for (int i = 0; i < this.n; i++)
+			adjList.add(new HashSet<>());
+		for (Branch bra : net.getBranchList()) {
+			if (bra.isActive()) {
+				int i = bra.getFromBus().getSortNumber(), j = bra.getToBus().getSortNumber();
+				if (i != j) {
+					adjList.get(i).add(j);
+					adjList.get(j).add(i);
+				}
+			}
+		}
+		
+		// Y-matrix off-diagonal non-zero pattern, the adjacent list is changed by the fill-in
+		List<Set<Integer>> yNonZeroList = new ArrayList<>();
+		for (Set<Integer> set : adjList)
+			yNonZeroList.add(new HashSet<>(set));
+		
+		symbolicFactorization(adjList);
+		numericFactorization(ymatrix, yNonZeroList, tolerance);
+	}
+	
+	/**
+	 * get the matrix dimension
+	 * 
+	 * @return
+	 */
+	int getDimension() { return this.n; }
+	
+	/**
+	 * solve the Zbus column of the bus with a unit current injection at the bus and return the 
+	 * Zbus diagonal entry. The factors are not changed, the work buffers are changed.
+	 * 
+	 * @param idx bus sort number
+	 * @param xRe work buffer of the matrix dimension
+	 * @param xIm work buffer of the matrix dimension
+	 * @return
+	 */
+	Complex solveZbusDiagonal(int idx, double[] xRe, double[] xIm) {
+		int q = this.order[idx];
+		for (int p = 0; p < this.n; p++) {
+			xRe[p] = 0.0;
+			xIm[p] = 0.0;
+		}
+		xRe[q] = 1.0;
+		
+		// forward substitution, the entries before q stay zero
+		for (int p = q; p < this.n; p++) {
+			double re = xRe[p], im = xIm[p];
+			if (re == 0.0 && im == 0.0)
+				continue;
+			int[] c = this.cols[p];
+			double[] lr = this.lRe[p], li = this.lIm[p];
+			for (int t = 0; t < c.length; t++) {
+				xRe[c[t]] -= lr[t] * re - li[t] * im;
+				xIm[c[t]] -= lr[t] * im + li[t] * re;
+			}
+		}
+		
+		// backward substitution, only the entries from q on are needed for the diagonal entry
+		for (int p = this.n - 1; p >= q; p--) {
+			double re = xRe[p], im = xIm[p];
+			int[] c = this.cols[p];
+			double[] ur = this.uRe[p], ui = this.uIm[p];
+			for (int t = 0; t < c.length; t++) {
+				re -= ur[t] * xRe[c[t]] - ui[t] * xIm[c[t]];
+				im -= ur[t] * xIm[c[t]] + ui[t] * xRe[c[t]];
+			}
+			double dr = this.dRe[p], di = this.dIm[p], d2 = dr * dr + di * di;
+			xRe[p] = (re * dr + im * di) / d2;
+			xIm[p] = (im * dr - re * di) / d2;
+		}
+		return new Complex(xRe[q], xIm[q]);
+	}
+	
+	/*
+	 * minimum degree ordering and fill-in, the eliminated node connects all its remaining neighbors
+	 */
+	private void symbolicFactorization(List<Set<Integer>> adjList) {
+		this.order = new int[this.n];
+		this.busIdx = new int[this.n];
+		
+		// degree queue, key = degree * n + node
+		TreeSet<Long> queue = new TreeSet<>();
+		for (int i = 0; i < this.n; i++)
+			queue.add(key(adjList.get(i).size(), i));
+		
+		int[][] nbrBusList = new int[this.n][];
+		for (int p = 0; p < this.n; p++) {
+			int v = (int)(queue.pollFirst() % this.n);
+			this.order[v] = p;
+			this.busIdx[p] = v;
+			
+			Set<Integer> nbrSet = adjList.get(v);
+			int[] nbrs = nbrSet.stream().mapToInt(Integer::intValue).toArray();
+			nbrBusList[p] = nbrs;
+			for (int a : nbrs) {
+				Set<Integer> aSet = adjList.get(a);
+				queue.remove(key(aSet.size(), a));
+				aSet.remove(v);
+				for (int b : nbrs)
+					if (b != a)
+						aSet.add(b);
+				queue.add(key(aSet.size(), a));
+			}
+			nbrSet.clear();
+		}
+		
+		this.cols = new int[this.n][];
+		for (int p = 0; p < this.n; p++) {
+			int[] c = nbrBusList[p];
+			for (int t = 0; t < c.length; t++)
+				c[t] = this.order[c[t]];
+			Arrays.sort(c);
+			this.cols[p] = c;
+		}
+	}
+	
+	private long key(int degree, int node) {
+		return (long)degree * this.n + node;
+	}
+	
+	/*
+	 * right-looking LU factorization over the fill-in pattern
+	 */
+	private void numericFactorization(ISparseEqnComplex ymatrix, List<Set<Integer>> yNonZeroList, double tolerance) throws InterpssException {
+		this.dRe = new double[this.n];
+		this.dIm = new double[this.n];
+		this.uRe = new double[this.n][];
+		this.uIm = new double[this.n][];
+		this.lRe = new double[this.n][];
+		this.lIm = new double[this.n][];
+		for (int p = 0; p < this.n; p++) {
+			int i = this.busIdx[p];
+			Complex d = ymatrix.getA(i, i);
+			this.dRe[p] = d.getReal();
+			this.dIm[p] = d.getImaginary();
+			
+			int[] c = this.cols[p];
+			this.uRe[p] = new double[c.length];
+			this.uIm[p] = new double[c.length];
+			this.lRe[p] = new double[c.length];
+			this.lIm[p] = new double[c.length];
+			for (int t = 0; t < c.length; t++) {
+				int j = this.busIdx[c[t]];
+				// the fill-in entries are not in the Y-matrix
+				if (yNonZeroList.get(i).contains(j)) {
+					Complex u = ymatrix.getA(i, j), l = ymatrix.getA(j, i);
+					this.uRe[p][t] = u.getReal();
+					this.uIm[p][t] = u.getImaginary();
+					this.lRe[p][t] = l.getReal();
+					this.lIm[p][t] = l.getImaginary();
+				}
+			}
+		}
+		
+		// column position of the row, indexed by the column in elimination order
+		int[] pos = new int[this.n];
+		for (int p = 0; p < this.n; p++) {
+			double dr = this.dRe[p], di = this.dIm[p], d2 = dr * dr + di * di;
+			if (Math.sqrt(d2) < tolerance)
+				throw new InterpssException("Zero pivot found in the Y-matrix LU factorization, bus sort number: " + this.busIdx[p]);
+			
+			// L multipliers of the column p
+			int[] c = this.cols[p];
+			double[] lr = this.lRe[p], li = this.lIm[p], ur = this.uRe[p], ui = this.uIm[p];
+			for (int t = 0; t < c.length; t++) {
+				double re = lr[t], im = li[t];
+				lr[t] = (re * dr + im * di) / d2;
+				li[t] = (im * dr - re * di) / d2;
+			}
+			
+			// update the remaining sub-matrix, A(i,j) -= L(i,p) * U(p,j)
+			for (int a = 0; a < c.length; a++) {
+				int i = c[a];
+				int[] ci = this.cols[i];
+				for (int t = 0; t < ci.length; t++)
+					pos[ci[t]] = t;
+				
+				this.dRe[i] -= lr[a] * ur[a] - li[a] * ui[a];
+				this.dIm[i] -= lr[a] * ui[a] + li[a] * ur[a];
+				for (int b = a + 1; b < c.length; b++) {
+					// c is sorted, c[b] > i, U(i,j) and L(j,i) are in the row/column i
+					int t = pos[c[b]];
+					this.uRe[i][t] -= lr[a] * ur[b] - li[a] * ui[b];
+					this.uIm[i][t] -= lr[a] * ui[b] + li[a] * ur[b];
+					this.lRe[i][t] -= lr[b] * ur[a] - li[b] * ui[a];
+					this.lIm[i][t] -= lr[b] * ui[a] + li[b] * ur[a];
+				}
+			}
+		}
+	}
+}
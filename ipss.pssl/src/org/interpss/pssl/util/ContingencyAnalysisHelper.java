@@ -26,7 +26,12 @@ package org.interpss.pssl.util;
 
 import static com.interpss.common.util.IpssLogger.ipssLogger;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.eclipse.emf.common.util.EList;
+import org.interpss.algo.NetworkBridgeIndex;
+import org.interpss.ext.ExtColumnStore;
 import org.interpss.ext.pwd.AclfBranchPWDExtension;
 import org.interpss.numeric.NumericConstant;
 import org.interpss.numeric.exp.IpssNumericException;
@@ -52,6 +57,7 @@ import com.interpss.core.dclf.common.BranchAngleSenException;
 import com.interpss.core.dclf.common.OutageConnectivityException;
 import com.interpss.core.dclf.common.ReferenceBusException;
 import com.interpss.core.dclf.funcImpl.DclfFunction;
+import com.interpss.core.net.Branch;
 import com.interpss.core.net.Bus;
 
 /**
@@ -70,8 +76,22 @@ public class ContingencyAnalysisHelper {
 
 	private boolean findConstraintBranches = false; 
 	private boolean useCAMonitoringStatus = false;  // use branch monitoring status defined in PWD AUX file
+	// branch CA monitoring status by the branch list index, built from the branch extension and
+	// rebuilt when the branch list, the extension column store or its monitoring status version changes.
+	// If the extensions are not bound to a column store, the mask is rebuilt for each contingency
+	private boolean[] caMonitoringMask = null;
+	private ExtColumnStore caMonitoringMaskStore = null;
+	private int caMonitoringMaskVersion = -1;
 	private double violationThreshold = 1.0;
 	
+	// top-K violation screening, topK = 0 to keep all violations
+	private int topK = 0;
+	private TopKHeap<MonitoringBranch> contViolationHeap = null;
+	private TopKHeap<CAViolationRecord> globalViolationHeap = null;
+	
+	// bridge index of the base topology for fast islanding pre-check, null to always search
+	private NetworkBridgeIndex bridgeIndex = null;
+	
 	private DclfAlgorithmDSL algoDsl = null;
 	
 	/**
@@ -114,6 +134,48 @@ public class ContingencyAnalysisHelper {
 	 */
 	public void setUseCAMonitoringStatus(boolean b) {
 		this.useCAMonitoringStatus = b;
+		this.caMonitoringMask = null;
+	}
+	
+	/**
+	 * set top-K violation screening mode. If k > 0, in the find constraint branches mode, 
+	 * only the k worst violations of a contingency are stored as monitor branches of the contingency, 
+	 * and the k worst violations of all analyzed contingencies are kept by the helper. Violations are
+	 * streamed into fixed-size heaps, the loading threshold is defined by the violationThreshold.
+	 * If k = 0, all violations are stored. 
+	 * 
+	 * @param k
+	 */
+	public void setTopKViolations(int k) {
+		this.topK = k;
+		if (k > 0) {
+			this.contViolationHeap = new TopKHeap<>(k, mon -> Math.abs(mon.getLoading()));
+			this.globalViolationHeap = new TopKHeap<>(k, CAViolationRecord::getAbsLoading);
+		}
+		else {
+			this.contViolationHeap = null;
+			this.globalViolationHeap = null;
+		}
+	}
+	
+	/**
+	 * set the bridge index of the base topology. If defined, contingencies which do not island 
+	 * the network are identified by the index and the island bus search is skipped. 
+	 * 
+	 * @param index bridge index, null to always search island buses
+	 */
+	public void setBridgeIndex(NetworkBridgeIndex index) {
+		this.bridgeIndex = index;
+	}
+	
+	/**
+	 * get the k worst violations of all analyzed contingencies in the top-K violation
+	 * screening mode, in the descending order of loading
+	 * 
+	 * @return
+	 */
+	public List<CAViolationRecord> getTopViolations() {
+		return this.globalViolationHeap != null? this.globalViolationHeap.toSortedList() : new ArrayList<>();
 	}
 	
 	/**
@@ -165,6 +227,8 @@ public class ContingencyAnalysisHelper {
 		if (this.findConstraintBranches) {
 			cont.getMonitoringBranches().clear();
 			cont.setMaxShiftedFlow(0.0);
+			if (this.contViolationHeap != null)
+				this.contViolationHeap.clear();
 		}
 		
 		if (cont.isActive()) {
@@ -234,6 +298,13 @@ public class ContingencyAnalysisHelper {
 					return false;
 				}
 			}
+			
+			// in the top-K violation screening mode, store the k worst violations to the contingency
+			if (this.findConstraintBranches && this.contViolationHeap != null) {
+				for (MonitoringBranch monBranch : this.contViolationHeap.toSortedList())
+					cont.addMonitoringBranch(monBranch);
+				this.contViolationHeap.clear();
+			}
 		}
 		return true;
 	}
@@ -246,7 +317,10 @@ public class ContingencyAnalysisHelper {
 		
 		// search island and island bus for the contingency, search result stored
 		// in the contingency object
-		cont.searchIslandBus(this.algoDsl.aclfNet());
+		if (this.bridgeIndex != null && !mayIsland(cont))
+			cont.getIslandBuses().clear();
+		else
+			cont.searchIslandBus(this.algoDsl.aclfNet());
 		//System.out.println("Contingency " + cont.getId() + "  " + cnt);
 		
 		// compute equivalent outage branch
@@ -257,10 +331,23 @@ public class ContingencyAnalysisHelper {
 		
 		// in the following calculation, we use branch.intFlag == 0 to indicate that the branch should be included
 		// in the scanning for constraint
-		for (AclfBranch branch : this.algoDsl.algo().getNetwork().getBranchList()) {
+		List<AclfBranch> branchList = this.algoDsl.algo().getNetwork().getBranchList();
+		if (this.useCAMonitoringStatus) {
+			AclfBranchPWDExtension ext = branchList.isEmpty()? null : 
+						(AclfBranchPWDExtension)branchList.get(0).getExtensionObject();
+			ExtColumnStore store = ext != null? ext.getStore() : null;
+			int version = store != null? ext.getCaMonitoringVersion() : -1;
+			if (this.caMonitoringMask == null || this.caMonitoringMask.length != branchList.size() ||
+					store == null || this.caMonitoringMaskStore != store || this.caMonitoringMaskVersion != version) {
+				this.caMonitoringMask = buildCAMonitoringMask(branchList);
+				this.caMonitoringMaskStore = store;
+				this.caMonitoringMaskVersion = version;
+			}
+		}
+		for (int i = 0; i < branchList.size(); i++) {
+			AclfBranch branch = branchList.get(i);
 			if (branch.isActive()) {
-				AclfBranchPWDExtension ext = (AclfBranchPWDExtension)branch.getExtensionObject();
-				boolean isMonBranch = this.useCAMonitoringStatus? ext.isCaMonitoring():true;
+				boolean isMonBranch = this.useCAMonitoringStatus? this.caMonitoringMask[i] : true;
 				if (isMonBranch) {
 					boolean islandBranch = cont.isIslandBranch(branch);
 					boolean active = branch.isActive() && branch.getFromBus().isActive() && branch.getToBus().isActive();
@@ -280,6 +367,40 @@ public class ContingencyAnalysisHelper {
 			bra.getBranch().setIntFlag(1);		
 	}
 	
+	/**
+	 * build the branch CA monitoring status mask, indexed by the branch list index. The status
+	 * is defined in the PWD branch extension.
+	 * 
+	 * @param branchList
+	 * @return
+	 */
+	private boolean[] buildCAMonitoringMask(List<AclfBranch> branchList) {
+		boolean[] mask = new boolean[branchList.size()];
+		for (int i = 0; i < mask.length; i++) {
+			AclfBranchPWDExtension ext = (AclfBranchPWDExtension)branchList.get(i).getExtensionObject();
+			mask[i] = ext.isCaMonitoring();
+		}
+		return mask;
+	}
+	
+	/**
+	 * check if the contingency may island the network using the bridge index. Only open 
+	 * outages are checked by the index. 
+	 * 
+	 * @param cont
+	 * @return false if the contingency does not island the network
+	 */
+	private boolean mayIsland(DepContingency cont) {
+		List<Branch> outageList = new ArrayList<>();
+		for (OutageBranch bra : cont.getOutageBranches()) {
+			if (bra.getOutageType() != BranchOutageType.OPEN)
+				return true;
+			if (bra.getBranch().isActive())
+				outageList.add(bra.getBranch());
+		}
+		return this.bridgeIndex.isIslanding(outageList);
+	}
+	
 	/**
 	 * Check branch post contingency rating violation. If violated, add the branch to Contingency 
 	 * monitoringBranchList
@@ -295,12 +416,27 @@ public class ContingencyAnalysisHelper {
 		boolean violation = this.algoDsl.algo().ratingViolation(branch,
 						shiftedFlow, this.caRatingType, this.violationThreshold);
 		if (violation) {
-			// if violation, add the branch to the contingency constraint branch list
-			MonitoringBranch monBranch = CoreObjectFactory.createMonitoringBranch(aclfNet, branch);
-			monBranch.setShiftedFlow(shiftedFlow);
 			// use cached result
-			monBranch.setLoading( this.algoDsl.algo().loading(branch, shiftedFlow, this.caRatingType));
-			cont.addMonitoringBranch(monBranch);
+			double loading = this.algoDsl.algo().loading(branch, shiftedFlow, this.caRatingType);
+			if (this.topK > 0) {
+				// top-K violation screening, the violation is kept only if it is among the k worst ones
+				if (this.contViolationHeap.accepts(Math.abs(loading))) {
+					MonitoringBranch monBranch = CoreObjectFactory.createMonitoringBranch(aclfNet, branch);
+					monBranch.setShiftedFlow(shiftedFlow);
+					monBranch.setLoading(loading);
+					this.contViolationHeap.offer(monBranch);
+				}
+				if (this.globalViolationHeap.accepts(Math.abs(loading)))
+					this.globalViolationHeap.offer(new CAViolationRecord(cont.getId(), branch, 
+							(branch.getDclfFlow() + shiftedFlow) * aclfNet.getBaseMva(), loading));
+			}
+			else {
+				// if violation, add the branch to the contingency constraint branch list
+				MonitoringBranch monBranch = CoreObjectFactory.createMonitoringBranch(aclfNet, branch);
+				monBranch.setShiftedFlow(shiftedFlow);
+				monBranch.setLoading(loading);
+				cont.addMonitoringBranch(monBranch);
+			}
 		}		
 		
 		if (Math.abs(shiftedFlow) > Math.abs(cont.getMaxShiftedFlow())) {
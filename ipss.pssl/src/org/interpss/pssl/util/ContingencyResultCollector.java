@@ -0,0 +1,100 @@
+ /*
+  * @(#)ContingencyResultCollector.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.pssl.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BiPredicate;
+
+import org.interpss.datatype.DblBranchValue;
+
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.aclf.contingency.BaseContingency;
+
+/**
+ * Thread-safe contingency analysis result collector. Post contingency branch flows are stored
+ * by contingency id. An optional filter could be defined to keep only the results of interest,
+ * for example branch rating violation, to limit the memory usage.
+ *
+ * @author agent
+ *
+ */
+public class ContingencyResultCollector implements IContingencyResultCollector {
+	private BiPredicate<AclfBranch, Double> filter = null;
+
+	private Map<String, ConcurrentLinkedQueue<DblBranchValue>> resultTable = new ConcurrentHashMap<>();
+
+	/**
+	 * constructor, all results are collected
+	 */
+	public ContingencyResultCollector() {
+	}
+
+	/**
+	 * constructor
+	 *
+	 * @param filter result filter (branch, postContFlow), only result with filter returning true is collected
+	 */
+	public ContingencyResultCollector(BiPredicate<AclfBranch, Double> filter) {
+		this.filter = filter;
+	}
+
+	@Override
+	public void collect(BaseContingency cont, AclfBranch branch, double postContFlow) {
+		if (this.filter == null || this.filter.test(branch, postContFlow))
+			this.resultTable.computeIfAbsent(cont.getId(), k -> new ConcurrentLinkedQueue<>())
+			                .add(new DblBranchValue(branch, postContFlow));
+	}
+
+	/**
+	 * get the collected post contingency branch flows of the contingency
+	 *
+	 * @param contId contingency id
+	 * @return the result list, empty list if no result collected
+	 */
+	public List<DblBranchValue> getResults(String contId) {
+		ConcurrentLinkedQueue<DblBranchValue> q = this.resultTable.get(contId);
+		return q == null? new ArrayList<>() : new ArrayList<>(q);
+	}
+
+	/**
+	 * get the collected result table, key: contingency id
+	 *
+	 * @return
+	 */
+	public Map<String, ConcurrentLinkedQueue<DblBranchValue>> getResultTable() {
+		return this.resultTable;
+	}
+
+	/**
+	 * clear the collected results
+	 */
+	public void clear() {
+		this.resultTable.clear();
+	}
+}
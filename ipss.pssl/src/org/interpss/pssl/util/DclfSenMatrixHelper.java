@@ -0,0 +1,292 @@
+ /*
+  * @(#)DclfSenMatrixHelper.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.pssl.util;
+
+import static com.interpss.common.util.IpssLogger.ipssLogger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.interpss.numeric.NumericConstant;
+import org.interpss.numeric.exp.IpssNumericException;
+
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.aclf.AclfBus;
+import com.interpss.core.aclf.AclfNetwork;
+import com.interpss.core.dclf.DclfAlgorithm;
+import com.interpss.core.dclf.SenAnalysisType;
+import com.interpss.core.dclf.common.ReferenceBusException;
+
+/**
+ * Helper class for calculating sensitivity factors in matrix mode using the factorized
+ * B' matrix of a DclfAlgorithm object.
+ *
+ *   - PTDF matrix [bus x branch], PTDF for injection at the bus and withdraw at the ref bus
+ *   - LODF matrix [monitor branch x outage branch]
+ *
+ * For each branch (outage branch for LODF), the angle sensitivity column psi = B'^-1 (e_from - e_to)
+ * is calculated once and reused for all buses or monitor branches. The branches are grouped into
+ * panels, the sensitivity columns of a panel are kept in a block and panels are processed in parallel.
+ * The P-Angle sensitivities of the branch terminal buses are cached in the shared Dclf solver in the
+ * calling thread first, the panels only read the cached sensitivities.
+ *
+ *   - It is assumed that DCLF has been run before the calculation.
+ *
+ * @author agent
+ *
+ */
+public class DclfSenMatrixHelper {
+	private DclfAlgorithm algo = null;
+
+	// number of branches in a panel
+	private int panelSize = 32;
+	
+	// process the panels in parallel
+	private boolean parallel = true;
+
+	/**
+	 * constructor
+	 *
+	 * @param algo dclf algorithm object
+	 * @throws InterpssException
+	 */
+	public DclfSenMatrixHelper(DclfAlgorithm algo) throws InterpssException {
+		this.algo = algo;
+		if (!algo.isDclfCalculated())
+			throw new InterpssException("Error, run DCLF before performing sensitivity matrix calculation");
+	}
+
+	/**
+	 * set number of branches in a panel
+	 *
+	 * @param panelSize
+	 */
+	public void setPanelSize(int panelSize) {
+		this.panelSize = panelSize > 0? panelSize : 1;
+	}
+
+	/**
+	 * set to process the panels in parallel, default true
+	 *
+	 * @param b
+	 */
+	public void setParallel(boolean b) {
+		this.parallel = b;
+	}
+
+	/**
+	 * Calculate LODF matrix. lodf[i][j] is the LODF of the i-th monitor branch for the outage
+	 * of the j-th outage branch. If the monitor branch is the outage branch, the LODF = -1.0.
+	 * If the outage branch outage causes islanding, the LODF column is set to zero.
+	 *
+	 * @param monitorBranchList monitor branch list
+	 * @param outageBranchList outage branch list
+	 * @return the LODF matrix [monitor branch x outage branch]
+	 * @throws InterpssException
+	 */
+	public double[][] calLineOutageDFactorMatrix(List<AclfBranch> monitorBranchList, List<AclfBranch> outageBranchList) throws InterpssException {
+		int nMon = monitorBranchList.size(), nOut = outageBranchList.size();
+		double[][] lodf = new double[nMon][nOut];
+
+		// pre-fetch monitor branch data
+		int[] monFrom = new int[nMon], monTo = new int[nMon];
+		double[] monB = new double[nMon];
+		for (int i = 0; i < nMon; i++) {
+			AclfBranch branch = monitorBranchList.get(i);
+			monFrom[i] = branch.getFromBus().getSortNumber();
+			monTo[i] = branch.getToBus().getSortNumber();
+			monB[i] = branch.isActive()? branchB(branch) : 0.0;
+		}
+
+		List<String> errList = Collections.synchronizedList(new ArrayList<>());
+		int nPanel = (nOut + this.panelSize - 1) / this.panelSize;
+
+		cacheSensitivity(outageBranchList);
+		panelStream(nPanel).forEach(p -> {
+			int start = p * this.panelSize, end = Math.min(start + this.panelSize, nOut);
+			double[][] psiBlock = new double[end - start][];
+			double[] factor = new double[end - start];
+
+			// calculate the angle sensitivity columns of the panel
+			for (int j = start; j < end; j++) {
+				AclfBranch outBranch = outageBranchList.get(j);
+				if (!outBranch.isActive())
+					continue;
+				try {
+					double[] psi = branchSenColumn(outBranch);
+					double selfPTDF = branchB(outBranch) *
+							(psi[outBranch.getFromBus().getSortNumber()] - psi[outBranch.getToBus().getSortNumber()]);
+					if (Math.abs(1.0 - selfPTDF) < NumericConstant.SmallDoubleNumber)
+						ipssLogger.warning("Outage of branch " + outBranch.getId() + " causes islanding, LODF set to zero");
+					else {
+						psiBlock[j - start] = psi;
+						factor[j - start] = 1.0 / (1.0 - selfPTDF);
+					}
+				} catch (ReferenceBusException | InterpssException | IpssNumericException e) {
+					errList.add("Outage branch " + outBranch.getId() + ", " + e.toString());
+				}
+			}
+
+			// apply the panel to all monitor branches
+			for (int i = 0; i < nMon; i++) {
+				double[] row = lodf[i];
+				for (int j = start; j < end; j++) {
+					double[] psi = psiBlock[j - start];
+					if (monitorBranchList.get(i) == outageBranchList.get(j))
+						row[j] = -1.0;
+					else if (psi != null)
+						row[j] = monB[i] * (psi[monFrom[i]] - psi[monTo[i]]) * factor[j - start];
+				}
+			}
+		});
+
+		if (errList.size() > 0)
+			throw new InterpssException("LODF matrix calculation error, " + errList.get(0));
+		return lodf;
+	}
+
+	/**
+	 * Calculate PTDF matrix. ptdf[n][j] is the PTDF of the j-th branch for power injection at
+	 * the bus with sort number n and withdraw at the reference bus.
+	 *
+	 * @param branchList branch list
+	 * @return the PTDF matrix [bus x branch]
+	 * @throws InterpssException
+	 */
+	public double[][] calPTDFMatrix(List<AclfBranch> branchList) throws InterpssException {
+		int nBus = this.algo.getNetwork().getBusList().size(), nBranch = branchList.size();
+		double[][] ptdf = new double[nBus][nBranch];
+
+		List<String> errList = Collections.synchronizedList(new ArrayList<>());
+		int nPanel = (nBranch + this.panelSize - 1) / this.panelSize;
+
+		cacheSensitivity(branchList);
+		panelStream(nPanel).forEach(p -> {
+			int start = p * this.panelSize, end = Math.min(start + this.panelSize, nBranch);
+			double[][] psiBlock = new double[end - start][];
+
+			for (int j = start; j < end; j++) {
+				AclfBranch branch = branchList.get(j);
+				if (!branch.isActive())
+					continue;
+				try {
+					// by the symmetry of B', psi[n] * b is the PTDF of the branch for injection at bus n
+					double[] psi = branchSenColumn(branch);
+					double b = branchB(branch);
+					for (int n = 0; n < psi.length; n++)
+						psi[n] *= b;
+					psiBlock[j - start] = psi;
+				} catch (ReferenceBusException | InterpssException | IpssNumericException e) {
+					errList.add("Branch " + branch.getId() + ", " + e.toString());
+				}
+			}
+
+			for (int n = 0; n < nBus; n++) {
+				double[] row = ptdf[n];
+				for (int j = start; j < end; j++) {
+					double[] psi = psiBlock[j - start];
+					if (psi != null)
+						row[j] = psi[n];
+				}
+			}
+		});
+
+		if (errList.size() > 0)
+			throw new InterpssException("PTDF matrix calculation error, " + errList.get(0));
+		return ptdf;
+	}
+
+	/**
+	 * calculate the bus angle sensitivity column for injection at the branch from bus and
+	 * withdraw at the branch to bus, indexed by bus sort number.
+	 *
+	 * @param branch
+	 * @return
+	 */
+	private double[] branchSenColumn(AclfBranch branch) throws ReferenceBusException, InterpssException, IpssNumericException {
+		AclfNetwork net = this.algo.getNetwork();
+		double[] psi = new double[net.getBusList().size()];
+		AclfBus fromBus = branch.getFromAclfBus(),
+				toBus = branch.getToAclfBus();
+		for (AclfBus bus : net.getBusList()) {
+			int n = bus.getSortNumber();
+			if (bus.isActive() && n >= 0 && !bus.isRefBus()) {
+				double x = fromBus.isRefBus()? 0.0 : this.algo.calBusSensitivity(SenAnalysisType.PANGLE, fromBus.getId(), n);
+				double y = toBus.isRefBus()? 0.0 : this.algo.calBusSensitivity(SenAnalysisType.PANGLE, toBus.getId(), n);
+				psi[n] = x - y;
+			}
+		}
+		return psi;
+	}
+
+	private IntStream panelStream(int nPanel) {
+		IntStream stream = IntStream.range(0, nPanel);
+		return this.parallel? stream.parallel() : stream;
+	}
+
+	/**
+	 * P-Angle sensitivities are cached in the Dclf solver. In order to calculate the panels in
+	 * parallel, sensitivities of the branch terminal buses are calculated and cached first. The solver
+	 * fills the cache using a shared RHS vector, therefore it is done sequentially in the calling
+	 * thread. The panels then only read the cached sensitivities.
+	 *
+	 * @param branchList
+	 */
+	private void cacheSensitivity(List<AclfBranch> branchList) throws InterpssException {
+		Set<String> busIdSet = new HashSet<>();
+		for (AclfBranch branch : branchList) {
+			if (branch.isActive()) {
+				if (!branch.getFromBus().isRefBus())
+					busIdSet.add(branch.getFromBus().getId());
+				if (!branch.getToBus().isRefBus())
+					busIdSet.add(branch.getToBus().getId());
+			}
+		}
+
+		for (String id : busIdSet) {
+			try {
+				this.algo.getDclfSolver().getSenPAngle(id);
+			} catch (IpssNumericException | ReferenceBusException e) {
+				throw new InterpssException("Sensitivity calculation error, Bus " + id + ", " + e.toString());
+			}
+		}
+	}
+
+	/**
+	 * branch susceptance used in the DCLF B' matrix, 1/x
+	 *
+	 * @param branch
+	 * @return
+	 */
+	private double branchB(AclfBranch branch) {
+		double x = branch.getZ().getImaginary();
+		return x != 0.0? 1.0 / x : 0.0;
+	}
+}
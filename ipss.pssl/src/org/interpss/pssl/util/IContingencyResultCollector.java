@@ -0,0 +1,56 @@
+ /*
+  * @(#)IContingencyResultCollector.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.pssl.util;
+
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.aclf.contingency.BaseContingency;
+
+/**
+ * Interface for collecting Dclf contingency analysis results. Implementation should be
+ * thread-safe, since the collect() method is called concurrently by the parallel contingency
+ * analysis worker threads.
+ *
+ * @author agent
+ *
+ */
+public interface IContingencyResultCollector {
+	/**
+	 * collect the post contingency branch flow
+	 *
+	 * @param cont the contingency object
+	 * @param branch the monitored branch
+	 * @param postContFlow post contingency branch flow in Mw
+	 */
+	void collect(BaseContingency cont, AclfBranch branch, double postContFlow);
+
+	/**
+	 * called after all post contingency branch flows of the contingency have been collected.
+	 * Results of one contingency are collected by one worker thread.
+	 *
+	 * @param cont the contingency object
+	 */
+	default void contingencyCompleted(BaseContingency cont) {
+	}
+}
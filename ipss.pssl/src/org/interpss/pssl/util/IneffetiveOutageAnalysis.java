@@ -24,7 +24,9 @@
 
 package org.interpss.pssl.util;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 import com.interpss.common.exp.InterpssException;
@@ -160,7 +162,8 @@ public class IneffetiveOutageAnalysis {
 
 	/**
 	 * For the ref branch, walk into the startBus direction, along child branch path to 
-	 * recursively identify loop situation 
+	 * identify loop situation. The walk is depth-first using an explicit stack, so that long 
+	 * child branch paths do not overflow the thread stack 
 	 * 
 	 * @param refBranch
 	 * @param startBus physical bus id
@@ -169,48 +172,58 @@ public class IneffetiveOutageAnalysis {
 	 * @return
 	 */
 	private boolean isBranchInLoop(Branch refBranch, Bus startBus, Bus endBus, DepContingency cont) {
-		if (this.debug)
-			System.out.println("Ref branch " + refBranch.getId() + " startBus " + startBus.getId());
-		
-		startBus.setBooleanFlag(true);
+		Deque<Branch> branchStack = new ArrayDeque<>();
+		Deque<Bus> busStack = new ArrayDeque<>();
 		refBranch.setBooleanFlag(true);
+		branchStack.push(refBranch);
+		busStack.push(startBus);
+		
+		while (!busStack.isEmpty()) {
+			Branch fromBranch = branchStack.pop();
+			Bus bus = busStack.pop();
+			if (this.debug)
+				System.out.println("Ref branch " + fromBranch.getId() + " startBus " + bus.getId());
+			
+			bus.setBooleanFlag(true);
 
-		for (Branch branch : startBus.getConnectedPhysicalBranchList()) {
-			if (!branch.isBooleanFlag() && 
-					!branch.getId().equals(refBranch.getId())) {  // exclude ref branch from the search path
-				if (!AclfFunction.isOpenOutageBranch(branch.getId(), cont.getOutageBranches())) {
-					  // stop the search path if meet a outage branch
-					if (branch.isChildBranch()) {    // make sure the branch to be searched is a child branch
-						Bus optBus;
-						try {
-							optBus = branch.getConnectedPhysicalOppositeBus(startBus);
-							if (optBus.getId().equals(endBus.getId())) {
-								// meet the original outage branch to side, loop situation detected
-								if (this.debug)
-									System.out.println("Branch" + branch.getId() + " is in a zero z loop");
-								return true;  
+			for (Branch branch : bus.getConnectedPhysicalBranchList()) {
+				if (!branch.isBooleanFlag() && 
+						!branch.getId().equals(fromBranch.getId())) {  // exclude ref branch from the search path
+					if (!AclfFunction.isOpenOutageBranch(branch.getId(), cont.getOutageBranches())) {
+						  // stop the search path if meet a outage branch
+						if (branch.isChildBranch()) {    // make sure the branch to be searched is a child branch
+							try {
+								Bus optBus = branch.getConnectedPhysicalOppositeBus(bus);
+								if (optBus.getId().equals(endBus.getId())) {
+									// meet the original outage branch to side, loop situation detected
+									if (this.debug)
+										System.out.println("Branch" + branch.getId() + " is in a zero z loop");
+									return true;  
+								}
+								else {
+									// continue search
+									// 
+									//   condition:
+									//       - branch is not a outage branch
+									//       - branch is a child branch
+									branch.setBooleanFlag(true);
+									branchStack.push(branch);
+									busStack.push(optBus);
+								}
+							} catch (InterpssException e) {
+								IpssLogger.ipssLogger.severe("Programming error: " + e.toString());
 							}
-							else
-								// continue search
-								// 
-								//   condition:
-								//       - branch is not a outage branch
-								//       - branch is a child branch
-								if (isBranchInLoop(branch, optBus, endBus, cont))
-									return true;							
-						} catch (InterpssException e) {
-							IpssLogger.ipssLogger.severe("Programming error: " + e.toString());
+						}
+						else {
+							if (this.debug)
+								System.out.println("Branch " + branch.getId() + " is not a child branch");
 						}
 					}
 					else {
 						if (this.debug)
-							System.out.println("Branch " + branch.getId() + " is not a child branch");
+							System.out.println("Branch " + branch.getId() + " is an outage branch");
 					}
 				}
-				else {
-					if (this.debug)
-						System.out.println("Branch " + branch.getId() + " is an outage branch");
-				}
 			}
 		}
 		return false;
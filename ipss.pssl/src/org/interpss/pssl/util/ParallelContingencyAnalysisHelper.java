@@ -0,0 +1,191 @@
+ /*
+  * @(#)ParallelContingencyAnalysisHelper.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.pssl.util;
+
+import static com.interpss.common.util.IpssLogger.ipssLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.interpss.pssl.simu.DclfAlgorithmPool;
+import org.interpss.pssl.simu.IpssDclf.DclfAlgorithmDSL;
+
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.aclf.contingency.BaseContingency;
+import com.interpss.core.aclf.contingency.BusbarOutageContingency;
+import com.interpss.core.aclf.contingency.Contingency;
+import com.interpss.core.aclf.contingency.MultiOutageContingency;
+import com.interpss.core.aclf.contingency.Xfr3WOutageContingency;
+
+/**
+ * Helper class for performing Dclf contingency analysis in parallel. The contingency list
+ * is partitioned into chunks, and the chunks are processed by worker threads, each using a
+ * DclfAlgorithm object borrowed from the DclfAlgorithmPool. Post contingency branch flows are
+ * sent to a thread-safe result collector.
+ *
+ *   - It is assumed that DCLF has been run before the contingency analysis.
+ *
+ * @author agent
+ *
+ */
+public class ParallelContingencyAnalysisHelper {
+	private DclfAlgorithmPool algoPool = null;
+
+	// number of contingencies processed by a worker in one task, <= 0 for auto partition
+	private int chunkSize = 0;
+
+	/**
+	 * constructor
+	 *
+	 * @param algoPool DclfAlgorithm object pool
+	 */
+	public ParallelContingencyAnalysisHelper(DclfAlgorithmPool algoPool) {
+		this.algoPool = algoPool;
+	}
+
+	/**
+	 * set number of contingencies processed by a worker in one task. If <= 0, the contingency
+	 * list is partitioned evenly across the pool
+	 *
+	 * @param chunkSize
+	 */
+	public void setChunkSize(int chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Perform contingency analysis for all contingencies defined in the network object
+	 *
+	 * @param collector result collector
+	 * @return false if there is any calculation related issue
+	 * @throws InterpssException
+	 */
+	public boolean contAnalysis(IContingencyResultCollector collector) throws InterpssException {
+		List<BaseContingency> contList = new ArrayList<>();
+		this.algoPool.getBaseAlgorithm().getNetwork().getContingencyList().forEach(cont -> {
+			contList.add(cont);
+		});
+		return contAnalysis(contList, collector);
+	}
+
+	/**
+	 * Perform contingency analysis for the contingency list
+	 *
+	 * @param contList contingency list
+	 * @param collector result collector
+	 * @return false if there is any calculation related issue
+	 * @throws InterpssException
+	 */
+	public boolean contAnalysis(List<? extends BaseContingency> contList, IContingencyResultCollector collector) throws InterpssException {
+		// the sensitivities used by the workers are cached before the shared solver is used concurrently
+		this.algoPool.cacheSensitivity(contList);
+
+		int nThreads = this.algoPool.getMaxSize();
+		int size = this.chunkSize > 0? this.chunkSize :
+							Math.max(1, (contList.size() + nThreads - 1) / nThreads);
+
+		ExecutorService executor = Executors.newFixedThreadPool(nThreads);
+		try {
+			List<Future<Boolean>> futureList = new ArrayList<>();
+			for (int start = 0; start < contList.size(); start += size) {
+				List<? extends BaseContingency> chunk = contList.subList(start, Math.min(start + size, contList.size()));
+				futureList.add(executor.submit(() -> contAnalysisChunk(chunk, collector)));
+			}
+
+			boolean noError = true;
+			for (Future<Boolean> f : futureList) {
+				if (!f.get())
+					noError = false;
+			}
+			return noError;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterpssException("Parallel contingency analysis interrupted");
+		} catch (ExecutionException e) {
+			throw new InterpssException("Parallel contingency analysis error, " + e.getCause().toString());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Perform contingency analysis for a chunk of contingencies using one pooled algorithm object
+	 *
+	 * @param chunk
+	 * @param collector
+	 * @return
+	 * @throws InterpssException
+	 */
+	private boolean contAnalysisChunk(List<? extends BaseContingency> chunk, IContingencyResultCollector collector) throws InterpssException {
+		boolean noError = true;
+		DclfAlgorithmDSL algoDsl = this.algoPool.borrow();
+		try {
+			for (BaseContingency cont : chunk) {
+				if (!contAnalysis(algoDsl, cont, collector))
+					noError = false;
+				collector.contingencyCompleted(cont);
+			}
+		} finally {
+			this.algoPool.giveBack(algoDsl);
+		}
+		return noError;
+	}
+
+	/**
+	 * Perform contingency analysis using the algorithm object according to the contingency type.
+	 * Since BusbarOutageContingency and Xfr3WOutageContingency are subclass of MultiOutageContingency,
+	 * they are processed before MultiOutageContingency.
+	 *
+	 * @param algoDsl
+	 * @param cont
+	 * @param collector
+	 * @return
+	 */
+	private boolean contAnalysis(DclfAlgorithmDSL algoDsl, BaseContingency cont, IContingencyResultCollector collector) {
+		if (cont instanceof Contingency)
+			return algoDsl.contingencyAanlysis((Contingency)cont, (branch, postContFlow) -> {
+				collector.collect(cont, branch, postContFlow);
+			});
+		else if (cont instanceof BusbarOutageContingency)
+			return algoDsl.busbarOutageContingencyAanlysis((BusbarOutageContingency)cont, (branch, postContFlow) -> {
+				collector.collect(cont, branch, postContFlow);
+			});
+		else if (cont instanceof Xfr3WOutageContingency)
+			return algoDsl.xfr3WOutageContingencyAanlysis((Xfr3WOutageContingency)cont, (branch, postContFlow) -> {
+				collector.collect(cont, branch, postContFlow);
+			});
+		else if (cont instanceof MultiOutageContingency)
+			return algoDsl.multiOutageContingencyAanlysis((MultiOutageContingency)cont, (branch, postContFlow) -> {
+				collector.collect(cont, branch, postContFlow);
+			});
+
+		ipssLogger.warning("Contingency type not supported, " + cont.getId());
+		return false;
+	}
+}
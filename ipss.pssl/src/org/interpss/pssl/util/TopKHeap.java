@@ -0,0 +1,126 @@
+ /*
+  * @(#)TopKHeap.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.pssl.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A fixed-size min-heap for keeping the K items with the largest key values in a stream of
+ * items. The item with the smallest key is at the head of the heap, so that a new item is
+ * either rejected by one comparison or inserted in O(log K). The methods are synchronized, so
+ * that a heap could be shared by the parallel contingency analysis worker threads.
+ *
+ * @author agent
+ *
+ * @param <T> item type
+ */
+public class TopKHeap<T> {
+	private int k;
+	private ToDoubleFunction<T> keyFunc;
+	private PriorityQueue<T> heap;
+
+	/**
+	 * constructor
+	 *
+	 * @param k max number of items kept in the heap
+	 * @param keyFunc function to get the item key value, items with largest key values are kept
+	 */
+	public TopKHeap(int k, ToDoubleFunction<T> keyFunc) {
+		this.k = k > 0? k : 1;
+		this.keyFunc = keyFunc;
+		this.heap = new PriorityQueue<>(this.k, Comparator.comparingDouble(keyFunc));
+	}
+
+	/**
+	 * get max number of items kept in the heap
+	 *
+	 * @return
+	 */
+	public int getK() {
+		return this.k;
+	}
+
+	/**
+	 * check if an item with the key value will be kept by the heap. It could be used
+	 * to avoid creating the item object when it will be rejected.
+	 *
+	 * @param key
+	 * @return
+	 */
+	public synchronized boolean accepts(double key) {
+		return this.heap.size() < this.k || key > this.keyFunc.applyAsDouble(this.heap.peek());
+	}
+
+	/**
+	 * offer an item to the heap. If the heap is full, the item with the smallest key is
+	 * removed when the new item has a larger key.
+	 *
+	 * @param item
+	 * @return true if the item is kept in the heap
+	 */
+	public synchronized boolean offer(T item) {
+		if (this.heap.size() < this.k) {
+			this.heap.add(item);
+			return true;
+		}
+		if (this.keyFunc.applyAsDouble(item) > this.keyFunc.applyAsDouble(this.heap.peek())) {
+			this.heap.poll();
+			this.heap.add(item);
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * get number of items in the heap
+	 *
+	 * @return
+	 */
+	public synchronized int size() {
+		return this.heap.size();
+	}
+
+	/**
+	 * clear the heap
+	 */
+	public synchronized void clear() {
+		this.heap.clear();
+	}
+
+	/**
+	 * get the items in the heap, sorted in the descending order of the key value
+	 *
+	 * @return
+	 */
+	public synchronized List<T> toSortedList() {
+		List<T> list = new ArrayList<>(this.heap);
+		list.sort(Comparator.comparingDouble(this.keyFunc).reversed());
+		return list;
+	}
+}
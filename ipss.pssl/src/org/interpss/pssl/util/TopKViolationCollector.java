@@ -0,0 +1,152 @@
+ /*
+  * @(#)TopKViolationCollector.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.pssl.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.ToDoubleFunction;
+
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.aclf.contingency.BaseContingency;
+
+/**
+ * Streaming top-K branch rating violation screening collector. Post contingency branch flows
+ * are checked against the branch rating with a loading threshold, and the violations are kept in
+ * fixed-size min-heaps :
+ *
+ *   - per contingency heap, top-K violations of the contingency, emitted to the contingency
+ *     violation processor when the contingency is completed and then released
+ *   - per branch heap, top-K worst contingencies of the violated branch
+ *   - global heap, top-K worst violations of all contingencies
+ *
+ * The memory usage therefore does not depend on the number of contingencies.
+ *
+ * @author agent
+ *
+ */
+public class TopKViolationCollector implements IContingencyResultCollector {
+	private int k = 10;
+	private double loadingThreshold = 100.0;
+	private ToDoubleFunction<AclfBranch> ratingFunc = branch -> branch.getRatingMva1();
+
+	private BiConsumer<BaseContingency, List<CAViolationRecord>> contViolationProcessor = null;
+
+	private Map<String, TopKHeap<CAViolationRecord>> contHeapTable = new ConcurrentHashMap<>();
+	private Map<String, TopKHeap<CAViolationRecord>> branchHeapTable = new ConcurrentHashMap<>();
+	private TopKHeap<CAViolationRecord> globalHeap = null;
+
+	/**
+	 * constructor
+	 *
+	 * @param k number of worst violations kept per contingency, per branch and overall
+	 * @param loadingThreshold loading threshold in %, a branch with post contingency loading larger than the threshold is a violation
+	 */
+	public TopKViolationCollector(int k, double loadingThreshold) {
+		this.k = k;
+		this.loadingThreshold = loadingThreshold;
+		this.globalHeap = new TopKHeap<>(k, CAViolationRecord::getAbsLoading);
+	}
+
+	/**
+	 * set the branch rating function, the default is branch.getRatingMva1()
+	 *
+	 * @param ratingFunc
+	 */
+	public void setRatingFunc(ToDoubleFunction<AclfBranch> ratingFunc) {
+		this.ratingFunc = ratingFunc;
+	}
+
+	/**
+	 * set the function for processing the top-K violations of a contingency when the contingency
+	 * is completed. If not defined, violations of the contingency are only kept in the per branch and
+	 * global heaps.
+	 *
+	 * @param processor
+	 */
+	public void setContViolationProcessor(BiConsumer<BaseContingency, List<CAViolationRecord>> processor) {
+		this.contViolationProcessor = processor;
+	}
+
+	@Override
+	public void collect(BaseContingency cont, AclfBranch branch, double postContFlow) {
+		double rating = this.ratingFunc.applyAsDouble(branch);
+		if (rating <= 0.0)
+			return;
+
+		double loading = Math.abs(postContFlow) / rating * 100.0;
+		if (loading <= this.loadingThreshold)
+			return;
+
+		TopKHeap<CAViolationRecord> contHeap = this.contHeapTable.computeIfAbsent(cont.getId(),
+									id -> new TopKHeap<>(this.k, CAViolationRecord::getAbsLoading));
+		TopKHeap<CAViolationRecord> branchHeap = this.branchHeapTable.computeIfAbsent(branch.getId(),
+									id -> new TopKHeap<>(this.k, CAViolationRecord::getAbsLoading));
+		if (contHeap.accepts(loading) || branchHeap.accepts(loading) || this.globalHeap.accepts(loading)) {
+			CAViolationRecord rec = new CAViolationRecord(cont.getId(), branch, postContFlow, loading);
+			contHeap.offer(rec);
+			branchHeap.offer(rec);
+			this.globalHeap.offer(rec);
+		}
+	}
+
+	@Override
+	public void contingencyCompleted(BaseContingency cont) {
+		TopKHeap<CAViolationRecord> contHeap = this.contHeapTable.remove(cont.getId());
+		if (contHeap != null && this.contViolationProcessor != null)
+			this.contViolationProcessor.accept(cont, contHeap.toSortedList());
+	}
+
+	/**
+	 * get the top-K worst violations of all contingencies, in the descending order of loading
+	 *
+	 * @return
+	 */
+	public List<CAViolationRecord> getTopViolations() {
+		return this.globalHeap.toSortedList();
+	}
+
+	/**
+	 * get the top-K worst violations of the branch, in the descending order of loading
+	 *
+	 * @param branchId branch id
+	 * @return the violation list, empty list if the branch has no violation
+	 */
+	public List<CAViolationRecord> getBranchTopViolations(String branchId) {
+		TopKHeap<CAViolationRecord> heap = this.branchHeapTable.get(branchId);
+		return heap == null? new ArrayList<>() : heap.toSortedList();
+	}
+
+	/**
+	 * get ids of branches with violation
+	 *
+	 * @return
+	 */
+	public List<String> getViolatedBranchIdList() {
+		return new ArrayList<>(this.branchHeapTable.keySet());
+	}
+}
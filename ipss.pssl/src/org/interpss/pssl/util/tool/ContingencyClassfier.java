@@ -3,6 +3,7 @@ package org.interpss.pssl.util.tool;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.interpss.algo.NetworkBridgeIndex;
 import org.interpss.numeric.exp.IpssNumericException;
 import org.interpss.pssl.common.PSSLException;
 import org.interpss.pssl.simu.IpssDclf;
@@ -60,42 +61,71 @@ public class ContingencyClassfier {
 			
 			contHelper.contAnalysis(cont);
 			
-			int numOfoutage = cont.getOutageBranches().size();
-			int numOfIslandingBus = cont.getIslandBuses().size();
-			double islandingGen = cont.getTotalIslandGen()
-					* aclfNet.getBaseMva();
-			double islandingLoad = cont.getTotalIslandLoad()
-					* aclfNet.getBaseMva();
-			
-			if(numOfoutage ==1){ // categories 1-4
-				if(numOfIslandingBus ==0){ // 1
-					this.singleLineOutNoIslandingContList.add(cont.getId());
-				}else {
-					if(islandingGen == 0 && islandingLoad == 0){
-						this.singleLineOutWithIslandingNoGenNoLoadContList.add(cont.getId());
-					}else if (islandingGen != 0){
-						this.singleLineOutWithGenIslandingContList.add(cont.getId());
-					}else if (islandingLoad != 0){
-						this.singleLineOutWithLoadIslandingContList.add(cont.getId());
-					}						
-				}
-			}else{ // categories 5 -8
-				if(numOfIslandingBus ==0){ // 1
-					this.multiLineOutNoIslandingContList.add(cont.getId());
-				}else {
-					if(islandingGen == 0 && islandingLoad == 0){
-						this.multiLineOutWithIslandingNoGenNoLoadContList.add(cont.getId());
-					}else if (islandingGen != 0){
-						this.multiLineOutWithGenIslandingContList.add(cont.getId());
-					}else if (islandingLoad != 0){
-						this.multiLineOutWithLoadIslandingContList.add(cont.getId());
-					}						
-				}
-			}			
+			addToCategory(cont);
 			//algoCtg.destroy();			
 		}				
 	}
 	
+	/**
+	 * Classify the contingencies in batch mode. The base case DCLF is solved once and all 
+	 * contingencies are analyzed by LODF using the same factorized B' matrix, with the 
+	 * islanding pre-check by the bridge index of the base topology. The island buses of 
+	 * the contingencies flagged by the index are searched as in classify(), therefore the 
+	 * classification result is the same as classify(). 
+	 * 
+	 * @throws InterpssException
+	 * @throws ReferenceBusException
+	 * @throws PSSLException
+	 * @throws IpssNumericException
+	 */
+	public void classifyBatch() throws InterpssException, ReferenceBusException, PSSLException, IpssNumericException {
+		DclfAlgorithmDSL algoDsl = IpssDclf.createDclfAlgorithm(aclfNet, false)
+				.runDclfAnalysis();
+		ContingencyAnalysisHelper contHelper = new ContingencyAnalysisHelper(algoDsl, true);
+		contHelper.setViolationThreshold(violationThreshold);
+		contHelper.setBridgeIndex(new NetworkBridgeIndex(aclfNet));
+		
+		for (DepContingency cont : contList) {
+			contHelper.contAnalysis(cont);
+			addToCategory(cont);
+		}
+	}
+	
+	private void addToCategory(DepContingency cont) {
+		int numOfoutage = cont.getOutageBranches().size();
+		int numOfIslandingBus = cont.getIslandBuses().size();
+		double islandingGen = cont.getTotalIslandGen()
+				* aclfNet.getBaseMva();
+		double islandingLoad = cont.getTotalIslandLoad()
+				* aclfNet.getBaseMva();
+		
+		if(numOfoutage ==1){ // categories 1-4
+			if(numOfIslandingBus ==0){ // 1
+				this.singleLineOutNoIslandingContList.add(cont.getId());
+			}else {
+				if(islandingGen == 0 && islandingLoad == 0){
+					this.singleLineOutWithIslandingNoGenNoLoadContList.add(cont.getId());
+				}else if (islandingGen != 0){
+					this.singleLineOutWithGenIslandingContList.add(cont.getId());
+				}else if (islandingLoad != 0){
+					this.singleLineOutWithLoadIslandingContList.add(cont.getId());
+				}						
+			}
+		}else{ // categories 5 -8
+			if(numOfIslandingBus ==0){ // 1
+				this.multiLineOutNoIslandingContList.add(cont.getId());
+			}else {
+				if(islandingGen == 0 && islandingLoad == 0){
+					this.multiLineOutWithIslandingNoGenNoLoadContList.add(cont.getId());
+				}else if (islandingGen != 0){
+					this.multiLineOutWithGenIslandingContList.add(cont.getId());
+				}else if (islandingLoad != 0){
+					this.multiLineOutWithLoadIslandingContList.add(cont.getId());
+				}						
+			}
+		}			
+	}
+	
 	public List<String> getSingleLineOutNoIslandingContList(){
 		return this.singleLineOutNoIslandingContList;
 	}
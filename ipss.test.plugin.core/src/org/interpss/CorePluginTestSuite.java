@@ -8,6 +8,7 @@ import org.interpss.core.adapter.ge.GESampleTestCases;
 import org.interpss.core.adapter.ieee.IEEE009Bus_Test;
 import org.interpss.core.adapter.ieee.IEEECommonFormatTest;
 import org.interpss.core.adapter.ieee.IEEECommonFormat_CommaTest;
+import org.interpss.core.adapter.internal.AclfNetSnapshotTest;
 import org.interpss.core.adapter.internal.Bus11856Test;
 import org.interpss.core.adapter.internal.Bus1824Test;
 import org.interpss.core.adapter.internal.Bus6384Test;
@@ -20,10 +21,13 @@ import org.interpss.core.adapter.psse.aclf.CR_UserTestCases;
 import org.interpss.core.adapter.psse.aclf.GuideSample_TestCase;
 import org.interpss.core.adapter.psse.aclf.Mod_SixBus_DclfPsXfr;
 import org.interpss.core.adapter.psse.aclf.PSSE_5Bus_TestCase;
+import org.interpss.core.adapter.psse.aclf.PSSE_DirectReader_Test;
 import org.interpss.core.adapter.psse.aclf.PSSE_IEEE9Bus_Test;
 import org.interpss.core.adapter.psse.aclf.SixBus_DclfPsXfr;
+import org.interpss.core.adapter.psse.acsc.IEEE9Bus_AcscSweep_test;
 import org.interpss.core.adapter.psse.acsc.IEEE9Bus_Acsc_test;
 import org.interpss.core.adapter.psse.dstab.IEEE9_Dstab_Adapter_Test;
+import org.interpss.core.adapter.pwd.PWDBranchExtStoreTest;
 import org.interpss.core.adapter.pwd.PWDIEEE14BusTestCase;
 import org.interpss.core.adapter.ucte.UCTEFormatAusPowerTest;
 import org.interpss.core.ca.IEEE14BusBreakerTest;
@@ -31,6 +35,14 @@ import org.interpss.core.ca.IEEE14BusBreaker_dclf_Test;
 import org.interpss.core.ca.IEEE14BusBreaker_equivCABranch_Test;
 import org.interpss.core.ca.IEEE14BusBreaker_islandBus_Test;
 import org.interpss.core.ca.IEEE14BusBreaker_lf_Test;
+import org.interpss.core.ca.Ieee14_BridgeIndex_Test;
+import org.interpss.core.ca.Ieee14_CAViolationReport_Test;
+import org.interpss.core.ca.Ieee14_TopologySnapshot_Test;
+import org.interpss.core.ca.Ieee14_ContClassifierBatch_Test;
+import org.interpss.core.ca.Ieee14_HourlyNetUpdate_Test;
+import org.interpss.core.ca.Ieee14_IsolatedBusCA_Test;
+import org.interpss.core.ca.Ieee14_ParallelCA_Test;
+import org.interpss.core.ca.Ieee14_SenMatrix_Test;
 import org.interpss.core.ca.SampleSwitchBreakerModelTest;
 import org.interpss.core.dcsys.DcSample_2BusTest;
 import org.interpss.core.dcsys.Inverter_2BusTest;
@@ -40,6 +52,7 @@ import org.interpss.core.dcsys.POC_Test2_2;
 import org.interpss.core.dcsys.POC_Test2_3;
 import org.interpss.core.dcsys.PVModelList_2BusTest;
 import org.interpss.core.dist.DistSys_Test;
+import org.interpss.core.dstab.DStabColumnarOutputTest;
 import org.interpss.core.dstab.DStab_IEEE9Bus_Test;
 import org.interpss.core.dstab.cml.block.DelayControlBlockTests;
 import org.interpss.core.dstab.cml.block.FilterControlBlockTests;
@@ -50,7 +63,9 @@ import org.interpss.core.dstab.dynLoad.TestInductionMotorModel;
 import org.interpss.core.dstab.dynLoad.TestLd1pacModel;
 import org.interpss.core.dstab.mach.EConstMachineTest;
 import org.interpss.core.dstab.mach.Eq1Ed1MachineTest;
+import org.interpss.core.dstab.cml.controller.CMLCompiledExciterTest;
 import org.interpss.core.dstab.mach.Eq1MachineCaseTest;
+import org.interpss.core.dstab.mach.IeeeST1GovernorBatchTest;
 import org.interpss.core.dstab.mach.MachineSaturationTest;
 import org.interpss.core.dstab.mach.RoundRotorMachineTest;
 import org.interpss.core.dstab.mach.SalientPoleMachineTest;
@@ -73,6 +88,14 @@ import org.junit.runners.Suite.SuiteClasses;
 	IEEE14BusBreaker_dclf_Test.class,
 	IEEE14BusBreaker_equivCABranch_Test.class,
 	IEEE14BusBreaker_islandBus_Test.class,
+	Ieee14_BridgeIndex_Test.class,
+	Ieee14_TopologySnapshot_Test.class,
+	Ieee14_ParallelCA_Test.class,
+	Ieee14_IsolatedBusCA_Test.class,
+	Ieee14_HourlyNetUpdate_Test.class,
+	Ieee14_ContClassifierBatch_Test.class,
+	Ieee14_SenMatrix_Test.class,
+	Ieee14_CAViolationReport_Test.class,
 	
 	// small Z branch
 	SampleSwitchBreakerModelTest.class,
@@ -93,6 +116,8 @@ import org.junit.runners.Suite.SuiteClasses;
 	Eq1Ed1MachineTest.class,
 	EConstMachineTest.class,
 	Eq1MachineCaseTest.class,
+	CMLCompiledExciterTest.class,
+	IeeeST1GovernorBatchTest.class,
 	MachineSaturationTest.class,
 	RoundRotorMachineTest.class,
 	SalientPoleMachineTest.class,
@@ -107,6 +132,7 @@ import org.junit.runners.Suite.SuiteClasses;
 	
 	//DStab PSS/E
 	DStab_IEEE9Bus_Test.class,
+	DStabColumnarOutputTest.class,
 	
 	// Dist
 	DistLF14Bus_PathLF_Test.class,
@@ -136,11 +162,14 @@ import org.junit.runners.Suite.SuiteClasses;
 	SixBus_DclfPsXfr.class,
 	Mod_SixBus_DclfPsXfr.class,
 	PWDIEEE14BusTestCase.class,
+	PWDBranchExtStoreTest.class,
 	PSSE_IEEE9Bus_Test.class,
+	PSSE_DirectReader_Test.class,
 	IEEE9_Dstab_Adapter_Test.class,
 	
 	Acsc5Bus_ODM_TestCase.class,
 	IEEE9Bus_Acsc_test.class,
+	IEEE9Bus_AcscSweep_test.class,
 	
 	GESampleTestCases.class,
 	
@@ -148,6 +177,7 @@ import org.junit.runners.Suite.SuiteClasses;
 	Bus1824Test.class,
 	Bus6384Test.class,
 	Bus11856Test.class,
+	AclfNetSnapshotTest.class,
 	
 	GuideSample_TestCase.class,
 	
@@ -0,0 +1,184 @@
+ /*
+  * @(#)AclfNetSnapshotTest.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.core.adapter.internal;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.interpss.CorePluginTestSetup;
+import org.interpss.fadapter.impl.AclfNetBinarySnapshot;
+import org.interpss.numeric.datatype.Unit.UnitType;
+import org.interpss.pssl.plugin.IpssAdapter;
+import org.interpss.pssl.plugin.IpssAdapter.FileImportDSL;
+import org.junit.Test;
+
+import com.interpss.CoreObjectFactory;
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.aclf.AclfBus;
+import com.interpss.core.aclf.AclfNetwork;
+import com.interpss.core.aclf.adpter.AclfSwingBus;
+import com.interpss.core.aclf.contingency.BranchOutageType;
+import com.interpss.core.algo.LoadflowAlgorithm;
+import com.interpss.core.net.Branch;
+
+public class AclfNetSnapshotTest extends CorePluginTestSetup {
+	private static final String CaseFile = "testdata/adpter/ieee_format/Ieee14Bus.ieee";
+
+	@Test
+	public void snapshotImportTest() throws Exception {
+		String dir = Files.createTempDirectory("ipss_snapshot").toString();
+
+		// first import, through ODM, the snapshot is written
+		FileImportDSL inDsl = importDsl(dir);
+		AclfNetwork net = inDsl.getImportedObj();
+		assertTrue(inDsl.getAclfParser() != null);
+		assertTrue(new File(dir).listFiles().length == 1);
+
+		// second import, from the snapshot
+		inDsl = importDsl(dir);
+		AclfNetwork snapNet = inDsl.getImportedObj();
+		assertTrue(inDsl.isLoadedFromSnapshot());
+		assertTrue(inDsl.getAclfParser() == null);
+
+		assertTrue(snapNet.getBusList().size() == net.getBusList().size());
+		assertTrue(snapNet.getBranchList().size() == net.getBranchList().size());
+		for (Branch b : net.getBranchList()) {
+			AclfBranch branch = (AclfBranch)b, snapBranch = snapNet.getBranch(b.getId());
+			assertTrue(snapBranch != null);
+			assertTrue(snapBranch.getBranchCode() == branch.getBranchCode());
+			assertTrue(snapBranch.getZ().subtract(branch.getZ()).abs() < 1.0e-10);
+		}
+
+		loadflow(net);
+		loadflow(snapNet);
+		for (AclfBus bus : net.getBusList()) {
+			AclfBus snapBus = snapNet.getBus(bus.getId());
+			assertTrue(Math.abs(snapBus.getVoltageMag() - bus.getVoltageMag()) < 1.0e-6);
+			assertTrue(Math.abs(snapBus.getVoltageAng() - bus.getVoltageAng()) < 1.0e-6);
+		}
+	}
+
+	@Test
+	public void roundTripLoadflowTest() throws Exception {
+		// the loadflow results of the network loaded from the snapshot should be the same as 
+		// those of a fresh import, with the xfr, PS xfr and switched shunt adjustments on
+		roundTripLoadflow("testData/adpter/ieee_format/ieee118.ieee", IpssAdapter.FileFormat.IEEECommonFormat);
+		roundTripLoadflow("testdata/adpter/psse/v30/SixBus_2WPsXfr.raw", IpssAdapter.FileFormat.PSSE);
+		roundTripLoadflow("testdata/adpter/psse/PSSE_5Bus_Test_switchShunt.raw", IpssAdapter.FileFormat.PSSE);
+	}
+
+	@Test
+	public void hashKeyTest() throws Exception {
+		String raw = "testData/adpter/psse/v30/IEEE9Bus/ieee9.raw",
+			   seq = "testData/adpter/psse/v30/IEEE9Bus/ieee9.seq";
+		String hash = AclfNetBinarySnapshot.contentHash(raw, "PSSE|PSSE_30");
+		assertTrue(hash.equals(AclfNetBinarySnapshot.contentHash(new String[] {raw, null, null}, "PSSE|PSSE_30")));
+
+		// the key covers all the input files, the format and version
+		assertTrue(!hash.equals(AclfNetBinarySnapshot.contentHash(new String[] {raw, seq}, "PSSE|PSSE_30")));
+		assertTrue(!hash.equals(AclfNetBinarySnapshot.contentHash(raw, "PSSE|PSSE_33")));
+		assertTrue(!hash.equals(AclfNetBinarySnapshot.contentHash(raw, "IEEECommonFormat|PSSE_30")));
+	}
+
+	@Test
+	public void contingencyTest() throws Exception {
+		AclfNetwork net = IpssAdapter.importAclfNet(CaseFile)
+				.setFormat(IpssAdapter.FileFormat.IEEECommonFormat)
+				.load()
+				.getImportedObj();
+		CoreObjectFactory.createContingency("CA1", "Bus5->Bus6(1)", BranchOutageType.OPEN, net);
+		CoreObjectFactory.createMultiOutageContingency("MCA1", new String[] {"Bus1->Bus5(1)", "Bus3->Bus4(1)"},
+				BranchOutageType.OPEN, net);
+
+		File file = File.createTempFile("ipss_snapshot", AclfNetBinarySnapshot.FileExt);
+		String hash = AclfNetBinarySnapshot.contentHash(CaseFile, "test");
+		assertTrue(AclfNetBinarySnapshot.write(net, hash, file));
+
+		AclfNetwork snapNet = AclfNetBinarySnapshot.read(file, hash);
+		assertTrue(snapNet.getContingencyList().size() == 2);
+		assertTrue(snapNet.getContingencyList().get(0).getId().equals("CA1"));
+		assertTrue(snapNet.getContingencyList().get(1).getId().equals("MCA1"));
+
+		// snapshot with a different hash key is ignored
+		assertTrue(AclfNetBinarySnapshot.read(file, "xxx") == null);
+		file.delete();
+	}
+
+	private FileImportDSL importDsl(String dir) {
+		return IpssAdapter.importAclfNet(CaseFile)
+				.setFormat(IpssAdapter.FileFormat.IEEECommonFormat)
+				.setSnapshotDir(dir)
+				.load();
+	}
+
+	private void roundTripLoadflow(String caseFile, IpssAdapter.FileFormat format) throws Exception {
+		String dir = Files.createTempDirectory("ipss_snapshot").toString();
+
+		AclfNetwork net = IpssAdapter.importAclfNet(caseFile)
+				.setFormat(format)
+				.setPsseVersion(IpssAdapter.PsseVersion.PSSE_30)
+				.load()
+				.getImportedObj();
+
+		// the first import writes the snapshot, the second one loads from the snapshot
+		IpssAdapter.importAclfNet(caseFile).setFormat(format).setPsseVersion(IpssAdapter.PsseVersion.PSSE_30)
+				.setSnapshotDir(dir).load().getImportedObj();
+		FileImportDSL inDsl = IpssAdapter.importAclfNet(caseFile).setFormat(format).setPsseVersion(IpssAdapter.PsseVersion.PSSE_30)
+				.setSnapshotDir(dir).load();
+		AclfNetwork snapNet = inDsl.getImportedObj();
+		assertTrue(caseFile, inDsl.isLoadedFromSnapshot());
+
+		LoadflowAlgorithm algo = CoreObjectFactory.createLoadflowAlgorithm(net);
+		algo.loadflow();
+		assertTrue(caseFile, net.isLfConverged());
+		LoadflowAlgorithm snapAlgo = CoreObjectFactory.createLoadflowAlgorithm(snapNet);
+		snapAlgo.loadflow();
+		assertTrue(caseFile, snapNet.isLfConverged());
+
+		assertTrue(snapNet.getBusList().size() == net.getBusList().size());
+		for (AclfBus bus : net.getBusList()) {
+			AclfBus snapBus = snapNet.getBus(bus.getId());
+			assertTrue(caseFile + " " + bus.getId(), Math.abs(snapBus.getVoltageMag() - bus.getVoltageMag()) < 1.0e-8);
+			assertTrue(caseFile + " " + bus.getId(), Math.abs(snapBus.getVoltageAng() - bus.getVoltageAng()) < 1.0e-8);
+		}
+		for (Branch b : net.getBranchList()) {
+			AclfBranch branch = (AclfBranch)b, snapBranch = snapNet.getBranch(b.getId());
+			assertTrue(caseFile + " " + b.getId(), snapBranch.powerFrom2To()
+					.subtract(branch.powerFrom2To()).abs() < 1.0e-8);
+		}
+	}
+
+	private void loadflow(AclfNetwork net) throws InterpssException {
+	  	LoadflowAlgorithm algo = CoreObjectFactory.createLoadflowAlgorithm(net);
+	  	algo.loadflow();
+  		assertTrue(net.isLfConverged());
+  		AclfSwingBus swing = net.getBus("Bus1").toSwingBus();
+  		assertTrue(Math.abs(swing.getGenResults(UnitType.PU).getReal()-2.32393)<0.0001);
+  		assertTrue(Math.abs(swing.getGenResults(UnitType.PU).getImaginary()+0.16549)<0.0001);
+	}
+}
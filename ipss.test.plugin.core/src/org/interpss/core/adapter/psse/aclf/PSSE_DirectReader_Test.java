@@ -0,0 +1,168 @@
+ /*
+  * @(#)PSSE_DirectReader_Test.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.core.adapter.psse.aclf;
+
+import static org.interpss.pssl.plugin.IpssAdapter.FileFormat.PSSE;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.apache.commons.math3.complex.Complex;
+import org.interpss.CorePluginTestSetup;
+import org.interpss.fadapter.IpssFileAdapter;
+import org.interpss.fadapter.PTIFormat;
+import org.interpss.fadapter.impl.PsseRawDirectReader;
+import org.interpss.numeric.datatype.Unit.UnitType;
+import org.interpss.pssl.plugin.IpssAdapter;
+import org.interpss.pssl.plugin.IpssAdapter.PsseVersion;
+import org.junit.Test;
+
+import com.interpss.CoreCommonFactory;
+import com.interpss.CoreObjectFactory;
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.aclf.AclfBus;
+import com.interpss.core.aclf.AclfNetwork;
+import com.interpss.core.algo.AclfMethod;
+import com.interpss.core.algo.LoadflowAlgorithm;
+
+public class PSSE_DirectReader_Test extends CorePluginTestSetup {
+	@Test
+	public void testV30() throws Exception {
+		String filename = "testdata/adpter/psse/v30/IEEE9Bus/ieee9.raw";
+		AclfNetwork odmNet = IpssAdapter.importAclfNet(filename)
+				.setFormat(PSSE)
+				.setPsseVersion(PsseVersion.PSSE_30)
+				.load()
+				.getImportedObj();
+		compare(loadDirect(filename), odmNet);
+	}
+
+	@Test
+	public void testV33() throws Exception {
+		String filename = "testdata/adpter/psse/v33/ieee9_v33.raw";
+		AclfNetwork odmNet = IpssAdapter.importAclfNet(filename)
+				.setFormat(PSSE)
+				.setPsseVersion(PsseVersion.PSSE_33)
+				.load()
+				.getImportedObj();
+		compare(loadDirect(filename), odmNet);
+	}
+
+	@Test
+	public void testBusBranchCode() throws Exception {
+		// swing and PV bus without generator record, PS xfr (COD = 3) with zero angle
+		String raw = 
+			"0,   100.00, 30\n" +
+			"test case\n" +
+			"\n" +
+			"1,'BUS-1', 230.0,3, 0.0, 0.0, 1, 1,1.04000, 0.0000, 1\n" +
+			"2,'BUS-2', 230.0,2, 0.0, 0.0, 1, 1,1.02000, 0.0000, 1\n" +
+			"3,'BUS-3', 230.0,1, 0.0, 0.0, 1, 1,1.00000, 0.0000, 1\n" +
+			"0 / END OF BUS DATA, BEGIN LOAD DATA\n" +
+			"3,'1 ',1, 1, 1, 50.000, 10.000, 0.0, 0.0, 0.0, 0.0, 1\n" +
+			"0 / END OF LOAD DATA, BEGIN GENERATOR DATA\n" +
+			"0 / END OF GENERATOR DATA, BEGIN NON-TRANSFORMER BRANCH DATA\n" +
+			"1, 2,'1 ', 0.01000, 0.08500, 0.17600, 0.00, 0.00, 0.00, 0.0, 0.0, 0.0, 0.0,1, 0.00, 1,1.0000\n" +
+			"0 / END OF NON-TRANSFORMER BRANCH DATA, BEGIN TRANSFORMER DATA\n" +
+			"2, 3, 0, '1', 1, 1, 1, 0, 0, 2, 'PS_Xfr', 1, 1, 1.0\n" +
+			"0.0000, 0.0500, 100.0\n" +
+			"1.0000, 230.0, 0.0, 0.0, 0.0, 0.0, 3, 0, 30.0, -30.0, 60.0, 40.0, 33, 0, 0.0, 0.0\n" +
+			"1.0, 230.0\n" +
+			"0 / END OF TRANSFORMER DATA\n" +
+			"Q\n";
+		AclfNetwork net = new PsseRawDirectReader().load(new BufferedReader(new StringReader(raw)));
+
+		// bus gen code follows the IDE, as in the ODM mapping
+		assertTrue(net.getBus("Bus1").isSwing());
+		assertTrue(Math.abs(net.getBus("Bus1").toSwingBus().getDesiredVoltMag(UnitType.PU) - 1.04) < 1.0e-10);
+		assertTrue(net.getBus("Bus2").isGenPV());
+		assertTrue(!net.getBus("Bus3").isGen());
+
+		assertTrue(net.getBranch("Bus2->Bus3(1)").isPSXfr());
+	}
+
+	@Test
+	public void testOdmFallback() throws Exception {
+		// the direct reader does not support revision 28 
+		File file = File.createTempFile("ieee9_rev28", ".raw");
+		file.deleteOnExit();
+		String raw = new String(Files.readAllBytes(Paths.get("testdata/adpter/psse/v30/IEEE9Bus/ieee9.raw")));
+		Files.write(file.toPath(), raw.replaceFirst("100.00, 30", "100.00, 28").getBytes());
+
+		PTIFormat adapter = new PTIFormat(IpssFileAdapter.Version.PSSE_30, CoreCommonFactory.getIpssMsgHub());
+		adapter.setDirectReader(true);
+		try {
+			adapter.loadAclfNet(file.getPath());
+			fail("the direct reader error should not be hidden");
+		} catch (InterpssException e) { }
+
+		// with the fallback turned on, the file is loaded through ODM
+		adapter.setOdmFallback(true);
+		AclfNetwork net = adapter.loadAclfNet(file.getPath());
+		assertTrue(adapter.getODMModelParser() != null);
+		assertTrue(net.getNoBus() == 9);
+	}
+
+	private AclfNetwork loadDirect(String filename) throws Exception {
+		PTIFormat adapter = new PTIFormat(IpssFileAdapter.Version.PSSE_30, CoreCommonFactory.getIpssMsgHub());
+		adapter.setDirectReader(true);
+		AclfNetwork net = adapter.loadAclfNet(filename);
+		// the direct reader does not create the ODM model
+		assertTrue(adapter.getODMModelParser() == null);
+		return net;
+	}
+
+	private void compare(AclfNetwork net, AclfNetwork odmNet) throws Exception {
+		assertTrue(net.getNoBus() == odmNet.getNoBus());
+		assertTrue(net.getNoBranch() == odmNet.getNoBranch());
+		for (AclfBranch branch : odmNet.getBranchList())
+			assertTrue(net.getBranch(branch.getId()) != null);
+		
+		Complex p = runLoadflow(net), pOdm = runLoadflow(odmNet);
+  		assertTrue(Math.abs(p.getReal()-0.71646)<0.00001);
+  		assertTrue(Math.abs(p.getImaginary()-0.27107)<0.00001);
+  		assertTrue(p.subtract(pOdm).abs() < 1.0e-6);
+  		
+  		for (AclfBus bus : net.getBusList()) {
+  			AclfBus odmBus = odmNet.getBus(bus.getId());
+  			assertTrue(Math.abs(bus.getVoltageMag() - odmBus.getVoltageMag()) < 1.0e-6);
+  			assertTrue(Math.abs(bus.getVoltageAng() - odmBus.getVoltageAng()) < 1.0e-6);
+  		}
+	}
+	
+	private Complex runLoadflow(AclfNetwork net) throws Exception {
+		LoadflowAlgorithm algo = CoreObjectFactory.createLoadflowAlgorithm(net);
+	  	algo.setLfMethod(AclfMethod.PQ);
+	  	algo.loadflow();
+  		assertTrue(net.isLfConverged());
+	  	return net.getBus("Bus1").toSwingBus().getGenResults(UnitType.PU);
+	}
+}
@@ -0,0 +1,180 @@
+package org.interpss.core.adapter.psse.acsc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.math3.complex.Complex;
+import org.ieee.odm.adapter.IODMAdapter.NetType;
+import org.ieee.odm.adapter.psse.PSSEAdapter;
+import org.ieee.odm.adapter.psse.PSSEAdapter.PsseVersion;
+import org.ieee.odm.model.acsc.AcscModelParser;
+import org.interpss.IpssCorePlugin;
+import org.interpss.mapper.odm.ODMAcscParserMapper;
+import org.interpss.numeric.datatype.Complex3x1;
+import org.interpss.pssl.plugin.cmd.AcscBatchFaultResult;
+import org.interpss.pssl.plugin.cmd.AcscDslRunner;
+import org.interpss.pssl.plugin.cmd.json.AcscFaultConfigBean;
+import org.interpss.pssl.plugin.cmd.json.AcscRunConfigBean;
+import org.interpss.pssl.simu.IpssAcsc;
+import org.interpss.pssl.simu.IpssAcsc.FaultAlgoDSL;
+import org.interpss.pssl.util.BusFaultDuty;
+import org.junit.Test;
+
+import com.interpss.CoreObjectFactory;
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.acsc.AcscNetwork;
+import com.interpss.core.acsc.fault.SimpleFaultCode;
+import com.interpss.core.acsc.fault.SimpleFaultType;
+import com.interpss.core.algo.AclfMethod;
+import com.interpss.core.algo.LoadflowAlgorithm;
+import com.interpss.core.algo.ScBusVoltageType;
+
+
+public class IEEE9Bus_AcscSweep_test {
+	
+	@Test
+	public void testBusFaultSweep() throws InterpssException{
+		AcscNetwork net = createNetwork();
+		
+		FaultAlgoDSL algo = IpssAcsc.createAcscAlgo(net)
+					.scBusVoltage(ScBusVoltageType.LOADFLOW_VOLT);
+		
+		List<String> busIdList = Arrays.asList("Bus4", "Bus5", "Bus7", "Bus9");
+		List<BusFaultDuty> dutyList = algo.calculateBusFaultDuty(busIdList, 2);
+		assertTrue(dutyList.size() == busIdList.size());
+		
+		// compare with the fault calculated one at a time
+		for (int i = 0; i < busIdList.size(); i++) {
+			BusFaultDuty duty = dutyList.get(i);
+			assertTrue(duty.getBusId().equals(busIdList.get(i)));
+			
+			for (SimpleFaultCode code : new SimpleFaultCode[] {
+						SimpleFaultCode.GROUND_3P, SimpleFaultCode.GROUND_LG, SimpleFaultCode.GROUND_LL, SimpleFaultCode.GROUND_LLG}) {
+				algo.createBusFault(duty.getBusId())
+					.faultCode(code)
+					.zLGFault(new Complex(0.0, 0.0))
+					.zLLFault(new Complex(0.0, 0.0))
+					.calculateFault();
+				Complex3x1 i012 = algo.getResult().getSCCurrent_012();
+				Complex3x1 sweepI012 = duty.getFaultCurrent_012(code);
+				//System.out.println(duty.getBusId() + " " + code + " " + i012 + ", " + sweepI012);
+				
+				assertEquals(i012.a_0.abs(), sweepI012.a_0.abs(), 1.0E-4);
+				assertEquals(i012.b_1.abs(), sweepI012.b_1.abs(), 1.0E-4);
+				assertEquals(i012.c_2.abs(), sweepI012.c_2.abs(), 1.0E-4);
+			}
+		}
+	}
+	
+	@Test
+	public void testBusFaultSweepThreads() throws InterpssException{
+		AcscNetwork net = createNetwork();
+		
+		FaultAlgoDSL algo = IpssAcsc.createAcscAlgo(net)
+					.scBusVoltage(ScBusVoltageType.LOADFLOW_VOLT);
+		
+		// the results of the multi-thread sweep should be the same as the single thread one
+		List<BusFaultDuty> dutyList = algo.calculateBusFaultDuty(1);
+		List<BusFaultDuty> parDutyList = algo.calculateBusFaultDuty(4);
+		assertTrue(dutyList.size() == net.getNoActiveBus());
+		assertTrue(parDutyList.size() == dutyList.size());
+		
+		for (int i = 0; i < dutyList.size(); i++) {
+			BusFaultDuty duty = dutyList.get(i), parDuty = parDutyList.get(i);
+			assertTrue(duty.getBusId().equals(parDuty.getBusId()));
+			assertTrue(duty.getZth1().subtract(parDuty.getZth1()).abs() < 1.0E-10);
+			assertTrue(duty.getZth0().subtract(parDuty.getZth0()).abs() < 1.0E-10);
+			
+			for (SimpleFaultCode code : new SimpleFaultCode[] {
+					SimpleFaultCode.GROUND_3P, SimpleFaultCode.GROUND_LG, SimpleFaultCode.GROUND_LL, SimpleFaultCode.GROUND_LLG}) {
+				assertTrue(duty.getFaultDuty(code) > 0.0);
+				assertEquals(duty.getFaultDuty(code), parDuty.getFaultDuty(code), 1.0E-10);
+			}
+		}
+	}
+	
+	@Test
+	public void testBatchRun() throws InterpssException{
+		String[] busIds = {"Bus4", "Bus5", "Bus6", "Bus7", "Bus8", "Bus9"};
+		SimpleFaultCode[] codes = {SimpleFaultCode.GROUND_3P, SimpleFaultCode.GROUND_LG, 
+				SimpleFaultCode.GROUND_LL, SimpleFaultCode.GROUND_LLG};
+		
+		AcscRunConfigBean bean = new AcscRunConfigBean();
+		for (int i = 0; i < busIds.length; i++) {
+			AcscFaultConfigBean fault = new AcscFaultConfigBean();
+			fault.faultBusId = busIds[i];
+			fault.category = codes[i % codes.length];
+			bean.faultList.add(fault);
+		}
+		// a branch fault, calculated by the fault algorithm after the bus faults
+		AcscFaultConfigBean braFault = new AcscFaultConfigBean();
+		braFault.type = SimpleFaultType.BRANCH_FAULT;
+		braFault.category = SimpleFaultCode.GROUND_LG;
+		braFault.faultBranchFromId = "Bus4";
+		braFault.faultBranchToId = "Bus5";
+		braFault.faultBranchCirId = "0";
+		braFault.distance = 50.0;
+		bean.faultList.add(braFault);
+		bean.numberOfThreads = 3;
+		
+		// the network is loaded once and shared by the worker threads
+		List<AcscBatchFaultResult> resultList = new AcscDslRunner(createNetwork())
+					.runBatch(bean);
+		assertTrue(resultList.size() == busIds.length + 1);
+		
+		// compare with the fault calculated one at a time
+		AcscNetwork net = createNetwork();
+		for (int i = 0; i < busIds.length; i++) {
+			FaultAlgoDSL algo = IpssAcsc.createAcscAlgo(net);
+			algo.createBusFault(busIds[i])
+				.faultCode(codes[i % codes.length])
+				.zLGFault(new Complex(0.0, 0.0))
+				.zLLFault(new Complex(0.0, 0.0))
+				.calculateFault();
+			Complex3x1 i012 = algo.getResult().getSCCurrent_012();
+			assertTrue(resultList.get(i).isBusFault());
+			Complex3x1 batchI012 = resultList.get(i).getSCCurrent_012();
+			
+			assertTrue(i012.b_1.abs() > 0.0);
+			assertEquals(i012.a_0.abs(), batchI012.a_0.abs(), 1.0E-4);
+			assertEquals(i012.b_1.abs(), batchI012.b_1.abs(), 1.0E-4);
+			assertEquals(i012.c_2.abs(), batchI012.c_2.abs(), 1.0E-4);
+		}
+		
+		FaultAlgoDSL algo = IpssAcsc.createAcscAlgo(net);
+		algo.createBranchFault("Bus4", "Bus5", "0")
+			.faultCode(SimpleFaultCode.GROUND_LG)
+			.zLGFault(new Complex(0.0, 0.0))
+			.zLLFault(new Complex(0.0, 0.0))
+			.distance(50.0)
+			.calculateFault();
+		Complex3x1 i012 = algo.getResult().getSCCurrent_012();
+		Complex3x1 batchI012 = resultList.get(busIds.length).getSCCurrent_012();
+		assertTrue(!resultList.get(busIds.length).isBusFault());
+		assertEquals(i012.a_0.abs(), batchI012.a_0.abs(), 1.0E-10);
+		assertEquals(i012.b_1.abs(), batchI012.b_1.abs(), 1.0E-10);
+	}
+	
+	private AcscNetwork createNetwork() throws InterpssException {
+		IpssCorePlugin.init();
+		PSSEAdapter adapter = new PSSEAdapter(PsseVersion.PSSE_30);
+		assertTrue(adapter.parseInputFile(NetType.AcscNet, new String[]{
+				"testData/adpter/psse/v30/IEEE9Bus/ieee9.raw",
+				"testData/adpter/psse/v30/IEEE9Bus/ieee9.seq"
+		}));
+		AcscModelParser acscParser =(AcscModelParser) adapter.getModel();
+		
+		AcscNetwork net = new ODMAcscParserMapper().map2Model(acscParser).getAcscNet();
+		
+		LoadflowAlgorithm algo = CoreObjectFactory.createLoadflowAlgorithm(net);
+	  	algo.setLfMethod(AclfMethod.PQ);
+	  	algo.getLfAdjAlgo().setApplyAdjustAlgo(false);
+	  	algo.loadflow();
+  	
+  		assertTrue( net.isLfConverged());
+  		return net;
+	}
+}
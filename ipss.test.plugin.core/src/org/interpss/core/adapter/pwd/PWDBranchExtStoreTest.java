@@ -0,0 +1,133 @@
+ /*
+  * @(#)PWDBranchExtStoreTest.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.core.adapter.pwd;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.interpss.CorePluginFactory;
+import org.interpss.CorePluginTestSetup;
+import org.interpss.ext.ExtColumnStore;
+import org.interpss.ext.pwd.AclfBranchPWDExtension;
+import org.interpss.fadapter.IpssFileAdapter;
+import org.junit.Test;
+
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.aclf.AclfNetwork;
+
+public class PWDBranchExtStoreTest extends CorePluginTestSetup {
+	@Test
+	public void storeTest() throws Exception {
+		ExtColumnStore store = AclfBranchPWDExtension.createStore(16);
+		AclfBranchPWDExtension ext1 = new AclfBranchPWDExtension(store),
+				               ext2 = new AclfBranchPWDExtension(store);
+		assertTrue(ext1.getRow() == 0 && ext2.getRow() == 1);
+
+		// schema attributes are kept in the store, others in the hashtable
+		ext1.put(AclfBranchPWDExtension.EquimentName, "L34B");
+		ext2.put(AclfBranchPWDExtension.EquimentName, "L34B");
+		ext1.put("CustomString:1", "Sub3_230_L34B");
+		ext1.setCaMonitoring(true);
+		assertTrue(ext1.get(AclfBranchPWDExtension.EquimentName).equals("L34B"));
+		assertTrue(store.getColumn(AclfBranchPWDExtension.EquimentName).getString(1).equals("L34B"));
+		assertTrue(ext1.get("CustomString:1").equals("Sub3_230_L34B"));
+		assertTrue(ext1.isCaMonitoring() && !ext2.isCaMonitoring());
+		assertTrue(ext2.get(AclfBranchPWDExtension.LSName) == null);
+
+		// map view, unset string columns are not present, typed columns always are
+		assertTrue(!ext2.containsKey(AclfBranchPWDExtension.LSName));
+		assertTrue(ext1.containsKey(AclfBranchPWDExtension.EquimentName));
+		assertTrue(ext1.containsKey(AclfBranchPWDExtension.CaMonitoring));
+		assertTrue(ext1.size() == 3 && ext1.keySet().size() == 3 && ext1.entrySet().size() == 3);
+		assertTrue(ext1.keySet().contains(AclfBranchPWDExtension.EquimentName));
+		assertTrue(ext1.keySet().contains("CustomString:1"));
+		assertTrue(ext1.values().contains("L34B"));
+		for (String key : ext1.keySet())
+			assertTrue(ext1.containsKey(key));
+
+		// the CA monitoring status version of the store changes when the status is set
+		int version = ext1.getCaMonitoringVersion();
+		ext2.setCaMonitoring(true);
+		assertTrue(ext1.getCaMonitoringVersion() != version);
+		version = ext1.getCaMonitoringVersion();
+		ext2.put(AclfBranchPWDExtension.CaMonitoring, "false");
+		assertTrue(ext1.getCaMonitoringVersion() != version);
+		assertTrue(!ext2.isCaMonitoring());
+
+		// the version is per store, setting the status of another network's branch does not change it
+		version = ext1.getCaMonitoringVersion();
+		new AclfBranchPWDExtension(AclfBranchPWDExtension.createStore(4)).setCaMonitoring(true);
+		assertTrue(ext1.getCaMonitoringVersion() == version);
+		assertTrue(new AclfBranchPWDExtension().getCaMonitoringVersion() == -1);
+
+		// non-String keys are not in the map view
+		assertTrue(ext1.get(Integer.valueOf(1)) == null);
+		assertTrue(!ext1.containsKey(Integer.valueOf(1)));
+
+		// rows beyond the initial capacity
+		for (int i = 0; i < 40; i++)
+			new AclfBranchPWDExtension(store).setCaMonitoring(i % 2 == 0);
+		assertTrue(store.getRowCount() == 42);
+		assertTrue(store.getColumn(AclfBranchPWDExtension.CaMonitoring).getBoolean(2));
+		assertTrue(ext1.isCaMonitoring());
+
+		// the extension is serialized as a detached copy
+		ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bout)) {
+			out.writeObject(ext1);
+		}
+		AclfBranchPWDExtension copy;
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bout.toByteArray()))) {
+			copy = (AclfBranchPWDExtension)in.readObject();
+		}
+		assertTrue(copy.getStore() == null);
+		assertTrue(copy.get(AclfBranchPWDExtension.EquimentName).equals("L34B"));
+		assertTrue(copy.get("CustomString:1").equals("Sub3_230_L34B"));
+		assertTrue(copy.isCaMonitoring());
+	}
+
+	@Test
+	public void pwdLoadTest() throws Exception {
+		AclfNetwork net = CorePluginFactory
+				.getFileAdapter(IpssFileAdapter.FileFormat.PWD)
+				.load("testData/adpter/pwd/ieee14.AUX")
+				.getAclfNet();
+
+		ExtColumnStore store = null;
+		for (AclfBranch branch : net.getBranchList()) {
+			AclfBranchPWDExtension ext = (AclfBranchPWDExtension)branch.getExtensionObject();
+			assertTrue(ext.getStore() != null);
+			if (store == null)
+				store = ext.getStore();
+			// one store shared by all branches of the network
+			assertTrue(ext.getStore() == store);
+		}
+		assertTrue(store.getRowCount() == net.getBranchList().size());
+	}
+}
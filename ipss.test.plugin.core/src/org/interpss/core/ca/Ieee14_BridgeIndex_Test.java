@@ -0,0 +1,92 @@
+ /*
+  * @(#)Ieee14_BridgeIndex_Test.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.core.ca;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.interpss.CorePluginTestSetup;
+import org.interpss.algo.NetworkBridgeIndex;
+import org.interpss.pssl.plugin.IpssAdapter;
+import org.junit.Test;
+
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.aclf.AclfNetwork;
+import com.interpss.core.net.Bus;
+
+public class Ieee14_BridgeIndex_Test extends CorePluginTestSetup {
+	@Test
+	public void singleOutageTest() throws InterpssException {
+		AclfNetwork net = getSampleNet();
+		NetworkBridgeIndex index = new NetworkBridgeIndex(net);
+
+		// Bus8 is connected to the network only through Bus7->Bus8
+		assertTrue(index.getNumOfBridges() == 1);
+		assertTrue(index.isBridge(net.getBranch("Bus7->Bus8(1)")));
+		assertTrue(!index.isBridge(net.getBranch("Bus5->Bus6(1)")));
+
+		List<Bus> list = index.findIslandBuses(outageList(net, "Bus7->Bus8(1)"));
+		assertTrue(list.size() == 1);
+		assertTrue(list.get(0).getId().equals("Bus8"));
+
+		assertTrue(!index.isIslanding(outageList(net, "Bus5->Bus6(1)")));
+		assertTrue(index.findIslandBuses(outageList(net, "Bus5->Bus6(1)")).isEmpty());
+	}
+
+	@Test
+	public void multiOutageTest() throws InterpssException {
+		AclfNetwork net = getSampleNet();
+		NetworkBridgeIndex index = new NetworkBridgeIndex(net);
+
+		// Bus12 is connected to Bus6 and Bus13
+		assertTrue(index.isIslanding(outageList(net, "Bus6->Bus12(1)", "Bus12->Bus13(1)")));
+		List<Bus> list = index.findIslandBuses(outageList(net, "Bus6->Bus12(1)", "Bus12->Bus13(1)"));
+		assertTrue(list.size() == 1);
+		assertTrue(list.get(0).getId().equals("Bus12"));
+
+		assertTrue(!index.isIslanding(outageList(net, "Bus6->Bus12(1)", "Bus5->Bus6(1)")));
+
+		// Bus7 is connected to Bus4, Bus8 and Bus9, Bus8 goes with Bus7
+		list = index.findIslandBuses(outageList(net, "Bus4->Bus7(1)", "Bus7->Bus9(1)"));
+		assertTrue(list.size() == 2);
+	}
+
+	private List<AclfBranch> outageList(AclfNetwork net, String... ids) {
+		List<AclfBranch> list = new ArrayList<>();
+		for (String id : ids)
+			list.add(net.getBranch(id));
+		return list;
+	}
+
+	private AclfNetwork getSampleNet() throws InterpssException {
+		return IpssAdapter.importAclfNet("testData/adpter/ieee_format/ieee14.ieee")
+				.setFormat(IpssAdapter.FileFormat.IEEECommonFormat)
+				.load()
+				.getImportedObj();
+	}
+}
@@ -0,0 +1,199 @@
+ /*
+  * @(#)Ieee14_CAViolationReport_Test.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.core.ca;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.interpss.CorePluginTestSetup;
+import org.interpss.display.ContingencyOutFunc;
+import org.interpss.pssl.plugin.IpssAdapter;
+import org.junit.Test;
+
+import com.interpss.CoreObjectFactory;
+import com.interpss.SimuObjectFactory;
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.aclf.AclfNetwork;
+import com.interpss.core.algo.LoadflowAlgorithm;
+import com.interpss.simu.SimuCtxType;
+import com.interpss.simu.multicase.aclf.ContingencyAnalysis;
+import com.interpss.simu.multicase.aclf.ContingencyAnalysisType;
+import com.interpss.simu.multicase.result.AclfBranchResultRec;
+
+public class Ieee14_CAViolationReport_Test extends CorePluginTestSetup {
+	@Test
+	public void sortAndThresholdTest() throws Exception {
+		ContingencyAnalysis mcase = runN1Analysis();
+		List<String> keyList = setRatings(mcase, false);
+		assertTrue(keyList.size() > 6);
+
+		// loading of the i-th branch is (110 + 10*i)%, descending loading is the reverse key order 
+		List<String> expected = new ArrayList<>(keyList);
+		expected.sort(Comparator.reverseOrder());
+		assertTrue(reportKeys(mcase, 100.0, 0).equals(expected));
+
+		// only branches with loading above 155% are reported
+		List<String> list = reportKeys(mcase, 155.0, 0);
+		assertTrue(list.equals(expected.subList(0, keyList.size() - 5)));
+		for (String key : list)
+			assertTrue(mcase.getBranchResultSummary().get(key).getMvaLoadingPercent() > 155.0);
+
+		// topN keeps the N largest violations
+		assertTrue(reportKeys(mcase, 100.0, 3).equals(expected.subList(0, 3)));
+		assertTrue(reportKeys(mcase, 155.0, 100).equals(list));
+	}
+
+	@Test
+	public void tieBreakTest() throws Exception {
+		ContingencyAnalysis mcase = runN1Analysis();
+		List<String> keyList = setRatings(mcase, true);
+
+		// all loadings are 200%, the ties are broken by the branch key
+		List<String> expected = keyList.stream()
+				.sorted(Comparator.comparingDouble((String key) -> 
+							mcase.getBranchResultSummary().get(key).getMvaLoadingPercent()).reversed()
+						.thenComparing(Comparator.naturalOrder()))
+				.collect(Collectors.toList());
+		assertTrue(reportKeys(mcase, 100.0, 0).equals(expected));
+		assertTrue(reportKeys(mcase, 100.0, 4).equals(expected.subList(0, 4)));
+	}
+
+	@Test
+	public void legacyOutputTest() throws Exception {
+		ContingencyAnalysis mcase = runN1Analysis();
+		setRatings(mcase, false);
+
+		// the StringBuffer output is the same as the output of the implementation before the Writer overload
+		assertTrue(ContingencyOutFunc.branchMvaRatingViolation(mcase).toString().equals(legacyReport(mcase)));
+
+		StringWriter out = new StringWriter();
+		ContingencyOutFunc.branchMvaRatingViolation(mcase, out, 100.0, 0);
+		assertTrue(out.toString().equals(legacyReport(mcase)));
+	}
+
+	private ContingencyAnalysis runN1Analysis() throws InterpssException {
+		AclfNetwork net = IpssAdapter.importAclfNet("testData/adpter/ieee_format/ieee14.ieee")
+				.setFormat(IpssAdapter.FileFormat.IEEECommonFormat)
+				.load()
+				.getImportedObj();
+
+		ContingencyAnalysis mcase = SimuObjectFactory.createContingencyAnalysis(SimuCtxType.ACLF_NETWORK, net);
+		LoadflowAlgorithm algo = CoreObjectFactory.createLoadflowAlgorithm(net);
+		mcase.analysis(algo, ContingencyAnalysisType.N1);
+		return mcase;
+	}
+
+	/*
+	 * set the branch MVA ratings for branches with MvaFlow > 1.0 Mva, others are set to 0.0 and 
+	 * excluded from the report. If tie, all loadings are set to 200%, otherwise the loading of 
+	 * the i-th branch, in the key order, is set to (110 + 10*i)%. 
+	 */
+	private List<String> setRatings(ContingencyAnalysis mcase, boolean tie) {
+		List<String> keyList = new ArrayList<>();
+		Enumeration<String> keys = mcase.getBranchResultSummary().keys();
+		while (keys.hasMoreElements()) {
+			String key = keys.nextElement();
+			AclfBranchResultRec rec = mcase.getBranchResultSummary().get(key);
+			rec.getRating().setThermalAmpsRating(0.0);
+			rec.getRating().setThermalMvaRating(0.0);
+			if (rec.getMvaFlow() > 1.0)
+				keyList.add(key);
+		}
+		keyList.sort(Comparator.naturalOrder());
+
+		for (int i = 0; i < keyList.size(); i++) {
+			AclfBranchResultRec rec = mcase.getBranchResultSummary().get(keyList.get(i));
+			double factor = tie? 2.0 : 1.1 + 0.1 * i;
+			rec.getRating().setThermalMvaRating(rec.getMvaFlow() / factor);
+		}
+		return keyList;
+	}
+
+	private List<String> reportKeys(ContingencyAnalysis mcase, double threshold, int topN) throws Exception {
+		StringWriter out = new StringWriter();
+		ContingencyOutFunc.branchMvaRatingViolation(mcase, out, threshold, topN);
+
+		List<String> list = new ArrayList<>();
+		boolean started = false;
+		for (String line : out.toString().split("\\r?\\n")) {
+			if (started && !line.trim().isEmpty())
+				list.add(line.trim().split("\\s+")[0]);
+			else if (line.contains("======"))
+				started = true;
+		}
+		return list;
+	}
+
+	/*
+	 * the branch MVA rating violation report implementation, before the Writer overload
+	 */
+	private String legacyReport(ContingencyAnalysis mcase) {
+		StringBuffer buf = new StringBuffer();
+
+		List<String> keyList = new ArrayList<>();
+		Enumeration<String> keys = mcase.getBranchResultSummary().keys();
+		while (keys.hasMoreElements()) {
+			String key = keys.nextElement();
+			AclfBranchResultRec r = mcase.getBranchResultSummary().get(key);
+			if (r.getRating().getThermalMvaRating() > 0.0 && r.getMvaLoadingPercent() > 100.0)
+				keyList.add(key);
+		}
+
+		boolean done = false;
+		while (!done) {
+			done = true;
+			for (int i = 0; i < keyList.size()-1; i++) {
+				if (mcase.getBranchResultSummary().get(keyList.get(i)).getMvaLoadingPercent() < 
+						mcase.getBranchResultSummary().get(keyList.get(i+1)).getMvaLoadingPercent()) {
+					String temp = keyList.get(i);
+					keyList.set(i, keyList.get(i+1));
+					keyList.set(i+1, temp);
+					done = false;
+				}
+			}
+		}
+
+		buf.append("\n");
+		buf.append("                    Branch MVA Rating Violation Report\n");
+		buf.append("\n");
+
+		buf.append("       Branch Id     MvaFlow   MvaRating   Violation    Description\n");
+		buf.append("  ===========================================================================\n");
+		for (String key : keyList) {
+			AclfBranchResultRec r = mcase.getBranchResultSummary().get(key);
+			String str = String.format("%3.0f%s", r.getMvaLoadingPercent()-100.0, "%");
+			buf.append(String.format("  %16s  %8.1f  %8.1f       %s      %s%n", 
+						key, r.getMvaFlow(), r.getRating().getThermalMvaRating(), 
+						str, r.getDesc()));
+		}
+		return buf.toString();
+	}
+}
@@ -0,0 +1,111 @@
+ /*
+  * @(#)Ieee14_ContClassifierBatch_Test.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+
+package org.interpss.core.ca;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.interpss.CorePluginTestSetup;
+import org.interpss.QA.compare.CAResultVerifier;
+import org.interpss.pssl.plugin.IpssAdapter;
+import org.interpss.pssl.util.tool.ContingencyClassfier;
+import org.junit.Test;
+
+import com.interpss.CoreObjectFactory;
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.aclf.AclfNetwork;
+import com.interpss.core.aclf.contingency.BranchOutageType;
+import com.interpss.core.aclf.contingency.OutageBranch;
+import com.interpss.core.aclf.contingency.dep.DepContingency;
+
+public class Ieee14_ContClassifierBatch_Test extends CorePluginTestSetup {
+	@Test
+	public void batchTest() throws Exception {
+		AclfNetwork net = IpssAdapter.importAclfNet("testData/adpter/ieee_format/ieee14.ieee")
+				.setFormat(IpssAdapter.FileFormat.IEEECommonFormat)
+				.load()
+				.getImportedObj();
+
+		ContingencyClassfier classifier = new ContingencyClassfier(net, createContList(net));
+		classifier.classify();
+
+		ContingencyClassfier batch = new ContingencyClassfier(net, createContList(net));
+		batch.classifyBatch();
+
+		assertTrue(batch.getSingleLineOutNoIslandingContList().equals(classifier.getSingleLineOutNoIslandingContList()));
+		assertTrue(batch.getSingleLineOutWithIslandingNoGenNoLoadContList().equals(classifier.getSingleLineOutWithIslandingNoGenNoLoadContList()));
+		assertTrue(batch.getSingleLineOutWithGenIslandingContList().equals(classifier.getSingleLineOutWithGenIslandingContList()));
+		assertTrue(batch.getSingleLineOutWithLoadIslandingContList().equals(classifier.getSingleLineOutWithLoadIslandingContList()));
+		assertTrue(batch.getMultiLineOutNoIslandingContList().equals(classifier.getMultiLineOutNoIslandingContList()));
+		assertTrue(batch.getSingleLineOutNoIslandingContList().size() == 2);
+		assertTrue(batch.getMultiLineOutNoIslandingContList().size() == 1);
+	}
+
+	@Test
+	public void verifyBatchTest() throws Exception {
+		AclfNetwork net = IpssAdapter.importAclfNet("testData/adpter/ieee_format/ieee14.ieee")
+				.setFormat(IpssAdapter.FileFormat.IEEECommonFormat)
+				.load()
+				.getImportedObj();
+
+		CAResultVerifier verifier = new CAResultVerifier(net, 1.0);
+		List<String> mismatchList = verifier.verifyBatch(createContList(net));
+
+		// the islanding contingency CA3 is verified by an exact post contingency DCLF solve
+		assertTrue(verifier.hasIsland());
+		assertTrue(verifier.getNumOfExactSolves() >= 1);
+		// the network object status is restored after the exact solve
+		for (AclfBranch branch : net.getBranchList())
+			assertTrue(branch.isActive());
+
+		// same results as the contingency by contingency verification
+		for (DepContingency cont : createContList(net)) {
+			boolean identical = new CAResultVerifier(net, cont, 1.0, 1.0).verify();
+			assertTrue(cont.getId(), identical == !mismatchList.contains(cont.getId()));
+		}
+	}
+
+	private List<DepContingency> createContList(AclfNetwork net) {
+		List<DepContingency> list = new ArrayList<>();
+		list.add(createCont("CA1", net, "Bus5->Bus6(1)"));
+		list.add(createCont("CA2", net, "Bus2->Bus3(1)"));
+		list.add(createCont("CA3", net, "Bus7->Bus8(1)"));
+		list.add(createCont("CA4", net, "Bus1->Bus2(1)", "Bus2->Bus4(1)"));
+		return list;
+	}
+
+	private DepContingency createCont(String id, AclfNetwork net, String... branchIds) {
+		DepContingency cont = CoreObjectFactory.createDepContingency(id);
+		for (String branchId : branchIds) {
+			OutageBranch outageBranch = CoreObjectFactory.createOutageBranch(net.getBranch(branchId), cont);
+			outageBranch.setOutageType(BranchOutageType.OPEN);
+			cont.addOutageBranch(outageBranch);
+		}
+		return cont;
+	}
+}
@@ -0,0 +1,127 @@
+ /*
+  * @(#)Ieee14_HourlyNetUpdate_Test.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+
+package org.interpss.core.ca;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.math3.complex.Complex;
+import org.interpss.CorePluginTestSetup;
+import org.interpss.numeric.datatype.Unit.UnitType;
+import org.interpss.pssl.plugin.IpssAdapter;
+import org.interpss.pssl.simu.AbstractHourlyNetworkModel;
+import org.interpss.pssl.simu.HourlyNetworkChange;
+import org.interpss.pssl.simu.IpssDclf;
+import org.interpss.pssl.simu.IpssDclf.DclfAlgorithmDSL;
+import org.junit.Test;
+
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.aclf.AclfNetwork;
+
+public class Ieee14_HourlyNetUpdate_Test extends CorePluginTestSetup {
+	/*
+	 * hour 1-2 load changes at Bus14, hour 3 Bus13->Bus14 outage, hour 4 topology change
+	 */
+	private static class HourlyModel extends AbstractHourlyNetworkModel {
+		public HourlyModel() throws InterpssException {
+			createAclfNetCase(IpssAdapter.importAclfNet("testData/adpter/ieee_format/ieee14.ieee")
+					.setFormat(IpssAdapter.FileFormat.IEEECommonFormat)
+					.load());
+		}
+
+		@Override
+		public <T> T setHour(int hr) throws InterpssException {
+			this.hour = hr;
+			return null;
+		}
+
+		@Override
+		public void processNetDataForConsolidation(double smallBranchZ) throws InterpssException {
+		}
+
+		@Override
+		protected HourlyNetworkChange getHourlyChange(int fromHr, int toHr) throws InterpssException {
+			HourlyNetworkChange change = new HourlyNetworkChange();
+			if (toHr == 3)
+				change.addBranchStatus("Bus13->Bus14(1)", false);
+			else if (toHr == 4)
+				change.setTopologyChanged();
+			else
+				change.addBusInjection("Bus14", null, new Complex(0.1 + 0.05 * toHr, 0.05));
+			return change;
+		}
+	}
+
+	@Test
+	public void injectionUpdateTest() throws Exception {
+		HourlyModel model = new HourlyModel();
+		List<String> deadBusIdList = new ArrayList<>();
+		DclfAlgorithmDSL algo0 = model.updateDclfAlgo(0, 1.0e-5, deadBusIdList);
+		assertTrue(model.getNumOfRebuilds() == 1);
+		double ang0 = algo0.algo().getBusAngle("Bus14");
+
+		// injection only, the algorithm object is kept
+		DclfAlgorithmDSL algo2 = model.updateDclfAlgo(2, 1.0e-5, deadBusIdList);
+		assertTrue(algo2 == algo0);
+		assertTrue(model.getHour() == 2 && model.getNumOfRebuilds() == 1 && model.getNumOfIncrementalUpdates() == 1);
+		assertTrue(Math.abs(model.getAclfNet().getBus("Bus14").getLoadP() - 0.2) < 1.0e-10);
+
+		double ang2 = algo2.algo().getBusAngle("Bus14");
+		assertTrue(ang2 != ang0);
+		// same result as a new DCLF calculation of the network
+		DclfAlgorithmDSL fresh = IpssDclf.createDclfAlgorithm(model.getAclfNet()).runDclfAnalysis();
+		assertTrue(Math.abs(fresh.algo().getBusAngle("Bus14") - ang2) < 1.0e-8);
+	}
+
+	@Test
+	public void statusTopologyUpdateTest() throws Exception {
+		HourlyModel model = new HourlyModel();
+		DclfAlgorithmDSL algo1 = model.updateDclfAlgo(1, 1.0e-5, null);
+
+		// branch status change, consolidation kept, DCLF re-built
+		DclfAlgorithmDSL algo3 = model.updateDclfAlgo(3, 1.0e-5, null);
+		assertTrue(algo3 != algo1);
+		assertTrue(model.getNumOfRebuilds() == 1 && model.getNumOfIncrementalUpdates() == 1);
+		AclfNetwork net = model.getAclfNet();
+		assertTrue(!net.getBranch("Bus13->Bus14(1)").isActive());
+		double flow = algo3.algo().getBranchFlow(net.getBranch("Bus9->Bus14(1)"), UnitType.PU);
+		// Bus14 load is supplied by Bus9->Bus14 only
+		assertTrue(Math.abs(flow - net.getBus("Bus14").getLoadP()) < 1.0e-6);
+
+		// topology change, re-built
+		model.updateDclfAlgo(4, 1.0e-5, null);
+		assertTrue(model.getNumOfRebuilds() == 2);
+
+		// re-build if the changes are not known
+		HourlyNetworkChange change = new HourlyNetworkChange()
+				.addBranchStatus("Bus1->Bus2(1)", false);
+		assertTrue(change.classify(net) == HourlyNetworkChange.ChangeType.BRANCH_STATUS);
+		assertTrue(new HourlyNetworkChange().addBusInjection("BusX", null, null)
+				.classify(net) == HourlyNetworkChange.ChangeType.TOPOLOGY);
+	}
+}
@@ -0,0 +1,130 @@
+ /*
+  * @(#)Ieee14_IsolatedBusCA_Test.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.core.ca;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.interpss.CorePluginTestSetup;
+import org.interpss.numeric.exp.IpssNumericException;
+import org.interpss.pssl.plugin.IpssAdapter;
+import org.interpss.pssl.simu.IpssDclf;
+import org.interpss.pssl.simu.IpssDclf.DclfAlgorithmDSL;
+import org.junit.Test;
+
+import com.interpss.CoreObjectFactory;
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.aclf.AclfNetwork;
+import com.interpss.core.aclf.contingency.BranchOutageType;
+import com.interpss.core.aclf.contingency.BusbarOutageContingency;
+import com.interpss.core.aclf.contingency.ContingencyFactory;
+import com.interpss.core.aclf.contingency.MultiOutageContingency;
+import com.interpss.core.aclf.contingency.Xfr3WOutageContingency;
+import com.interpss.core.dclf.common.ReferenceBusException;
+
+public class Ieee14_IsolatedBusCA_Test extends CorePluginTestSetup {
+	@Test
+	public void busbarOutageTest() throws InterpssException, ReferenceBusException, IpssNumericException {
+		AclfNetwork net = getSampleNet();
+		DclfAlgorithmDSL algoDsl = IpssDclf.createDclfAlgorithm(net, false)
+				.runDclfAnalysis();
+
+		// Bus5 busbar outage, Bus5 has load
+		BusbarOutageContingency cont = ContingencyFactory.eINSTANCE.createBusbarOutageContingency();
+		addOutageBranches(cont, "Bus5Busbar", net, "Bus1->Bus5(1)", "Bus2->Bus5(1)", "Bus4->Bus5(1)", "Bus5->Bus6(1)");
+
+		Map<String, Double> caFlow = new HashMap<>();
+		assertTrue(algoDsl.busbarOutageContingencyAanlysis(cont, (branch, flow) -> caFlow.put(branch.getId(), flow)));
+
+		checkPostFlow(net, caFlow, cont, "Bus5");
+	}
+
+	@Test
+	public void xfr3WOutageTest() throws InterpssException, ReferenceBusException, IpssNumericException {
+		AclfNetwork net = getSampleNet();
+		DclfAlgorithmDSL algoDsl = IpssDclf.createDclfAlgorithm(net, false)
+				.runDclfAnalysis();
+
+		// Bus7 is the 3W xfr star bus. The adjacent Bus8 is only connected to Bus7, 
+		// therefore both Bus7 and Bus8 are isolated by the outage
+		Xfr3WOutageContingency cont = ContingencyFactory.eINSTANCE.createXfr3WOutageContingency();
+		addOutageBranches(cont, "Bus7Xfr3W", net, "Bus4->Bus7(1)", "Bus7->Bus8(1)", "Bus7->Bus9(1)");
+
+		Map<String, Double> caFlow = new HashMap<>();
+		assertTrue(algoDsl.xfr3WOutageContingencyAanlysis(cont, (branch, flow) -> caFlow.put(branch.getId(), flow)));
+
+		checkPostFlow(net, caFlow, cont, "Bus7", "Bus8");
+	}
+
+	@Test
+	public void refBusOutageTest() throws InterpssException, ReferenceBusException, IpssNumericException {
+		AclfNetwork net = getSampleNet();
+		DclfAlgorithmDSL algoDsl = IpssDclf.createDclfAlgorithm(net, false)
+				.runDclfAnalysis();
+
+		// Bus1 is the ref bus with generation, the analysis should fail without any result
+		BusbarOutageContingency cont = ContingencyFactory.eINSTANCE.createBusbarOutageContingency();
+		addOutageBranches(cont, "Bus1Busbar", net, "Bus1->Bus2(1)", "Bus1->Bus5(1)");
+
+		Map<String, Double> caFlow = new HashMap<>();
+		assertTrue(!algoDsl.busbarOutageContingencyAanlysis(cont, (branch, flow) -> caFlow.put(branch.getId(), flow)));
+		assertTrue(caFlow.isEmpty());
+	}
+
+	/*
+	 * compare the CA post contingency flow with a full DCLF solve with the outage branches
+	 * and the isolated buses out of service
+	 */
+	private void checkPostFlow(AclfNetwork net, Map<String, Double> caFlow, MultiOutageContingency cont, String... isolatedBusIds) 
+					throws InterpssException, ReferenceBusException, IpssNumericException {
+		cont.getOutageBranches().forEach(outBranch -> outBranch.getBranch().setStatus(false));
+		for (String id : isolatedBusIds)
+			net.getBus(id).setStatus(false);
+
+		DclfAlgorithmDSL algoPost = IpssDclf.createDclfAlgorithm(net, false)
+				.runDclfAnalysis();
+		for (AclfBranch branch : net.getBranchList()) {
+			double flow = branch.isActive()? algoPost.algo().getBranchFlow(branch) * net.getBaseMva() : 0.0;
+			//System.out.println(branch.getId() + ": " + caFlow.get(branch.getId()) + ", " + flow);
+			assertTrue("Branch " + branch.getId(), Math.abs(caFlow.get(branch.getId()) - flow) < 1.0e-4);
+		}
+	}
+
+	private void addOutageBranches(MultiOutageContingency cont, String id, AclfNetwork net, String... branchIds) {
+		cont.setId(id);
+		for (String branchId : branchIds)
+			cont.getOutageBranches().add(CoreObjectFactory.createOutageBranch(net.getBranch(branchId), BranchOutageType.OPEN));
+	}
+
+	private AclfNetwork getSampleNet() throws InterpssException {
+		return IpssAdapter.importAclfNet("testData/adpter/ieee_format/ieee14.ieee")
+				.setFormat(IpssAdapter.FileFormat.IEEECommonFormat)
+				.load()
+				.getImportedObj();
+	}
+}
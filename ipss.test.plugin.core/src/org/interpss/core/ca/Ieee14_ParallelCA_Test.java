@@ -0,0 +1,155 @@
+ /*
+  * @(#)Ieee14_ParallelCA_Test.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.core.ca;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.interpss.CorePluginTestSetup;
+import org.interpss.datatype.DblBranchValue;
+import org.interpss.numeric.exp.IpssNumericException;
+import org.interpss.pssl.plugin.IpssAdapter;
+import org.interpss.pssl.simu.DclfAlgorithmPool;
+import org.interpss.pssl.simu.IpssDclf;
+import org.interpss.pssl.simu.IpssDclf.DclfAlgorithmDSL;
+import org.interpss.pssl.util.CAViolationRecord;
+import org.interpss.pssl.util.ContingencyResultCollector;
+import org.interpss.pssl.util.ParallelContingencyAnalysisHelper;
+import org.interpss.pssl.util.TopKHeap;
+import org.interpss.pssl.util.TopKViolationCollector;
+import org.junit.Test;
+
+import com.interpss.CoreObjectFactory;
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.aclf.AclfNetwork;
+import com.interpss.core.aclf.contingency.BranchOutageType;
+import com.interpss.core.dclf.common.ReferenceBusException;
+
+public class Ieee14_ParallelCA_Test extends CorePluginTestSetup {
+	@Test
+	public void poolTest() throws InterpssException, ReferenceBusException, IpssNumericException {
+		AclfNetwork net = getSampleNet();
+		DclfAlgorithmDSL algoDsl = IpssDclf.createDclfAlgorithm(net)
+				.runDclfAnalysis();
+
+		DclfAlgorithmPool pool = new DclfAlgorithmPool(algoDsl.algo(), 2);
+		DclfAlgorithmDSL algo1 = pool.borrow();
+		DclfAlgorithmDSL algo2 = pool.borrow();
+		assertTrue(algo1 != algo2);
+		assertTrue(pool.getNumOfBorrowed() == 2);
+
+		pool.giveBack(algo1);
+		assertTrue(pool.getNumOfBorrowed() == 1);
+		assertTrue(pool.borrow() == algo1);
+
+		pool.giveBack(algo1);
+		pool.giveBack(algo2);
+		assertTrue(pool.getNumOfBorrowed() == 0);
+	}
+
+	@Test
+	public void parallelCATest() throws InterpssException, ReferenceBusException, IpssNumericException {
+		AclfNetwork net = getSampleNet();
+		DclfAlgorithmDSL algoDsl = IpssDclf.createDclfAlgorithm(net)
+				.runDclfAnalysis();
+
+		for ( int i = 0; i < 100; i++)
+			CoreObjectFactory.createContingency("CA"+i, "Bus5->Bus6(1)", BranchOutageType.OPEN, net);
+
+		ContingencyResultCollector collector = new ContingencyResultCollector(
+				(branch, postFlow) -> branch.getId().equals("Bus1->Bus2(1)"));
+		DclfAlgorithmPool pool = new DclfAlgorithmPool(algoDsl.algo(), 4);
+		assertTrue(pool.getNumOfCachedBuses() == 0);
+		ParallelContingencyAnalysisHelper helper = new ParallelContingencyAnalysisHelper(pool);
+		assertTrue(helper.contAnalysis(collector));
+		// only the sensitivities of the outage branch terminal buses are cached
+		assertTrue(pool.getNumOfCachedBuses() == 2);
+
+		assertTrue(collector.getResultTable().size() == 100);
+		for ( int i = 0; i < 100; i++) {
+			List<DblBranchValue> list = collector.getResults("CA"+i);
+			assertTrue(list.size() == 1);
+			assertTrue(Math.abs(list.get(0).value - 150.3920508725032) < 0.0001);
+		}
+	}
+
+	@Test
+	public void topKViolationTest() throws InterpssException, ReferenceBusException, IpssNumericException {
+		AclfNetwork net = getSampleNet();
+		DclfAlgorithmDSL algoDsl = IpssDclf.createDclfAlgorithm(net)
+				.runDclfAnalysis();
+
+		CoreObjectFactory.createContingency("CA1", "Bus5->Bus6(1)", BranchOutageType.OPEN, net);
+		CoreObjectFactory.createContingency("CA2", "Bus1->Bus5(1)", BranchOutageType.OPEN, net);
+		CoreObjectFactory.createContingency("CA3", "Bus2->Bus3(1)", BranchOutageType.OPEN, net);
+
+		List<String> contIdList = new ArrayList<>();
+		TopKViolationCollector collector = new TopKViolationCollector(3, 50.0);
+		collector.setContViolationProcessor((cont, list) -> {
+			synchronized (contIdList) {
+				contIdList.add(cont.getId());
+			}
+			assertTrue(list.size() <= 3);
+		});
+		ParallelContingencyAnalysisHelper helper = new ParallelContingencyAnalysisHelper(
+				new DclfAlgorithmPool(algoDsl.algo(), 2));
+		assertTrue(helper.contAnalysis(collector));
+
+		assertTrue(contIdList.size() == 3);
+		List<CAViolationRecord> list = collector.getTopViolations();
+		assertTrue(list.size() == 3);
+		for (int i = 1; i < list.size(); i++)
+			assertTrue(list.get(i-1).loading >= list.get(i).loading);
+		// Bus1->Bus2 post contingency flow for Bus5->Bus6 outage is 150.39 Mw
+		assertTrue(list.get(0).loading >= 150.0);
+	}
+
+	@Test
+	public void topKHeapTest() {
+		TopKHeap<Double> heap = new TopKHeap<>(3, x -> Math.abs(x));
+		for (double x : new double[] {1.0, -5.0, 2.0, 4.0, -0.5, 3.0})
+			heap.offer(x);
+		List<Double> list = heap.toSortedList();
+		assertTrue(list.size() == 3);
+		assertTrue(list.get(0) == -5.0 && list.get(1) == 4.0 && list.get(2) == 3.0);
+		assertTrue(!heap.accepts(2.5));
+		assertTrue(heap.accepts(3.5));
+	}
+
+	private AclfNetwork getSampleNet() throws InterpssException {
+		AclfNetwork net = IpssAdapter.importAclfNet("testData/adpter/ieee_format/ieee14.ieee")
+				.setFormat(IpssAdapter.FileFormat.IEEECommonFormat)
+				.load()
+				.getImportedObj();
+
+		for (AclfBranch branch : net.getBranchList()) {
+			branch.setRatingMva1(100.0);
+		}
+		return net;
+	}
+}
@@ -0,0 +1,131 @@
+ /*
+  * @(#)Ieee14_SenMatrix_Test.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.core.ca;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.interpss.CorePluginTestSetup;
+import org.interpss.numeric.exp.IpssNumericException;
+import org.interpss.pssl.plugin.IpssAdapter;
+import org.interpss.pssl.simu.IpssDclf;
+import org.interpss.pssl.simu.IpssDclf.DclfAlgorithmDSL;
+import org.interpss.pssl.util.DclfSenMatrixHelper;
+import org.junit.Test;
+
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.aclf.AclfBus;
+import com.interpss.core.aclf.AclfNetwork;
+import com.interpss.core.dclf.common.ReferenceBusException;
+
+public class Ieee14_SenMatrix_Test extends CorePluginTestSetup {
+	@Test
+	public void lodfMatrixTest() throws InterpssException, ReferenceBusException, IpssNumericException {
+		AclfNetwork net = getSampleNet();
+		DclfAlgorithmDSL algoDsl = IpssDclf.createDclfAlgorithm(net)
+				.runDclfAnalysis();
+
+		List<AclfBranch> monList = new ArrayList<>(net.getBranchList());
+		List<AclfBranch> outList = new ArrayList<>();
+		outList.add(net.getBranch("Bus5->Bus6(1)"));
+		outList.add(net.getBranch("Bus1->Bus2(1)"));
+		outList.add(net.getBranch("Bus6->Bus13(1)"));
+
+		double[][] lodf = algoDsl.calLineOutageDFactorMatrix(monList, outList);
+		for (int j = 0; j < outList.size(); j++) {
+			AclfBranch outBranch = outList.get(j);
+			for (int i = 0; i < monList.size(); i++) {
+				AclfBranch monBranch = monList.get(i);
+				if (monBranch == outBranch)
+					assertTrue(lodf[i][j] == -1.0);
+				else {
+					double x = algoDsl.algo().lineOutageDFactor(outBranch, monBranch);
+					assertTrue("LODF " + monBranch.getId() + ", " + outBranch.getId(),
+							Math.abs(lodf[i][j] - x) < 1.0e-6);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void ptdfMatrixTest() throws InterpssException, ReferenceBusException, IpssNumericException {
+		AclfNetwork net = getSampleNet();
+		DclfAlgorithmDSL algoDsl = IpssDclf.createDclfAlgorithm(net)
+				.runDclfAnalysis();
+
+		List<AclfBranch> branchList = new ArrayList<>(net.getBranchList());
+		double[][] ptdf = algoDsl.calPTDFMatrix(branchList);
+
+		AclfBus bus = net.getBus("Bus13");
+		for (int j = 0; j < branchList.size(); j++) {
+			double x = algoDsl.algo().calGenShiftFactor(bus.getId(), branchList.get(j));
+			assertTrue(Math.abs(ptdf[bus.getSortNumber()][j] - x) < 1.0e-6);
+		}
+	}
+
+	@Test
+	public void parallelSequentialTest() throws InterpssException {
+		// the panels are calculated in parallel and sequentially on separate networks, both starting
+		// with an empty sensitivity cache, the results should be the same
+		double[][][] parResult = calMatrices(true), seqResult = calMatrices(false);
+		for (int k = 0; k < 2; k++) {
+			assertTrue(parResult[k].length == seqResult[k].length);
+			for (int i = 0; i < parResult[k].length; i++)
+				for (int j = 0; j < parResult[k][i].length; j++)
+					assertTrue(Math.abs(parResult[k][i][j] - seqResult[k][i][j]) < 1.0e-10);
+		}
+	}
+
+	private double[][][] calMatrices(boolean parallel) throws InterpssException {
+		AclfNetwork net = IpssAdapter.importAclfNet("testData/adpter/ieee_format/ieee118.ieee")
+				.setFormat(IpssAdapter.FileFormat.IEEECommonFormat)
+				.load()
+				.getImportedObj();
+		DclfAlgorithmDSL algoDsl = IpssDclf.createDclfAlgorithm(net)
+				.runDclfAnalysis();
+
+		List<AclfBranch> branchList = new ArrayList<>(net.getBranchList());
+		DclfSenMatrixHelper helper = new DclfSenMatrixHelper(algoDsl.algo());
+		helper.setPanelSize(8);
+		helper.setParallel(parallel);
+		double[][] lodf = helper.calLineOutageDFactorMatrix(branchList, branchList);
+
+		helper = new DclfSenMatrixHelper(algoDsl.algo());
+		helper.setPanelSize(8);
+		helper.setParallel(parallel);
+		double[][] ptdf = helper.calPTDFMatrix(branchList);
+		return new double[][][] {lodf, ptdf};
+	}
+
+	private AclfNetwork getSampleNet() throws InterpssException {
+		return IpssAdapter.importAclfNet("testData/adpter/ieee_format/ieee14.ieee")
+				.setFormat(IpssAdapter.FileFormat.IEEECommonFormat)
+				.load()
+				.getImportedObj();
+	}
+}
@@ -0,0 +1,145 @@
+ /*
+  * @(#)Ieee14_TopologySnapshot_Test.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.core.ca;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.interpss.CorePluginTestSetup;
+import org.interpss.algo.NetworkTopologySnapshot;
+import org.interpss.algo.TopologyProcesor;
+import org.interpss.pssl.plugin.IpssAdapter;
+import org.junit.Test;
+
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.aclf.AclfBranch;
+import com.interpss.core.aclf.AclfBranchCode;
+import com.interpss.core.aclf.AclfNetwork;
+
+public class Ieee14_TopologySnapshot_Test extends CorePluginTestSetup {
+	@Test
+	public void rangeTest() throws InterpssException {
+		AclfNetwork net = getSampleNet();
+		TopologyProcesor proc = new TopologyProcesor(net);
+
+		// Bus8 is connected to the network only through Bus7->Bus8
+		List<String> list = proc.findBranchAroundBusWithinRange("Bus8", 1);
+		assertTrue(list.size() == 1);
+		assertTrue(list.contains("Bus7->Bus8(1)"));
+
+		list = proc.findBranchAroundBusWithinRange("Bus8", 2);
+		assertTrue(list.size() == 3);
+		assertTrue(list.contains("Bus4->Bus7(1)"));
+		assertTrue(list.contains("Bus7->Bus9(1)"));
+	}
+
+	@Test
+	public void islandTest() throws InterpssException {
+		AclfNetwork net = getSampleNet();
+		NetworkTopologySnapshot snapshot = new NetworkTopologySnapshot(net);
+		long areaNo = net.getBus("Bus1").getArea().getNumber();
+
+		TopologyProcesor proc = new TopologyProcesor(net, snapshot);
+		assertTrue(proc.checkConnectivity(areaNo, false, true));
+		assertTrue(proc.getslandedBuses().isEmpty());
+
+		List<String> list = snapshot.findIslandBusInRegion(areaNo, false, outageList(net, "Bus7->Bus8(1)"));
+		assertTrue(list.size() == 1);
+		assertTrue(list.get(0).equals("Bus8"));
+
+		list = snapshot.findIslandBus(outageList(net, "Bus6->Bus12(1)", "Bus12->Bus13(1)"));
+		assertTrue(list.size() == 1);
+		assertTrue(list.get(0).equals("Bus12"));
+
+		assertTrue(snapshot.findIslandBus(outageList(net, "Bus5->Bus6(1)")).isEmpty());
+
+		// the network status is not changed by the search
+		assertTrue(net.getBranch("Bus7->Bus8(1)").isActive());
+	}
+
+	@Test
+	public void substationTest() throws InterpssException {
+		AclfNetwork net = getSampleNet();
+		net.getBranch("Bus7->Bus8(1)").setBranchCode(AclfBranchCode.BREAKER);
+		net.getBranch("Bus7->Bus9(1)").setBranchCode(AclfBranchCode.BREAKER);
+		TopologyProcesor proc = new TopologyProcesor(net);
+
+		// Bus7, Bus8 and Bus9 are connected by the breakers
+		List<String> list = proc.findBranchInSubStation("Bus7->Bus8(1)");
+		assertTrue(list.get(0).equals("Bus7->Bus8(1)"));
+		assertTrue(list.size() == 6);
+		assertTrue(list.contains("Bus7->Bus9(1)"));
+		assertTrue(list.contains("Bus4->Bus7(1)"));
+		assertTrue(list.contains("Bus4->Bus9(1)"));
+		assertTrue(list.contains("Bus9->Bus10(1)"));
+		assertTrue(list.contains("Bus9->Bus14(1)"));
+	}
+
+	@Test
+	public void concurrentTest() throws Exception {
+		AclfNetwork net = getSampleNet();
+		NetworkTopologySnapshot snapshot = new NetworkTopologySnapshot(net);
+
+		String[][] outages = {
+				{"Bus7->Bus8(1)"},
+				{"Bus6->Bus12(1)", "Bus12->Bus13(1)"},
+				{"Bus5->Bus6(1)"},
+				{"Bus4->Bus7(1)", "Bus7->Bus9(1)"}};
+		int[] expected = {1, 1, 0, 2};
+
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<List<String>>> futures = new ArrayList<>();
+			for (int n = 0; n < 20; n++) {
+				List<AclfBranch> outage = outageList(net, outages[n % outages.length]);
+				futures.add(executor.submit(() -> snapshot.findIslandBus(outage)));
+			}
+			for (int n = 0; n < futures.size(); n++)
+				assertTrue(futures.get(n).get().size() == expected[n % outages.length]);
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	private List<AclfBranch> outageList(AclfNetwork net, String... ids) {
+		List<AclfBranch> list = new ArrayList<>();
+		for (String id : ids)
+			list.add(net.getBranch(id));
+		return list;
+	}
+
+	private AclfNetwork getSampleNet() throws InterpssException {
+		return IpssAdapter.importAclfNet("testData/adpter/ieee_format/ieee14.ieee")
+				.setFormat(IpssAdapter.FileFormat.IEEECommonFormat)
+				.load()
+				.getImportedObj();
+	}
+}
@@ -0,0 +1,116 @@
+ /*
+  * @(#)DStabColumnarOutputTest.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.core.dstab;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.ieee.odm.adapter.IODMAdapter.NetType;
+import org.ieee.odm.adapter.psse.PSSEAdapter;
+import org.ieee.odm.adapter.psse.PSSEAdapter.PsseVersion;
+import org.ieee.odm.model.dstab.DStabModelParser;
+import org.interpss.IpssCorePlugin;
+import org.interpss.dstab.output.ColumnarSimuOutputHandler;
+import org.interpss.dstab.output.DStabBinaryOutputFile;
+import org.interpss.mapper.odm.ODMDStabParserMapper;
+import org.junit.Test;
+
+import com.interpss.SimuObjectFactory;
+import com.interpss.dstab.BaseDStabNetwork;
+import com.interpss.dstab.algo.DynamicSimuAlgorithm;
+import com.interpss.dstab.algo.DynamicSimuMethod;
+import com.interpss.simu.SimuContext;
+import com.interpss.simu.SimuCtxType;
+
+public class DStabColumnarOutputTest extends DStabTestSetupBase {
+	@Test
+	public void IEEE9_binaryOutputTest() throws Exception {
+		IpssCorePlugin.init();
+		PSSEAdapter adapter = new PSSEAdapter(PsseVersion.PSSE_30);
+		assertTrue(adapter.parseInputFile(NetType.DStabNet, new String[]{
+				"testData/adpter/psse/v30/IEEE9Bus/ieee9.raw",
+				"testData/adpter/psse/v30/IEEE9Bus/ieee9.seq",
+				"testData/adpter/psse/v30/IEEE9Bus/ieee9_dyn.dyr"
+		}));
+		DStabModelParser parser =(DStabModelParser) adapter.getModel();
+
+		SimuContext simuCtx = SimuObjectFactory.createSimuNetwork(SimuCtxType.DSTABILITY_NET);
+		assertTrue(new ODMDStabParserMapper(msg).map2Model(parser, simuCtx));
+	    BaseDStabNetwork<?,?> dsNet = simuCtx.getDStabilityNet();
+
+		DynamicSimuAlgorithm dstabAlgo = simuCtx.getDynSimuAlgorithm();
+		assertTrue(dstabAlgo.getAclfAlgorithm().loadflow());
+		dstabAlgo.setSimuMethod(DynamicSimuMethod.MODIFIED_EULER);
+		dstabAlgo.setSimuStepSec(0.001);
+		dstabAlgo.setTotalSimuTimeSec(0.5);
+		dstabAlgo.setRefMachine(dsNet.getMachine("Bus1-mach1"));
+
+		File dir = Files.createTempDirectory("ipss_dstab").toFile();
+		File binFile = new File(dir, "ieee9" + DStabBinaryOutputFile.FileExt);
+		// small chunks to have the writer thread cycle through the chunk pool
+		ColumnarSimuOutputHandler hdler = new ColumnarSimuOutputHandler(dsNet, binFile)
+				.setChunkSize(64)
+				.setQueueCapacity(2)
+				.addMachineMonitor("Bus2-mach1", "Bus3-mach1")
+				.addBusMonitor("Bus5");
+		dstabAlgo.setSimuOutputHandler(hdler);
+
+		assertTrue(dstabAlgo.initialization());
+		assertTrue(dstabAlgo.performSimulation());
+		hdler.close();
+
+		try (DStabBinaryOutputFile.Reader reader = new DStabBinaryOutputFile.Reader(binFile)) {
+			// time + 2 x 5 machine channels + 2 bus channels
+			assertTrue(reader.getChannelNameList().size() == 13);
+			assertTrue(reader.getRowCount() == hdler.getRowCount());
+			assertTrue(reader.getRowCount() > 64);
+
+			double[] time = reader.readChannel(DStabBinaryOutputFile.TimeChannel);
+			for (int i = 1; i < time.length; i++)
+				assertTrue(time[i] > time[i-1]);
+
+			// no event, the machine states stay at the initial values
+			double[] speed = reader.readChannel(DStabBinaryOutputFile.channelName("mach", "Bus2-mach1", "speed"));
+			double[] pm = reader.readChannel(DStabBinaryOutputFile.channelName("mach", "Bus2-mach1", "pm"));
+			for (int i = 0; i < speed.length; i++) {
+				assertTrue(Math.abs(speed[i] - 1.0) < 0.0001);
+				assertTrue(Math.abs(pm[i] - 1.63) < 0.0001);
+			}
+		}
+
+		File csvFile = new File(dir, "ieee9.csv");
+		DStabBinaryOutputFile.exportCsv(binFile, csvFile, DStabBinaryOutputFile.channelName("bus", "Bus5", "vmag"));
+		List<String> lines = Files.readAllLines(csvFile.toPath());
+		assertTrue(lines.size() == hdler.getRowCount() + 1);
+		assertTrue(lines.get(0).equals("time,bus:Bus5:vmag"));
+
+		binFile.delete();
+		csvFile.delete();
+		dir.delete();
+	}
+}
@@ -0,0 +1,98 @@
+ /*
+  * @(#)CMLCompiledExciterTest.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.core.dstab.cml.controller;
+
+import static org.junit.Assert.assertTrue;
+
+import org.interpss.core.dstab.DStabTestSetupBase;
+import org.interpss.dstab.control.cml.compile.CMLControllerCompiler;
+import org.interpss.dstab.control.exc.ExciterObjectFactory;
+import org.interpss.dstab.control.exc.ieee.y1968.type1.Ieee1968Type1Exciter;
+import org.interpss.dstab.control.exc.simple.SimpleExciter;
+import org.junit.Test;
+
+import com.interpss.common.exp.InterpssException;
+import com.interpss.dstab.BaseDStabBus;
+import com.interpss.dstab.BaseDStabNetwork;
+import com.interpss.dstab.algo.DynamicSimuMethod;
+import com.interpss.dstab.controller.AnnotateExciter;
+import com.interpss.dstab.mach.Eq1Machine;
+import com.interpss.dstab.util.sample.SampleDStabCase;
+
+public class CMLCompiledExciterTest extends DStabTestSetupBase {
+	private static final int NSteps = 100;
+	
+	@Test
+	public void simpleExciterTest() throws InterpssException {
+		// compiled and interpreted trajectories should be the same
+		double[] interpreted = simpleExciterRun(false);
+		double[] compiled = simpleExciterRun(true);
+		for (int i = 0; i < NSteps; i++)
+			assertTrue(Math.abs(interpreted[i] - compiled[i]) < 1.0e-10);
+		
+		// the exciter output changes after the voltage drop
+		assertTrue(Math.abs(interpreted[NSteps-1] - interpreted[0]) > 1.0e-3);
+	}
+	
+	@Test
+	public void ieee1968Type1Test() throws InterpssException {
+		// the washout block is a feedback block, the controller could not be compiled
+		BaseDStabNetwork net = SampleDStabCase.createDStabTestNet();
+		Eq1Machine mach = SampleDStabCase.createEq1Machine(net);
+		Ieee1968Type1Exciter exc = ExciterObjectFactory.createIeee1968Type1Exciter("Exc", "Exc", mach);
+		BaseDStabBus bus = net.getDStabBus("Gen");
+		mach.initStates(bus);
+		assertTrue(exc.initStates(bus, mach));
+		assertTrue(CMLControllerCompiler.compile(exc) == null);
+	}
+	
+	private double[] simpleExciterRun(boolean compile) throws InterpssException {
+		BaseDStabNetwork net = SampleDStabCase.createDStabTestNet();
+		Eq1Machine mach = SampleDStabCase.createEq1Machine(net);
+		SimpleExciter exc = ExciterObjectFactory.createSimpleExciter("Exc", "Exc", mach);
+		exc.setCompileCML(compile);
+		double[] trajectory = run(net, mach, exc);
+		assertTrue(exc.isCompiled() == compile);
+		return trajectory;
+	}
+	
+	/*
+	 * init the machine and the exciter, drop the terminal voltage and step the exciter, 
+	 * return the exciter output trajectory
+	 */
+	private double[] run(BaseDStabNetwork net, Eq1Machine mach, AnnotateExciter exc) throws InterpssException {
+		BaseDStabBus bus = net.getDStabBus("Gen");
+		mach.initStates(bus);
+		assertTrue(exc.initStates(bus, mach));
+		
+		bus.setVoltage(bus.getVoltage().multiply(0.95));
+		double[] trajectory = new double[NSteps];
+		for (int i = 0; i < NSteps; i++) {
+			assertTrue(exc.nextStep(0.01, DynamicSimuMethod.MODIFIED_EULER, mach));
+			trajectory[i] = exc.getOutput(mach);
+		}
+		return trajectory;
+	}
+}
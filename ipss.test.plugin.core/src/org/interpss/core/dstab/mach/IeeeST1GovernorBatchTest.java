@@ -0,0 +1,230 @@
+ /*
+  * @(#)IeeeST1GovernorBatchTest.java
+  *
+  * Copyright (C) 2006-2026 www.interpss.org
+  *
+  * This program is free software; you can redistribute it and/or
+  * modify it under the terms of the GNU LESSER GENERAL PUBLIC LICENSE
+  * as published by the Free Software Foundation; either version 2.1
+  * of the License, or (at your option) any later version.
+  *
+  * This program is distributed in the hope that it will be useful,
+  * but WITHOUT ANY WARRANTY; without even the implied warranty of
+  * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+  * GNU General Public License for more details.
+  *
+  * @Author agent
+  * @Version 1.0
+  * @Date 10/17/2026
+  *
+  *   Revision History
+  *   ================
+  *
+  */
+
+package org.interpss.core.dstab.mach;
+
+import static org.junit.Assert.assertTrue;
+
+import org.apache.commons.math3.complex.Complex;
+import org.ieee.odm.adapter.IODMAdapter.NetType;
+import org.ieee.odm.adapter.psse.PSSEAdapter;
+import org.ieee.odm.adapter.psse.PSSEAdapter.PsseVersion;
+import org.ieee.odm.model.dstab.DStabModelParser;
+import org.interpss.IpssCorePlugin;
+import org.interpss.dstab.control.BatchDStabSolverImpl;
+import org.interpss.dstab.control.gov.GovernorObjectFactory;
+import org.interpss.dstab.control.gov.ieee.ieeeST1.IeeeST1Governor;
+import org.interpss.dstab.control.gov.ieee.ieeeST1.IeeeST1GovernorBatch;
+import org.interpss.dstab.control.gov.ieee.ieeeST2.IeeeST2Governor;
+import org.interpss.dstab.control.gov.ieee.ieeeST2.IeeeST2GovernorBatch;
+import org.interpss.mapper.odm.ODMDStabParserMapper;
+import org.junit.Test;
+
+import com.interpss.DStabObjectFactory;
+import com.interpss.SimuObjectFactory;
+import com.interpss.common.exp.InterpssException;
+import com.interpss.core.acsc.fault.SimpleFaultCode;
+import com.interpss.dstab.BaseDStabBus;
+import com.interpss.dstab.BaseDStabNetwork;
+import com.interpss.dstab.algo.DynamicSimuAlgorithm;
+import com.interpss.dstab.algo.DynamicSimuMethod;
+import com.interpss.dstab.cache.StateMonitor;
+import com.interpss.dstab.mach.Eq1Machine;
+import com.interpss.dstab.mach.Machine;
+import com.interpss.dstab.util.sample.SampleDStabCase;
+import com.interpss.simu.SimuContext;
+import com.interpss.simu.SimuCtxType;
+
+public class IeeeST1GovernorBatchTest extends TestSetupBase {
+	private static final String[] MachIds = new String[] {"Bus1-mach1", "Bus2-mach1", "Bus3-mach1"};
+	
+	@Test
+	public void batchTest() throws InterpssException {
+		// governor stepped individually
+		IeeeST1Governor govA = createGovernor();
+		Machine machA = govA.getMachine();
+		
+		// governors stepped by the batch
+		IeeeST1Governor govB = createGovernor();
+		Machine machB = govB.getMachine();
+		IeeeST1Governor govC = createGovernor();
+		Machine machC = govC.getMachine();
+		
+		IeeeST1GovernorBatch batch = new IeeeST1GovernorBatch();
+		batch.add(govB);
+		batch.add(govC);
+		assertTrue(batch.size() == 2);
+		assertTrue(govB.isBatched() && !govA.isBatched());
+		assertTrue(Math.abs(govA.getOutput(machA) - govB.getOutput(machB)) < 1.0e-10);
+		
+		// speed change
+		machA.setSpeed(1.01);
+		machB.setSpeed(1.01);
+		machC.setSpeed(0.99);
+		for (int n = 0; n < 50; n++) {
+			govA.nextStep(0.01, DynamicSimuMethod.MODIFIED_EULER, machA);
+			// the batch is stepped by the solver, the member calls are no-op
+			batch.nextStep(0.01);
+			govB.nextStep(0.01, DynamicSimuMethod.MODIFIED_EULER, machB);
+			govC.nextStep(0.01, DynamicSimuMethod.MODIFIED_EULER, machC);
+			assertTrue(Math.abs(govA.getOutput(machA) - govB.getOutput(machB)) < 1.0e-10);
+		}
+		assertTrue(govB.getOutput(machB) < govC.getOutput(machC));
+		
+		// the states are copied back to the governor after release
+		batch.release();
+		assertTrue(!govB.isBatched());
+		govA.nextStep(0.01, DynamicSimuMethod.MODIFIED_EULER, machA);
+		govB.nextStep(0.01, DynamicSimuMethod.MODIFIED_EULER, machB);
+		assertTrue(Math.abs(govA.getOutput(machA) - govB.getOutput(machB)) < 1.0e-10);
+	}
+	
+	@Test
+	public void st2BatchTest() throws InterpssException {
+		// governor stepped individually
+		IeeeST2Governor govA = createST2Governor();
+		Machine machA = govA.getMachine();
+		
+		// governor stepped by the batch
+		IeeeST2Governor govB = createST2Governor();
+		Machine machB = govB.getMachine();
+		
+		IeeeST2GovernorBatch batch = new IeeeST2GovernorBatch();
+		batch.add(govB);
+		assertTrue(batch.size() == 1 && govB.isBatched());
+		
+		machA.setSpeed(0.99);
+		machB.setSpeed(0.99);
+		for (int n = 0; n < 50; n++) {
+			govA.nextStep(0.01, DynamicSimuMethod.MODIFIED_EULER, machA);
+			batch.nextStep(0.01);
+			govB.nextStep(0.01, DynamicSimuMethod.MODIFIED_EULER, machB);
+			assertTrue(Math.abs(govA.getOutput(machA) - govB.getOutput(machB)) < 1.0e-10);
+		}
+		
+		batch.release();
+		assertTrue(!govB.isBatched());
+		govA.nextStep(0.01, DynamicSimuMethod.MODIFIED_EULER, machA);
+		govB.nextStep(0.01, DynamicSimuMethod.MODIFIED_EULER, machB);
+		assertTrue(Math.abs(govA.getOutput(machA) - govB.getOutput(machB)) < 1.0e-10);
+	}
+	
+	@Test
+	public void dstabRunTest() throws InterpssException {
+		// IEEE9 three-machine simulation by the default solver and the batch solver
+		StateMonitor sm = dstabRun(false);
+		StateMonitor smBatch = dstabRun(true);
+		
+		for (String id : MachIds) {
+			int n = sm.getMachSpeedTable().get(id).size();
+			assertTrue(n > 100 && n == smBatch.getMachSpeedTable().get(id).size());
+			for (int i = 0; i < n; i++) {
+				assertTrue(Math.abs(sm.getMachSpeedTable().get(id).get(i).getValue() - 
+						smBatch.getMachSpeedTable().get(id).get(i).getValue()) < 1.0e-10);
+				assertTrue(Math.abs(sm.getMachAngleTable().get(id).get(i).getValue() - 
+						smBatch.getMachAngleTable().get(id).get(i).getValue()) < 1.0e-8);
+			}
+		}
+		
+		// the fault disturbs the machine speed
+		assertTrue(Math.abs(sm.getMachSpeedTable().get("Bus2-mach1").get(50).getValue() - 1.0) > 1.0e-5);
+	}
+	
+	private StateMonitor dstabRun(boolean batched) throws InterpssException {
+		IpssCorePlugin.init();
+		PSSEAdapter adapter = new PSSEAdapter(PsseVersion.PSSE_30);
+		assertTrue(adapter.parseInputFile(NetType.DStabNet, new String[]{
+				"testData/adpter/psse/v30/IEEE9Bus/ieee9.raw",
+				"testData/adpter/psse/v30/IEEE9Bus/ieee9.seq",
+				"testData/adpter/psse/v30/IEEE9Bus/ieee9_dyn_onlyGen.dyr"
+		}));
+		SimuContext simuCtx = SimuObjectFactory.createSimuNetwork(SimuCtxType.DSTABILITY_NET);
+		assertTrue(new ODMDStabParserMapper(msg)
+					.map2Model((DStabModelParser)adapter.getModel(), simuCtx));
+		BaseDStabNetwork dsNet = simuCtx.getDStabilityNet();
+		
+		// add an IeeeST1Governor to the first two machines and an IeeeST2Governor to the third one
+		for (int i = 0; i < MachIds.length; i++) {
+			String id = MachIds[i];
+			if (i < 2) {
+				IeeeST1Governor gov = GovernorObjectFactory.createIeeeST1Governor(id + "_Gov", "Gov", dsNet.getMachine(id));
+				gov.getData().setPmax(5.0);
+			}
+			else {
+				IeeeST2Governor gov = GovernorObjectFactory.createIeeeST2Governor(id + "_Gov", "Gov", dsNet.getMachine(id));
+				gov.getData().setPmax(5.0);
+			}
+		}
+		
+		DynamicSimuAlgorithm dstabAlgo = simuCtx.getDynSimuAlgorithm();
+		assertTrue(dstabAlgo.getAclfAlgorithm().loadflow());
+		
+		IeeeST1GovernorBatch st1Batch = new IeeeST1GovernorBatch();
+		IeeeST2GovernorBatch st2Batch = new IeeeST2GovernorBatch();
+		if (batched)
+			dstabAlgo.setSolver(new BatchDStabSolverImpl(dstabAlgo, msg, st1Batch, st2Batch));
+		
+		dstabAlgo.setSimuMethod(DynamicSimuMethod.MODIFIED_EULER);
+		dstabAlgo.setSimuStepSec(0.005);
+		dstabAlgo.setTotalSimuTimeSec(1.0);
+		dsNet.setNetEqnIterationNoEvent(1);
+		dsNet.setNetEqnIterationWithEvent(1);
+		dstabAlgo.setRefMachine(dsNet.getMachine("Bus1-mach1"));
+		dsNet.addDynamicEvent(DStabObjectFactory.createBusFaultEvent("Bus5", dsNet, SimpleFaultCode.GROUND_3P, new Complex(0.0), null, 0.1d, 0.05), "3phaseFault@Bus5");
+		
+		StateMonitor sm = new StateMonitor();
+		sm.addGeneratorStdMonitor(MachIds);
+		dstabAlgo.setSimuOutputHandler(sm);
+		dstabAlgo.setOutPutPerSteps(1);
+		
+		assertTrue(dstabAlgo.initialization());
+		if (batched)
+			assertTrue(st1Batch.size() == 2 && st2Batch.size() == 1);
+		assertTrue(dstabAlgo.performSimulation());
+		return sm;
+	}
+	
+	private IeeeST2Governor createST2Governor() throws InterpssException {
+		BaseDStabNetwork net = SampleDStabCase.createDStabTestNet();
+		Eq1Machine mach = SampleDStabCase.createEq1Machine(net);
+		BaseDStabBus bus = net.getDStabBus("Gen");
+		mach.initStates(bus);
+		
+		IeeeST2Governor gov = GovernorObjectFactory.createIeeeST2Governor("Gov", "Gov", mach);
+		assertTrue(gov.initStates(bus, mach));
+		return gov;
+	}
+	
+	private IeeeST1Governor createGovernor() throws InterpssException {
+		// create a machine in a two-bus network. The loadflow already converged
+		BaseDStabNetwork net = SampleDStabCase.createDStabTestNet();
+		Eq1Machine mach = SampleDStabCase.createEq1Machine(net);
+		BaseDStabBus bus = net.getDStabBus("Gen");
+		mach.initStates(bus);
+		
+		IeeeST1Governor gov = GovernorObjectFactory.createIeeeST1Governor("Gov", "Gov", mach);
+		assertTrue(gov.initStates(bus, mach));
+		return gov;
+	}
+}